@@ -64,7 +64,13 @@ kotlin {
             }
         }
 
+        // the actual declarations which are the same on Android and desktop, such as memory-mapped files
+        val jvmMain by creating {
+            dependsOn(commonMain)
+        }
+
         val androidMain by getting {
+            dependsOn(jvmMain)
             dependencies {
                 implementation(libs.androidx.appcompat)
                 implementation(libs.androidx.activityCompose)
@@ -75,6 +81,7 @@ kotlin {
         }
 
         val desktopMain by getting {
+            dependsOn(jvmMain)
             dependencies {
                 implementation(compose.desktop.common)
                 implementation(compose.desktop.currentOs)
@@ -120,6 +127,11 @@ android {
     }
 }
 
+dependencies {
+    // the JVM tests in src/test, such as ZmanTickerTest, run on virtual time
+    testImplementation(libs.kotlinx.coroutines.test)
+}
+
 compose.desktop {
     application {
         mainClass = "MainKt"
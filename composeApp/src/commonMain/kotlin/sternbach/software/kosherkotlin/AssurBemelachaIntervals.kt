@@ -0,0 +1,147 @@
+package sternbach.software.kosherkotlin
+
+import kotlinx.datetime.DateTimeUnit
+import kotlinx.datetime.Instant
+import kotlinx.datetime.LocalDate
+import kotlinx.datetime.atStartOfDayIn
+import kotlinx.datetime.plus
+import sternbach.software.kosherkotlin.hebrewcalendar.JewishCalendar
+import kotlin.time.Duration.Companion.nanoseconds
+
+/**
+ * The intervals of time in which *melacha* (work) is prohibited over a range of dates, merged so that consecutive days of
+ * *Shabbos* and *Yom Tov* (e.g. two days of *Yom Tov* followed by *Shabbos*) form a single interval. Each interval
+ * starts on a day which [has candle lighting][JewishCalendar.hasCandleLighting] and ends at *tzais* of a day which is
+ * [assur bemelacha][JewishCalendar.isAssurBemelacha], matching [ZmanimCalendar.isAssurBemlacha] for every moment in the
+ * range. Both ends of an interval are inclusive.
+ *
+ * The intervals are stored as sorted arrays of their starts and ends, so [contains] and [indexOf] are binary searches,
+ * rather than a new [JewishCalendar] and calculation of sunset per check.
+ *
+ * @see of
+ */
+class AssurBemelachaIntervals private constructor(
+    private val starts: Array<Instant>,
+    private val ends: Array<Instant>,
+) {
+    /**
+     * The number of intervals.
+     */
+    val size: Int get() = starts.size
+
+    /**
+     * Returns the interval at [index], in chronological order.
+     */
+    operator fun get(index: Int): ClosedRange<Instant> = startAt(index)..endAt(index)
+
+    fun startAt(index: Int): Instant = starts[index]
+
+    fun endAt(index: Int): Instant = ends[index]
+
+    /**
+     * Returns whether *melacha* is prohibited at [instant].
+     */
+    operator fun contains(instant: Instant): Boolean = indexOf(instant) != -1
+
+    /**
+     * Returns the index of the interval which contains [instant], or -1 if *melacha* is not prohibited at [instant].
+     */
+    fun indexOf(instant: Instant): Int {
+        val index = indexOfLastStartAtOrBefore(instant)
+        return if (index != -1 && instant <= ends[index]) index else -1
+    }
+
+    /**
+     * Returns the interval which contains [instant], or if there is none, the first interval which starts after
+     * [instant]. Returns null if every interval ends before [instant].
+     */
+    fun currentOrNext(instant: Instant): ClosedRange<Instant>? {
+        var index = indexOfLastStartAtOrBefore(instant)
+        if (index == -1 || instant > ends[index]) index++
+        return if (index < size) get(index) else null
+    }
+
+    fun toList(): List<ClosedRange<Instant>> = List(size) { get(it) }
+
+    private fun indexOfLastStartAtOrBefore(instant: Instant): Int {
+        var low = 0
+        var high = size
+        while (low < high) {
+            val mid = (low + high) ushr 1
+            if (starts[mid] <= instant) low = mid + 1 else high = mid
+        }
+        return low - 1
+    }
+
+    override fun toString() = "AssurBemelachaIntervals(size=$size)"
+
+    companion object {
+        /**
+         * Returns the intervals in which *melacha* is prohibited from the start of [start] through the end of
+         * [endInclusive], in the time zone and location of [calendar]. Intervals which extend past either end of the
+         * range are cut off at the start of [start] or the end of [endInclusive].
+         *
+         * The holidays are found in a single pass of one [JewishCalendar], and sunset and *tzais* are only calculated for
+         * the days which have candle lighting or are *assur bemelacha*.
+         *
+         * @param inIsrael whether to use the holidays of Israel.
+         * @param startOf the start of the prohibition on a day with candle lighting. Defaults to sunset, adjusted for
+         * elevation if [ZmanimCalendar.isUseElevation] is set, like [ZmanimCalendar.isAssurBemlacha];
+         * pass [ZmanimCalendar.candleLighting] to start at candle lighting. If it does not occur, the prohibition
+         * starts at the start of the next day.
+         * @param endOf the end of the prohibition on a day which is *assur bemelacha*. Defaults to [ZmanimCalendar.tzais].
+         * If it does not occur, the prohibition lasts until the end of the day.
+         */
+        fun of(
+            calendar: ComplexZmanimCalendar,
+            start: LocalDate,
+            endInclusive: LocalDate,
+            inIsrael: Boolean,
+            startOf: (ComplexZmanimCalendar) -> Instant? = { if (it.isUseElevation) it.sunset else it.seaLevelSunset },
+            endOf: (ComplexZmanimCalendar) -> Instant? = { it.tzais.momentOfOccurrence },
+        ): AssurBemelachaIntervals {
+            require(start <= endInclusive) { "start ($start) must not be after endInclusive ($endInclusive)" }
+            val timeZone = calendar.geoLocation.timeZone
+            val starts = ArrayList<Instant>()
+            val ends = ArrayList<Instant>()
+            //adds [from, to] to the intervals, merging it with the previous interval if they touch or overlap
+            fun add(from: Instant, to: Instant) {
+                if (ends.isNotEmpty() && from <= ends.last() + END_OF_DAY_PRECISION) {
+                    if (to > ends.last()) ends[ends.lastIndex] = to
+                } else {
+                    starts.add(from)
+                    ends.add(to)
+                }
+            }
+
+            val jewishCalendar = JewishCalendar(start, inIsrael)
+            var date = start
+            var startOfDay = start.atStartOfDayIn(timeZone)
+            while (date <= endInclusive) {
+                val nextDate = date.plus(1, DateTimeUnit.DAY)
+                val startOfNextDay = nextDate.atStartOfDayIn(timeZone)
+                val endOfDay = startOfNextDay - END_OF_DAY_PRECISION
+                val isAssurBemelacha = jewishCalendar.isAssurBemelacha
+                val hasCandleLighting = jewishCalendar.hasCandleLighting
+                if (isAssurBemelacha || hasCandleLighting) {
+                    val day = calendar.copy(date, Zman.EvaluationMode.LAZY_UNSYNCHRONIZED)
+                    if (isAssurBemelacha) {
+                        add(startOfDay, endOf(day) ?: endOfDay)
+                    }
+                    if (hasCandleLighting) {
+                        startOf(day)?.let { add(it, endOfDay) }
+                    }
+                }
+                jewishCalendar.forward(DateTimeUnit.DAY, 1)
+                date = nextDate
+                startOfDay = startOfNextDay
+            }
+            return AssurBemelachaIntervals(starts.toTypedArray(), ends.toTypedArray())
+        }
+
+        /**
+         * The end of a day is the last nanosecond before the next day, since both ends of an interval are inclusive.
+         */
+        private val END_OF_DAY_PRECISION = 1.nanoseconds
+    }
+}
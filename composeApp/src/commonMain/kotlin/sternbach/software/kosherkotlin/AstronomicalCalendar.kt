@@ -18,6 +18,8 @@ package sternbach.software.kosherkotlin
 import sternbach.software.kosherkotlin.hebrewcalendar.JewishCalendar
 import sternbach.software.kosherkotlin.util.AstronomicalCalculator
 import sternbach.software.kosherkotlin.util.GeoLocation
+import sternbach.software.kosherkotlin.util.HorizonProfile
+import sternbach.software.kosherkotlin.util.HorizonProfiles
 import kotlinx.datetime.*
 import kotlin.time.Duration.Companion.milliseconds
 
@@ -216,6 +218,28 @@ open class AstronomicalCalendar(
             .takeUnless { it.isNaN() }
             ?.let { getDateFromTime(it, false) }
 
+    /**
+     * Returns the visible sunrise, when the upper limb of the sun first clears the terrain of [profile] (see
+     * [HorizonProfiles]), instead of a flat horizon as [sunrise] and [seaLevelSunrise]. The profile must be of this
+     * [geoLocation].
+     *
+     * @return the visible sunrise, or null if there is no [seaLevelSunrise] or the sun does not clear the terrain near it.
+     * @see HorizonProfile.getVisibleSunrise
+     */
+    fun getVisibleSunrise(profile: HorizonProfile): Instant? =
+        seaLevelSunrise?.let { profile.getVisibleSunrise(it, geoLocation.latitude, geoLocation.longitude) }
+
+    /**
+     * Returns the visible sunset, when the upper limb of the sun last disappears behind the terrain of [profile] (see
+     * [HorizonProfiles]), instead of a flat horizon as [sunset] and [seaLevelSunset]. The profile must be of this
+     * [geoLocation].
+     *
+     * @return the visible sunset, or null if there is no [seaLevelSunset] or the sun is not visible near it.
+     * @see HorizonProfile.getVisibleSunset
+     */
+    fun getVisibleSunset(profile: HorizonProfile): Instant? =
+        seaLevelSunset?.let { profile.getVisibleSunset(it, geoLocation.latitude, geoLocation.longitude) }
+
     /**
      * A method that returns the end of [civil twilight](https://en.wikipedia.org/wiki/Twilight#Civil_twilight)
      * using a zenith of [96˚][.CIVIL_ZENITH].
@@ -314,7 +338,7 @@ open class AstronomicalCalendar(
      * not set, [Double.NaN] will be returned. See detailed explanation on top of the page.
      */
     fun getUTCSunrise(zenith: Double): Double =
-        astronomicalCalculator.getUTCSunrise(adjustedLocalDate.date, geoLocation, zenith, true)
+        astronomicalCalculator.getUTCSunrise(adjustedLocalDate.date, geoLocation.prepared, zenith, true)
 
     /**
      * A method that returns the sunrise in UTC time without correction for time zone offset from GMT and without using
@@ -332,7 +356,7 @@ open class AstronomicalCalendar(
      * @see AstronomicalCalendar.getUTCSeaLevelSunset
      */
     fun getUTCSeaLevelSunrise(zenith: Double): Double =
-        astronomicalCalculator.getUTCSunrise(adjustedLocalDate.date, geoLocation, zenith, false)
+        astronomicalCalculator.getUTCSunrise(adjustedLocalDate.date, geoLocation.prepared, zenith, false)
 
     /**
      * A method that returns the sunset in UTC time without correction for time zone offset from GMT and without using
@@ -346,7 +370,7 @@ open class AstronomicalCalendar(
      * @see AstronomicalCalendar.getUTCSeaLevelSunset
      */
     fun getUTCSunset(zenith: Double): Double =
-        astronomicalCalculator.getUTCSunset(adjustedLocalDate.date, geoLocation, zenith, true)
+        astronomicalCalculator.getUTCSunset(adjustedLocalDate.date, geoLocation.prepared, zenith, true)
 
     /**
      * A method that returns the sunset in UTC time without correction for elevation, time zone offset from GMT and
@@ -365,7 +389,7 @@ open class AstronomicalCalendar(
      * @see AstronomicalCalendar.getUTCSeaLevelSunrise
      */
     fun getUTCSeaLevelSunset(zenith: Double): Double =
-        astronomicalCalculator.getUTCSunset(adjustedLocalDate.date, geoLocation, zenith, false)
+        astronomicalCalculator.getUTCSunset(adjustedLocalDate.date, geoLocation.prepared, zenith, false)
 
     /**
      * A method that returns an [elevation adjusted][AstronomicalCalculator.getElevationAdjustment]
@@ -423,7 +447,7 @@ open class AstronomicalCalendar(
      */
     val sunTransit: Instant?
         get() = astronomicalCalculator
-            .getUTCNoon(adjustedLocalDate.date/*.also { println("kAdjusted: $it") }*/, geoLocation)/*.also { println("kNoon: $it") }*/
+            .getUTCNoon(adjustedLocalDate.date/*.also { println("kAdjusted: $it") }*/, geoLocation.prepared)/*.also { println("kNoon: $it") }*/
             .takeUnless { it.isNaN() }
             ?.let { getDateFromTime(it, false) }
 
@@ -461,9 +485,8 @@ open class AstronomicalCalendar(
             return null
         }
         var calculatedTime: Double = time
-        val adjustedLocalDate = this.adjustedLocalDate
-        val timeZone = TimeZone.UTC
-        var cal = LocalDateTime(adjustedLocalDate.date, LocalTime(0,0,0)).toInstant(timeZone)
+        // the start of the date in UTC, computed without resolving time zone rules
+        var day = this.adjustedLocalDate.date.toEpochDays().toLong()
         val hours = calculatedTime.toInt() // retain only the hours
         calculatedTime -= hours.toDouble()
 
@@ -483,12 +506,11 @@ open class AstronomicalCalendar(
 //        println("Local Time Hours: $localTimeHours")
 //        println("Cal1: $cal")
         if (isSunrise && localTimeHours.plus(hours) > 18)
-            cal = cal.plus(DatePeriod(days = -1), timeZone)
+            day--
         else if (!isSunrise && localTimeHours.plus(hours) < 6)
-            cal = cal.plus(DatePeriod(days = 1), timeZone)
-//        println("Cal2: $cal")
-//        val dt = cal.toLocalDateTime(timeZone)
-        return cal.plus(DateTimePeriod(0,0,0, hours, minutes, seconds, (calculatedTime * 1000).milliseconds.inWholeNanoseconds), timeZone)
+            day++
+        return Instant.fromEpochMilliseconds(day * DAY_MILLIS + hours * HOUR_MILLIS + minutes * MINUTE_MILLIS + seconds * SECOND_MILLIS) +
+                (calculatedTime * 1000).milliseconds
     }
 
     /**
@@ -562,10 +584,7 @@ open class AstronomicalCalendar(
             val offset = geoLocation.antimeridianAdjustment
 //            println("koffset: $offset")
             return if (offset == 0) localDateTime
-            else localDateTime
-                .toInstant(geoLocation.timeZone)
-                .plus(DatePeriod(days = offset), geoLocation.timeZone)
-                .toLocalDateTime(geoLocation.timeZone)
+            else geoLocation.prepared.zoneOffsets.plusDays(localDateTime, offset)
         }
 
     /**
@@ -641,6 +660,10 @@ open class AstronomicalCalendar(
         /** constant for milliseconds in an hour (3,600,000)  */
         const val HOUR_MILLIS: Long = MINUTE_MILLIS * 60
 
+        private const val SECOND_MILLIS: Long = 1000
+
+        private const val DAY_MILLIS: Long = HOUR_MILLIS * 24
+
         /**
          * A utility method that returns a date offset by the offset time passed in as a parameter. This method casts the
          * offset as a `long` and calls [getTimeOffset].
@@ -29,7 +29,6 @@ import sternbach.software.kosherkotlin.metadata.ZmanDefinition
 import sternbach.software.kosherkotlin.metadata.ZmanType
 import sternbach.software.kosherkotlin.util.AstronomicalCalculator
 import sternbach.software.kosherkotlin.util.GeoLocation
-import sternbach.software.kosherkotlin.util.GeoLocation.Companion.rawOffset
 import kotlin.time.Duration.Companion.days
 import kotlin.time.Duration.Companion.hours
 import kotlin.time.Duration.Companion.milliseconds
@@ -139,24 +138,33 @@ class ComplexZmanimCalendar(
         useElevation: Boolean = false,
         ateretTorahSunsetOffset: Double = ATERET_TORAH_DEFAULT_OFFSET,
         candleLightingOffset: Double = 18.0,
+        zmanEvaluationMode: Zman.EvaluationMode = Zman.EvaluationMode.LAZY_PUBLICATION,
     ) : this(location) {
         localDateTime = LocalDateTime(date, localDateTime.time)
         this.isUseElevation = useElevation
         this.ateretTorahSunsetOffset = ateretTorahSunsetOffset
         this.candleLightingOffset = candleLightingOffset
+        this.zmanEvaluationMode = zmanEvaluationMode
     }
 
     override var localDateTime: LocalDateTime =
         Clock.System.now().toLocalDateTime(geoLocation.timeZone)
         set(value) {
             field = value
-            if (value.date != jewishCalendar.gregorianLocalDate) {
-                jewishCalendar = JewishCalendar(value.date)
+            if (value.date != cachedJewishCalendar?.gregorianLocalDate) {
+                cachedJewishCalendar = null
             }
         }
-    var jewishCalendar: JewishCalendar = JewishCalendar(localDateTime.date)
+
+    /**
+     * The [jewishCalendar] of [localDateTime], or null if it has not been needed since the date was set. Converting a
+     * date is relatively expensive, and most *zmanim* don't need the Jewish date, so it is only created on demand.
+     */
+    private var cachedJewishCalendar: JewishCalendar? = null
+    var jewishCalendar: JewishCalendar
+        get() = cachedJewishCalendar ?: JewishCalendar(localDateTime.date).also { cachedJewishCalendar = it }
         set(value) {
-            field = value
+            cachedJewishCalendar = value
             if (value.gregorianLocalDate != localDateTime.date) {
                 localDateTime = LocalDateTime(value.gregorianLocalDate, localDateTime.time)
             }
@@ -196,7 +204,8 @@ class ComplexZmanimCalendar(
                 ZmanType.SHAA_ZMANIS,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(19.8F.degrees),
                 UsesElevation.ALWAYS,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getTemporalHour(
                 alos19Point8Degrees.momentOfOccurrence, tzais19Point8Degrees.momentOfOccurrence
@@ -223,7 +232,8 @@ class ComplexZmanimCalendar(
                 ZmanType.SHAA_ZMANIS,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(18F.degrees),
                 UsesElevation.ALWAYS,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getTemporalHour(
                 alos18Degrees.momentOfOccurrence, tzais18Degrees.momentOfOccurrence
@@ -255,7 +265,8 @@ class ComplexZmanimCalendar(
                 ZmanType.SHAA_ZMANIS,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(18F.degrees),
                 UsesElevation.ALWAYS,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getTemporalHour(
                 alos26Degrees.momentOfOccurrence, tzais26Degrees.momentOfOccurrence
@@ -289,7 +300,8 @@ class ComplexZmanimCalendar(
                 ZmanType.SHAA_ZMANIS,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(16.1F.degrees),
                 UsesElevation.ALWAYS,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getTemporalHour(
                 alos16Point1Degrees.momentOfOccurrence, tzais16Point1Degrees.momentOfOccurrence
@@ -319,7 +331,8 @@ class ComplexZmanimCalendar(
                 ZmanType.SHAA_ZMANIS,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(60.minutes.fixed),
                 UsesElevation.ALWAYS,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getTemporalHour(alos60.momentOfOccurrence, tzais60.momentOfOccurrence).milliseconds
         }
@@ -363,7 +376,8 @@ class ComplexZmanimCalendar(
                 ZmanType.SHAA_ZMANIS,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(ZmanCalculationMethod.ZmaniyosDuration._72),
                 UsesElevation.IF_SET,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getTemporalHour(
                 alos72Zmanis.momentOfOccurrence, tzais72Zmanis.momentOfOccurrence
@@ -389,7 +403,8 @@ class ComplexZmanimCalendar(
                 ZmanType.SHAA_ZMANIS,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(ZmanCalculationMethod.FixedDuration._90),
                 UsesElevation.IF_SET,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getTemporalHour(alos90.momentOfOccurrence, tzais90.momentOfOccurrence).milliseconds
         }
@@ -417,7 +432,8 @@ class ComplexZmanimCalendar(
                 ZmanType.SHAA_ZMANIS,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(ZmanCalculationMethod.ZmaniyosDuration._90),
                 UsesElevation.IF_SET,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getTemporalHour(
                 alos90Zmanis.momentOfOccurrence, tzais90Zmanis.momentOfOccurrence
@@ -447,7 +463,8 @@ class ComplexZmanimCalendar(
                 ZmanType.SHAA_ZMANIS,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(ZmanCalculationMethod.ZmaniyosDuration._96),
                 UsesElevation.IF_SET,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getTemporalHour(
                 alos96Zmanis.momentOfOccurrence, tzais96Zmanis.momentOfOccurrence
@@ -484,7 +501,8 @@ class ComplexZmanimCalendar(
                 listOf(
                     ZmanAuthority.AHAVAT_SHALOM
                 )
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getTemporalHour(
                 alos16Point1Degrees.momentOfOccurrence, tzaisGeonim3Point8Degrees.momentOfOccurrence
@@ -518,7 +536,8 @@ class ComplexZmanimCalendar(
                     ateretTorahSunsetOffset
                 ),
                 UsesElevation.IF_SET,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getTemporalHour(
                 alos72Zmanis.momentOfOccurrence, tzaisAteretTorah.momentOfOccurrence
@@ -553,7 +572,8 @@ class ComplexZmanimCalendar(
                 listOf(
                     ZmanAuthority.AHAVAT_SHALOM
                 )
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getTemporalHour(
                 alos16Point1Degrees.momentOfOccurrence, tzaisGeonim3Point7Degrees.momentOfOccurrence
@@ -579,7 +599,8 @@ class ComplexZmanimCalendar(
                 ZmanType.SHAA_ZMANIS,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(ZmanCalculationMethod.FixedDuration._96),
                 UsesElevation.IF_SET,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getTemporalHour(alos96.momentOfOccurrence, tzais96.momentOfOccurrence).milliseconds
         }
@@ -608,7 +629,8 @@ class ComplexZmanimCalendar(
                 ZmanType.SHAA_ZMANIS,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(ZmanCalculationMethod.FixedDuration._120),
                 UsesElevation.IF_SET,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getTemporalHour(alos120.momentOfOccurrence, tzais120.momentOfOccurrence).milliseconds
         }
@@ -640,7 +662,8 @@ class ComplexZmanimCalendar(
                 ZmanType.SHAA_ZMANIS,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(ZmanCalculationMethod.ZmaniyosDuration._120),
                 UsesElevation.IF_SET,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getTemporalHour(
                 alos120Zmanis.momentOfOccurrence, tzais120Zmanis.momentOfOccurrence
@@ -672,7 +695,8 @@ class ComplexZmanimCalendar(
                 ZmanType.PLAG_HAMINCHA,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(ZmanCalculationMethod.ZmaniyosDuration._120),
                 UsesElevation.IF_SET,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getPlagHamincha(alos120Zmanis.momentOfOccurrence, tzais120Zmanis.momentOfOccurrence)
         }
@@ -701,7 +725,8 @@ class ComplexZmanimCalendar(
                 ZmanType.PLAG_HAMINCHA,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(120.minutes.fixed),
                 UsesElevation.IF_SET,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getPlagHamincha(alos120.momentOfOccurrence, tzais120.momentOfOccurrence)
         }
@@ -748,7 +773,8 @@ class ComplexZmanimCalendar(
                 ZmanType.ALOS,
                 ZmanCalculationMethod.Relationship(ZmanType.ALOS occurs 60.minutes before ZmanType.HANAITZ),
                 UsesElevation.IF_SET,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getTimeOffset(
                 sunrise, -60 * MINUTE_MILLIS
@@ -782,7 +808,8 @@ class ComplexZmanimCalendar(
                 listOf(
                     ZmanAuthority.HISACHDUS_HARABONIM
                 ),
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getZmanisBasedOffset(-1.2)
         }
@@ -807,7 +834,8 @@ class ComplexZmanimCalendar(
                 ZmanType.ALOS,
                 ZmanCalculationMethod.Relationship(ZmanType.ALOS occurs 96.minutes before ZmanType.HANAITZ),
                 UsesElevation.IF_SET,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getTimeOffset(elevationAdjustedSunrise, -96 * MINUTE_MILLIS)
         }
@@ -833,7 +861,8 @@ class ComplexZmanimCalendar(
                 ZmanType.ALOS,
                 ZmanCalculationMethod.Relationship(ZmanType.ALOS occurs 90.minutes.zmaniyos before ZmanType.HANAITZ),
                 UsesElevation.IF_SET,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getZmanisBasedOffset(-1.5)
         }
@@ -858,7 +887,8 @@ class ComplexZmanimCalendar(
                 ZmanType.ALOS,
                 ZmanCalculationMethod.Relationship(ZmanType.ALOS occurs 96.minutes.zmaniyos before ZmanType.HANAITZ),
                 UsesElevation.IF_SET,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getZmanisBasedOffset(-1.6)
         }
@@ -881,7 +911,8 @@ class ComplexZmanimCalendar(
                 ZmanType.ALOS,
                 ZmanCalculationMethod.Relationship(ZmanType.ALOS occurs 90.minutes before ZmanType.HANAITZ),
                 UsesElevation.IF_SET,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getTimeOffset(elevationAdjustedSunrise, -90 * MINUTE_MILLIS)
         }
@@ -913,7 +944,8 @@ class ComplexZmanimCalendar(
                 ZmanType.ALOS,
                 ZmanCalculationMethod.Relationship(ZmanType.ALOS occurs 120.minutes before ZmanType.HANAITZ),
                 UsesElevation.IF_SET,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getTimeOffset(elevationAdjustedSunrise, -120 * MINUTE_MILLIS)
         }
@@ -941,7 +973,8 @@ class ComplexZmanimCalendar(
                 ZmanType.ALOS,
                 ZmanCalculationMethod.Relationship(ZmanType.ALOS occurs 120.minutes.zmaniyos before ZmanType.HANAITZ),
                 UsesElevation.IF_SET,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getZmanisBasedOffset(-2.0)
         }
@@ -972,7 +1005,8 @@ class ComplexZmanimCalendar(
                 ZmanType.ALOS,
                 ZmanCalculationMethod.Relationship(ZmanType.ALOS occurs 26.degrees before ZmanType.HANAITZ),
                 UsesElevation.ALWAYS,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSunriseOffsetByDegrees(ZENITH_26_DEGREES)
         }
@@ -993,7 +1027,8 @@ class ComplexZmanimCalendar(
                 ZmanType.ALOS,
                 18F.degrees,
                 UsesElevation.ALWAYS
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSunriseOffsetByDegrees(ASTRONOMICAL_ZENITH)
         }
@@ -1027,7 +1062,8 @@ class ComplexZmanimCalendar(
                     ZmanAuthority.WEISS,
                     ZmanAuthority.SHAKOW,
                 )
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSunriseOffsetByDegrees(ZENITH_19_DEGREES)
         }
@@ -1053,7 +1089,8 @@ class ComplexZmanimCalendar(
                 ZmanType.ALOS,
                 19.8F.degrees,
                 UsesElevation.ALWAYS,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSunriseOffsetByDegrees(ZENITH_19_POINT_8)
         }
@@ -1081,7 +1118,8 @@ class ComplexZmanimCalendar(
                 ZmanType.ALOS,
                 16.1F.degrees,
                 UsesElevation.ALWAYS,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSunriseOffsetByDegrees(ZENITH_16_POINT_1)
         }
@@ -1105,7 +1143,8 @@ class ComplexZmanimCalendar(
                 ZmanType.MISHEYAKIR,
                 11.5F.degrees,
                 UsesElevation.ALWAYS,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSunriseOffsetByDegrees(ZENITH_11_POINT_5)
         }
@@ -1128,7 +1167,8 @@ class ComplexZmanimCalendar(
                 ZmanType.MISHEYAKIR,
                 11F.degrees,
                 UsesElevation.ALWAYS,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSunriseOffsetByDegrees(ZENITH_11_DEGREES)
         }
@@ -1151,7 +1191,8 @@ class ComplexZmanimCalendar(
                 ZmanType.MISHEYAKIR,
                 10.2F.degrees,
                 UsesElevation.ALWAYS,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSunriseOffsetByDegrees(ZENITH_10_POINT_2)
         }
@@ -1195,7 +1236,8 @@ class ComplexZmanimCalendar(
                     ZmanAuthority.SHAKOW,
                     ZmanAuthority.SATMER,
                 )
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSunriseOffsetByDegrees(ZENITH_7_POINT_65)
         }
@@ -1243,7 +1285,8 @@ class ComplexZmanimCalendar(
                     ZmanAuthority.KAMENETSKY,
                     ZmanAuthority.SHAKOW,
                 )
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSunriseOffsetByDegrees(ZENITH_9_POINT_5)
         }
@@ -1272,7 +1315,8 @@ class ComplexZmanimCalendar(
                 ZmanType.SOF_ZMAN_KRIAS_SHEMA,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(19.8F.degrees),
                 UsesElevation.ALWAYS,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSofZmanShma(
                 alos19Point8Degrees.momentOfOccurrence, tzais19Point8Degrees.momentOfOccurrence
@@ -1302,7 +1346,8 @@ class ComplexZmanimCalendar(
                 ZmanType.SOF_ZMAN_KRIAS_SHEMA,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(16.1F.degrees),
                 UsesElevation.ALWAYS,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSofZmanShma(
                 alos16Point1Degrees.momentOfOccurrence, tzais16Point1Degrees.momentOfOccurrence
@@ -1330,7 +1375,8 @@ class ComplexZmanimCalendar(
                 ZmanType.SOF_ZMAN_KRIAS_SHEMA,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(18F.degrees),
                 UsesElevation.ALWAYS,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSofZmanShma(alos18Degrees.momentOfOccurrence, tzais18Degrees.momentOfOccurrence)
         }
@@ -1379,7 +1425,8 @@ class ComplexZmanimCalendar(
                 ZmanType.SOF_ZMAN_KRIAS_SHEMA,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(ZmanCalculationMethod.ZmaniyosDuration._72),
                 UsesElevation.IF_SET,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSofZmanShma(alos72Zmanis.momentOfOccurrence, tzais72Zmanis.momentOfOccurrence)
         }
@@ -1406,7 +1453,8 @@ class ComplexZmanimCalendar(
                 ZmanType.SOF_ZMAN_KRIAS_SHEMA,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(ZmanCalculationMethod.FixedDuration._90),
                 UsesElevation.IF_SET,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSofZmanShma(alos90.momentOfOccurrence, tzais90.momentOfOccurrence)
         }
@@ -1432,7 +1480,8 @@ class ComplexZmanimCalendar(
                 ZmanType.SOF_ZMAN_KRIAS_SHEMA,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(ZmanCalculationMethod.ZmaniyosDuration._90),
                 UsesElevation.IF_SET,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSofZmanShma(alos90Zmanis.momentOfOccurrence, tzais90Zmanis.momentOfOccurrence)
         }
@@ -1458,7 +1507,8 @@ class ComplexZmanimCalendar(
                 ZmanType.SOF_ZMAN_KRIAS_SHEMA,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(ZmanCalculationMethod.FixedDuration._96),
                 UsesElevation.IF_SET,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSofZmanShma(alos96.momentOfOccurrence, tzais96.momentOfOccurrence)
         }
@@ -1484,7 +1534,8 @@ class ComplexZmanimCalendar(
                 ZmanType.SOF_ZMAN_KRIAS_SHEMA,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(ZmanCalculationMethod.ZmaniyosDuration._96),
                 UsesElevation.IF_SET,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSofZmanShma(alos96Zmanis.momentOfOccurrence, tzais96Zmanis.momentOfOccurrence)
         }
@@ -1535,7 +1586,8 @@ class ComplexZmanimCalendar(
                     ZmanAuthority.SHVUS_YAAKOV,
                     ZmanAuthority.CHASSAN_SOFER,
                 ),
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getTimeOffset(chatzos.momentOfOccurrence, -180 * MINUTE_MILLIS)
         }
@@ -1562,7 +1614,8 @@ class ComplexZmanimCalendar(
                 ZmanType.SOF_ZMAN_KRIAS_SHEMA,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(ZmanCalculationMethod.FixedDuration._120),
                 UsesElevation.IF_SET,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSofZmanShma(alos120.momentOfOccurrence, tzais120.momentOfOccurrence)
         }
@@ -1595,7 +1648,8 @@ class ComplexZmanimCalendar(
                 ZmanCalculationMethod.DayDefinition.DAWN_16_1_TO_ELEVATION_ADJUSTED_SUNSET,
                 UsesElevation.IF_SET,
                 listOf(ZmanAuthority.RAZEH)
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSofZmanShma(alos16Point1Degrees.momentOfOccurrence, elevationAdjustedSunset)
         }
@@ -1627,7 +1681,8 @@ class ComplexZmanimCalendar(
                 ZmanType.SOF_ZMAN_KRIAS_SHEMA,
                 ZmanCalculationMethod.DayDefinition.DAWN_16_1_TO_DUSK_7_083,
                 UsesElevation.ALWAYS,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSofZmanShma(
                 alos16Point1Degrees.momentOfOccurrence,
@@ -1659,7 +1714,8 @@ class ComplexZmanimCalendar(
                 ZmanType.SOF_ZMAN_TEFILLAH,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(19.8F.degrees),
                 UsesElevation.ALWAYS,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSofZmanTfila(
                 alos19Point8Degrees.momentOfOccurrence, tzais19Point8Degrees.momentOfOccurrence
@@ -1691,7 +1747,8 @@ class ComplexZmanimCalendar(
                 ZmanType.SOF_ZMAN_TEFILLAH,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(16.1F.degrees),
                 UsesElevation.ALWAYS,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSofZmanTfila(
                 alos16Point1Degrees.momentOfOccurrence, tzais16Point1Degrees.momentOfOccurrence
@@ -1721,7 +1778,8 @@ class ComplexZmanimCalendar(
                 ZmanType.SOF_ZMAN_TEFILLAH,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(18F.degrees),
                 UsesElevation.ALWAYS,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSofZmanTfila(alos18Degrees.momentOfOccurrence, tzais18Degrees.momentOfOccurrence)
         }
@@ -1769,7 +1827,8 @@ class ComplexZmanimCalendar(
                 ZmanType.SOF_ZMAN_TEFILLAH,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(ZmanCalculationMethod.ZmaniyosDuration._72),
                 UsesElevation.IF_SET,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSofZmanTfila(alos72Zmanis.momentOfOccurrence, tzais72Zmanis.momentOfOccurrence)
         }
@@ -1796,7 +1855,8 @@ class ComplexZmanimCalendar(
                 ZmanType.SOF_ZMAN_TEFILLAH,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(ZmanCalculationMethod.FixedDuration._90),
                 UsesElevation.IF_SET,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSofZmanTfila(alos90.momentOfOccurrence, tzais90.momentOfOccurrence)
         }
@@ -1823,7 +1883,8 @@ class ComplexZmanimCalendar(
                 ZmanType.SOF_ZMAN_TEFILLAH,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(ZmanCalculationMethod.ZmaniyosDuration._90),
                 UsesElevation.IF_SET,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSofZmanTfila(alos90Zmanis.momentOfOccurrence, tzais90Zmanis.momentOfOccurrence)
         }
@@ -1850,7 +1911,8 @@ class ComplexZmanimCalendar(
                 ZmanType.SOF_ZMAN_TEFILLAH,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(ZmanCalculationMethod.FixedDuration._96),
                 UsesElevation.IF_SET,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSofZmanTfila(alos96.momentOfOccurrence, tzais96.momentOfOccurrence)
         }
@@ -1877,7 +1939,8 @@ class ComplexZmanimCalendar(
                 ZmanType.SOF_ZMAN_TEFILLAH,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(ZmanCalculationMethod.ZmaniyosDuration._96),
                 UsesElevation.IF_SET,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSofZmanTfila(alos96Zmanis.momentOfOccurrence, tzais96Zmanis.momentOfOccurrence)
         }
@@ -1905,7 +1968,8 @@ class ComplexZmanimCalendar(
                 ZmanType.SOF_ZMAN_TEFILLAH,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(ZmanCalculationMethod.FixedDuration._120),
                 UsesElevation.IF_SET,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSofZmanTfila(alos120.momentOfOccurrence, tzais120.momentOfOccurrence)
         }
@@ -1932,7 +1996,8 @@ class ComplexZmanimCalendar(
                 listOf(
                     ZmanAuthority.KOMARNO,
                 ),
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getTimeOffset(chatzos.momentOfOccurrence, -120 * MINUTE_MILLIS)
         }
@@ -1965,6 +2030,7 @@ class ComplexZmanimCalendar(
                 ZmanCalculationMethod.Relationship(ZmanType.MINCHA_GEDOLAH occurs 30.minutes after ZmanType.CHATZOS_HAYOM),
                 UsesElevation.NEVER,
             ),
+            zmanEvaluationMode
         ) {
             getTimeOffset(chatzos.momentOfOccurrence, MINUTE_MILLIS * 30)
         }
@@ -1991,7 +2057,8 @@ class ComplexZmanimCalendar(
                 ZmanType.MINCHA_GEDOLAH,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(ZmanCalculationMethod.FixedDuration._72),
                 UsesElevation.IF_SET,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getMinchaGedola(alos72.momentOfOccurrence, tzais72.momentOfOccurrence)
         }
@@ -2017,7 +2084,8 @@ class ComplexZmanimCalendar(
                 ZmanType.MINCHA_GEDOLAH,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(16.1F.degrees),
                 UsesElevation.ALWAYS,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getMinchaGedola(
                 alos16Point1Degrees.momentOfOccurrence, tzais16Point1Degrees.momentOfOccurrence
@@ -2063,7 +2131,8 @@ class ComplexZmanimCalendar(
                 ),
                 UsesElevation.ALWAYS,
                 supportingAuthorities = listOf(ZmanAuthority.AHAVAT_SHALOM),
-            )
+            ),
+            zmanEvaluationMode
         ) {
             maxOf(
                 minchaGedola30Minutes.momentOfOccurrence,/*minchaGedola30MinutesZmanis.momentOfOccurence = */
@@ -2092,7 +2161,8 @@ class ComplexZmanimCalendar(
                     minchaGedola30Minutes.definition,
                     minchaGedola.definition,
                 ), UsesElevation.IF_SET
-            )
+            ),
+            zmanEvaluationMode
         ) {
             maxOf(minchaGedola30Minutes.momentOfOccurrence, minchaGedola.momentOfOccurrence)
         }
@@ -2119,7 +2189,8 @@ class ComplexZmanimCalendar(
                 ZmanType.MINCHA_KETANAH,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(16.1F.degrees),
                 UsesElevation.ALWAYS,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getMinchaKetana(
                 alos16Point1Degrees.momentOfOccurrence, tzais16Point1Degrees.momentOfOccurrence
@@ -2153,7 +2224,8 @@ class ComplexZmanimCalendar(
                 listOf(
                     ZmanAuthority.AHAVAT_SHALOM,
                 ),
-            ) // TODO is this relationship just a day definition? ZmanType.MINCHA_KETANAH occurs 2.5.hours.zmaniyos before ZmanType.TZAIS
+            ), // TODO is this relationship just a day definition? ZmanType.MINCHA_KETANAH occurs 2.5.hours.zmaniyos before ZmanType.TZAIS
+            zmanEvaluationMode
 
         ) {
             getTimeOffset(
@@ -2184,7 +2256,8 @@ class ComplexZmanimCalendar(
                 ZmanType.MINCHA_KETANAH,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(ZmanCalculationMethod.FixedDuration._72),
                 UsesElevation.IF_SET,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getMinchaKetana(alos72.momentOfOccurrence, tzais72.momentOfOccurrence)
         }
@@ -2209,7 +2282,8 @@ class ComplexZmanimCalendar(
                 ZmanType.PLAG_HAMINCHA,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(60.minutes.fixed),
                 UsesElevation.IF_SET,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getPlagHamincha(alos60.momentOfOccurrence, tzais60.momentOfOccurrence)
         }
@@ -2235,7 +2309,8 @@ class ComplexZmanimCalendar(
                 ZmanType.PLAG_HAMINCHA,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(ZmanCalculationMethod.FixedDuration._72),
                 UsesElevation.IF_SET,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getPlagHamincha(alos72.momentOfOccurrence, tzais72.momentOfOccurrence)
         }
@@ -2261,7 +2336,8 @@ class ComplexZmanimCalendar(
                 ZmanType.PLAG_HAMINCHA,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(ZmanCalculationMethod.FixedDuration._90),
                 UsesElevation.IF_SET,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getPlagHamincha(alos90.momentOfOccurrence, tzais90.momentOfOccurrence)
         }
@@ -2286,7 +2362,8 @@ class ComplexZmanimCalendar(
                 ZmanType.PLAG_HAMINCHA,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(ZmanCalculationMethod.FixedDuration._96),
                 UsesElevation.IF_SET,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getPlagHamincha(alos96.momentOfOccurrence, tzais96.momentOfOccurrence)
         }
@@ -2308,7 +2385,8 @@ class ComplexZmanimCalendar(
                 ZmanType.PLAG_HAMINCHA,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(ZmanCalculationMethod.ZmaniyosDuration._96),
                 UsesElevation.IF_SET,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getPlagHamincha(alos96Zmanis.momentOfOccurrence, tzais96Zmanis.momentOfOccurrence)
         }
@@ -2330,7 +2408,8 @@ class ComplexZmanimCalendar(
                 ZmanType.PLAG_HAMINCHA,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(ZmanCalculationMethod.ZmaniyosDuration._90),
                 UsesElevation.IF_SET,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getPlagHamincha(alos90Zmanis.momentOfOccurrence, tzais90Zmanis.momentOfOccurrence)
         }
@@ -2353,7 +2432,8 @@ class ComplexZmanimCalendar(
                 ZmanType.PLAG_HAMINCHA,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(ZmanCalculationMethod.ZmaniyosDuration._72),
                 UsesElevation.IF_SET,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getPlagHamincha(alos72Zmanis.momentOfOccurrence, tzais72Zmanis.momentOfOccurrence)
         }
@@ -2379,7 +2459,8 @@ class ComplexZmanimCalendar(
                 ZmanType.PLAG_HAMINCHA,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(16.1F.degrees),
                 UsesElevation.ALWAYS,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getPlagHamincha(
                 alos16Point1Degrees.momentOfOccurrence, tzais16Point1Degrees.momentOfOccurrence
@@ -2406,7 +2487,8 @@ class ComplexZmanimCalendar(
                 ZmanType.PLAG_HAMINCHA,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(19.8F.degrees),
                 UsesElevation.ALWAYS,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getPlagHamincha(
                 alos19Point8Degrees.momentOfOccurrence, tzais19Point8Degrees.momentOfOccurrence
@@ -2433,7 +2515,8 @@ class ComplexZmanimCalendar(
                 ZmanType.PLAG_HAMINCHA,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(26F.degrees),
                 UsesElevation.ALWAYS,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getPlagHamincha(alos26Degrees.momentOfOccurrence, tzais26Degrees.momentOfOccurrence)
         }
@@ -2457,7 +2540,8 @@ class ComplexZmanimCalendar(
                 ZmanType.PLAG_HAMINCHA,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(18F.degrees),
                 UsesElevation.ALWAYS,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getPlagHamincha(alos18Degrees.momentOfOccurrence, tzais18Degrees.momentOfOccurrence)
         }
@@ -2484,7 +2568,8 @@ class ComplexZmanimCalendar(
                 ZmanType.PLAG_HAMINCHA,
                 ZmanCalculationMethod.DayDefinition.DAWN_16_1_TO_ELEVATION_ADJUSTED_SUNSET,
                 UsesElevation.ALWAYS,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getPlagHamincha(alos16Point1Degrees.momentOfOccurrence, elevationAdjustedSunset)
         }
@@ -2511,7 +2596,8 @@ class ComplexZmanimCalendar(
                 ZmanType.PLAG_HAMINCHA,
                 ZmanCalculationMethod.DayDefinition.DAWN_16_1_TO_DUSK_7_083,
                 UsesElevation.ALWAYS,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getPlagHamincha(
                 alos16Point1Degrees.momentOfOccurrence,
@@ -2545,7 +2631,8 @@ class ComplexZmanimCalendar(
                 listOf(
                     ZmanAuthority.AHAVAT_SHALOM
                 )
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getTimeOffset(
                 tzaisGeonim3Point8Degrees.momentOfOccurrence,
@@ -2585,7 +2672,8 @@ class ComplexZmanimCalendar(
                 listOf(
                     RABEINU_TAM
                 )
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSunsetOffsetByDegrees(ZENITH_13_POINT_24)
         }
@@ -2609,7 +2697,8 @@ class ComplexZmanimCalendar(
                 listOf(
                     RABEINU_TAM
                 ),
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getTimeOffset(elevationAdjustedSunset, 58.5 * MINUTE_MILLIS)
         }
@@ -2632,6 +2721,7 @@ class ComplexZmanimCalendar(
                 ZmanCalculationMethod.Relationship(ZmanType.BAIN_HASHMASHOS occurs 13.5.minutes before tzaisGeonim7Point083Degrees),
                 UsesElevation.ALWAYS,
             ),
+            zmanEvaluationMode
         ) {
             getTimeOffset(
                 tzaisGeonim7Point083Degrees.momentOfOccurrence, -13.5 * MINUTE_MILLIS
@@ -2657,7 +2747,8 @@ class ComplexZmanimCalendar(
                 ZmanCalculationMethod.Unspecified,//TODO this hard to catalog. Revisit.
                 UsesElevation.ALWAYS,
                 listOf(RABEINU_TAM accordingTo DIVREI_YOSEF)
-            )
+            ),
+            zmanEvaluationMode
         ) {
             alos19Point8Degrees.momentOfOccurrence?.let { alos19Point8 ->
                 elevationAdjustedSunrise?.let { sunrise ->
@@ -2688,6 +2779,7 @@ class ComplexZmanimCalendar(
                 UsesElevation.IF_SET,
                 listOf(ZmanAuthority.YEREIM),
             ),
+            zmanEvaluationMode
         ) {
             getTimeOffset(
                 elevationAdjustedSunset, -18 * MINUTE_MILLIS
@@ -2724,6 +2816,7 @@ class ComplexZmanimCalendar(
                 ZmanCalculationMethod.Degrees(-3.05F),
                 UsesElevation.ALWAYS
             ),
+            zmanEvaluationMode
         ) {
             getSunsetOffsetByDegrees(ZENITH_MINUS_3_POINT_05)
         }
@@ -2748,6 +2841,7 @@ class ComplexZmanimCalendar(
                 UsesElevation.IF_SET,
                 listOf(ZmanAuthority.YEREIM),
             ),
+            zmanEvaluationMode
         ) {
             getTimeOffset(
                 elevationAdjustedSunset, -16.875 * MINUTE_MILLIS
@@ -2779,7 +2873,8 @@ class ComplexZmanimCalendar(
                 ZmanType.BAIN_HASHMASHOS,
                 ZmanCalculationMethod.Degrees(2.8F),
                 UsesElevation.ALWAYS
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSunsetOffsetByDegrees(ZENITH_MINUS_2_POINT_8)
         }
@@ -2803,7 +2898,8 @@ class ComplexZmanimCalendar(
                 ZmanCalculationMethod.Relationship(ZmanType.BAIN_HASHMASHOS occurs 13.5.minutes before ZmanType.SHKIAH),
                 UsesElevation.IF_SET,
                 listOf(ZmanAuthority.YEREIM),
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getTimeOffset(
                 elevationAdjustedSunset, -13.5 * MINUTE_MILLIS
@@ -2835,7 +2931,8 @@ class ComplexZmanimCalendar(
                 ZmanType.BAIN_HASHMASHOS,
                 ZmanCalculationMethod.Degrees(2.1F),
                 UsesElevation.ALWAYS
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSunsetOffsetByDegrees(ZENITH_MINUS_2_POINT_1) //TODO figure out how to catalog this
         }
@@ -2853,7 +2950,8 @@ class ComplexZmanimCalendar(
                 ZmanType.TZAIS,
                 ZmanCalculationMethod.Degrees(3.7F),
                 UsesElevation.ALWAYS
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSunsetOffsetByDegrees(ZENITH_3_POINT_7)
         }
@@ -2871,7 +2969,8 @@ class ComplexZmanimCalendar(
                 ZmanType.TZAIS,
                 3.8F.degrees,
                 UsesElevation.ALWAYS
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSunsetOffsetByDegrees(ZENITH_3_POINT_8)
         }
@@ -2892,7 +2991,8 @@ class ComplexZmanimCalendar(
                 ZmanType.TZAIS,
                 ZmanCalculationMethod.Degrees(5.95F),
                 UsesElevation.ALWAYS
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSunsetOffsetByDegrees(ZENITH_5_POINT_95)
         }
@@ -2915,7 +3015,8 @@ class ComplexZmanimCalendar(
                 ZmanType.TZAIS,
                 ZmanCalculationMethod.Degrees(3.65F),
                 UsesElevation.ALWAYS
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSunsetOffsetByDegrees(ZENITH_3_POINT_65)
         }
@@ -2940,7 +3041,8 @@ class ComplexZmanimCalendar(
                 ZmanType.TZAIS,
                 ZmanCalculationMethod.Degrees(3.676F),
                 UsesElevation.ALWAYS
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSunsetOffsetByDegrees(ZENITH_3_POINT_676)
         }
@@ -2963,7 +3065,8 @@ class ComplexZmanimCalendar(
                 ZmanType.TZAIS,
                 ZmanCalculationMethod.Degrees(4.61F),
                 UsesElevation.ALWAYS
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSunsetOffsetByDegrees(ZENITH_4_POINT_61)
         }
@@ -2986,7 +3089,8 @@ class ComplexZmanimCalendar(
                 ZmanType.TZAIS,
                 ZmanCalculationMethod.Degrees(4.37F),
                 UsesElevation.ALWAYS
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSunsetOffsetByDegrees(ZENITH_4_POINT_37)
         }
@@ -3011,7 +3115,8 @@ class ComplexZmanimCalendar(
                 ZmanType.TZAIS,
                 ZmanCalculationMethod.Degrees(5.88F),
                 UsesElevation.ALWAYS
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSunsetOffsetByDegrees(ZENITH_5_POINT_88)
         }
@@ -3035,7 +3140,8 @@ class ComplexZmanimCalendar(
                 ZmanType.TZAIS,
                 ZmanCalculationMethod.Degrees(4.8F),
                 UsesElevation.ALWAYS
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSunsetOffsetByDegrees(ZENITH_4_POINT_8)
         }
@@ -3061,7 +3167,8 @@ class ComplexZmanimCalendar(
                 ZmanType.TZAIS,
                 ZmanCalculationMethod.Degrees(6.45F),
                 UsesElevation.ALWAYS
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSunsetOffsetByDegrees(ZENITH_6_POINT_45)
         }
@@ -3103,7 +3210,8 @@ class ComplexZmanimCalendar(
                 7.083F.degrees,
                 UsesElevation.ALWAYS,
                 listOf(ZmanAuthority.GEONIM)
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSunsetOffsetByDegrees(ZENITH_7_POINT_083)
         }
@@ -3140,6 +3248,7 @@ class ComplexZmanimCalendar(
                 7.67F.degrees,
                 UsesElevation.ALWAYS
             ),
+            zmanEvaluationMode
         ) {
             getSunsetOffsetByDegrees(ZENITH_7_POINT_67)
         }
@@ -3161,6 +3270,7 @@ class ComplexZmanimCalendar(
                 8.5F.degrees,
                 UsesElevation.ALWAYS
             ),
+            zmanEvaluationMode
         ) {
             getSunsetOffsetByDegrees(ZENITH_8_POINT_5)
         }
@@ -3181,6 +3291,7 @@ class ComplexZmanimCalendar(
                 9.3F.degrees,
                 UsesElevation.ALWAYS
             ),
+            zmanEvaluationMode
         ) {
             getSunsetOffsetByDegrees(ZENITH_9_POINT_3)
         }
@@ -3208,6 +3319,7 @@ class ComplexZmanimCalendar(
                 9.75F.degrees,
                 UsesElevation.ALWAYS
             ),
+            zmanEvaluationMode
         ) {
             getSunsetOffsetByDegrees(ZENITH_9_POINT_75)
         }
@@ -3234,6 +3346,7 @@ class ComplexZmanimCalendar(
                 UsesElevation.ALWAYS,
                 listOf(ZmanAuthority.CHAVAS_YAIR, ZmanAuthority.DIVREI_MALKIEL),
             ),
+            zmanEvaluationMode
         ) {
             getTimeOffset(
                 elevationAdjustedSunset, 60 * MINUTE_MILLIS
@@ -3264,6 +3377,7 @@ class ComplexZmanimCalendar(
                 UsesElevation.NEVER,
                 listOf(ZmanAuthority.AteretTorah(ateretTorahSunsetOffset)),
             ),
+            zmanEvaluationMode
         ) {
             getTimeOffset(
                 elevationAdjustedSunset, ateretTorahSunsetOffset * MINUTE_MILLIS
@@ -3301,7 +3415,8 @@ class ComplexZmanimCalendar(
                 ),
                 UsesElevation.IF_SET,
                 listOf(ZmanAuthority.AteretTorah(ateretTorahSunsetOffset)),
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSofZmanShma(alos72Zmanis.momentOfOccurrence, tzaisAteretTorah.momentOfOccurrence)
         }
@@ -3336,7 +3451,8 @@ class ComplexZmanimCalendar(
                 ),
                 UsesElevation.IF_SET,
                 listOf(ZmanAuthority.AteretTorah(ateretTorahSunsetOffset)),
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSofZmanTfila(alos72Zmanis.momentOfOccurrence, tzaisAteretTorah.momentOfOccurrence)
         }
@@ -3372,7 +3488,8 @@ class ComplexZmanimCalendar(
                 ),
                 UsesElevation.IF_SET,
                 listOf(ZmanAuthority.AteretTorah(ateretTorahSunsetOffset)),
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getMinchaGedola(alos72Zmanis.momentOfOccurrence, tzaisAteretTorah.momentOfOccurrence)
         }
@@ -3410,7 +3527,8 @@ class ComplexZmanimCalendar(
                 ),
                 UsesElevation.IF_SET,
                 listOf(ZmanAuthority.AteretTorah(ateretTorahSunsetOffset)),
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getMinchaKetana(alos72Zmanis.momentOfOccurrence, tzaisAteretTorah.momentOfOccurrence)
         }
@@ -3442,7 +3560,8 @@ class ComplexZmanimCalendar(
                 ),
                 UsesElevation.IF_SET,
                 listOf(ZmanAuthority.AteretTorah(ateretTorahSunsetOffset)),
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getPlagHamincha(alos72Zmanis.momentOfOccurrence, tzaisAteretTorah.momentOfOccurrence)
         }
@@ -3490,6 +3609,7 @@ class ComplexZmanimCalendar(
                 UsesElevation.IF_SET,
                 listOf(RABEINU_TAM accordingTo ZmanAuthority.MINCHAS_COHEN),
             ),
+            zmanEvaluationMode
         ) {
             getZmanisBasedOffset(1.2)
         }
@@ -3535,6 +3655,7 @@ class ComplexZmanimCalendar(
                 ZmanCalculationMethod.Relationship(ZmanType.TZAIS occurs 90.minutes.zmaniyos after ZmanType.SHKIAH),
                 UsesElevation.IF_SET,
             ),
+            zmanEvaluationMode
         ) {
             getZmanisBasedOffset(1.5)
         }
@@ -3556,6 +3677,7 @@ class ComplexZmanimCalendar(
                 ZmanCalculationMethod.Relationship(ZmanType.TZAIS occurs 96.minutes.zmaniyos after ZmanType.SHKIAH),
                 UsesElevation.IF_SET,
             ),
+            zmanEvaluationMode
         ) {
             getZmanisBasedOffset(1.6)
         }
@@ -3582,6 +3704,7 @@ class ComplexZmanimCalendar(
                 ZmanCalculationMethod.Relationship(ZmanType.TZAIS occurs 90.minutes after ZmanType.SHKIAH),
                 UsesElevation.IF_SET,
             ),
+            zmanEvaluationMode
         ) {
             getTimeOffset(
                 elevationAdjustedSunset, 90 * MINUTE_MILLIS
@@ -3612,6 +3735,7 @@ class ComplexZmanimCalendar(
                 ZmanCalculationMethod.Relationship(ZmanType.TZAIS occurs 120.minutes after ZmanType.SHKIAH),
                 UsesElevation.IF_SET,
             ),
+            zmanEvaluationMode
         ) {
             getTimeOffset(
                 elevationAdjustedSunset, 120 * MINUTE_MILLIS
@@ -3640,6 +3764,7 @@ class ComplexZmanimCalendar(
                 ZmanCalculationMethod.Relationship(ZmanType.TZAIS occurs 120.minutes.zmaniyos after ZmanType.SHKIAH),
                 UsesElevation.IF_SET,
             ),
+            zmanEvaluationMode
         ) {
             getZmanisBasedOffset(2.0)
         }
@@ -3668,6 +3793,7 @@ class ComplexZmanimCalendar(
                 16.1F.degrees,
                 UsesElevation.IF_SET,
             ),
+            zmanEvaluationMode
         ) {
             getSunsetOffsetByDegrees(ZENITH_16_POINT_1)
         }
@@ -3694,6 +3820,7 @@ class ComplexZmanimCalendar(
                 26F.degrees,
                 UsesElevation.IF_SET,
             ),
+            zmanEvaluationMode
         ) {
             getSunsetOffsetByDegrees(ZENITH_26_DEGREES)
         }
@@ -3714,6 +3841,7 @@ class ComplexZmanimCalendar(
                 18F.degrees,
                 UsesElevation.IF_SET,
             ),
+            zmanEvaluationMode
         ) {
             getSunsetOffsetByDegrees(ASTRONOMICAL_ZENITH)
         }
@@ -3735,6 +3863,7 @@ class ComplexZmanimCalendar(
                 19.8F.degrees,
                 UsesElevation.IF_SET,
             ),
+            zmanEvaluationMode
         ) {
             getSunsetOffsetByDegrees(ZENITH_19_POINT_8)
         }
@@ -3756,6 +3885,7 @@ class ComplexZmanimCalendar(
                 ZmanCalculationMethod.Relationship(ZmanType.TZAIS occurs 96.minutes after ZmanType.SHKIAH),
                 UsesElevation.IF_SET,
             ),
+            zmanEvaluationMode
         ) {
             getTimeOffset(
                 elevationAdjustedSunset, 96 * MINUTE_MILLIS
@@ -3782,11 +3912,12 @@ class ComplexZmanimCalendar(
                     ZmanAuthority.ARUCH_HASHULCHAN,
                     ZmanAuthority.FEINSTEIN,
                 )
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getTimeOffset(
                 getDateFromTime(
-                    12.0 - geoLocation.timeZone.rawOffset / HOUR_MILLIS.toDouble(), true
+                    12.0 - geoLocation.rawOffset / HOUR_MILLIS.toDouble(), true
                 ), -geoLocation.localMeanTimeOffset
             )
         }
@@ -3852,11 +3983,8 @@ class ComplexZmanimCalendar(
         tzais: Instant?,
         techila: Boolean,
     ): Instant? {
-        val tz = geoLocation.timeZone
-        return if (!(moladBasedTime < midnightLastNight.toInstant(tz) || moladBasedTime > midnightTonight.toInstant(
-                tz
-            ))
-        ) if (alos != null || tzais != null) if (techila && !(tzais != null && moladBasedTime < tzais || alos != null && moladBasedTime > alos)) tzais
+        val zoneOffsets = geoLocation.prepared.zoneOffsets
+        return if (!(moladBasedTime < zoneOffsets.toInstant(midnightLastNight) || moladBasedTime > zoneOffsets.toInstant(midnightTonight))) if (alos != null || tzais != null) if (techila && !(tzais != null && moladBasedTime < tzais || alos != null && moladBasedTime > alos)) tzais
         else alos
         else moladBasedTime
         else null
@@ -3879,7 +4007,8 @@ class ComplexZmanimCalendar(
         get() = Zman.DateBased(
             ZmanDefinition(
                 ZmanType.SOF_ZMAN_KIDDUSH_LEVANA, ZmanAuthority.MAHARIL
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSofZmanKidushLevanaBetweenMoldos(null, null)
         }
@@ -3943,7 +4072,8 @@ class ComplexZmanimCalendar(
                 ZmanType.SOF_ZMAN_KIDDUSH_LEVANA,
                 ZmanCalculationMethod.Relationship(ZmanType.SOF_ZMAN_KIDDUSH_LEVANA occurs 15.days after ZmanType.MOLAD),
                 supportingAuthorities = listOf(ZmanAuthority.SHULCHAN_ARUCH),
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSofZmanKidushLevana15Days(null, null)
         }
@@ -3964,7 +4094,8 @@ class ComplexZmanimCalendar(
                 ZmanType.EARLIEST_KIDDUSH_LEVANA,
                 ZmanCalculationMethod.Relationship(ZmanType.EARLIEST_KIDDUSH_LEVANA occurs 3.days after ZmanType.MOLAD),
                 supportingAuthorities = listOf(ZmanAuthority.RABEINU_YONAH),
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getTchilasZmanKidushLevana3Days(null, null)
         }
@@ -4005,8 +4136,7 @@ class ComplexZmanimCalendar(
         //Get the following month's zman kiddush Levana for the extreme case of Rapa Iti in French Polynesia on Dec 2027 when
         // kiddush Levana can be said on Rosh Chodesh (the evening of the 30th). See Rabbi Dovid Heber's Shaarei Zmanim chapter 4 (page 32)
         if (zman == null && jewishCalendar.jewishDayOfMonth == 30) {
-            jewishCalendar.forward(DateTimeUnit.MONTH, 1)
-            zman = getMoladBasedTime(jewishCalendar.tchilasZmanKidushLevana3Days, null, null, true)
+            zman = getMoladBasedTime(nextJewishMonth().tchilasZmanKidushLevana3Days, null, null, true)
         }
         return zman
     }
@@ -4023,27 +4153,32 @@ class ComplexZmanimCalendar(
      * @see JewishCalendar.moladAsInstant
      */
     val zmanMolad: Zman.DateBased
-        get() {
+        get() = Zman.DateBased(
+            ZmanDefinition(
+                ZmanType.MOLAD, ZmanAuthority.Unanimous
+            ),
+            zmanEvaluationMode
+        ) {
             // Optimize to not calculate for impossible dates, but account for extreme cases. The molad in the extreme case of Rapa
             // Iti in French Polynesia on Dec 2027 occurs on the night of the 27th of Kislev. In the case of Anadyr, Russia on
             // Jan 2071, the molad will be on the 2nd day of Shevat. See Rabbi Dovid Heber's Shaarei Zmanim chapter 4 (pages 28 and 32).
-            if (jewishCalendar.jewishDayOfMonth in 3..26) {
-                return Zman.DateBased(
-                    ZmanDefinition(
-                        ZmanType.MOLAD, ZmanAuthority.Unanimous
-                    )
-                ) { null }
-            }
+            if (jewishCalendar.jewishDayOfMonth in 3..26) return@DateBased null
             var molad: Instant? = getMoladBasedTime(jewishCalendar.moladAsInstant, null, null, true)
 
             // deal with molad that happens on the end of the previous month
             if (molad == null && jewishCalendar.jewishDayOfMonth > 26) {
-                jewishCalendar.forward(DateTimeUnit.MONTH, 1)
-                molad = getMoladBasedTime(jewishCalendar.moladAsInstant, null, null, true)
+                molad = getMoladBasedTime(nextJewishMonth().moladAsInstant, null, null, true)
             }
-            return Zman.DateBased(ZmanDefinition(ZmanType.MOLAD, ZmanAuthority.Unanimous)) { molad }
+            molad
         }
 
+    /**
+     * Returns a copy of [jewishCalendar] a month later, for the molad of the next month. The [jewishCalendar] itself is
+     * cached and shared by every *zman* of this date, so it is not moved.
+     */
+    private fun nextJewishMonth(): JewishCalendar =
+        JewishCalendar(jewishCalendar.gregorianLocalDate).apply { forward(DateTimeUnit.MONTH, 1) }
+
     /**
      * Used by Molad based *zmanim* to determine if *zmanim* occur during the current day.
      * @see moladBasedTime
@@ -4110,7 +4245,8 @@ class ComplexZmanimCalendar(
             ZmanDefinition(
                 ZmanType.EARLIEST_KIDDUSH_LEVANA,
                 ZmanCalculationMethod.Relationship(ZmanType.EARLIEST_KIDDUSH_LEVANA occurs 7.days after ZmanType.MOLAD),
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getTchilasZmanKidushLevana7Days(null, null)
         }
@@ -4131,7 +4267,8 @@ class ComplexZmanimCalendar(
      */
     val sofZmanAchilasChametzGRA: Zman.DateBased
         get() = Zman.DateBased(
-            sofZmanTfilaGRA.definition.copy(type = ZmanType.SOF_ZMAN_ACHILAS_CHAMETZ)
+            sofZmanTfilaGRA.definition.copy(type = ZmanType.SOF_ZMAN_ACHILAS_CHAMETZ),
+            zmanEvaluationMode
         ) {
             if (jewishCalendar.isErevPesach) sofZmanTfilaGRA.momentOfOccurrence
             else null
@@ -4155,7 +4292,8 @@ class ComplexZmanimCalendar(
      */
     val sofZmanAchilasChametzMGA72Minutes: Zman.DateBased
         get() = Zman.DateBased(
-            sofZmanTfilaMGA72Minutes.definition.copy(type = ZmanType.SOF_ZMAN_ACHILAS_CHAMETZ)
+            sofZmanTfilaMGA72Minutes.definition.copy(type = ZmanType.SOF_ZMAN_ACHILAS_CHAMETZ),
+            zmanEvaluationMode
         ) {
             if (jewishCalendar.isErevPesach) sofZmanTfilaMGA72Minutes.momentOfOccurrence
             else null
@@ -4180,7 +4318,8 @@ class ComplexZmanimCalendar(
      */
     val sofZmanAchilasChametzMGA16Point1Degrees: Zman.DateBased
         get() = Zman.DateBased(
-            sofZmanTfilaMGA16Point1Degrees.definition.copy(type = ZmanType.SOF_ZMAN_ACHILAS_CHAMETZ)
+            sofZmanTfilaMGA16Point1Degrees.definition.copy(type = ZmanType.SOF_ZMAN_ACHILAS_CHAMETZ),
+            zmanEvaluationMode
         ) {
             if (jewishCalendar.isErevPesach) sofZmanTfilaMGA16Point1Degrees.momentOfOccurrence
             else null
@@ -4204,7 +4343,8 @@ class ComplexZmanimCalendar(
                 ZmanType.SOF_ZMAN_BIUR_CHAMETZ,
                 ZmanCalculationMethod.Relationship(ZmanType.SOF_ZMAN_BIUR_CHAMETZ occurs 5.hours.zmaniyos after ZmanType.HANAITZ),
                 supportingAuthorities = listOf(ZmanAuthority.GRA),
-            )
+            ),
+            zmanEvaluationMode
         ) {
             if (jewishCalendar.isErevPesach) getTimeOffset(
                 elevationAdjustedSunrise, (shaahZmanisGra.duration * 5).inWholeMilliseconds
@@ -4233,7 +4373,8 @@ class ComplexZmanimCalendar(
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(ZmanCalculationMethod.FixedDuration._72),
                 UsesElevation.NEVER,
                 listOf(ZmanAuthority.MGA),
-            )
+            ),
+            zmanEvaluationMode
         ) {
             if (jewishCalendar.isErevPesach) getTimeOffset(
                 alos72.momentOfOccurrence, (shaahZmanisMGA.duration * 5).inWholeMilliseconds
@@ -4264,7 +4405,8 @@ class ComplexZmanimCalendar(
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(16.1F.degrees),
                 UsesElevation.ALWAYS,
                 listOf(ZmanAuthority.MGA)
-            )
+            ),
+            zmanEvaluationMode
         ) {
             if (jewishCalendar.isErevPesach) getTimeOffset(
                 alos16Point1Degrees.momentOfOccurrence,
@@ -4285,16 +4427,16 @@ class ComplexZmanimCalendar(
     val solarMidnight: Zman.DateBased
         get() {
             val clonedCal = ComplexZmanimCalendar(geoLocation)
-            val tz = geoLocation.timeZone
-            clonedCal.localDateTime =
-                this.localDateTime.toInstant(tz).plus(DatePeriod(days = 1), tz).toLocalDateTime(tz)
+            clonedCal.zmanEvaluationMode = zmanEvaluationMode
+            clonedCal.localDateTime = geoLocation.prepared.zoneOffsets.plusDays(this.localDateTime, 1)
             val tomorrowChatzos = clonedCal.chatzos
             val thisChatzos = this.chatzos
             //println("Date: ${clonedCal.localDateTime}, tomorrowChatzos: ${tomorrowChatzos.momentOfOccurrence}, thisChatzos: ${thisChatzos.momentOfOccurrence}")
             return Zman.DateBased(
                 ZmanDefinition(
                     ZmanType.CHATZOS_HALAYLAH, ZmanAuthority.Unanimous
-                )
+                ),
+                zmanEvaluationMode
             ) {
                 if (tomorrowChatzos.momentOfOccurrence == null || thisChatzos.momentOfOccurrence == null) null
                 else thisChatzos.momentOfOccurrence?.let {
@@ -4411,7 +4553,8 @@ class ComplexZmanimCalendar(
                 ZmanType.ALOS,
                 ZmanCalculationMethod.Degrees(16.9F),
                 supportingAuthorities = listOf(ZmanAuthority.BAAL_HATANYA)
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSunriseOffsetByDegrees(ZENITH_16_POINT_9)
         }
@@ -4436,7 +4579,8 @@ class ComplexZmanimCalendar(
                         1.583F
                     )
                 ), UsesElevation.ALWAYS, listOf(ZmanAuthority.BAAL_HATANYA)
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSofZmanShma(
                 sunriseBaalHatanya, sunsetBaalHatanya
@@ -4464,7 +4608,8 @@ class ComplexZmanimCalendar(
                         1.583F
                     )
                 ), UsesElevation.ALWAYS, listOf(ZmanAuthority.BAAL_HATANYA)
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSofZmanTfila(
                 sunriseBaalHatanya, sunsetBaalHatanya
@@ -4486,7 +4631,8 @@ class ComplexZmanimCalendar(
      */
     val sofZmanAchilasChametzBaalHatanya: Zman.DateBased
         get() = Zman.DateBased(
-            sofZmanTfilaBaalHatanya.definition.copy(type = ZmanType.SOF_ZMAN_ACHILAS_CHAMETZ)
+            sofZmanTfilaBaalHatanya.definition.copy(type = ZmanType.SOF_ZMAN_ACHILAS_CHAMETZ),
+            zmanEvaluationMode
         ) {
             if (jewishCalendar.isErevPesach) sofZmanTfilaBaalHatanya.momentOfOccurrence
             else null
@@ -4512,7 +4658,8 @@ class ComplexZmanimCalendar(
                         1.583F
                     )
                 ), UsesElevation.ALWAYS, listOf(ZmanAuthority.BAAL_HATANYA)
-            )
+            ),
+            zmanEvaluationMode
         ) {
             if (jewishCalendar.isErevPesach) getTimeOffset(
                 sunriseBaalHatanya, shaahZmanisBaalHatanya * 5
@@ -4546,7 +4693,8 @@ class ComplexZmanimCalendar(
                         1.583F
                     )
                 ), UsesElevation.ALWAYS, listOf(ZmanAuthority.BAAL_HATANYA)
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getMinchaGedola(sunriseBaalHatanya, sunsetBaalHatanya)
         }
@@ -4567,7 +4715,8 @@ class ComplexZmanimCalendar(
                 ZmanType.MINCHA_GEDOLAH, ZmanCalculationMethod.LaterOf(
                     minchaGedola30Minutes.definition, minchaGedolaBaalHatanya.definition
                 ), UsesElevation.ALWAYS, listOf(ZmanAuthority.BAAL_HATANYA)
-            )
+            ),
+            zmanEvaluationMode
         ) {
             maxOf(
                 minchaGedola30Minutes.momentOfOccurrence, minchaGedolaBaalHatanya.momentOfOccurrence
@@ -4597,7 +4746,8 @@ class ComplexZmanimCalendar(
                         1.583F
                     )
                 ), UsesElevation.ALWAYS, listOf(ZmanAuthority.BAAL_HATANYA)
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getMinchaKetana(sunriseBaalHatanya, sunsetBaalHatanya)
         }
@@ -4622,7 +4772,8 @@ class ComplexZmanimCalendar(
                         1.583F
                     )
                 ), UsesElevation.ALWAYS, listOf(ZmanAuthority.BAAL_HATANYA)
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getPlagHamincha(sunriseBaalHatanya, sunsetBaalHatanya)
         }
@@ -4645,7 +4796,8 @@ class ComplexZmanimCalendar(
                 ZmanCalculationMethod.Degrees(6F),
                 UsesElevation.ALWAYS,
                 listOf(ZmanAuthority.BAAL_HATANYA)
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSunsetOffsetByDegrees(ZENITH_6_DEGREES)
         }
@@ -4710,6 +4862,7 @@ class ComplexZmanimCalendar(
                 UsesElevation.ALWAYS,
                 listOf(ZmanAuthority.MGA accordingTo ZmanAuthority.FEINSTEIN)
             ),
+            zmanEvaluationMode
         ) {
             getFixedLocalChatzosBasedZmanim(
                 alos18Degrees.momentOfOccurrence, fixedLocalChatzos.momentOfOccurrence, 3.0
@@ -4738,7 +4891,8 @@ class ComplexZmanimCalendar(
                 ZmanCalculationMethod.DayDefinition.DAWN_16_1_TO_FIXED_LOCAL_CHATZOS,
                 UsesElevation.ALWAYS,
                 listOf(ZmanAuthority.MGA accordingTo ZmanAuthority.FEINSTEIN)
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getFixedLocalChatzosBasedZmanim(
                 alos16Point1Degrees.momentOfOccurrence, fixedLocalChatzos.momentOfOccurrence, 3.0
@@ -4768,7 +4922,8 @@ class ComplexZmanimCalendar(
                 ZmanCalculationMethod.DayDefinition.DAWN_90_MINUTES_TO_FIXED_LOCAL_CHATZOS,
                 UsesElevation.ALWAYS,
                 listOf(ZmanAuthority.MGA accordingTo ZmanAuthority.FEINSTEIN)
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getFixedLocalChatzosBasedZmanim(
                 alos90.momentOfOccurrence, fixedLocalChatzos.momentOfOccurrence, 3.0
@@ -4798,7 +4953,8 @@ class ComplexZmanimCalendar(
                 ZmanCalculationMethod.DayDefinition.DAWN_72_MINUTES_TO_FIXED_LOCAL_CHATZOS,
                 UsesElevation.ALWAYS,
                 listOf(ZmanAuthority.MGA accordingTo ZmanAuthority.FEINSTEIN)
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getFixedLocalChatzosBasedZmanim(
                 alos72.momentOfOccurrence, fixedLocalChatzos.momentOfOccurrence, 3.0
@@ -4827,7 +4983,8 @@ class ComplexZmanimCalendar(
                 ZmanCalculationMethod.DayDefinition.SUNRISE_TO_FIXED_LOCAL_CHATZOS,
                 UsesElevation.ALWAYS,
                 listOf(ZmanAuthority.GRA accordingTo ZmanAuthority.FEINSTEIN)
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getFixedLocalChatzosBasedZmanim(sunrise, fixedLocalChatzos.momentOfOccurrence, 3.0)
         }
@@ -4855,7 +5012,8 @@ class ComplexZmanimCalendar(
                 ZmanCalculationMethod.DayDefinition.SUNRISE_TO_FIXED_LOCAL_CHATZOS,
                 UsesElevation.ALWAYS,
                 listOf(ZmanAuthority.GRA accordingTo ZmanAuthority.FEINSTEIN)
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getFixedLocalChatzosBasedZmanim(sunrise, fixedLocalChatzos.momentOfOccurrence, 4.0)
         }
@@ -4881,6 +5039,7 @@ class ComplexZmanimCalendar(
                 UsesElevation.ALWAYS,
                 supportingAuthorities = listOf(ZmanAuthority.GRA accordingTo ZmanAuthority.FEINSTEIN),
             ),
+            zmanEvaluationMode
         ) {
             getTimeOffset(fixedLocalChatzos.momentOfOccurrence, MINUTE_MILLIS * 30)
         }
@@ -4911,7 +5070,8 @@ class ComplexZmanimCalendar(
                     ZmanAuthority.GRA accordingTo ZmanAuthority.FEINSTEIN
                 ),
                 //TODO is this relationship just day definition? ZmanType.MINCHA_KETANAH occurs 3.5.hours after fixedLocalChatzos
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getFixedLocalChatzosBasedZmanim(fixedLocalChatzos.momentOfOccurrence, sunset, 3.5)
         }
@@ -4942,7 +5102,8 @@ class ComplexZmanimCalendar(
                 listOf(
                     ZmanAuthority.GRA accordingTo ZmanAuthority.FEINSTEIN
                 )
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getFixedLocalChatzosBasedZmanim(fixedLocalChatzos.momentOfOccurrence, sunset, 4.75)
         }
@@ -4966,7 +5127,8 @@ class ComplexZmanimCalendar(
                 listOf(
                     ZmanAuthority.FEINSTEIN
                 ),
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getTimeOffset(
                 elevationAdjustedSunset, 50 * MINUTE_MILLIS
@@ -4996,6 +5158,7 @@ class ComplexZmanimCalendar(
                 UsesElevation.IF_SET,
                 listOf(ZmanAuthority.GRA)
             ),
+            zmanEvaluationMode
         ) {
             getSamuchLeMinchaKetana(elevationAdjustedSunrise, elevationAdjustedSunset)
         }
@@ -5019,7 +5182,8 @@ class ComplexZmanimCalendar(
                 ZmanType.SAMUCH_LEMINCHA_KETANA,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(16.1F.degrees),
                 UsesElevation.ALWAYS,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSamuchLeMinchaKetana(
                 alos16Point1Degrees.momentOfOccurrence, tzais16Point1Degrees.momentOfOccurrence
@@ -5044,11 +5208,32 @@ class ComplexZmanimCalendar(
                 ZmanType.SAMUCH_LEMINCHA_KETANA,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(ZmanCalculationMethod.FixedDuration._72),
                 UsesElevation.IF_SET,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSamuchLeMinchaKetana(alos72.momentOfOccurrence, tzais72.momentOfOccurrence)
         }
 
+    /**
+     * Creates a [deep copy](https://en.wikipedia.org/wiki/Object_copy#Deep_copy) of this calendar with the same
+     * location and settings, set to the given [date]. Unlike changing [localDateTime], the returned calendar's
+     * [allZmanim] are computed for [date], and zmanim previously returned by this calendar are unaffected.
+     *
+     * @see AstronomicalCalendar.copy
+     */
+    fun copy(
+        date: LocalDate,
+        zmanEvaluationMode: Zman.EvaluationMode = this.zmanEvaluationMode,
+    ) = ComplexZmanimCalendar(
+        //GeoLocation.copy() only copies the name and time zone
+        geoLocation.run { GeoLocation(locationName, latitude, longitude, elevation, timeZone) },
+        date,
+        isUseElevation,
+        ateretTorahSunsetOffset,
+        candleLightingOffset,
+        zmanEvaluationMode,
+    ).also { it.astronomicalCalculator = astronomicalCalculator.copy() }
+
     operator fun get(zmanType: ZmanType) = if (zmanType == ZmanType.SHAA_ZMANIS) allShaosZmaniyos
     else allZmanim.filter { it.definition.type == zmanType }
 
@@ -5185,24 +5370,28 @@ class ComplexZmanimCalendar(
                     ZmanType.SHKIAH,
                     ZmanAuthority.Unanimous,
                     UsesElevation.IF_SET
-                )
+                ),
+                zmanEvaluationMode
             ) { sunset },
             Zman.DateBased(
                 ZmanDefinition(
                     ZmanType.SHKIAH, ZmanAuthority.Unanimous, UsesElevation.NEVER
-                )
+                ),
+                zmanEvaluationMode
             ) { seaLevelSunset },
             Zman.DateBased(
                 ZmanDefinition(
                     ZmanType.HANAITZ,
                     ZmanAuthority.Unanimous,
                     UsesElevation.IF_SET
-                )
+                ),
+                zmanEvaluationMode
             ) { sunrise },
             Zman.DateBased(
                 ZmanDefinition(
                     ZmanType.HANAITZ, ZmanAuthority.Unanimous, UsesElevation.NEVER
-                )
+                ),
+                zmanEvaluationMode
             ) { seaLevelSunrise },
             tzaisGeonim3Point7Degrees,
             tzaisGeonim3Point8Degrees,
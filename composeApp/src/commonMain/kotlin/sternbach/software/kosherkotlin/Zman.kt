@@ -3,7 +3,7 @@ package sternbach.software.kosherkotlin
 import sternbach.software.kosherkotlin.metadata.ZmanDefinition
 import kotlinx.datetime.Instant
 import kotlinx.datetime.TimeZone
-import kotlinx.datetime.toLocalDateTime
+import sternbach.software.kosherkotlin.util.ZoneOffsets
 import kotlin.time.Duration
 
 /**
@@ -14,9 +14,43 @@ import kotlin.time.Duration
  * */
 sealed class Zman<T>(
     open val definition: ZmanDefinition,
+    evaluationMode: EvaluationMode,
     protected val computeValue: () -> T,
 ): Comparable<Zman<T>> {
-    val value: T by lazy { computeValue() }
+    private val lazyValue: Lazy<T> = when (evaluationMode) {
+        EvaluationMode.EAGER -> lazyOf(computeValue())
+        EvaluationMode.LAZY_UNSYNCHRONIZED -> lazy(LazyThreadSafetyMode.NONE, computeValue)
+        EvaluationMode.LAZY_PUBLICATION -> lazy(LazyThreadSafetyMode.PUBLICATION, computeValue)
+    }
+    val value: T by lazyValue
+
+    /**
+     * Controls when (and how safely) the [value] of a [Zman] is computed.
+     * Computing a *zman* is a pure function of the calendar's state, so a race between two threads at worst computes the
+     * same value twice; none of the modes take a lock.
+     * @see ZmanimCalendar.zmanEvaluationMode
+     * */
+    enum class EvaluationMode {
+        /**
+         * The value is computed when the [Zman] is constructed. Use this when the [Zman] will outlive the calendar's
+         * current date or location (e.g. it is handed to another thread or stored while the calendar is reused), so that
+         * it reflects the state of the calendar at the time it was requested.
+         * */
+        EAGER,
+
+        /**
+         * The value is computed on first access without any synchronization. Use this for calendars which are confined
+         * to a single thread, such as bulk generation of *zmanim* for many dates.
+         * */
+        LAZY_UNSYNCHRONIZED,
+
+        /**
+         * The value is computed on first access, and is safely published if the [Zman] is shared between threads.
+         * This is the default.
+         * */
+        LAZY_PUBLICATION,
+    }
+
     /**
      * This class represents a zman that has a moment in which it occurs.
      * @param momentOfOccurrence null if zman never occurs or does not apply (e.g. time to say kiddush levana after time
@@ -24,9 +58,18 @@ sealed class Zman<T>(
      * */
     data class DateBased(
         override val definition: ZmanDefinition,
+        private val evaluationMode: EvaluationMode = EvaluationMode.LAZY_PUBLICATION,
         private val computeInstant: () -> Instant?,
-    ) : Zman<Instant?>(definition, computeInstant) {
-        val momentOfOccurrence: Instant? by lazy { value }
+    ) : Zman<Instant?>(definition, evaluationMode, computeInstant) {
+        /**
+         * Whether [other] is the same *zman* computed the same way, whatever the [EvaluationMode] of either.
+         */
+        override fun equals(other: Any?): Boolean =
+            this === other || other is DateBased && definition == other.definition && computeInstant == other.computeInstant
+
+        override fun hashCode(): Int = 31 * definition.hashCode() + computeInstant.hashCode()
+
+        val momentOfOccurrence: Instant? get() = value
         override fun compareTo(other: Zman<Instant?>): Int {
             if(this === other) return 0
 //            if(this.type != other.type) return this.type.compareTo(other.type)
@@ -50,9 +93,18 @@ sealed class Zman<T>(
      * */
     data class ValueBased(
         override val definition: ZmanDefinition,
+        private val evaluationMode: EvaluationMode = EvaluationMode.LAZY_PUBLICATION,
         private val computeDuration: () -> Duration,
-    ) : Zman<Duration>(definition, computeDuration) {
-        val duration: Duration by lazy { value }
+    ) : Zman<Duration>(definition, evaluationMode, computeDuration) {
+        /**
+         * Whether [other] is the same *zman* computed the same way, whatever the [EvaluationMode] of either.
+         */
+        override fun equals(other: Any?): Boolean =
+            this === other || other is ValueBased && definition == other.definition && computeDuration == other.computeDuration
+
+        override fun hashCode(): Int = 31 * definition.hashCode() + computeDuration.hashCode()
+
+        val duration: Duration get() = value
 
         override fun compareTo(other: Zman<Duration>): Int {
             if(this === other) return 0
@@ -74,7 +126,7 @@ sealed class Zman<T>(
             else {
                 (this as DateBased)
                     .momentOfOccurrence
-                    ?.toLocalDateTime(tz)
+                    ?.let { zoneOffsetsOf(tz).toLocalDateTime(it) }
                     ?.time
                     ?.let {
                         "${(if(it.hour == 0) 12 else if(it.hour <= 12) it.hour else it.hour - 12).pad()}:${it.minute.pad()}:${it.second.pad()} ${if (it.hour < 12) "AM" else "PM"}"
@@ -82,4 +134,17 @@ sealed class Zman<T>(
                     ?: "N/A"
             }
     private fun Int.pad() = toString().padStart(2,'0')
+
+    private companion object {
+        /**
+         * The offsets of the time zone last formatted in, since the *zmanim* of a calendar are all formatted in its zone,
+         * so that formatting does not take the lock of [ZoneOffsets.of] for each *zman*. It is written without
+         * synchronization, as in [DirectMappedCache][sternbach.software.kosherkotlin.util.DirectMappedCache], and the
+         * zone is looked up if it is not [tz][zoneOffsetsOf].
+         */
+        private var lastZoneOffsets: ZoneOffsets? = null
+
+        fun zoneOffsetsOf(tz: TimeZone): ZoneOffsets =
+            lastZoneOffsets?.takeIf { it.timeZone == tz } ?: ZoneOffsets.of(tz).also { lastZoneOffsets = it }
+    }
 }
@@ -0,0 +1,279 @@
+package sternbach.software.kosherkotlin
+
+import kotlinx.datetime.Clock
+import kotlinx.datetime.DateTimeUnit
+import kotlinx.datetime.Instant
+import kotlinx.datetime.LocalDate
+import kotlinx.datetime.atStartOfDayIn
+import kotlinx.datetime.plus
+import kotlinx.datetime.todayIn
+import sternbach.software.kosherkotlin.hebrewcalendar.JewishCalendar
+import sternbach.software.kosherkotlin.metadata.ZmanDefinition
+import sternbach.software.kosherkotlin.metadata.ZmanType
+import sternbach.software.kosherkotlin.util.GeoLocation
+import sternbach.software.kosherkotlin.util.MinHeap
+import kotlin.math.roundToInt
+import kotlin.math.roundToLong
+import kotlin.time.Duration
+
+/**
+ * A reminder to send [before] the *zman* defined by [zman] (e.g. 10 minutes before [ZmanimCalendar.sofZmanShmaGRA]).
+ * A negative [before] sends the reminder after the *zman*. Reminders for [candle lighting][ZmanType.CANDLE_LIGHTING]
+ * are only sent on days with [candle lighting][JewishCalendar.hasCandleLighting].
+ *
+ * @param zman the [definition][Zman.definition] of one of the [ComplexZmanimCalendar.allZmanim], as defined with the
+ * settings of the [ZmanReminderProfile] (e.g. its [candle lighting offset][ZmanReminderProfile.candleLightingOffset]).
+ */
+data class ZmanReminder(
+    val zman: ZmanDefinition,
+    val before: Duration,
+)
+
+/**
+ * The settings which determine the reminders of a subscriber of a [ZmanReminderScheduler]. Subscribers with equal
+ * profiles at the same rounded location share one calculation per day.
+ */
+data class ZmanReminderProfile(
+    val reminders: List<ZmanReminder>,
+    val isUseElevation: Boolean = false,
+    val candleLightingOffset: Double = 18.0,
+    val inIsrael: Boolean = false,
+)
+
+/**
+ * Schedules [ZmanReminder]s for many subscribers. Subscribers are grouped by their location (rounded to
+ * [locationPrecision] degrees) and [ZmanReminderProfile], and each group's *zmanim* are computed once per day with a
+ * [ComplexZmanimCalendar]. The triggers of every group are kept in a min-heap, so [pollDue] only looks at the triggers
+ * which are due, and the heap grows with the number of groups rather than the number of subscribers.
+ *
+ * Each group is scheduled through tomorrow (in its time zone); a group's next day is scheduled at the start of its day,
+ * from within [pollDue]. Triggers that are already in the past when they are scheduled are dropped.
+ *
+ * Rounding the location means reminders are computed for the center of the subscriber's cell. At the default precision
+ * of 0.01˚ (about a kilometer) this moves sunrise-based *zmanim* by a few seconds at most.
+ *
+ * This class is not thread-safe.
+ *
+ * @param S the type that identifies a subscriber (e.g. a user ID).
+ * @param clock the source of the current time, used to schedule new subscribers.
+ * @param locationPrecision the size, in degrees, of the cells that locations are rounded to.
+ */
+class ZmanReminderScheduler<S>(
+    private val clock: Clock = Clock.System,
+    val locationPrecision: Double = DEFAULT_LOCATION_PRECISION,
+) {
+    init {
+        require(locationPrecision > 0) { "locationPrecision must be positive: $locationPrecision" }
+    }
+
+    /**
+     * A [reminder] which is due for [subscribers].
+     *
+     * @param momentOfOccurrence the moment of the *zman* the reminder is for.
+     * @param location the (rounded) location the *zman* was computed for.
+     */
+    class DueReminder<S>(
+        val subscribers: List<S>,
+        val reminder: ZmanReminder,
+        val momentOfOccurrence: Instant,
+        val triggerAt: Instant,
+        val location: GeoLocation,
+    ) {
+        override fun toString() =
+            "DueReminder(subscribers=${subscribers.size}, reminder=$reminder, triggerAt=$triggerAt, location=${location.locationName})"
+    }
+
+    private data class GroupKey(
+        val latitude: Long,
+        val longitude: Long,
+        val elevation: Int,
+        val timeZoneId: String,
+        val profile: ZmanReminderProfile,
+    )
+
+    private class Group<S>(val key: GroupKey, val location: GeoLocation, val zmanIndices: IntArray) {
+        val subscribers = LinkedHashSet<S>()
+    }
+
+    /**
+     * A trigger of the reminder at [reminderIndex] of a group's profile, or, if [reminderIndex] is -1, the start of [date],
+     * when the day after [date] is scheduled. Only the moment of the *zman* is kept, so the day's calendar can be
+     * garbage collected as soon as it is scheduled.
+     */
+    private class Trigger<S>(
+        val at: Long,
+        val sequence: Long,
+        val group: Group<S>,
+        val date: LocalDate,
+        val reminderIndex: Int,
+        val zmanAt: Long,
+    )
+
+    private val groups = HashMap<GroupKey, Group<S>>()
+    private val groupOfSubscriber = HashMap<S, Group<S>>()
+    private val triggers = MinHeap(compareBy<Trigger<S>>({ it.at }, { it.sequence }))
+    private var sequence = 0L
+
+    /**
+     * Whether each recent date has candle lighting, by (date, in Israel). Every group schedules the same few dates, and
+     * creating a [JewishCalendar] is relatively expensive.
+     */
+    private val hasCandleLighting = HashMap<Pair<LocalDate, Boolean>, Boolean>()
+
+    /**
+     * The index of each of [ComplexZmanimCalendar.allZmanim] by definition, per profile (definitions include settings such
+     * as [ZmanReminderProfile.candleLightingOffset]). The list is in the same order on every date.
+     */
+    private val indicesOfZmanim = HashMap<ZmanReminderProfile, IntArray>()
+
+    /**
+     * The number of distinct (rounded location, profile) combinations which are computed each day.
+     */
+    val groupCount: Int get() = groups.size
+
+    /**
+     * The number of scheduled triggers, including the triggers which schedule the next day of each group.
+     */
+    val triggerCount: Int get() = triggers.size
+
+    /**
+     * The moment of the earliest scheduled trigger, or null if nothing is scheduled.
+     */
+    val nextTriggerAt: Instant? get() = triggers.peek()?.let { Instant.fromEpochMilliseconds(it.at) }
+
+    /**
+     * Subscribes [subscriber] to the reminders of [profile] at [location], replacing any previous subscription of
+     * [subscriber].
+     *
+     * @throws IllegalArgumentException if one of the reminders is not of one of [ComplexZmanimCalendar.allZmanim].
+     */
+    fun subscribe(subscriber: S, location: GeoLocation, profile: ZmanReminderProfile) {
+        unsubscribe(subscriber)
+        val latitude = (location.latitude / locationPrecision).roundToLong()
+        val longitude = (location.longitude / locationPrecision).roundToLong()
+        //elevation only matters if it is used; round to 10 meters
+        val elevation = if (profile.isUseElevation) (location.elevation / 10).roundToInt() * 10 else 0
+        val key = GroupKey(latitude, longitude, elevation, location.timeZone.id, profile)
+        val group = groups.getOrPut(key) {
+            val zmanIndices = indicesOfZmanim.getOrPut(profile) {
+                val definitions = ComplexZmanimCalendar(
+                    useElevation = profile.isUseElevation,
+                    candleLightingOffset = profile.candleLightingOffset
+                ).allZmanim.map { it.definition }
+                profile.reminders.map { reminder ->
+                    definitions.indexOf(reminder.zman).also {
+                        require(it != -1) { "${reminder.zman} is not one of ComplexZmanimCalendar.allZmanim" }
+                    }
+                }.toIntArray()
+            }
+            val roundedLocation = GeoLocation(
+                "${latitude * locationPrecision},${longitude * locationPrecision}",
+                latitude * locationPrecision,
+                longitude * locationPrecision,
+                elevation.toDouble(),
+                location.timeZone
+            )
+            Group<S>(key, roundedLocation, zmanIndices).also { scheduleFirstDays(it) }
+        }
+        group.subscribers.add(subscriber)
+        groupOfSubscriber[subscriber] = group
+    }
+
+    /**
+     * Cancels the reminders of [subscriber].
+     *
+     * @return whether [subscriber] was subscribed.
+     */
+    fun unsubscribe(subscriber: S): Boolean {
+        val group = groupOfSubscriber.remove(subscriber) ?: return false
+        group.subscribers.remove(subscriber)
+        //the group's triggers are dropped lazily by pollDue
+        if (group.subscribers.isEmpty()) groups.remove(group.key)
+        return true
+    }
+
+    /**
+     * Removes and returns every reminder due at or before [now], in order of their trigger time. Days are scheduled as
+     * their predecessors start, so this should be called at least daily.
+     */
+    fun pollDue(now: Instant = clock.now()): List<DueReminder<S>> {
+        val nowMillis = now.toEpochMilliseconds()
+        val due = mutableListOf<DueReminder<S>>()
+        while (true) {
+            val trigger = triggers.peek() ?: break
+            if (trigger.at > nowMillis) break
+            triggers.poll()
+            val group = trigger.group
+            if (group.subscribers.isEmpty()) continue //unsubscribed
+            if (trigger.reminderIndex == -1) {
+                val nextDate = trigger.date.plus(1, DateTimeUnit.DAY)
+                scheduleDay(group, nextDate, nowMillis)
+                scheduleStartOfDay(group, nextDate)
+            } else {
+                val reminder = group.key.profile.reminders[trigger.reminderIndex]
+                due.add(
+                    DueReminder(
+                        group.subscribers.toList(),
+                        reminder,
+                        Instant.fromEpochMilliseconds(trigger.zmanAt),
+                        Instant.fromEpochMilliseconds(trigger.at),
+                        group.location
+                    )
+                )
+            }
+        }
+        return due
+    }
+
+    private fun scheduleFirstDays(group: Group<S>) {
+        val nowMillis = clock.now().toEpochMilliseconds()
+        val today = clock.todayIn(group.location.timeZone)
+        val tomorrow = today.plus(1, DateTimeUnit.DAY)
+        scheduleDay(group, today, nowMillis)
+        scheduleDay(group, tomorrow, nowMillis)
+        scheduleStartOfDay(group, tomorrow)
+    }
+
+    /**
+     * Schedules the trigger which schedules the day after [date] at the start of [date].
+     */
+    private fun scheduleStartOfDay(group: Group<S>, date: LocalDate) {
+        val startOfDay = date.atStartOfDayIn(group.location.timeZone).toEpochMilliseconds()
+        triggers.add(Trigger(startOfDay, sequence++, group, date, -1, startOfDay))
+    }
+
+    private fun scheduleDay(group: Group<S>, date: LocalDate, nowMillis: Long) {
+        val profile = group.key.profile
+        val calendar = ComplexZmanimCalendar(
+            group.location,
+            date,
+            profile.isUseElevation,
+            candleLightingOffset = profile.candleLightingOffset,
+            zmanEvaluationMode = Zman.EvaluationMode.LAZY_UNSYNCHRONIZED,
+        )
+        val zmanim = calendar.allZmanim
+        profile.reminders.forEachIndexed { index, reminder ->
+            if (reminder.zman.type == ZmanType.CANDLE_LIGHTING && !hasCandleLighting(date, profile.inIsrael)) return@forEachIndexed
+            val momentOfOccurrence = zmanim[group.zmanIndices[index]].momentOfOccurrence ?: return@forEachIndexed
+            val at = (momentOfOccurrence - reminder.before).toEpochMilliseconds()
+            if (at >= nowMillis) {
+                triggers.add(Trigger(at, sequence++, group, date, index, momentOfOccurrence.toEpochMilliseconds()))
+            }
+        }
+    }
+
+    private fun hasCandleLighting(date: LocalDate, inIsrael: Boolean): Boolean {
+        //only a few dates are scheduled at a time, so start over rather than track which dates are still needed
+        if (hasCandleLighting.size > MAX_CACHED_DATES) hasCandleLighting.clear()
+        return hasCandleLighting.getOrPut(date to inIsrael) { JewishCalendar(date, inIsrael).hasCandleLighting }
+    }
+
+    companion object {
+        /**
+         * The default size, in degrees, of the cells that locations are rounded to (about a kilometer).
+         */
+        const val DEFAULT_LOCATION_PRECISION = 0.01
+
+        private const val MAX_CACHED_DATES = 16
+    }
+}
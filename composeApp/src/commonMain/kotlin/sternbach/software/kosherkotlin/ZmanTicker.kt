@@ -0,0 +1,174 @@
+package sternbach.software.kosherkotlin
+
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.channelFlow
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.launch
+import kotlinx.datetime.Clock
+import kotlinx.datetime.Instant
+import kotlinx.datetime.todayIn
+import sternbach.software.kosherkotlin.util.GeoLocation
+import sternbach.software.kosherkotlin.util.MinHeap
+import kotlin.time.Duration
+import kotlin.time.Duration.Companion.minutes
+
+/**
+ * A transition in the state of a *zman* at a location, emitted by [ZmanTicker].
+ *
+ * @param location the location of the *zman*.
+ * @param zman the *zman*. Its [momentOfOccurrence][Zman.DateBased.momentOfOccurrence] is never null.
+ * @param type whether the *zman* is upcoming, occurring now, or has passed.
+ */
+data class ZmanEvent(
+    val location: GeoLocation,
+    val zman: Zman.DateBased,
+    val type: Type,
+) {
+    val momentOfOccurrence: Instant get() = zman.momentOfOccurrence!!
+
+    enum class Type {
+        /**
+         * The *zman* will occur within [ZmanTicker.upcomingLead].
+         */
+        UPCOMING,
+
+        /**
+         * The *zman* is occurring now.
+         */
+        NOW,
+
+        /**
+         * [ZmanTicker.passedAfter] has elapsed since the *zman* occurred.
+         */
+        PASSED,
+    }
+}
+
+/**
+ * Emits [ZmanEvent]s as *zmanim* approach, occur and pass, for any number of locations. Each location's *zmanim* are
+ * computed once per day into a [ZmanimTimeline], and the flow suspends with [delay] until the next transition instead of
+ * polling the calendar. A day's timeline is only computed when the previous day's *zmanim* run out, or when a
+ * location is added.
+ *
+ * When collection starts (or falls behind), transitions which have already been superseded are skipped, so the first
+ * events describe the current state of each *zman* (e.g. a *zman* occurring in 5 minutes emits [ZmanEvent.Type.UPCOMING]
+ * immediately).
+ *
+ * @param clock the source of the current time. Tests can supply a virtual clock.
+ * @param upcomingLead how long before a *zman* [ZmanEvent.Type.UPCOMING] is emitted.
+ * @param passedAfter how long after a *zman* [ZmanEvent.Type.PASSED] is emitted.
+ * @param select the *zmanim* to follow. Defaults to [ComplexZmanimCalendar.allZmanim].
+ */
+class ZmanTicker(
+    private val clock: Clock = Clock.System,
+    val upcomingLead: Duration = 15.minutes,
+    val passedAfter: Duration = 1.minutes,
+    private val select: (ComplexZmanimCalendar) -> List<Zman.DateBased> = { it.allZmanim },
+) {
+    init {
+        require(!upcomingLead.isNegative()) { "upcomingLead must not be negative: $upcomingLead" }
+        require(!passedAfter.isNegative()) { "passedAfter must not be negative: $passedAfter" }
+    }
+
+    /**
+     * Returns the events of the *zmanim* of the latest list of [locations]. Each location is followed by its own
+     * [events], so whenever [locations] emits, only the locations which were added are computed, and only those which
+     * were removed stop; the others go on as they were. Locations are told apart by [equality][GeoLocation.equals], so a
+     * location should not be changed after it is emitted.
+     */
+    fun events(locations: Flow<List<GeoLocation>>): Flow<ZmanEvent> = channelFlow {
+        //the children following each location, one per time it is listed
+        val children = HashMap<GeoLocation, MutableList<Job>>()
+        locations.collect { latest ->
+            val counts = latest.groupingBy { it }.eachCount()
+            val removed = children.keys - counts.keys
+            removed.forEach { location -> children.remove(location)!!.forEach { it.cancel() } }
+            for ((location, count) in counts) {
+                val jobs = children.getOrPut(location) { mutableListOf() }
+                while (jobs.size > count) jobs.removeLast().cancel()
+                while (jobs.size < count) jobs.add(launch { events(listOf(location)).collect { send(it) } })
+            }
+        }
+    }
+
+    /**
+     * Returns the events of the *zmanim* of [locations]. The flow never completes, unless none of the locations have any
+     * of the selected *zmanim* for [ZmanimTimeline.MAX_DAYS_TO_SEARCH] days.
+     */
+    fun events(locations: List<GeoLocation>): Flow<ZmanEvent> = flow {
+        val start = clock.now()
+        val queue = MinHeap(compareBy<Transition>({ it.at }, { it.sequence }))
+        var sequence = 0L
+        fun scheduleNext(cursor: Cursor) {
+            val zman = cursor.next() ?: return
+            val moment = zman.momentOfOccurrence!!
+            queue.add(Transition(moment - upcomingLead, sequence++, cursor, zman, ZmanEvent.Type.UPCOMING))
+            queue.add(Transition(moment, sequence++, cursor, zman, ZmanEvent.Type.NOW))
+            queue.add(Transition(moment + passedAfter, sequence++, cursor, zman, ZmanEvent.Type.PASSED))
+        }
+        locations.forEach { location ->
+            val calendar = ComplexZmanimCalendar(location, clock.todayIn(location.timeZone))
+            scheduleNext(Cursor.startingAfter(location, ZmanimTimeline.of(calendar, select), start - passedAfter))
+        }
+        while (true) {
+            val transition = queue.peek() ?: break
+            val now = clock.now()
+            if (transition.at > now) {
+                delay(transition.at - now)
+                continue
+            }
+            queue.poll()
+            if (!transition.isSupersededAt(now)) emit(ZmanEvent(transition.cursor.location, transition.zman, transition.type))
+            //keep the next zman of the location in the queue before its upcoming event is due
+            if (transition.type == ZmanEvent.Type.UPCOMING) scheduleNext(transition.cursor)
+        }
+    }
+
+    private inner class Transition(
+        val at: Instant,
+        val sequence: Long,
+        val cursor: Cursor,
+        val zman: Zman.DateBased,
+        val type: ZmanEvent.Type,
+    ) {
+        /**
+         * Whether the transition after this one (for the same *zman*) is also due, so this one is no longer current.
+         */
+        fun isSupersededAt(now: Instant) = when (type) {
+            ZmanEvent.Type.UPCOMING -> zman.momentOfOccurrence!! <= now
+            ZmanEvent.Type.NOW -> zman.momentOfOccurrence!! + passedAfter <= now
+            ZmanEvent.Type.PASSED -> false
+        }
+    }
+
+    /**
+     * The position of a location in its timelines. Moving past the end of a day replaces [timeline] with the next day's,
+     * so past days can be garbage collected.
+     */
+    private class Cursor(val location: GeoLocation, private var timeline: ZmanimTimeline, private var index: Int) {
+        fun next(): Zman.DateBased? {
+            var days = 0
+            while (index >= timeline.size) {
+                if (++days > ZmanimTimeline.MAX_DAYS_TO_SEARCH) return null
+                timeline = timeline.nextDay
+                index = 0
+            }
+            return timeline[index++]
+        }
+
+        companion object {
+            fun startingAfter(location: GeoLocation, timeline: ZmanimTimeline, after: Instant): Cursor {
+                val index = timeline.indexOfNext(after)
+                if (index == 0) {
+                    //the previous day's late zmanim (e.g. solar midnight) can still be ahead
+                    val previousDay = timeline.previousDay
+                    val previousDayIndex = previousDay.indexOfNext(after)
+                    if (previousDayIndex < previousDay.size) return Cursor(location, previousDay, previousDayIndex)
+                }
+                return Cursor(location, timeline, index)
+            }
+        }
+    }
+}
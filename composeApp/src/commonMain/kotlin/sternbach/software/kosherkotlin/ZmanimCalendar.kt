@@ -139,6 +139,15 @@ open class ZmanimCalendar(
     var candleLightingOffset: Double = 18.0
 ) : AstronomicalCalendar(geoLocation) {
 
+    /**
+     * The [Zman.EvaluationMode] used for every [Zman] returned by this calendar. The default,
+     * [Zman.EvaluationMode.LAZY_PUBLICATION], only computes a *zman* when its value is read and is safe to share between
+     * threads. Calendars created for single-threaded bulk work (e.g. generating a year of *zmanim*) should use
+     * [Zman.EvaluationMode.LAZY_UNSYNCHRONIZED], and calendars whose date or location is changed while previously
+     * returned *zmanim* are still in use should use [Zman.EvaluationMode.EAGER].
+     */
+    var zmanEvaluationMode: Zman.EvaluationMode = Zman.EvaluationMode.LAZY_PUBLICATION
+
 
     /**
      * This method will return [sea level sunrise][seaLevelSunrise] if [isUseElevation] is false (the
@@ -187,7 +196,8 @@ open class ZmanimCalendar(
                 8.5F.degrees,
                 UsesElevation.ALWAYS,
                 supportingAuthorities = listOf(ZmanAuthority.POSEN)
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSunsetOffsetByDegrees(ZENITH_8_POINT_5)
         }
@@ -214,7 +224,8 @@ open class ZmanimCalendar(
                 ZmanType.ALOS,
                 16.1F.degrees,
                 UsesElevation.ALWAYS
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSunriseOffsetByDegrees(ZENITH_16_POINT_1)
         }
@@ -238,7 +249,8 @@ open class ZmanimCalendar(
                 ZmanType.ALOS,
                 ZmanCalculationMethod.Relationship(ZmanType.ALOS occurs 72.minutes before ZmanType.HANAITZ),
                 UsesElevation.NEVER,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getTimeOffset(elevationAdjustedSunrise, -72 * MINUTE_MILLIS)
         }
@@ -261,7 +273,8 @@ open class ZmanimCalendar(
                 ZmanType.CHATZOS_HAYOM,
                 ZmanAuthority.Unanimous,
                 UsesElevation.NEVER
-            )
+            ),
+            zmanEvaluationMode
         ) {
             sunTransit
         }
@@ -313,7 +326,8 @@ open class ZmanimCalendar(
                 ZmanCalculationMethod.DayDefinition.SUNRISE_TO_SUNSET,
                 UsesElevation.IF_SET,
                 listOf(ZmanAuthority.GRA)
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSofZmanShma(elevationAdjustedSunrise, elevationAdjustedSunset)
         }
@@ -339,7 +353,8 @@ open class ZmanimCalendar(
                 ZmanType.SOF_ZMAN_KRIAS_SHEMA,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(ZmanCalculationMethod.FixedDuration._72),
                 UsesElevation.IF_SET,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSofZmanShma(alos72.momentOfOccurrence, tzais72.momentOfOccurrence)
         }
@@ -370,7 +385,8 @@ open class ZmanimCalendar(
                     ZmanAuthority.PRI_MEGADIM,
                     ZmanAuthority.RABEINU_TAM
                 ),
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getTimeOffset(elevationAdjustedSunset, 72 * MINUTE_MILLIS)
         }
@@ -396,7 +412,8 @@ open class ZmanimCalendar(
                 ZmanType.CANDLE_LIGHTING,
                 ZmanCalculationMethod.Relationship(ZmanType.CANDLE_LIGHTING occurs candleLightingOffset.minutes before ZmanType.SHKIAH),
                 UsesElevation.NEVER,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getTimeOffset(seaLevelSunset, -candleLightingOffset * MINUTE_MILLIS)
         }
@@ -447,7 +464,8 @@ open class ZmanimCalendar(
                 ZmanCalculationMethod.DayDefinition.SUNRISE_TO_SUNSET,
                 UsesElevation.IF_SET,
                 listOf(ZmanAuthority.GRA)
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSofZmanTfila(elevationAdjustedSunrise, elevationAdjustedSunset)
         }
@@ -472,7 +490,8 @@ open class ZmanimCalendar(
                 ZmanType.SOF_ZMAN_TEFILLAH,
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(ZmanCalculationMethod.FixedDuration._72),
                 UsesElevation.IF_SET,
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getSofZmanTfila(alos72.momentOfOccurrence, tzais72.momentOfOccurrence)
         }
@@ -528,7 +547,8 @@ open class ZmanimCalendar(
                 ZmanCalculationMethod.DayDefinition.SUNRISE_TO_SUNSET,
                 UsesElevation.IF_SET,
                 listOf(ZmanAuthority.GRA)
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getMinchaGedola(elevationAdjustedSunrise, elevationAdjustedSunset)
         }
@@ -612,7 +632,8 @@ open class ZmanimCalendar(
                 ZmanCalculationMethod.DayDefinition.SUNRISE_TO_SUNSET,
                 UsesElevation.IF_SET,
                 listOf(ZmanAuthority.GRA)
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getMinchaKetana(elevationAdjustedSunrise, elevationAdjustedSunset)
         }
@@ -659,7 +680,8 @@ open class ZmanimCalendar(
                 ZmanCalculationMethod.DayDefinition.SUNRISE_TO_SUNSET,
                 UsesElevation.IF_SET,
                 listOf(ZmanAuthority.GRA)
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getPlagHamincha(elevationAdjustedSunrise, elevationAdjustedSunset)
         }
@@ -688,7 +710,8 @@ open class ZmanimCalendar(
                 ZmanCalculationMethod.DayDefinition.SUNRISE_TO_SUNSET,
                 UsesElevation.IF_SET,
                 listOf(ZmanAuthority.GRA)
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getTemporalHour(elevationAdjustedSunrise, elevationAdjustedSunset).milliseconds
         }
@@ -712,7 +735,8 @@ open class ZmanimCalendar(
                 ZmanCalculationMethod.DayDefinition.dawnToDusk(ZmanCalculationMethod.FixedDuration._72),
                 UsesElevation.IF_SET,
                 listOf(ZmanAuthority.MGA)
-            )
+            ),
+            zmanEvaluationMode
         ) {
             getTemporalHour(alos72.momentOfOccurrence, tzais72.momentOfOccurrence).milliseconds
         }
@@ -732,6 +756,7 @@ open class ZmanimCalendar(
      * @see JewishCalendar.isAssurBemelacha
      * @see JewishCalendar.hasCandleLighting
      * @see JewishCalendar.setInIsrael
+     * @see AssurBemelachaIntervals for checking many moments over a range of dates.
      */
     fun isAssurBemlacha(currentTime: Instant, tzais: Instant, inIsrael: Boolean): Boolean =
         JewishCalendar(localDateTime.date, inIsrael)
@@ -0,0 +1,281 @@
+package sternbach.software.kosherkotlin
+
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.coroutineScope
+import kotlinx.datetime.Instant
+import kotlinx.datetime.LocalDate
+import kotlinx.datetime.TimeZone
+import sternbach.software.kosherkotlin.util.GeoLocation
+import sternbach.software.kosherkotlin.util.ZoneOffsets
+import kotlin.math.abs
+import kotlin.math.min
+import kotlin.math.roundToInt
+import kotlin.time.Duration
+import kotlin.time.Duration.Companion.seconds
+
+/**
+ * Renders a *zman* of a date across a map, e.g. candle lighting across a continent, as the local time of the *zman* at
+ * each pixel.
+ *
+ * Computing a calendar per pixel would take seconds per tile, but a *zman* changes smoothly with latitude and longitude
+ * almost everywhere. So the *zman* is only computed exactly at the corners of cells of [cellSize] pixels, and
+ * interpolated bilinearly inside them. The interpolation is checked against the exact *zman* at the center of each cell,
+ * and a cell is split in 4 (down to single pixels) wherever it is off by more than [tolerance] or the *zman* does not
+ * occur at a corner (near the polar day or night). The *zman* is interpolated in UTC, which is smooth across time zones,
+ * so a cell whose corners are in different time zones is only split further to look up where the time zone changes.
+ *
+ * The map is split into tiles of [TILE_SIZE] pixels which are rendered in parallel. Time zones are only looked up at the
+ * corners and centers of cells, so a time zone smaller than a cell may not show.
+ *
+ * @param timeZoneAt returns the time zone at a latitude and longitude, e.g. that of the
+ * [nearest][sternbach.software.kosherkotlin.util.Gazetteer.nearest] place. It is called from several threads at once.
+ * @param cellSize the width and height in pixels of the cells the *zman* is computed at the corners of.
+ * @param tolerance how far the interpolated *zman* may be from the exact *zman* at the center of a cell.
+ * @param select the *zman* to render, such as [ZmanimCalendar.candleLighting].
+ */
+class ZmanimRaster(
+    private val timeZoneAt: (latitude: Double, longitude: Double) -> TimeZone,
+    val cellSize: Int = 16,
+    val tolerance: Duration = 30.seconds,
+    private val select: (ComplexZmanimCalendar) -> Zman.DateBased,
+) {
+    init {
+        require(cellSize >= 1) { "cellSize must be positive: $cellSize" }
+        require(!tolerance.isNegative()) { "tolerance must not be negative: $tolerance" }
+    }
+
+    private val toleranceMinutes = tolerance.inWholeMilliseconds / 60_000.0
+
+    /**
+     * Returns the *zman* of [date] at each pixel of a map from [north] to [south] and from [west] to [east] (on an
+     * equirectangular projection), in rows from north to south. Each pixel is the *zman* at its center, in minutes since
+     * the start of [date] in its time zone (which may be negative, or more than a day, for *zmanim* on another date), or
+     * [NO_VALUE] where the *zman* does not occur.
+     */
+    suspend fun render(
+        date: LocalDate,
+        north: Double,
+        west: Double,
+        south: Double,
+        east: Double,
+        width: Int,
+        height: Int,
+    ): IntArray {
+        require(width > 0 && height > 0) { "The raster must have pixels: $width x $height" }
+        require(north in -90.0..90.0 && south in -90.0..north) { "Invalid latitudes: $north to $south" }
+        val pixels = IntArray(width * height)
+        val grid = Grid(date, north, west, (north - south) / height, (east - west) / width, width, height)
+        coroutineScope {
+            (0 until height step TILE_SIZE).flatMap { top ->
+                (0 until width step TILE_SIZE).map { left ->
+                    async(Dispatchers.Default) { Tile(grid, left, top, pixels).render() }
+                }
+            }.awaitAll()
+        }
+        return pixels
+    }
+
+    private class Grid(
+        val date: LocalDate,
+        val north: Double,
+        val west: Double,
+        val latitudeStep: Double,
+        val longitudeStep: Double,
+        val width: Int,
+        val height: Int,
+    ) {
+        val startMillis = date.toEpochDays() * DAY_MILLIS
+    }
+
+    /**
+     * The pixels from [left] and [top] to the next tile, whose *zman* is computed at the pixels on the edges of the next
+     * tiles too, since the cells of this tile end there.
+     */
+    private inner class Tile(private val grid: Grid, private val left: Int, private val top: Int, private val pixels: IntArray) {
+        private val right = min(left + TILE_SIZE, grid.width)
+        private val bottom = min(top + TILE_SIZE, grid.height)
+
+        /**
+         * The last columns and rows of exact points.
+         */
+        private val lastX = min(right, grid.width - 1)
+        private val lastY = min(bottom, grid.height - 1)
+        private val columns = lastX - left + 1
+
+        /**
+         * The time zone at each point, or null until it is looked up.
+         */
+        private val timeZones = arrayOfNulls<TimeZone>(columns * (lastY - top + 1))
+
+        /**
+         * The exact *zman* at each point in minutes since the start of the date in UTC, NaN if it does not occur, or
+         * [NOT_COMPUTED].
+         */
+        private val minutes = DoubleArray(timeZones.size) { NOT_COMPUTED }
+
+        /**
+         * The offsets of the time zone last converted in, since neighboring pixels are mostly in the same zone.
+         */
+        private var zoneOffsets: ZoneOffsets? = null
+
+        fun render() {
+            for (y in top until bottom step cellSize) for (x in left until right step cellSize) {
+                fill(x, y, min(x + cellSize, lastX), min(y + cellSize, lastY))
+            }
+        }
+
+        private fun indexOf(x: Int, y: Int) = (y - top) * columns + x - left
+
+        private fun latitudeOf(y: Int) = grid.north - (y + 0.5) * grid.latitudeStep
+
+        private fun longitudeOf(x: Int) = grid.west + (x + 0.5) * grid.longitudeStep
+
+        private fun timeZoneOf(x: Int, y: Int): TimeZone {
+            val index = indexOf(x, y)
+            return timeZones[index] ?: timeZoneAt(latitudeOf(y), longitudeOf(x)).also { timeZones[index] = it }
+        }
+
+        /**
+         * Returns the exact *zman* at [x], [y], computing it if it was not yet.
+         */
+        private fun minutesAt(x: Int, y: Int): Double {
+            val index = indexOf(x, y)
+            if (minutes[index] != NOT_COMPUTED) return minutes[index]
+            val geoLocation = GeoLocation("", latitudeOf(y), longitudeOf(x), timeZoneOf(x, y))
+            val moment = select(ComplexZmanimCalendar(geoLocation, grid.date)).momentOfOccurrence
+            return (if (moment == null) Double.NaN else (moment.toEpochMilliseconds() - grid.startMillis) / 60_000.0)
+                .also { minutes[index] = it }
+        }
+
+        /**
+         * Fills the pixels from [x0], [y0] to [x1], [y1] inclusive which this tile has, interpolating between the exact
+         * *zmanim* at the corners, or else splitting the cell.
+         */
+        private fun fill(x0: Int, y0: Int, x1: Int, y1: Int) {
+            if (x1 - x0 <= 1 && y1 - y0 <= 1) {
+                //every pixel is exact
+                for (y in y0..y1) for (x in x0..x1) set(x, y, minutesAt(x, y), timeZoneOf(x, y))
+                return
+            }
+            val cell = Cell(x0, y0, x1, y1, minutesAt(x0, y0), minutesAt(x1, y0), minutesAt(x0, y1), minutesAt(x1, y1))
+            val xm = (x0 + x1) / 2
+            val ym = (y0 + y1) / 2
+            val center = minutesAt(xm, ym)
+            if (center.isNaN() && cell.isNaN()) {
+                for (y in y0..y1) for (x in x0..x1) set(x, y, Double.NaN, null)
+            } else if (abs(cell.interpolate(xm, ym) - center) <= toleranceMinutes) {
+                fillTimeZones(cell, x0, y0, x1, y1)
+            } else split(x0, y0, x1, y1, ::fill)
+        }
+
+        /**
+         * Fills the pixels from [x0], [y0] to [x1], [y1] inclusive which this tile has with the *zman* interpolated in
+         * [cell], at the offset of the time zone at the corners, or else splitting the cell to find where the time zone
+         * changes. Only time zones are looked up in the split cells, since the *zman* in UTC is smooth across them.
+         */
+        private fun fillTimeZones(cell: Cell, x0: Int, y0: Int, x1: Int, y1: Int) {
+            val timeZone = timeZoneOf(x0, y0)
+            val xm = (x0 + x1) / 2
+            val ym = (y0 + y1) / 2
+            if (timeZoneOf(x1, y0) == timeZone && timeZoneOf(x0, y1) == timeZone && timeZoneOf(x1, y1) == timeZone &&
+                timeZoneOf(xm, ym) == timeZone
+            ) {
+                val offset = offsetAt(cell.interpolate(xm, ym), timeZone)
+                for (y in y0..y1) for (x in x0..x1) set(x, y, cell.interpolate(x, y), offset)
+            } else if (x1 - x0 <= 1 && y1 - y0 <= 1) {
+                for (y in y0..y1) for (x in x0..x1) set(x, y, cell.interpolate(x, y), timeZoneOf(x, y))
+            } else split(x0, y0, x1, y1) { sx0, sy0, sx1, sy1 -> fillTimeZones(cell, sx0, sy0, sx1, sy1) }
+        }
+
+        /**
+         * Fills the 2 or 4 halves of the cell from [x0], [y0] to [x1], [y1] with [fill].
+         */
+        private inline fun split(x0: Int, y0: Int, x1: Int, y1: Int, fill: (Int, Int, Int, Int) -> Unit) {
+            val xm = (x0 + x1) / 2
+            val ym = (y0 + y1) / 2
+            when {
+                x1 - x0 <= 1 -> {
+                    fill(x0, y0, x1, ym)
+                    fill(x0, ym, x1, y1)
+                }
+
+                y1 - y0 <= 1 -> {
+                    fill(x0, y0, xm, y1)
+                    fill(xm, y0, x1, y1)
+                }
+
+                else -> {
+                    fill(x0, y0, xm, ym)
+                    fill(xm, y0, x1, ym)
+                    fill(x0, ym, xm, y1)
+                    fill(xm, ym, x1, y1)
+                }
+            }
+        }
+
+        private fun offsetAt(minutes: Double, timeZone: TimeZone): Int {
+            val offsets = zoneOffsets?.takeIf { it.timeZone == timeZone } ?: ZoneOffsets.of(timeZone).also { zoneOffsets = it }
+            return offsets.offsetSecondsAt(Instant.fromEpochMilliseconds(grid.startMillis + (minutes * 60_000).toLong())) / 60
+        }
+
+        private fun set(x: Int, y: Int, minutes: Double, timeZone: TimeZone?) {
+            if (x >= right || y >= bottom) return //in the next tile
+            set(x, y, minutes, if (minutes.isNaN()) 0 else offsetAt(minutes, timeZone!!))
+        }
+
+        private fun set(x: Int, y: Int, minutes: Double, offset: Int) {
+            if (x >= right || y >= bottom) return //in the next tile
+            pixels[y * grid.width + x] = if (minutes.isNaN()) NO_VALUE else minutes.roundToInt() + offset
+        }
+    }
+
+    /**
+     * The cell from [x0], [y0] to [x1], [y1] with the *zman* at its top left, top right, bottom left and bottom right
+     * corners.
+     */
+    private class Cell(
+        private val x0: Int,
+        private val y0: Int,
+        private val x1: Int,
+        private val y1: Int,
+        private val topLeft: Double,
+        private val topRight: Double,
+        private val bottomLeft: Double,
+        private val bottomRight: Double,
+    ) {
+        /**
+         * Returns whether the *zman* does not occur at any corner.
+         */
+        fun isNaN() = topLeft.isNaN() && topRight.isNaN() && bottomLeft.isNaN() && bottomRight.isNaN()
+
+        /**
+         * Returns the bilinear interpolation of the corners at [x], [y], which is NaN if the *zman* does not occur at a
+         * corner.
+         */
+        fun interpolate(x: Int, y: Int): Double {
+            val fx = if (x1 == x0) 0.0 else (x - x0).toDouble() / (x1 - x0)
+            val fy = if (y1 == y0) 0.0 else (y - y0).toDouble() / (y1 - y0)
+            val upper = topLeft + (topRight - topLeft) * fx
+            val lower = bottomLeft + (bottomRight - bottomLeft) * fx
+            return upper + (lower - upper) * fy
+        }
+    }
+
+    companion object {
+        /**
+         * The value of a pixel where the *zman* does not occur.
+         */
+        const val NO_VALUE = Int.MIN_VALUE
+
+        /**
+         * The width and height in pixels of the tiles which are rendered in parallel.
+         */
+        const val TILE_SIZE = 64
+
+        private const val NOT_COMPUTED = Double.NEGATIVE_INFINITY
+
+        private const val DAY_MILLIS = 86_400_000L
+    }
+}
@@ -0,0 +1,277 @@
+package sternbach.software.kosherkotlin
+
+import kotlinx.datetime.DateTimeUnit
+import kotlinx.datetime.Instant
+import kotlinx.datetime.LocalDate
+import kotlinx.datetime.minus
+import kotlinx.datetime.plus
+
+/**
+ * The *zmanim* of a single day, sorted by the moment they occur. The moments are stored as a primitive array of epoch
+ * milliseconds with a parallel array of indices into the day's zmanim, so [next], [previous] and [between] are binary
+ * searches rather than a sort of every [Zman] on every query.
+ *
+ * Queries roll over into the adjacent days' timelines when needed (e.g. [next] after the last *zman* of the day returns
+ * the first *zman* of the next day), and only build them for queries within [STRADDLE_WINDOW] of them. The next day's
+ * timeline is computed once and cached in [nextDay]; the previous day's timeline is cached in [previousDay], but a
+ * timeline never holds on to the day it was rolled over from, so a long-running consumer that moves forward with [nextDay]
+ * does not retain every past day.
+ *
+ * @param date the date whose *zmanim* this timeline holds.
+ * @param zmanimForDate returns the *zmanim* to include for a given date. It should return the same selection of zmanim
+ * (in the same order) for every date, and is called once per day. *Zmanim* that do not occur on a given date (i.e.
+ * [Zman.DateBased.momentOfOccurrence] is null) are left out of the timeline, and are available in [zmanimWithoutOccurrence].
+ */
+class ZmanimTimeline(
+    val date: LocalDate,
+    private val zmanimForDate: (LocalDate) -> List<Zman.DateBased>,
+) {
+    private val zmanim: List<Zman.DateBased> = zmanimForDate(date)
+
+    /**
+     * The moment of occurrence of each *zman* in this timeline, in epoch milliseconds, sorted ascending.
+     */
+    private val epochMillis: LongArray
+
+    /**
+     * The index in [zmanim] of the *zman* that occurs at the corresponding index of [epochMillis].
+     */
+    private val zmanIndices: IntArray
+
+    /**
+     * The *zmanim* of this day which do not occur (e.g. *alos* 26° in the summer in the far north).
+     */
+    val zmanimWithoutOccurrence: List<Zman.DateBased>
+
+    init {
+        val moments = LongArray(zmanim.size)
+        val occurring = ArrayList<Int>(zmanim.size)
+        val notOccurring = ArrayList<Zman.DateBased>()
+        zmanim.forEachIndexed { index, zman ->
+            val momentOfOccurrence = zman.momentOfOccurrence
+            if (momentOfOccurrence == null) notOccurring.add(zman)
+            else {
+                moments[index] = momentOfOccurrence.toEpochMilliseconds()
+                occurring.add(index)
+            }
+        }
+        occurring.sortBy { moments[it] } //stable, so zmanim that occur at the same moment keep their order
+        zmanIndices = occurring.toIntArray()
+        epochMillis = LongArray(zmanIndices.size) { moments[zmanIndices[it]] }
+        zmanimWithoutOccurrence = notOccurring
+    }
+
+    /**
+     * The timeline of the day after [date].
+     */
+    val nextDay: ZmanimTimeline by lazy(LazyThreadSafetyMode.PUBLICATION) {
+        ZmanimTimeline(date.plus(1, DateTimeUnit.DAY), zmanimForDate)
+    }
+
+    /**
+     * The timeline of the day before [date].
+     */
+    val previousDay: ZmanimTimeline by lazy(LazyThreadSafetyMode.PUBLICATION) {
+        ZmanimTimeline(date.minus(1, DateTimeUnit.DAY), zmanimForDate)
+    }
+
+    /**
+     * The number of *zmanim* which occur on this day.
+     */
+    val size: Int get() = epochMillis.size
+
+    /**
+     * Returns the *zman* at [index] in order of occurrence.
+     */
+    operator fun get(index: Int): Zman.DateBased = zmanim[zmanIndices[index]]
+
+    /**
+     * Returns the moment of occurrence of the *zman* at [index], in epoch milliseconds.
+     */
+    fun epochMillisecondsAt(index: Int): Long = epochMillis[index]
+
+    /**
+     * Returns the index of the *zman* at [index] in the list returned by `zmanimForDate`. Since every day uses the same
+     * selection of *zmanim*, this identifies the same *zman* across days.
+     */
+    fun zmanIndexAt(index: Int): Int = zmanIndices[index]
+
+    /**
+     * Returns the index of the first *zman* of this day which occurs after [after], or [size] if there is none. Unlike
+     * [next], this does not search the adjacent days.
+     */
+    fun indexOfNext(after: Instant): Int = indexOfFirstAfter(after.toEpochMilliseconds())
+
+    /**
+     * Returns the *zmanim* of this day which occur, in order of occurrence.
+     */
+    fun toList(): List<Zman.DateBased> = List(size) { get(it) }
+
+    /**
+     * Returns the first *zman* which occurs after [after]. If no *zman* of this day occurs after [after], the following
+     * days are searched, up to [MAX_DAYS_TO_SEARCH] days. Since the *zmanim* of adjacent days can straddle midnight (e.g.
+     * a late *chatzos halayla*, or *tzais* in the far north), the previous day is searched as well if [after] is within
+     * [STRADDLE_WINDOW] of its end, and so is the day after the one a *zman* was found in if that *zman* is within
+     * [STRADDLE_WINDOW] of its start, and the earliest of them is returned.
+     *
+     * @return the next *zman*, or null if none occurs within [MAX_DAYS_TO_SEARCH] days.
+     */
+    fun next(after: Instant): Zman.DateBased? {
+        val millis = after.toEpochMilliseconds()
+        var next: Zman.DateBased? = null
+        var nextMillis = Long.MAX_VALUE
+        fun offer(timeline: ZmanimTimeline): Boolean {
+            val index = timeline.indexOfFirstAfter(millis)
+            if (index == timeline.size) return false
+            if (timeline.epochMillis[index] < nextMillis) {
+                next = timeline[index]
+                nextMillis = timeline.epochMillis[index]
+            }
+            return true
+        }
+        if (mayStraddlePreviousDay(millis)) offer(previousDay)
+        var timeline = this
+        repeat(MAX_DAYS_TO_SEARCH) {
+            if (offer(timeline)) {
+                if (timeline.mayStraddleNextDay(nextMillis)) offer(timeline.nextDay)
+                return next
+            }
+            timeline = timeline.nextDay
+        }
+        return next
+    }
+
+    /**
+     * Returns the last *zman* which occurs before [before]. If no *zman* of this day occurs before [before], the
+     * preceding days are searched, up to [MAX_DAYS_TO_SEARCH] days. As in [next], the next day is searched as well if
+     * [before] is within [STRADDLE_WINDOW] of its start, and so is the day before the one a *zman* was found in if that
+     * *zman* is within [STRADDLE_WINDOW] of its end, and the latest of them is returned.
+     *
+     * @return the previous *zman*, or null if none occurs within [MAX_DAYS_TO_SEARCH] days.
+     */
+    fun previous(before: Instant): Zman.DateBased? {
+        val millis = before.toEpochMilliseconds()
+        var previous: Zman.DateBased? = null
+        var previousMillis = Long.MIN_VALUE
+        fun offer(timeline: ZmanimTimeline): Boolean {
+            val index = timeline.indexOfFirstAtOrAfter(millis) - 1
+            if (index < 0) return false
+            if (timeline.epochMillis[index] > previousMillis) {
+                previous = timeline[index]
+                previousMillis = timeline.epochMillis[index]
+            }
+            return true
+        }
+        if (mayStraddleNextDay(millis)) offer(nextDay)
+        var timeline = this
+        repeat(MAX_DAYS_TO_SEARCH) {
+            if (offer(timeline)) {
+                if (timeline.mayStraddlePreviousDay(previousMillis)) offer(timeline.previousDay)
+                return previous
+            }
+            timeline = timeline.previousDay
+        }
+        return previous
+    }
+
+    /**
+     * Returns the *zmanim* which occur between [start] (inclusive) and [end] (exclusive), in order of occurrence. The range
+     * may span multiple days.
+     */
+    fun between(start: Instant, end: Instant): List<Zman.DateBased> {
+        val startMillis = start.toEpochMilliseconds()
+        val endMillis = end.toEpochMilliseconds()
+        if (endMillis <= startMillis) return emptyList()
+        val result = mutableListOf<Zman.DateBased>()
+        var timeline = if (mayStraddlePreviousDay(startMillis)) previousDay else this
+        val maxDays = (endMillis - startMillis) / DAY_MILLIS + 3 //the days of start and end, and their neighbors
+        for (day in 0..maxDays) {
+            var index = timeline.indexOfFirstAtOrAfter(startMillis)
+            while (index < timeline.size && timeline.epochMillis[index] < endMillis) result.add(timeline[index++])
+            if (timeline.size > 0 && timeline.epochMillis[0] >= endMillis) break
+            timeline = timeline.nextDay
+        }
+        //the late zmanim of a day can occur after the early zmanim of the next, so the days are merged by a stable sort
+        result.sortBy { it.momentOfOccurrence }
+        return result
+    }
+
+    /**
+     * Whether a *zman* of the previous day may occur after [millis], which is if [millis] is within [STRADDLE_WINDOW] of
+     * a day before the last *zman* of this day.
+     */
+    private fun mayStraddlePreviousDay(millis: Long): Boolean =
+        size == 0 || millis < epochMillis[size - 1] - DAY_MILLIS + STRADDLE_WINDOW_MILLIS
+
+    /**
+     * Whether a *zman* of the next day may occur before [millis], which is if [millis] is within [STRADDLE_WINDOW] of a
+     * day after the first *zman* of this day.
+     */
+    private fun mayStraddleNextDay(millis: Long): Boolean =
+        size == 0 || millis > epochMillis[0] + DAY_MILLIS - STRADDLE_WINDOW_MILLIS
+
+    /**
+     * Returns the index of the first *zman* which occurs strictly after [millis], or [size] if there is none.
+     */
+    private fun indexOfFirstAfter(millis: Long): Int {
+        var low = 0
+        var high = size
+        while (low < high) {
+            val mid = (low + high) ushr 1
+            if (epochMillis[mid] <= millis) low = mid + 1 else high = mid
+        }
+        return low
+    }
+
+    /**
+     * Returns the index of the first *zman* which occurs at or after [millis], or [size] if there is none.
+     */
+    private fun indexOfFirstAtOrAfter(millis: Long): Int {
+        var low = 0
+        var high = size
+        while (low < high) {
+            val mid = (low + high) ushr 1
+            if (epochMillis[mid] < millis) low = mid + 1 else high = mid
+        }
+        return low
+    }
+
+    override fun toString() = "ZmanimTimeline(date=$date, size=$size)"
+
+    companion object {
+        /**
+         * The number of days [next] and [previous] will search before giving up. This bounds the search for *zmanim*
+         * which don't occur for long stretches of time (e.g. sunrise in the Arctic winter).
+         */
+        const val MAX_DAYS_TO_SEARCH = 7
+
+        private const val DAY_MILLIS = 24 * 60 * 60 * 1000L
+
+        /**
+         * How close to the *zmanim* of an adjacent day a query must be for that day to be searched, in hours. The *zmanim*
+         * of a day are assumed to be within this of a day from those of the adjacent days, which covers the drift of a
+         * *zman* from one day to the next, and *zmanim* which only occur on one of them (e.g. *sof zman kidush levana*, which
+         * is between the midnights of its date).
+         */
+        const val STRADDLE_WINDOW = 6
+
+        private const val STRADDLE_WINDOW_MILLIS = STRADDLE_WINDOW * 60 * 60 * 1000L
+
+        /**
+         * Returns the timeline of the date of [calendar]. Each day's *zmanim* are computed by a [copy][ComplexZmanimCalendar.copy]
+         * of [calendar] for that day, so later changes to [calendar] do not affect the timeline.
+         *
+         * @param select the *zmanim* to include. Defaults to [ComplexZmanimCalendar.allZmanim].
+         */
+        fun of(
+            calendar: ComplexZmanimCalendar,
+            select: (ComplexZmanimCalendar) -> List<Zman.DateBased> = { it.allZmanim },
+        ): ZmanimTimeline {
+            val template = calendar.copy(calendar.localDateTime.date)
+            return ZmanimTimeline(template.localDateTime.date) { date ->
+                //every value is read while building the timeline, so the zmanim never need to be synchronized
+                select(template.copy(date, Zman.EvaluationMode.LAZY_UNSYNCHRONIZED))
+            }
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package sternbach.software.kosherkotlin
+
+import kotlinx.datetime.Instant
+import sternbach.software.kosherkotlin.AstronomicalCalendar.Companion.GEOMETRIC_ZENITH
+import sternbach.software.kosherkotlin.util.AstronomicalCalculator
+import sternbach.software.kosherkotlin.util.AstronomicalCalculator.Companion.toDegrees
+import sternbach.software.kosherkotlin.util.AstronomicalCalculator.Companion.toRadians
+import sternbach.software.kosherkotlin.util.Location
+import sternbach.software.kosherkotlin.util.NOAACalculator
+import kotlin.math.abs
+import kotlin.math.asin
+import kotlin.math.atan2
+import kotlin.math.cos
+import kotlin.math.max
+import kotlin.math.min
+import kotlin.math.sin
+import kotlin.math.sqrt
+
+/**
+ * The *zmanim* of a traveler, such as when *shkiah* or *tzais* occur during a flight or a road trip, as opposed to the
+ * *zmanim* of a fixed [GeoLocation][sternbach.software.kosherkotlin.util.GeoLocation].
+ *
+ * The traveler moves along the great circle between consecutive [samples], at a constant speed between their
+ * [timestamps][Location.timestamp], and its elevation changes linearly. A *zman* occurs when the sun, as seen from where
+ * the traveler is at that moment, crosses the zenith of the *zman*, which is found by root-finding on the elevation of the
+ * sun over time. While the sun is far from that zenith, the search skips ahead to the soonest it could reach it, so
+ * a long track is solved in a few evaluations per day.
+ *
+ * The declination of the sun and the equation of time are computed with [NOAACalculator] at each sample the first time
+ * they are needed, and interpolated between samples, so solving several *zmanim* along the same track computes them
+ * once.
+ *
+ * @param samples the locations of the traveler in order of their [timestamps][Location.timestamp]. A
+ * [Location.elevation] of null is sea level.
+ * @param astronomicalCalculator adjusts the zenith of sunrise and sunset for refraction, the radius of the sun and the
+ * elevation of the traveler (see [AstronomicalCalculator.adjustZenith]).
+ * @throws IllegalArgumentException if there are fewer than 2 samples, or a sample has no timestamp or is not after the
+ * sample before it.
+ */
+class ZmanimTrack(
+    samples: List<Location>,
+    val astronomicalCalculator: AstronomicalCalculator = AstronomicalCalculator.default,
+) {
+    private val size = samples.size
+    private val epochMillis = LongArray(size)
+    private val elevations = DoubleArray(size)
+
+    /**
+     * The unit vector of each sample, from the center of the earth towards the north pole (z) and the prime meridian (x).
+     */
+    private val xs = DoubleArray(size)
+    private val ys = DoubleArray(size)
+    private val zs = DoubleArray(size)
+
+    /**
+     * The central angle in radians between each sample and the next one.
+     */
+    private val angles: DoubleArray
+
+    /**
+     * The declination of the sun and the equation of time at a sample, which are computed together.
+     */
+    private class SunSample(val declination: Double, val equationOfTime: Double)
+
+    /**
+     * The [SunSample] of each sample, or null until it is needed. It is written without synchronization, as in
+     * [DirectMappedCache][sternbach.software.kosherkotlin.util.DirectMappedCache], so a sample may be computed more than
+     * once.
+     */
+    private val suns = arrayOfNulls<SunSample>(size)
+
+    init {
+        require(size >= 2) { "A track needs at least 2 samples" }
+        samples.forEachIndexed { i, sample ->
+            val timestamp = requireNotNull(sample.timestamp) { "Sample $i has no timestamp" }
+            require(i == 0 || timestamp > epochMillis[i - 1]) { "Sample $i is not after sample ${i - 1}" }
+            epochMillis[i] = timestamp
+            elevations[i] = sample.elevation ?: 0.0
+            val latitude = toRadians(sample.latitude)
+            val longitude = toRadians(sample.longitude)
+            xs[i] = cos(latitude) * cos(longitude)
+            ys[i] = cos(latitude) * sin(longitude)
+            zs[i] = sin(latitude)
+        }
+        angles = DoubleArray(size - 1) { angleOf(it) }
+    }
+
+    val start: Instant get() = Instant.fromEpochMilliseconds(epochMillis[0])
+
+    val end: Instant get() = Instant.fromEpochMilliseconds(epochMillis[size - 1])
+
+    /**
+     * Returns where the traveler is at [instant], which must be between [start] and [end].
+     */
+    fun locationAt(instant: Instant): Location {
+        val millis = instant.toEpochMilliseconds()
+        require(millis in epochMillis[0]..epochMillis[size - 1]) { "$instant is not between $start and $end" }
+        val index = segmentOf(millis)
+        val segment = Segment(index, angles[index])
+        segment.position(millis.toDouble())
+        return Location(
+            toDegrees(asin(segment.z)),
+            toDegrees(atan2(segment.y, segment.x)),
+            elevation = segment.elevation,
+            timestamp = millis,
+        )
+    }
+
+    /**
+     * Returns the first sunrise along the track, with the zenith [adjusted][AstronomicalCalculator.adjustZenith] for the
+     * elevation of the traveler, or null if the sun does not rise between [start] and [end].
+     */
+    fun getSunrise(): Instant? = getSunriseOffsetByDegrees(GEOMETRIC_ZENITH)
+
+    /**
+     * Returns the first sunset along the track, with the zenith [adjusted][AstronomicalCalculator.adjustZenith] for the
+     * elevation of the traveler, or null if the sun does not set between [start] and [end].
+     */
+    fun getSunset(): Instant? = getSunsetOffsetByDegrees(GEOMETRIC_ZENITH)
+
+    /**
+     * Returns the first moment along the track the rising sun reaches [offsetZenith] (e.g.
+     * [ZmanimCalendar.ZENITH_16_POINT_1] for *alos*), or null if it does not between [start] and [end].
+     *
+     * @see AstronomicalCalendar.getSunriseOffsetByDegrees
+     */
+    fun getSunriseOffsetByDegrees(offsetZenith: Double): Instant? = find(offsetZenith, rising = true, firstOnly = true).firstOrNull()
+
+    /**
+     * Returns the first moment along the track the setting sun reaches [offsetZenith] (e.g.
+     * [ZmanimCalendar.ZENITH_8_POINT_5] for *tzais*), or null if it does not between [start] and [end].
+     *
+     * @see AstronomicalCalendar.getSunsetOffsetByDegrees
+     */
+    fun getSunsetOffsetByDegrees(offsetZenith: Double): Instant? = find(offsetZenith, rising = false, firstOnly = true).firstOrNull()
+
+    /**
+     * Returns every moment along the track the sun reaches [zenith], rising if [rising] or else setting, in order, e.g.
+     * each *shkiah* of a road trip of several days.
+     */
+    fun findAll(zenith: Double, rising: Boolean): List<Instant> = find(zenith, rising, firstOnly = false)
+
+    private fun find(zenith: Double, rising: Boolean, firstOnly: Boolean): List<Instant> {
+        val found = mutableListOf<Instant>()
+        //the elevation of the sun at the zenith at each sample, which is adjusted for elevation at sunrise and sunset
+        val targets = DoubleArray(size) { GEOMETRIC_ZENITH - astronomicalCalculator.adjustZenith(zenith, elevations[it]) }
+        //how far above the zenith the sun is at the start of the next segment, or at least is when it was skipped
+        var value = Double.NaN
+        var exact = false
+        for (i in 0 until size - 1) {
+            val duration = (epochMillis[i + 1] - epochMillis[i]).toDouble()
+            val angle = angles[i]
+            val maxChange = maxRate(angle, targets[i + 1] - targets[i], duration) * duration
+            //the sun cannot reach the zenith during this segment
+            if (!value.isNaN() && abs(value) > maxChange) {
+                value -= if (value > 0) maxChange else -maxChange
+                exact = false
+                continue
+            }
+            val segment = Segment(i, angle, targets)
+            var time = segment.start
+            if (!exact) value = segment.clearance(time)
+            while (time < segment.end) {
+                val next = min(segment.end, time + max(MIN_STEP_MILLIS, abs(value) / segment.maxRate))
+                val nextValue = segment.clearance(next)
+                if (if (rising) value < 0 && nextValue >= 0 else value >= 0 && nextValue < 0) {
+                    found.add(Instant.fromEpochMilliseconds(segment.bisect(time, next, rising).toLong()))
+                    if (firstOnly) return found
+                }
+                time = next
+                value = nextValue
+            }
+            exact = true
+        }
+        return found
+    }
+
+    /**
+     * Returns the index of the segment from that sample to the next one which [millis] is in.
+     */
+    private fun segmentOf(millis: Long): Int {
+        val index = epochMillis.binarySearch(millis)
+        return (if (index >= 0) index else -index - 2).coerceIn(0, size - 2)
+    }
+
+    /**
+     * Returns the central angle in radians between sample [index] and the next one.
+     */
+    private fun angleOf(index: Int): Double {
+        val next = index + 1
+        val dot = xs[index] * xs[next] + ys[index] * ys[next] + zs[index] * zs[next]
+        val crossX = ys[index] * zs[next] - zs[index] * ys[next]
+        val crossY = zs[index] * xs[next] - xs[index] * zs[next]
+        val crossZ = xs[index] * ys[next] - ys[index] * xs[next]
+        return atan2(sqrt(crossX * crossX + crossY * crossY + crossZ * crossZ), dot)
+    }
+
+    /**
+     * Returns more than the degrees per millisecond the elevation of the sun above the zenith can change along a segment
+     * of [angle] radians and [duration] milliseconds whose zenith changes by [targetChange] degrees: a full turn of the
+     * earth a day, the turn of the traveler around the center of the earth, and the change of the zenith and of the
+     * declination.
+     */
+    private fun maxRate(angle: Double, targetChange: Double, duration: Double): Double =
+        (360.0 + MAX_DECLINATION_RATE) / DAY_MILLIS + (toDegrees(angle) + abs(targetChange)) / duration
+
+    /**
+     * The part of the track from sample [index] to the next one, [angle] radians apart, which evaluates how far the sun
+     * is above the elevation in [targets] (at each sample) along it.
+     */
+    private inner class Segment(private val index: Int, private val angle: Double, targets: DoubleArray? = null) {
+        val start = epochMillis[index].toDouble()
+        val end = epochMillis[index + 1].toDouble()
+        private val duration = end - start
+        private val sinAngle = sin(angle)
+
+        private val startDeclination: Double
+        private val declinationChange: Double
+        private val startEquationOfTime: Double
+        private val equationOfTimeChange: Double
+        private val startTarget = targets?.get(index) ?: 0.0
+        private val targetChange = if (targets == null) 0.0 else targets[index + 1] - startTarget
+
+        val maxRate = maxRate(angle, targetChange, duration)
+
+        var x = 0.0
+        var y = 0.0
+        var z = 0.0
+        var elevation = 0.0
+
+        init {
+            val start = sunAt(index)
+            val end = sunAt(index + 1)
+            startDeclination = start.declination
+            declinationChange = end.declination - startDeclination
+            startEquationOfTime = start.equationOfTime
+            equationOfTimeChange = end.equationOfTime - startEquationOfTime
+        }
+
+        private fun sunAt(index: Int): SunSample = suns[index] ?: DoubleArray(2).let { result ->
+            NOAACalculator.getSunDeclinationAndEquationOfTime(epochMillis[index].toDouble(), result)
+            SunSample(result[0], result[1]).also { suns[index] = it }
+        }
+
+        /**
+         * Moves [x], [y], [z] and [elevation] to where the traveler is at [millis].
+         */
+        fun position(millis: Double) {
+            val fraction = (millis - start) / duration
+            val next = index + 1
+            if (sinAngle < 1e-12) {
+                x = xs[index]
+                y = ys[index]
+                z = zs[index]
+            } else {
+                val startWeight = sin((1 - fraction) * angle) / sinAngle
+                val endWeight = sin(fraction * angle) / sinAngle
+                x = startWeight * xs[index] + endWeight * xs[next]
+                y = startWeight * ys[index] + endWeight * ys[next]
+                z = startWeight * zs[index] + endWeight * zs[next]
+            }
+            elevation = elevations[index] + (elevations[next] - elevations[index]) * fraction
+        }
+
+        /**
+         * Returns how many degrees the sun is above the zenith of the *zman* at [millis], as seen from where the traveler
+         * is then.
+         */
+        fun clearance(millis: Double): Double {
+            position(millis)
+            val fraction = (millis - start) / duration
+            val declination = toRadians(startDeclination + declinationChange * fraction)
+            val equationOfTime = startEquationOfTime + equationOfTimeChange * fraction
+            //the longitude where the sun is overhead, whose hour angle is 0
+            val subsolarLongitude = toRadians(180 - (millis.mod(DAY_MILLIS) / 60_000 + equationOfTime) / 4)
+            val cosDeclination = cos(declination)
+            val sinElevation = x * cosDeclination * cos(subsolarLongitude) +
+                    y * cosDeclination * sin(subsolarLongitude) +
+                    z * sin(declination)
+            return toDegrees(asin(sinElevation.coerceIn(-1.0, 1.0))) - (startTarget + targetChange * fraction)
+        }
+
+        /**
+         * Returns the moment between [from] and [to] the sun crosses the zenith, to the millisecond.
+         */
+        fun bisect(from: Double, to: Double, rising: Boolean): Double {
+            var before = from
+            var after = to
+            while (after - before > 1) {
+                val middle = (before + after) / 2
+                if ((clearance(middle) >= 0) == rising) after = middle else before = middle
+            }
+            return after
+        }
+    }
+
+    private companion object {
+        const val DAY_MILLIS = 86_400_000.0
+
+        /**
+         * The shortest step of the search, within which the sun is not expected to cross the zenith twice.
+         */
+        const val MIN_STEP_MILLIS = 10_000.0
+
+        /**
+         * More than the degrees a day the declination of the sun changes.
+         */
+        const val MAX_DECLINATION_RATE = 0.5
+    }
+}
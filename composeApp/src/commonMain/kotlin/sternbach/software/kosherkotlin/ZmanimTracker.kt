@@ -0,0 +1,282 @@
+package sternbach.software.kosherkotlin
+
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.flow
+import kotlinx.datetime.Clock
+import kotlinx.datetime.LocalDate
+import kotlinx.datetime.TimeZone
+import kotlinx.datetime.todayIn
+import sternbach.software.kosherkotlin.metadata.ZmanCalculationMethod
+import sternbach.software.kosherkotlin.metadata.ZmanDefinition
+import sternbach.software.kosherkotlin.util.GeoLocation
+import sternbach.software.kosherkotlin.util.Location
+import sternbach.software.kosherkotlin.util.NOAACalculator
+import kotlin.math.abs
+import kotlin.math.max
+import kotlin.time.Duration
+import kotlin.time.Duration.Companion.seconds
+
+/**
+ * The *zmanim* of a location, emitted by [ZmanimTracker].
+ *
+ * @param location the location the *zmanim* were computed for. Later locations which would not move any *zman* by more
+ * than [ZmanimTracker.threshold] do not replace it.
+ * @param calendar the calendar the *zmanim* were computed with.
+ * @param zmanim the selected *zmanim* of [calendar].
+ */
+data class ZmanimSnapshot(
+    val location: Location,
+    val calendar: ComplexZmanimCalendar,
+    val zmanim: List<Zman.DateBased>,
+) {
+    val date: LocalDate get() = calendar.localDateTime.date
+}
+
+/**
+ * Follows the *zmanim* of a moving device, recomputing them only when the device has moved far enough to change them.
+ *
+ * Devices emit location updates constantly, mostly jitter or movement of a few meters, which would not change any *zman*
+ * by a second. When a snapshot is computed, the sensitivity of each *zman* to latitude and longitude is derived
+ * analytically from the hour angle formula of [NOAACalculator] (see [ZmanSensitivity]), so for each update the shift of
+ * every *zman* is estimated with a few multiplications. A new snapshot is only computed and emitted when the estimated
+ * shift of any *zman* exceeds [threshold], a *zman* which did not occur may occur, the time zone changes, or the date
+ * changes.
+ *
+ * @param threshold how far any *zman* may move before the *zmanim* are recomputed.
+ * @param clock the source of the current date. Tests can supply a virtual clock.
+ * @param geoLocationOf converts a [Location] to the [GeoLocation] to compute the *zmanim* of, e.g. with an
+ * [ElevationProvider][sternbach.software.kosherkotlin.util.ElevationProvider].
+ * @param select the *zmanim* to follow. Defaults to [ComplexZmanimCalendar.allZmanim].
+ */
+class ZmanimTracker(
+    val threshold: Duration = 30.seconds,
+    private val clock: Clock = Clock.System,
+    private val geoLocationOf: (Location) -> GeoLocation = { GeoLocation(it) },
+    private val select: (ComplexZmanimCalendar) -> List<Zman.DateBased> = { it.allZmanim },
+) {
+    init {
+        require(!threshold.isNegative()) { "threshold must not be negative: $threshold" }
+    }
+
+    /**
+     * Returns the snapshots of the *zmanim* at [locations]. The first location is always computed; every later location
+     * is only computed if it [moves][isStale] the *zmanim* of the last snapshot by more than [threshold]. The date is only
+     * checked when a location is emitted, so a device which stops moving keeps the last snapshot past midnight (see
+     * [ZmanTicker] for following *zmanim* over time).
+     */
+    fun snapshots(locations: Flow<Location>): Flow<ZmanimSnapshot> = flow {
+        var current: Tracked? = null
+        locations.collect { location ->
+            val tracked = current
+            if (tracked == null || isStale(tracked, location)) {
+                val next = track(location)
+                current = next
+                emit(next.snapshot)
+            }
+        }
+    }
+
+    private class Tracked(val snapshot: ZmanimSnapshot, val timeZone: TimeZone, val sensitivity: ZmanSensitivity)
+
+    private fun track(location: Location): Tracked {
+        val geoLocation = geoLocationOf(location)
+        val calendar = ComplexZmanimCalendar(geoLocation, clock.todayIn(geoLocation.timeZone))
+        val zmanim = select(calendar)
+        return Tracked(ZmanimSnapshot(location, calendar, zmanim), geoLocation.timeZone, ZmanSensitivity.of(calendar, zmanim))
+    }
+
+    private fun isStale(tracked: Tracked, location: Location): Boolean {
+        val timeZone = location.tz ?: tracked.timeZone
+        if (timeZone != tracked.timeZone || clock.todayIn(timeZone) != tracked.snapshot.date) return true
+        val from = tracked.snapshot.location
+        if (tracked.sensitivity.mayOccur(location.latitude - from.latitude)) return true
+        val shift = tracked.sensitivity.maxShift(location.latitude - from.latitude, location.longitude - from.longitude)
+        //an unknown (NaN) shift is stale too
+        return !(shift <= threshold.inWholeMilliseconds / 60_000.0)
+    }
+}
+
+/**
+ * The rates in minutes per degree at which a day's *zmanim* move with the latitude and longitude of their location, to
+ * estimate by how much they would move without computing them again.
+ *
+ * Every *zman* moves 4 minutes earlier per degree east, with the transit of the sun. How a *zman* moves with latitude
+ * depends on how it is calculated, which is not known here, so it is derived from the moment of the *zman*:
+ *
+ * - Between sunrise and sunset, a *zman* is taken to be a fraction of the day (as *zmanim* measured in *shaos zmaniyos*
+ * are), moving by the same fraction of the rates of sunrise and sunset.
+ * - Outside of the day, a *zman* may also be the moment the sun is at a depression below the horizon, which moves at
+ * the rate given by [NOAACalculator.getLatitudeSensitivity], so the larger of both estimates is used. Depressions deeper
+ * than [MAX_DEPRESSION] are not used by any *zman*, and are left out. Near solar midnight that rate grows without bound:
+ * a *zman* there may be a depression the sun barely reaches, which does move that fast, or *chatzos halayla*, which does
+ * not move at all, so it is limited to [MAX_DEPRESSION_RATE].
+ *
+ * Without a sunrise or sunset (a polar day or night), there is no day to take a fraction of, so a *zman* only moves with
+ * the transit of the sun, and with the depression of the sun if it is below the horizon.
+ *
+ * Sunrise and sunset are at sea level, since elevation does not change their rates by much. *Zmanim* more than a day
+ * from solar noon (e.g. those of the *molad*) do not follow the sun, and are left out.
+ *
+ * A *zman* which does not occur has no moment to move, but may occur a little farther north or south, where the sun
+ * reaches the depression it is calculated with (see [mayOccur]). The depressions of a *zman* are taken from the
+ * [Degrees][ZmanCalculationMethod.Degrees] of its [definition][Zman.definition], or are those of sunrise and sunset if it
+ * has none. The depression of the sun at solar noon and midnight moves by a degree per degree of latitude, so a *zman*
+ * may occur once the latitude moves by as many degrees as that depression is from the sun's depression at noon or
+ * midnight.
+ */
+internal class ZmanSensitivity private constructor(
+    /**
+     * The rate of each *zman* as a fraction of the day, or 0 if there is no sunrise or sunset.
+     */
+    private val dayRates: DoubleArray,
+    /**
+     * The rate of each *zman* as a depression of the sun, or NaN for *zmanim* during the day, when the sun is above the
+     * horizon or deeper than [MAX_DEPRESSION].
+     */
+    private val depressionRates: DoubleArray,
+    /**
+     * The fewest degrees of latitude to move before a *zman* which does not occur may occur, or infinity if every
+     * *zman* occurs.
+     */
+    private val missingZmanMargin: Double,
+) {
+    /**
+     * Returns whether a *zman* which does not occur may occur after moving [latitudeDelta] degrees north, so its shift
+     * can't be estimated.
+     */
+    fun mayOccur(latitudeDelta: Double): Boolean = abs(latitudeDelta) >= missingZmanMargin
+
+    /**
+     * Returns the largest number of minutes any *zman* is estimated to move by moving [latitudeDelta] degrees north and
+     * [longitudeDelta] degrees east.
+     */
+    fun maxShift(latitudeDelta: Double, longitudeDelta: Double): Double {
+        val transitShift = LONGITUDE_RATE * longitudeDelta
+        var max = 0.0
+        for (i in dayRates.indices) {
+            val shift = abs(dayRates[i] * latitudeDelta + transitShift)
+            val depressionRate = depressionRates[i]
+            max = if (depressionRate.isNaN()) max(max, shift)
+            else max(max, max(shift, abs(depressionRate * latitudeDelta + transitShift)))
+        }
+        return max
+    }
+
+    companion object {
+        /**
+         * The minutes by which every *zman* moves per degree east.
+         */
+        const val LONGITUDE_RATE = -4.0
+
+        /**
+         * The deepest depression of the sun in degrees that *zmanim* are calculated with, *alos* 26°.
+         */
+        private const val MAX_DEPRESSION = 26.0
+
+        /**
+         * The largest rate in minutes per degree of latitude of a depression of the sun, about a minute per kilometer.
+         */
+        internal const val MAX_DEPRESSION_RATE = 60.0
+
+        private const val DAY_MILLIS = 86_400_000.0
+
+        /**
+         * The depression of the center of the sun at sea level sunrise and sunset: refraction and the semi-diameter of
+         * the sun.
+         */
+        private const val SUNRISE_DEPRESSION = 50.0 / 60
+
+        /**
+         * Adds every depression of the sun in degrees that [method] is calculated with to [depressions].
+         */
+        private fun addDepressions(method: ZmanCalculationMethod, depressions: MutableList<Double>) {
+            fun add(definition: ZmanDefinition?) = definition?.let { addDepressions(it.calculationMethod, depressions) }
+            when (method) {
+                is ZmanCalculationMethod.Degrees -> depressions.add(method.degrees.toDouble())
+                is ZmanCalculationMethod.Relationship -> {
+                    addDepressions(method.relationship.calculation, depressions)
+                    add(method.relationship.relativeToZman)
+                }
+                is ZmanCalculationMethod.LaterOf -> {
+                    add(method.zman1)
+                    add(method.zman2)
+                }
+                is ZmanCalculationMethod.DayDefinition -> {
+                    add(method.dayStart)
+                    add(method.dayEnd)
+                    method.dayStartRelationship?.let { addDepressions(it.calculation, depressions) }
+                    method.dayEndRelationship?.let { addDepressions(it.calculation, depressions) }
+                }
+                else -> {}
+            }
+        }
+
+        /**
+         * Returns the fewest degrees of latitude to move from [latitude] before the sun reaches a depression of one of
+         * [missing], the *zmanim* which do not occur on [date] at [longitude], or infinity if none of their depressions
+         * is out of the sun's reach.
+         */
+        private fun missingZmanMargin(missing: List<Zman.DateBased>, date: LocalDate, latitude: Double, longitude: Double): Double {
+            if (missing.isEmpty()) return Double.POSITIVE_INFINITY
+            val transit = date.toEpochDays() * DAY_MILLIS + DAY_MILLIS / 2 - longitude / 360 * DAY_MILLIS
+            val result = DoubleArray(2)
+            fun declinationAt(epochMillis: Double) =
+                result.also { NOAACalculator.getSunDeclinationAndEquationOfTime(epochMillis, it) }[0]
+            //the depressions of the sun at solar noon, the shallowest, and at the deeper of the solar midnights before and
+            //after it, the deepest
+            val noonDepression = abs(latitude - declinationAt(transit)) - 90
+            val midnightDepression = max(
+                90 - abs(latitude + declinationAt(transit - DAY_MILLIS / 2)),
+                90 - abs(latitude + declinationAt(transit + DAY_MILLIS / 2))
+            )
+            var margin = Double.POSITIVE_INFINITY
+            val depressions = ArrayList<Double>()
+            for (zman in missing) {
+                depressions.clear()
+                addDepressions(zman.definition.calculationMethod, depressions)
+                if (depressions.isEmpty()) depressions.add(SUNRISE_DEPRESSION)
+                for (depression in depressions) {
+                    val distance = when {
+                        depression > midnightDepression -> depression - midnightDepression
+                        depression < noonDepression -> noonDepression - depression
+                        else -> continue //the sun reaches it, so it is not why the zman does not occur
+                    }
+                    margin = minOf(margin, distance)
+                }
+            }
+            return margin
+        }
+
+        fun of(calendar: AstronomicalCalendar, zmanim: List<Zman.DateBased>): ZmanSensitivity {
+            val latitude = calendar.geoLocation.latitude
+            val longitude = calendar.geoLocation.longitude
+            val sunrise = calendar.seaLevelSunrise?.toEpochMilliseconds()?.toDouble() ?: Double.NaN
+            val sunset = calendar.seaLevelSunset?.toEpochMilliseconds()?.toDouble() ?: Double.NaN
+            val result = DoubleArray(2)
+            NOAACalculator.getLatitudeSensitivity(sunrise, latitude, longitude, result)
+            val sunriseRate = result[0]
+            NOAACalculator.getLatitudeSensitivity(sunset, latitude, longitude, result)
+            val sunsetRate = result[0]
+            val transit = calendar.sunTransit?.toEpochMilliseconds()?.toDouble() ?: sunrise
+            val moments = zmanim.map { it.momentOfOccurrence?.toEpochMilliseconds()?.toDouble() }
+            val occurring = moments.mapNotNull { moment -> moment?.takeUnless { abs(it - transit) > DAY_MILLIS } }
+            val missing = zmanim.filterIndexed { i, _ -> moments[i] == null }
+            val hasDay = !sunriseRate.isNaN() && !sunsetRate.isNaN()
+            val dayRates = DoubleArray(occurring.size)
+            val depressionRates = DoubleArray(occurring.size)
+            occurring.forEachIndexed { i, moment ->
+                val fraction = if (hasDay) (moment - sunrise) / (sunset - sunrise) else Double.NaN
+                dayRates[i] = if (hasDay) sunriseRate + (sunsetRate - sunriseRate) * fraction else 0.0
+                depressionRates[i] = if (fraction in 0.0..1.0) Double.NaN
+                else {
+                    NOAACalculator.getLatitudeSensitivity(moment, latitude, longitude, result)
+                    //the sun is above the horizon all day in a polar day, and a rate exactly at midnight is NaN
+                    if (result[1] < -MAX_DEPRESSION || result[1] > 0 || result[0].isNaN()) Double.NaN
+                    else result[0].coerceIn(-MAX_DEPRESSION_RATE, MAX_DEPRESSION_RATE)
+                }
+            }
+            val margin = missingZmanMargin(missing, calendar.localDateTime.date, latitude, longitude)
+            return ZmanSensitivity(dayRates, depressionRates, margin)
+        }
+    }
+}
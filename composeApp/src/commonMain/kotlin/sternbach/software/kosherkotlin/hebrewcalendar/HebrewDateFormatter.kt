@@ -128,7 +128,7 @@ class HebrewDateFormatter {
      * The internal DateFormat.
      * See [isLongWeekFormat].
      */
-    private var weekFormat: WeekFormat.Formatter? = null
+    private var weekFormat: WeekFormat.Formatter = WeekFormat.long
     /**
      * Retruns the list of transliterated parshiyos used by this formatter.
      *
@@ -477,16 +477,30 @@ class HebrewDateFormatter {
      */
     fun formatYomTov(jewishCalendar: JewishCalendar): String {
         val index = jewishCalendar.yomTovIndex
-        if (index == JewishCalendar.CHANUKAH) {
-            val dayOfChanukah = jewishCalendar.dayOfChanukah
-            return if (isHebrewFormat) "${formatHebrewNumber(dayOfChanukah)} ${hebrewHolidays[index]}"
-            else "${transliteratedHolidayList[index]} $dayOfChanukah"
-        }
-        return if (index == -1) ""
+        return if (index == JewishCalendar.CHANUKAH) buildString { formatYomTovTo(this, jewishCalendar, index) }
+        else if (index == -1) ""
         else if (isHebrewFormat) hebrewHolidays[index]
         else transliteratedHolidayList[index]
     }
 
+    /**
+     * Appends the [formatted Yom Tov][formatYomTov] of [jewishCalendar] to [destination], or nothing if the day is not a
+     * holiday.
+     *
+     * @return [destination]
+     */
+    fun <A : Appendable> formatYomTovTo(destination: A, jewishCalendar: JewishCalendar): A =
+        formatYomTovTo(destination, jewishCalendar, jewishCalendar.yomTovIndex)
+
+    private fun <A : Appendable> formatYomTovTo(destination: A, jewishCalendar: JewishCalendar, index: Int): A {
+        if (index == JewishCalendar.CHANUKAH) {
+            val dayOfChanukah = jewishCalendar.dayOfChanukah
+            if (isHebrewFormat) formatHebrewNumberTo(destination, dayOfChanukah).append(' ').append(hebrewHolidays[index])
+            else destination.append(transliteratedHolidayList[index]).append(' ').appendNumber(dayOfChanukah)
+        } else if (index != -1) destination.append(if (isHebrewFormat) hebrewHolidays[index] else transliteratedHolidayList[index])
+        return destination
+    }
+
     /**
      * Formats a day as Rosh Chodesh in the format of in the format of ראש
      * חודש שבט or Rosh Chodesh Shevat. If it
@@ -496,26 +510,31 @@ class HebrewDateFormatter {
      * חודש שבט or Rosh Chodesh Shevat. If it
      * is not Rosh Chodesh, an empty `String` will be returned.
      */
-    fun formatRoshChodesh(jewishCalendar: JewishCalendar): String {
-        if (!jewishCalendar.isRoshChodesh) {
-            return ""
-        }
-        var month = jewishCalendar.hebrewLocalDate.month
-        if (jewishCalendar.jewishDayOfMonth == 30) {
-            month = if (month < HebrewMonth.ADAR || (month == HebrewMonth.ADAR && jewishCalendar.isJewishLeapYear)) {
+    fun formatRoshChodesh(jewishCalendar: JewishCalendar): String =
+        if (!jewishCalendar.isRoshChodesh) "" else buildString { formatRoshChodeshTo(this, jewishCalendar) }
+
+    /**
+     * Appends the [formatted Rosh Chodesh][formatRoshChodesh] of [jewishCalendar] to [destination], or nothing if it is
+     * not Rosh Chodesh.
+     *
+     * @return [destination]
+     */
+    fun <A : Appendable> formatRoshChodeshTo(destination: A, jewishCalendar: JewishCalendar): A {
+        if (!jewishCalendar.isRoshChodesh) return destination
+        val date = jewishCalendar.hebrewLocalDate
+        var month = date.month
+        if (date.dayOfMonth == 30) {
+            month = if (month < HebrewMonth.ADAR || (month == HebrewMonth.ADAR && date.isJewishLeapYear)) {
                 month.nextMonth
             } else { // roll to Nissan
                 HebrewMonth.NISSAN
             }
         }
-
-        // This method is only about formatting, so we shouldn't make any changes to the params passed in...
-        val copy = jewishCalendar.copy(jewishMonth = jewishCalendar.hebrewLocalDate.month, inIsrael = jewishCalendar.inIsrael) //force JewishCalendar.copy, not JewishDate.copy
-        copy.setJewishMonth(month)
-        return "${
+        destination.append(
             if (isHebrewFormat) hebrewHolidays[JewishCalendar.ROSH_CHODESH]
             else transliteratedHolidayList[JewishCalendar.ROSH_CHODESH]
-        } ${formatMonth(jewishCalendar)}"
+        ).append(' ')
+        return formatMonthTo(destination, month, date.isJewishLeapYear)
     }
 
     /**
@@ -541,7 +560,25 @@ class HebrewDateFormatter {
                 if (isLongWeekFormat) transliteratedShabbosDayOfWeek
                 else transliteratedShabbosDayOfWeek.substring(0, 3)
             else
-                weekFormat!!.format(jewishDate.gregorianLocalDate)
+                weekFormat.format(jewishDate.gregorianLocalDate)
+    }
+
+    /**
+     * Appends the [formatted day of week][formatDayOfWeek] of [jewishDate] to [destination].
+     *
+     * @return [destination]
+     */
+    fun <A : Appendable> formatDayOfWeekTo(destination: A, jewishDate: JewishDate): A {
+        val jewishDayOfWeek = jewishDate.gregorianLocalDate.dayOfWeek.toJewishDayOfWeek()
+        if (isHebrewFormat) {
+            if (isLongWeekFormat) destination.append(hebrewDaysOfWeek[jewishDayOfWeek - 1])
+            else formatHebrewNumberTo(destination, if (jewishDayOfWeek == 7) 300 else jewishDayOfWeek)
+            return destination
+        }
+        //the parts of the names which weekFormat would copy
+        val name = if (jewishDayOfWeek == 7) transliteratedShabbosDayOfWeek else with(WeekFormat) { jewishDate.gregorianLocalDate.dayName }
+        if (isLongWeekFormat) destination.append(name) else destination.append(name, 0, 3)
+        return destination
     }
 
     /**
@@ -555,13 +592,32 @@ class HebrewDateFormatter {
      * example כ״א שבט תשכ״ט, and the format
      * "21 Shevat, 5729" if not.
      */
-    fun format(jewishDate: JewishDate): String =
-        if (isHebrewFormat) "${formatHebrewNumber(jewishDate.jewishDayOfMonth.toLong())} ${formatMonth(jewishDate)} ${
-            formatHebrewNumber(
-                jewishDate.hebrewLocalDate.year
-            )
-        }"
-        else "${jewishDate.jewishDayOfMonth} ${formatMonth(jewishDate)}, ${jewishDate.hebrewLocalDate.year}"
+    fun format(jewishDate: JewishDate): String = buildString { formatTo(this, jewishDate) }
+
+    /**
+     * Appends the [formatted][format] [jewishDate] to [destination]. Calendars formatting many dates (such as a
+     * printable year) can append every date to one [StringBuilder] or stream, without a string per date.
+     *
+     * @return [destination]
+     */
+    fun <A : Appendable> formatTo(destination: A, jewishDate: JewishDate): A = formatTo(destination, jewishDate.hebrewLocalDate)
+
+    /**
+     * Appends the [formatted][format] [date] to [destination].
+     *
+     * @return [destination]
+     */
+    fun <A : Appendable> formatTo(destination: A, date: HebrewLocalDate): A {
+        if (isHebrewFormat) {
+            formatHebrewNumberTo(destination, date.dayOfMonth).append(' ')
+            formatMonthTo(destination, date.month, date.isJewishLeapYear).append(' ')
+            formatHebrewNumberTo(destination, date.year)
+        } else {
+            destination.appendNumber(date.dayOfMonth).append(' ')
+            formatMonthTo(destination, date.month, date.isJewishLeapYear).append(", ").appendNumber(date.year)
+        }
+        return destination
+    }
 
     /**
      * Returns a string of the current Hebrew month such as "Tishrei". Returns a string of the current Hebrew month such
@@ -584,6 +640,27 @@ class HebrewDateFormatter {
             else transliteratedMonthList[month.value - 1]
     }
 
+    /**
+     * Appends the [formatted month][formatMonth] of [jewishDate] to [destination].
+     *
+     * @return [destination]
+     */
+    fun <A : Appendable> formatMonthTo(destination: A, jewishDate: JewishDate): A =
+        formatMonthTo(destination, jewishDate.hebrewLocalDate.month, jewishDate.isJewishLeapYear)
+
+    private fun <A : Appendable> formatMonthTo(destination: A, month: HebrewMonth, isJewishLeapYear: Boolean): A {
+        if (isHebrewFormat) {
+            if (isJewishLeapYear && (month == HebrewMonth.ADAR || month == HebrewMonth.ADAR_II)) {
+                destination.append(hebrewMonths[if (month == HebrewMonth.ADAR) 13 else 12]) // Adar I, not Adar in a leap year
+                if (isUseGershGershayim) destination.append(GERESH)
+            } else destination.append(hebrewMonths[month.value - 1])
+        } else destination.append(
+            if (isJewishLeapYear && month == HebrewMonth.ADAR) transliteratedMonthList[13] // Adar I, not Adar in a leap year
+            else transliteratedMonthList[month.value - 1]
+        )
+        return destination
+    }
+
     /**
      * Returns a String of the Omer day in the form ל״ג בעומר if
      * Hebrew Format is set, or "Omer X" or "Lag B'Omer" if not. An empty string if there is no Omer this day.
@@ -600,11 +677,26 @@ class HebrewDateFormatter {
      */
     fun formatOmer(jewishCalendar: JewishCalendar): String {
         val omer = jewishCalendar.dayOfOmer
-        if (omer == -1) return ""
-        return if (isHebrewFormat)
-            "${formatHebrewNumber(omer.toLong())} $hebrewOmerPrefix\u05E2\u05D5\u05DE\u05E8"
-        else if (omer == 33) transliteratedHolidayList[33] // if Lag B'Omer
-        else "Omer $omer"
+        return if (omer == -1) ""
+        else if (!isHebrewFormat && omer == 33) transliteratedHolidayList[33] // if Lag B'Omer
+        else buildString { formatOmerTo(this, omer) }
+    }
+
+    /**
+     * Appends the [formatted Omer day][formatOmer] of [jewishCalendar] to [destination], or nothing if there is no Omer
+     * this day.
+     *
+     * @return [destination]
+     */
+    fun <A : Appendable> formatOmerTo(destination: A, jewishCalendar: JewishCalendar): A =
+        formatOmerTo(destination, jewishCalendar.dayOfOmer)
+
+    private fun <A : Appendable> formatOmerTo(destination: A, omer: Int): A {
+        if (omer == -1) return destination
+        if (isHebrewFormat) formatHebrewNumberTo(destination, omer).append(' ').append(hebrewOmerPrefix).append("\u05E2\u05D5\u05DE\u05E8")
+        else if (omer == 33) destination.append(transliteratedHolidayList[33]) // if Lag B'Omer
+        else destination.append("Omer ").appendNumber(omer)
+        return destination
     }
 
     /**
@@ -649,10 +741,18 @@ class HebrewDateFormatter {
      * @param daf the Daf to be formatted.
      * @return the formatted daf.
      */
-    fun formatDafYomiBavli(daf: Daf): String =
-        if (isHebrewFormat)
-            "${daf.masechta} ${formatHebrewNumber(daf.daf.toLong())}"
-        else "${daf.masechtaTransliterated} ${daf.daf}"
+    fun formatDafYomiBavli(daf: Daf): String = buildString { formatDafYomiBavliTo(this, daf) }
+
+    /**
+     * Appends the [formatted daf][formatDafYomiBavli] to [destination].
+     *
+     * @return [destination]
+     */
+    fun <A : Appendable> formatDafYomiBavliTo(destination: A, daf: Daf): A {
+        if (isHebrewFormat) formatHebrewNumberTo(destination.append(daf.masechta).append(' '), daf.daf)
+        else destination.append(daf.masechtaTransliterated).append(' ').appendNumber(daf.daf)
+        return destination
+    }
 
     /**
      * Formats the [Daf Yomi Yerushalmi](https://en.wikipedia.org/wiki/Jerusalem_Talmud#Daf_Yomi_Yerushalmi) in the format
@@ -682,6 +782,8 @@ class HebrewDateFormatter {
      * אלפים
      *  * 0 will return אפס
      *
+     * Each number is formatted once per combination of [isUseGershGershayim], [isUseFinalFormLetters] and
+     * [isUseLongHebrewYears] and shared by all formatters, so formatting it again is an array lookup.
      *
      * @param number
      * the number to be formatted. It will trow an IllegalArgumentException if the number is < 0 or > 9999.
@@ -692,73 +794,23 @@ class HebrewDateFormatter {
      */
     fun formatHebrewNumber(number: Int): String = formatHebrewNumber(number.toLong())
     fun formatHebrewNumber(number: Long): String {
-        var num = number
         val range = 0..9999
-        require(num in range) { "${if (num < range.first) "negative numbers" else "numbers > ${range.last}"} can't be formatted" }
-        val ALAFIM = "\u05D0\u05DC\u05E4\u05D9\u05DD"
-        val EFES = "\u05D0\u05E4\u05E1"
-        val jHundreds: Array<String> = arrayOf(
-            "", "\u05E7", "\u05E8", "\u05E9", "\u05EA", "\u05EA\u05E7", "\u05EA\u05E8",
-            "\u05EA\u05E9", "\u05EA\u05EA", "\u05EA\u05EA\u05E7"
-        )
-        val jTens: Array<String> = arrayOf(
-            "", "\u05D9", "\u05DB", "\u05DC", "\u05DE", "\u05E0", "\u05E1", "\u05E2",
-            "\u05E4", "\u05E6"
-        )
-        val jTenEnds: Array<String> = arrayOf(
-            "", "\u05D9", "\u05DA", "\u05DC", "\u05DD", "\u05DF", "\u05E1", "\u05E2",
-            "\u05E3", "\u05E5"
-        )
-        val tavTaz: Array<String> = arrayOf("\u05D8\u05D5", "\u05D8\u05D6")
-        val jOnes: Array<String> = arrayOf(
-            "", "\u05D0", "\u05D1", "\u05D2", "\u05D3", "\u05D4", "\u05D5", "\u05D6",
-            "\u05D7", "\u05D8"
-        )
-        if (num == 0L) return EFES // do we really need this? Should it be applicable to a date?
-        val shortNumber = num % 1000 // discard thousands
-        // next check for all possible single Hebrew digit years
-        val singleDigitNumber =
-            shortNumber < 11 ||
-                    (shortNumber < 100L && shortNumber % 10L == 0L) ||
-                    (shortNumber <= 400L && shortNumber % 100L == 0L)
-        val thousands = num / 1000 // get # thousands
-        val sb = StringBuilder()
-        // append thousands to String
-        if (num % 1000L == 0L) { // in year is 5000, 4000 etc
-            sb.append(jOnes[thousands.toInt()])
-            if (isUseGershGershayim) sb.append(GERESH)
-            sb.append(" ")
-            sb.append(ALAFIM) // add # of thousands plus word thousand (overide alafim boolean)
-            return sb.toString()
-        } else if (isUseLongHebrewYears && num >= 1000) { // if alafim boolean display thousands
-            sb.append(jOnes[thousands.toInt()])
-            if (isUseGershGershayim) sb.append(GERESH) // append thousands quote
-            sb.append(" ")
-        }
-        num %= 1000 // remove 1000s
-        val hundreds = num / 100 // # of hundreds
-        sb.append(jHundreds[hundreds.toInt()]) // add hundreds to String
-        num %= 100 // remove 100s
-        if (num == 15L) sb.append(tavTaz[0])  // special case 15
-        else if (num == 16L) sb.append(tavTaz[1]) // special case 16
-        else {
-            val tens = num / 10
-            if (num % 10 == 0L) { // if evenly divisable by 10
-                if (!singleDigitNumber) {
-                    if (isUseFinalFormLetters) sb.append(jTenEnds[tens.toInt()])  // years like 5780 will end with a final form &#x05E3;
-                    else sb.append(jTens[tens.toInt()]) // years like 5780 will end with a regular &#x05E4;
-                } else sb.append(jTens[tens.toInt()]) // standard letters so years like 5050 will end with a regular nun
-            } else {
-                sb.append(jTens[tens.toInt()])
-                num %= 10
-                sb.append(jOnes[num.toInt()])
-            }
-        }
-        if (isUseGershGershayim) {
-            if (singleDigitNumber) sb.append(GERESH) // append single quote
-            else sb.insert(sb.length - 1, GERSHAYIM) // append double quote before last digit
-        }
-        return sb.toString()
+        require(number in range) { "${if (number < range.first) "negative numbers" else "numbers > ${range.last}"} can't be formatted" }
+        val n = number.toInt()
+        val table = hebrewNumberTable(isUseGershGershayim, isUseFinalFormLetters, isUseLongHebrewYears)
+        return table[n] ?: buildHebrewNumber(n, isUseGershGershayim, isUseFinalFormLetters, isUseLongHebrewYears)
+            .also { table[n] = it }
+    }
+
+    /**
+     * Appends the [Hebrew formatted][formatHebrewNumber] [number] to [destination], without creating a string.
+     *
+     * @return [destination]
+     */
+    fun <A : Appendable> formatHebrewNumberTo(destination: A, number: Int): A = formatHebrewNumberTo(destination, number.toLong())
+    fun <A : Appendable> formatHebrewNumberTo(destination: A, number: Long): A {
+        destination.append(formatHebrewNumber(number))
+        return destination
     }
 
     /**
@@ -777,9 +829,25 @@ class HebrewDateFormatter {
      * chars. The default uses Ashkenazi pronunciation in typical American English spelling, for example
      * Bereshis or Nitzavim Vayeilech or an empty string if there are none.
      */
-    fun formatParsha(jewishCalendar: JewishCalendar): String? =
-        if (isHebrewFormat) hebrewParshaMap[jewishCalendar.parshah]
-        else transliteratedParshiosList[jewishCalendar.parshah]
+    fun formatParsha(jewishCalendar: JewishCalendar): String? = formatParsha(jewishCalendar.parshah)
+
+    /**
+     * Returns the name of [parsha] as [formatParsha] formats it, such as the *parsha* of a [WeeklyParsha] of a
+     * [ParshaSchedule].
+     */
+    fun formatParsha(parsha: Parsha): String? =
+        if (isHebrewFormat) hebrewParshaMap[parsha]
+        else transliteratedParshiosList[parsha]
+
+    /**
+     * Appends the [formatted parsha][formatParsha] of [jewishCalendar] to [destination], or nothing if there is none.
+     *
+     * @return [destination]
+     */
+    fun <A : Appendable> formatParshaTo(destination: A, jewishCalendar: JewishCalendar): A {
+        formatParsha(jewishCalendar.parshah)?.let { destination.append(it) }
+        return destination
+    }
 
     /**
      * Returns a String with the name of the current special parsha of Shekalim, Zachor, Parah or Hachodesh or an
@@ -798,9 +866,7 @@ class HebrewDateFormatter {
      * into Latin chars. The default uses Ashkenazi pronunciation in typical American English spelling of Shekalim,
      * Zachor, Parah or Hachodesh. An empty string if there are none.
      */
-    fun formatSpecialParsha(jewishCalendar: JewishCalendar): String? =
-        if (isHebrewFormat) hebrewParshaMap[jewishCalendar.specialShabbos]
-        else transliteratedParshiosList[jewishCalendar.specialShabbos]
+    fun formatSpecialParsha(jewishCalendar: JewishCalendar): String? = formatParsha(jewishCalendar.specialShabbos)
 
     companion object {
         /**
@@ -815,6 +881,114 @@ class HebrewDateFormatter {
          */
         private val GERSHAYIM: String = "\u05F4"
 
+        private const val ALAFIM = "\u05D0\u05DC\u05E4\u05D9\u05DD"
+        private const val EFES = "\u05D0\u05E4\u05E1"
+        private val jHundreds: Array<String> = arrayOf(
+            "", "\u05E7", "\u05E8", "\u05E9", "\u05EA", "\u05EA\u05E7", "\u05EA\u05E8",
+            "\u05EA\u05E9", "\u05EA\u05EA", "\u05EA\u05EA\u05E7"
+        )
+        private val jTens: Array<String> = arrayOf(
+            "", "\u05D9", "\u05DB", "\u05DC", "\u05DE", "\u05E0", "\u05E1", "\u05E2",
+            "\u05E4", "\u05E6"
+        )
+        private val jTenEnds: Array<String> = arrayOf(
+            "", "\u05D9", "\u05DA", "\u05DC", "\u05DD", "\u05DF", "\u05E1", "\u05E2",
+            "\u05E3", "\u05E5"
+        )
+        private val tavTaz: Array<String> = arrayOf("\u05D8\u05D5", "\u05D8\u05D6")
+        private val jOnes: Array<String> = arrayOf(
+            "", "\u05D0", "\u05D1", "\u05D2", "\u05D3", "\u05D4", "\u05D5", "\u05D6",
+            "\u05D7", "\u05D8"
+        )
+
+        /**
+         * The [formatted][formatHebrewNumber] numbers 0 - 9999 of each combination of [isUseGershGershayim],
+         * [isUseFinalFormLetters] and [isUseLongHebrewYears], by [hebrewNumberTable]. Each table and each number in it is
+         * created the first time it is used, without synchronization, as in
+         * [DirectMappedCache][sternbach.software.kosherkotlin.util.DirectMappedCache]. A thread which reads null, or
+         * whose table another thread replaced with its own, formats the number again, so a number may be formatted more
+         * than once but is never wrong.
+         */
+        private val hebrewNumberTables = arrayOfNulls<Array<String?>>(8)
+
+        /**
+         * Appends [number] in decimal, as [Long.toString] formats it, without creating a string.
+         */
+        private fun Appendable.appendNumber(number: Long): Appendable {
+            if (number < 0) return append('-').appendNumber(-number)
+            var divisor = 1L
+            while (number / divisor >= 10) divisor *= 10
+            while (divisor > 0) {
+                append('0' + (number / divisor % 10).toInt())
+                divisor /= 10
+            }
+            return this
+        }
+
+        private fun Appendable.appendNumber(number: Int): Appendable = appendNumber(number.toLong())
+
+        private fun hebrewNumberTable(useGershGershayim: Boolean, useFinalFormLetters: Boolean, useLongHebrewYears: Boolean): Array<String?> {
+            val index = (if (useGershGershayim) 4 else 0) + (if (useFinalFormLetters) 2 else 0) + (if (useLongHebrewYears) 1 else 0)
+            return hebrewNumberTables[index] ?: arrayOfNulls<String>(10_000).also { hebrewNumberTables[index] = it }
+        }
+
+        /**
+         * Formats [number], which is in 0 - 9999, as [formatHebrewNumber] does with the given settings.
+         */
+        private fun buildHebrewNumber(
+            number: Int,
+            useGershGershayim: Boolean,
+            useFinalFormLetters: Boolean,
+            useLongHebrewYears: Boolean,
+        ): String {
+            var num = number
+            if (num == 0) return EFES // do we really need this? Should it be applicable to a date?
+            val shortNumber = num % 1000 // discard thousands
+            // next check for all possible single Hebrew digit years
+            val singleDigitNumber =
+                shortNumber < 11 ||
+                        (shortNumber < 100 && shortNumber % 10 == 0) ||
+                        (shortNumber <= 400 && shortNumber % 100 == 0)
+            val thousands = num / 1000 // get # thousands
+            val sb = StringBuilder()
+            // append thousands to String
+            if (num % 1000 == 0) { // in year is 5000, 4000 etc
+                sb.append(jOnes[thousands])
+                if (useGershGershayim) sb.append(GERESH)
+                sb.append(" ")
+                sb.append(ALAFIM) // add # of thousands plus word thousand (overide alafim boolean)
+                return sb.toString()
+            } else if (useLongHebrewYears && num >= 1000) { // if alafim boolean display thousands
+                sb.append(jOnes[thousands])
+                if (useGershGershayim) sb.append(GERESH) // append thousands quote
+                sb.append(" ")
+            }
+            num %= 1000 // remove 1000s
+            val hundreds = num / 100 // # of hundreds
+            sb.append(jHundreds[hundreds]) // add hundreds to String
+            num %= 100 // remove 100s
+            if (num == 15) sb.append(tavTaz[0])  // special case 15
+            else if (num == 16) sb.append(tavTaz[1]) // special case 16
+            else {
+                val tens = num / 10
+                if (num % 10 == 0) { // if evenly divisable by 10
+                    if (!singleDigitNumber) {
+                        if (useFinalFormLetters) sb.append(jTenEnds[tens])  // years like 5780 will end with a final form &#x05E3;
+                        else sb.append(jTens[tens]) // years like 5780 will end with a regular &#x05E4;
+                    } else sb.append(jTens[tens]) // standard letters so years like 5050 will end with a regular nun
+                } else {
+                    sb.append(jTens[tens])
+                    num %= 10
+                    sb.append(jOnes[num])
+                }
+            }
+            if (useGershGershayim) {
+                if (singleDigitNumber) sb.append(GERESH) // append single quote
+                else sb.insert(sb.length - 1, GERSHAYIM) // append double quote before last digit
+            }
+            return sb.toString()
+        }
+
         /**
          * Unicode list of Hebrew months in the following format `["\u05E0\u05D9\u05E1\u05DF","\u05D0\u05D9\u05D9\u05E8",
          * "\u05E1\u05D9\u05D5\u05DF","\u05EA\u05DE\u05D5\u05D6","\u05D0\u05D1","\u05D0\u05DC\u05D5\u05DC",
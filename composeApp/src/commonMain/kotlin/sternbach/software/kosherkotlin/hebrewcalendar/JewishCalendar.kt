@@ -568,66 +568,6 @@ class JewishCalendar : JewishDate {
             return elapsedDaysModTwentyEightYears == 172.0 // 28 years of 365.25 days + the offset from molad tohu mentioned above
         }
 
-    /**
-     * Return the type of year for *parsha* calculations. The algorithm follows the
-     * [&amp;&amp;Luach Arba'ah Shearim](http://hebrewbooks.org/pdfpager.aspx?req=14268&amp;st=&amp;pgnum=222) in the Tur Ohr Hachaim.
-     * @return the type of year for *parsha* calculations.
-     */
-    private val parshaYearType: Int
-        get() {
-            var roshHashanaDayOfWeek =
-                ((getJewishCalendarElapsedDays(hebrewLocalDate.year) + 1) % 7).toInt() // plus one to the original Rosh Hashana of year 1 to get a week starting on Sunday
-            if (roshHashanaDayOfWeek == 0) {
-                roshHashanaDayOfWeek = 7 // convert 0 to 7 for Shabbos for readability
-            }
-            if (isJewishLeapYear) {
-                when (roshHashanaDayOfWeek) {
-                    MONDAY -> {
-                        if (isKislevShort) //BaCh
-                            return if (inIsrael) 14 else 6
-                        else if (isCheshvanLong) //BaSh
-                            return if (inIsrael) 15 else 7
-                    }
-
-                    TUESDAY -> {
-                        return if (inIsrael) 15 else 7
-                    }
-
-                    THURSDAY -> {
-                        if (isKislevShort) return 8 //HaCh
-                        if (isCheshvanLong) return 9 //HaSh
-                    }
-
-                    SATURDAY -> {
-                        if (isKislevShort) return 10 //ZaCh
-                        if (isCheshvanLong) //ZaSh
-                            return if (inIsrael) 16 else 11
-                    }
-                }
-            } else { //not a leap year
-                when (roshHashanaDayOfWeek) {
-                    MONDAY -> {
-                        if (isKislevShort) return 0 //BaCh
-                        if (isCheshvanLong) return if (inIsrael) 12 else 1 //BaSh
-                    }
-
-                    TUESDAY -> {
-                        return if (inIsrael) 12 else 1
-                    }
-
-                    THURSDAY -> {
-                        if (isCheshvanLong) return 3 //HaSh
-                        if (!isKislevShort) return if (inIsrael) 13 else 2 //Hak
-                    }
-
-                    SATURDAY -> {
-                        if (isKislevShort) return 4 //ZaCh
-                        if (isCheshvanLong) return 5 //ZaSh
-                    }
-                }
-            }
-            return -1 //keep the compiler happy
-        }// negative year should be impossible, but let's cover all bases
     //keep the compiler happy
     /**
      * Returns this week's [*Parsha*][Parsha] if it is *Shabbos*. It returns [Parsha.NONE] if the date
@@ -636,18 +576,10 @@ class JewishCalendar : JewishDate {
      * @return the current *parsha*.
      */
     val parshah: Parsha
-        get() {
-            if (gregorianLocalDate.dayOfWeek != DayOfWeek.SATURDAY) {
-                return NONE
-            }
-            val yearType = parshaYearType
-            val roshHashanaDayOfWeek = getJewishCalendarElapsedDays(hebrewLocalDate.year) % 7
-            val day = (roshHashanaDayOfWeek + daysSinceStartOfJewishYear).toInt()
-            if (yearType >= 0) { // negative year should be impossible, but let's cover all bases
-                return parshalist[yearType][day / 7]
-            }
-            return NONE //keep the compiler happy
-        }//Yom Kippur / Sukkos or Pesach with 2 potential non-parsha Shabbosim in a row
+        get() =
+            if (gregorianLocalDate.dayOfWeek != DayOfWeek.SATURDAY) NONE
+            else ParshaSchedule.of(hebrewLocalDate.year, inIsrael).parshahOn(gregorianLocalDate)
+    //Yom Kippur / Sukkos or Pesach with 2 potential non-parsha Shabbosim in a row
 
     /**
      * Returns the upcoming [*Parsha*][Parsha] regardless of if it is the weekday or *Shabbos* (where next
@@ -658,27 +590,7 @@ class JewishCalendar : JewishDate {
      * @return the upcoming *parsha*.
      */
     val upcomingParshah: Parsha
-        get() {
-            val copy = copy(
-                jewishMonth = hebrewLocalDate.month,
-                inIsrael = inIsrael
-            ) //force JewishCalendar.copy, not JewishDate.copy
-            val daysToShabbos =
-                (DayOfWeek.SATURDAY.toJewishDayOfWeek() - copy.gregorianLocalDate.dayOfWeek.toJewishDayOfWeek() + 7) % 7
-            //println("Days to shabbos kotlin: $daysToShabbos, gregorianLocalDate(${copy.gregorianLocalDate}).dayOfWeek = ${copy.gregorianLocalDate.dayOfWeek}")
-            if (copy.gregorianLocalDate.dayOfWeek != DayOfWeek.SATURDAY) {
-                copy.forward(DateTimeUnit.DAY, daysToShabbos)
-            } else {
-                copy.forward(DateTimeUnit.DAY, 7)
-            }
-            //println("New gregorianLocalDate(${copy.gregorianLocalDate}).dayOfWeek = ${copy.gregorianLocalDate.dayOfWeek}")
-
-            while (copy.parshah == NONE) { //Yom Kippur / Sukkos or Pesach with 2 potential non-parsha Shabbosim in a row
-                copy.forward(DateTimeUnit.DAY, 7)
-                //println("New copy: ${copy.gregorianLocalDate}")
-            }
-            return copy.parshah
-        }
+        get() = ParshaSchedule.upcomingParshah(ParshaSchedule.of(hebrewLocalDate.year, inIsrael), gregorianLocalDate)
 
     /**
      * Returns a [*Parsha*][Parsha] enum if the *Shabbos* is one of the four *parshiyos* of [Parsha.SHKALIM], [*Zachor*][Parsha.ZACHOR], [*Para*][Parsha.PARA], [Parsha.HACHODESH] or [Parsha.NONE] for a regular *Shabbos* (or any weekday).
@@ -686,54 +598,62 @@ class JewishCalendar : JewishDate {
      * @return one of the four *parshiyos* of [*Shkalim*][Parsha.SHKALIM] [*Zachor*][Parsha.ZACHOR], [*Para*][Parsha.PARA], [*Hachdesh*][Parsha.HACHODESH] or [Parsha.NONE].
      */
     val specialShabbos: Parsha
-        get() {
-            if (gregorianLocalDate.dayOfWeek == DayOfWeek.SATURDAY) {
-                if ((hebrewLocalDate.month == HebrewMonth.SHEVAT && !isJewishLeapYear) || (hebrewLocalDate.month == HebrewMonth.ADAR && isJewishLeapYear)) {
-                    if ((jewishDayOfMonth == 25) || (jewishDayOfMonth == 27) || (jewishDayOfMonth == 29)) {
-                        return Parsha.SHKALIM
-                    }
+        get() =
+            if (gregorianLocalDate.dayOfWeek != DayOfWeek.SATURDAY) NONE
+            else ParshaSchedule.of(hebrewLocalDate.year, inIsrael).specialShabbosOn(gregorianLocalDate)
+
+    /**
+     * Computes [specialShabbos], given this *Shabbos*'s [parshah]. [ParshaSchedule] evaluates this once per *Shabbos* of
+     * the year.
+     */
+    internal fun getSpecialShabbos(parshah: Parsha): Parsha {
+        if (gregorianLocalDate.dayOfWeek == DayOfWeek.SATURDAY) {
+            if ((hebrewLocalDate.month == HebrewMonth.SHEVAT && !isJewishLeapYear) || (hebrewLocalDate.month == HebrewMonth.ADAR && isJewishLeapYear)) {
+                if ((jewishDayOfMonth == 25) || (jewishDayOfMonth == 27) || (jewishDayOfMonth == 29)) {
+                    return Parsha.SHKALIM
                 }
-                if ((hebrewLocalDate.month == HebrewMonth.ADAR && !isJewishLeapYear) || hebrewLocalDate.month == HebrewMonth.ADAR_II) {
-                    if (jewishDayOfMonth == 1) {
-                        return Parsha.SHKALIM
-                    }
-                    if ((jewishDayOfMonth == 8) || (jewishDayOfMonth == 9) || (jewishDayOfMonth == 11) || (jewishDayOfMonth == 13)) {
-                        return Parsha.ZACHOR
-                    }
-                    if ((jewishDayOfMonth == 18) || (jewishDayOfMonth == 20) || (jewishDayOfMonth == 22) || (jewishDayOfMonth == 23)) {
-                        return Parsha.PARA
-                    }
-                    if ((jewishDayOfMonth == 25) || (jewishDayOfMonth == 27) || (jewishDayOfMonth == 29)) {
-                        return Parsha.HACHODESH
-                    }
+            }
+            if ((hebrewLocalDate.month == HebrewMonth.ADAR && !isJewishLeapYear) || hebrewLocalDate.month == HebrewMonth.ADAR_II) {
+                if (jewishDayOfMonth == 1) {
+                    return Parsha.SHKALIM
                 }
-                if (hebrewLocalDate.month == HebrewMonth.NISSAN) {
-                    if (jewishDayOfMonth == 1) {
-                        return Parsha.HACHODESH
-                    }
-                    if (jewishDayOfMonth >= 8 && jewishDayOfMonth <= 14) {
-                        return Parsha.HAGADOL
-                    }
+                if ((jewishDayOfMonth == 8) || (jewishDayOfMonth == 9) || (jewishDayOfMonth == 11) || (jewishDayOfMonth == 13)) {
+                    return Parsha.ZACHOR
                 }
-                if (hebrewLocalDate.month == HebrewMonth.AV) {
-                    if (jewishDayOfMonth >= 4 && jewishDayOfMonth <= 9) {
-                        return Parsha.CHAZON
-                    }
-                    if (jewishDayOfMonth >= 10 && jewishDayOfMonth <= 16) {
-                        return Parsha.NACHAMU
-                    }
+                if ((jewishDayOfMonth == 18) || (jewishDayOfMonth == 20) || (jewishDayOfMonth == 22) || (jewishDayOfMonth == 23)) {
+                    return Parsha.PARA
                 }
-                if (hebrewLocalDate.month == HebrewMonth.TISHREI) {
-                    if (jewishDayOfMonth >= 3 && jewishDayOfMonth <= 8) {
-                        return Parsha.SHUVA
-                    }
+                if ((jewishDayOfMonth == 25) || (jewishDayOfMonth == 27) || (jewishDayOfMonth == 29)) {
+                    return Parsha.HACHODESH
                 }
-                if (parshah == Parsha.BESHALACH) {
-                    return Parsha.SHIRA
+            }
+            if (hebrewLocalDate.month == HebrewMonth.NISSAN) {
+                if (jewishDayOfMonth == 1) {
+                    return Parsha.HACHODESH
+                }
+                if (jewishDayOfMonth >= 8 && jewishDayOfMonth <= 14) {
+                    return Parsha.HAGADOL
                 }
             }
-            return NONE
-        }// if 13th Adar falls on Friday or Shabbos, push back to Thursday
+            if (hebrewLocalDate.month == HebrewMonth.AV) {
+                if (jewishDayOfMonth >= 4 && jewishDayOfMonth <= 9) {
+                    return Parsha.CHAZON
+                }
+                if (jewishDayOfMonth >= 10 && jewishDayOfMonth <= 16) {
+                    return Parsha.NACHAMU
+                }
+            }
+            if (hebrewLocalDate.month == HebrewMonth.TISHREI) {
+                if (jewishDayOfMonth >= 3 && jewishDayOfMonth <= 8) {
+                    return Parsha.SHUVA
+                }
+            }
+            if (parshah == Parsha.BESHALACH) {
+                return Parsha.SHIRA
+            }
+        }
+        return NONE
+    }// if 13th Adar falls on Friday or Shabbos, push back to Thursday
     // if we get to this stage, then there are no holidays for the given date return -1
 // else if a leap year// if 13th Adar falls on Friday or Shabbos, push back to Thursday// if (day == 24) {
     // return EREV_CHANUKAH;
@@ -750,8 +670,16 @@ class JewishCalendar : JewishDate {
      * @return the index of the holiday such as the constant [.LAG_BAOMER] or [.YOM_KIPPUR] or a -1 if it is not a holiday.
      *
      * @see HebrewDateFormatter.formatYomTov
+     * @see JewishHolidayIndex
      */
     val yomTovIndex: Int
+        get() = JewishHolidayIndex.of(hebrewLocalDate.year, inIsrael, isUseModernHolidays).yomTovIndexAt(gregorianLocalDate)
+
+    /**
+     * Computes [yomTovIndex] from the date itself. [JewishHolidayIndex] evaluates this once per day of the year, so every
+     * other read of [yomTovIndex] is an array lookup.
+     */
+    internal val computedYomTovIndex: Int
         get() {
             val day = jewishDayOfMonth
             val dayOfWeek = gregorianLocalDate.dayOfWeek
@@ -1391,14 +1319,7 @@ class JewishCalendar : JewishDate {
      * @return true if today is a fast day
      */
     val isTaanis: Boolean
-        get() = yomTovIndex.let {
-            it == SEVENTEEN_OF_TAMMUZ ||
-                    it == TISHA_BEAV ||
-                    it == YOM_KIPPUR ||
-                    it == FAST_OF_GEDALYAH ||
-                    it == TENTH_OF_TEVES ||
-                    it == FAST_OF_ESTHER
-        }// on 14 Nissan unless that is Shabbos where the fast is moved back to Thursday
+        get() = JewishHolidayIndex.isTaanis(yomTovIndex)// on 14 Nissan unless that is Shabbos where the fast is moved back to Thursday
 
 
     /**
@@ -1657,15 +1578,11 @@ class JewishCalendar : JewishDate {
      * @see isVeseinTalUmatarRecited
      */
     val tekufasTishreiElapsedDays: Int
-        get() {
-            // Days since Rosh Hashana year 1. Add 1/2 day as the first tekufas tishrei was 9 hours into the day. This allows all
-            // 4 years of the secular leap year cycle to share 47 days. Truncate 47D and 9H to 47D for simplicity.
-            val days: Double =
-                getJewishCalendarElapsedDays(hebrewLocalDate.year) + (daysSinceStartOfJewishYear - 1) + 0.5
-            // days of completed solar years
-            val solar: Double = (hebrewLocalDate.year - 1) * 365.25
-            return floor(days - solar).toInt()
-        }// When starting on Sunday, it can be the start date or delayed from Shabbos
+        get() = getTekufasTishreiElapsedDays(
+            hebrewLocalDate.year,
+            getJewishCalendarElapsedDays(hebrewLocalDate.year),
+            daysSinceStartOfJewishYear
+        )// When starting on Sunday, it can be the start date or delayed from Shabbos
     // keep the compiler happy
 //Not recited on Friday night// The 7th Cheshvan can't occur on Shabbos, so always return true for 7 Cheshvan
 
@@ -1716,6 +1633,101 @@ class JewishCalendar : JewishDate {
     ): JewishCalendar = JewishCalendar(jewishYear, jewishMonth, jewishDayOfMonth, inIsrael)
 
     companion object {
+        /**
+         * Return the type of year for *parsha* calculations of [jewishYear]. The algorithm follows the
+         * [&amp;&amp;Luach Arba'ah Shearim](http://hebrewbooks.org/pdfpager.aspx?req=14268&amp;st=&amp;pgnum=222) in the Tur Ohr Hachaim.
+         * This only depends on the year, so [ParshaSchedule] computes it once per year.
+         * @return the type of year for *parsha* calculations.
+         */
+        internal fun getParshaYearType(jewishYear: Long, inIsrael: Boolean): Int {
+            var roshHashanaDayOfWeek =
+                ((getJewishCalendarElapsedDays(jewishYear) + 1) % 7).toInt() // plus one to the original Rosh Hashana of year 1 to get a week starting on Sunday
+            if (roshHashanaDayOfWeek == 0) {
+                roshHashanaDayOfWeek = 7 // convert 0 to 7 for Shabbos for readability
+            }
+            if (jewishYear.isJewishLeapYear) {
+                when (roshHashanaDayOfWeek) {
+                    MONDAY -> {
+                        if (jewishYear.isKislevShort) //BaCh
+                            return if (inIsrael) 14 else 6
+                        else if (jewishYear.isCheshvanLong) //BaSh
+                            return if (inIsrael) 15 else 7
+                    }
+
+                    TUESDAY -> {
+                        return if (inIsrael) 15 else 7
+                    }
+
+                    THURSDAY -> {
+                        if (jewishYear.isKislevShort) return 8 //HaCh
+                        if (jewishYear.isCheshvanLong) return 9 //HaSh
+                    }
+
+                    SATURDAY -> {
+                        if (jewishYear.isKislevShort) return 10 //ZaCh
+                        if (jewishYear.isCheshvanLong) //ZaSh
+                            return if (inIsrael) 16 else 11
+                    }
+                }
+            } else { //not a leap year
+                when (roshHashanaDayOfWeek) {
+                    MONDAY -> {
+                        if (jewishYear.isKislevShort) return 0 //BaCh
+                        if (jewishYear.isCheshvanLong) return if (inIsrael) 12 else 1 //BaSh
+                    }
+
+                    TUESDAY -> {
+                        return if (inIsrael) 12 else 1
+                    }
+
+                    THURSDAY -> {
+                        if (jewishYear.isCheshvanLong) return 3 //HaSh
+                        if (!jewishYear.isKislevShort) return if (inIsrael) 13 else 2 //Hak
+                    }
+
+                    SATURDAY -> {
+                        if (jewishYear.isKislevShort) return 4 //ZaCh
+                        if (jewishYear.isCheshvanLong) return 5 //ZaSh
+                    }
+                }
+            }
+            return -1 //keep the compiler happy
+        }
+
+        /**
+         * Returns the *parsha* of the *Shabbos* which is [daysSinceStartOfJewishYear] days into a year of type
+         * [parshaYearType] (see [getParshaYearType]) whose *Rosh Hashana* is [jewishCalendarElapsedDays] days after *molad tohu*.
+         *
+         * @see parshah
+         */
+        internal fun getParshah(parshaYearType: Int, jewishCalendarElapsedDays: Long, daysSinceStartOfJewishYear: Int): Parsha {
+            val roshHashanaDayOfWeek = jewishCalendarElapsedDays % 7
+            val day = (roshHashanaDayOfWeek + daysSinceStartOfJewishYear).toInt()
+            if (parshaYearType >= 0) { // negative year should be impossible, but let's cover all bases
+                return parshalist[parshaYearType][day / 7]
+            }
+            return NONE //keep the compiler happy
+        }
+
+        /**
+         * Returns the elapsed days since *Tekufas Tishrei* of the day [daysSinceStartOfJewishYear] days into [jewishYear],
+         * whose *Rosh Hashana* is [jewishCalendarElapsedDays] days after *molad tohu*.
+         *
+         * @see tekufasTishreiElapsedDays
+         */
+        internal fun getTekufasTishreiElapsedDays(
+            jewishYear: Long,
+            jewishCalendarElapsedDays: Long,
+            daysSinceStartOfJewishYear: Int,
+        ): Int {
+            // Days since Rosh Hashana year 1. Add 1/2 day as the first tekufas tishrei was 9 hours into the day. This allows all
+            // 4 years of the secular leap year cycle to share 47 days. Truncate 47D and 9H to 47D for simplicity.
+            val days: Double = jewishCalendarElapsedDays + (daysSinceStartOfJewishYear - 1) + 0.5
+            // days of completed solar years
+            val solar: Double = (jewishYear - 1) * 365.25
+            return floor(days - solar).toInt()
+        }
+
         /** value returned by [yomTovIndex] to indicate no holiday. */
         const val NO_HOLIDAY = -1
 
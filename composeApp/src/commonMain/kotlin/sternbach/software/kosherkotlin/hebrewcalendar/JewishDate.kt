@@ -792,6 +792,17 @@ open class JewishDate : Comparable<JewishDate> {
             // delay Rosh Hashana for the 4 dechiyos
             return addDechiyos(year, moladDay.toLong(), moladParts)
         }
+
+        /**
+         * The absolute date (as used by [getJewishCalendarElapsedDays]) of January 1, 1970, [epoch day][LocalDate.toEpochDays] 0.
+         */
+        private const val ABS_DATE_OF_EPOCH_DAY_0 = 719_163
+
+        /**
+         * Returns the [epoch day][LocalDate.toEpochDays] of *Rosh Hashana* of [year], without converting a date.
+         */
+        internal fun getRoshHashanaEpochDay(year: Long): Int =
+            (getJewishCalendarElapsedDays(year) + HebrewLocalDate.JEWISH_EPOCH + 1 - ABS_DATE_OF_EPOCH_DAY_0).toInt()
         // private static int getJewishCalendarElapsedDaysOLD(int year) {
         // // Jewish lunar month = 29 days, 12 hours and 793 chalakim
         // // Molad Tohu = BeHaRaD - Monday, 5 hours (11 PM) and 204 chalakim
@@ -1005,7 +1016,8 @@ open class JewishDate : Comparable<JewishDate> {
             if (month < HebrewMonth.TISHREI) {
                 // this year before and after Nisan.
                 for (m in HebrewMonth.TISHREI..getLastMonthOfJewishYear(year)) elapsedDays += getDaysInJewishMonth(m, year)
-                for (m in HebrewMonth.NISSAN until month) elapsedDays += getDaysInJewishMonth(m, year)
+                // NISSAN until NISSAN is not empty, since the month before NISSAN wraps around to IYAR
+                if (month != HebrewMonth.NISSAN) for (m in HebrewMonth.NISSAN until month) elapsedDays += getDaysInJewishMonth(m, year)
             } else { // Add days in prior months this year
                 for (m in HebrewMonth.TISHREI until month) elapsedDays += getDaysInJewishMonth(m, year)
             }
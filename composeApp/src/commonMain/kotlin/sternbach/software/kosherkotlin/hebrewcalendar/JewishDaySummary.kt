@@ -0,0 +1,152 @@
+package sternbach.software.kosherkotlin.hebrewcalendar
+
+import kotlinx.datetime.DateTimeUnit
+import kotlinx.datetime.DayOfWeek
+import kotlinx.datetime.Instant
+import kotlinx.datetime.LocalDate
+import sternbach.software.kosherkotlin.hebrewcalendar.JewishDate.Companion.daysInJewishYear
+import sternbach.software.kosherkotlin.hebrewcalendar.JewishDate.Companion.getDaysInJewishMonth
+import sternbach.software.kosherkotlin.hebrewcalendar.JewishDate.Companion.getJewishCalendarElapsedDays
+
+/**
+ * Everything a calendar shows for one day: its holiday, *parsha*, special *Shabbos*, *Omer* and *Chanukah* day,
+ * *Rosh Chodesh*, the month's *molad*, *Daf Yomi*, *tekufa* and the [TefilaRules] of the day. Each value equals the
+ * [JewishCalendar] property (or [TefilaRules] method) of the same name.
+ *
+ * Summaries are built by [of], [forMonth], [forYear] or [forDays]. Reading the properties of a [JewishCalendar] one at a
+ * time recomputes what they have in common (such as the elapsed days of the year, which the *tekufa* is based on, the
+ * lookup of the year's [ParshaSchedule] and [JewishHolidayIndex], and the calendar of the next day for *tachanun* at
+ * *mincha*); the builders compute them once per year, month or day and share them between the values of each day.
+ *
+ * @param molad the [molad][JewishCalendar.moladAsInstant] of the Jewish month of the day.
+ */
+data class JewishDaySummary(
+    val date: LocalDate,
+    val hebrewDate: HebrewLocalDate,
+    val inIsrael: Boolean,
+    val yomTovIndex: Int,
+    val parshah: JewishCalendar.Parsha,
+    val specialShabbos: JewishCalendar.Parsha,
+    val dayOfOmer: Int,
+    val dayOfChanukah: Int,
+    val isRoshChodesh: Boolean,
+    val molad: Instant,
+    val dafYomiBavli: Daf?,
+    val dafYomiYerushalmi: Daf?,
+    val tekufasTishreiElapsedDays: Int,
+    val isTachanunRecitedShacharis: Boolean,
+    val isTachanunRecitedMincha: Boolean,
+    val isHallelRecited: Boolean,
+    val isHallelShalemRecited: Boolean,
+    val isAlHanissimRecited: Boolean,
+    val isYaalehVeyavoRecited: Boolean,
+    val isVeseinTalUmatarRecited: Boolean,
+    val isMashivHaruachRecited: Boolean,
+) {
+    /**
+     * The values of a Jewish year which every day of the year shares.
+     */
+    private class Year(val jewishYear: Long, inIsrael: Boolean, isUseModernHolidays: Boolean) {
+        val jewishCalendarElapsedDays = getJewishCalendarElapsedDays(jewishYear)
+        val parshaSchedule = ParshaSchedule.of(jewishYear, inIsrael)
+        val holidayIndex = JewishHolidayIndex.of(jewishYear, inIsrael, isUseModernHolidays)
+        val roshHashanaEpochDay = holidayIndex.roshHashana.toEpochDays()
+    }
+
+    companion object {
+        /**
+         * Returns the summary of the day [jewishCalendar] is set to, with its settings (e.g.
+         * [JewishCalendar.isMukafChoma]). [jewishCalendar] is not modified.
+         */
+        fun of(jewishCalendar: JewishCalendar, tefilaRules: TefilaRules = TefilaRules()): JewishDaySummary =
+            forDays(jewishCalendar, 1, tefilaRules).single()
+
+        /**
+         * Returns the summaries of every day of [month] of [jewishYear].
+         */
+        fun forMonth(
+            jewishYear: Long,
+            month: HebrewMonth,
+            inIsrael: Boolean,
+            isUseModernHolidays: Boolean = false,
+            tefilaRules: TefilaRules = TefilaRules(),
+        ): List<JewishDaySummary> = forDays(
+            JewishCalendar(HebrewLocalDate(jewishYear, month, 1), inIsrael, isUseModernHolidays),
+            getDaysInJewishMonth(month, jewishYear),
+            tefilaRules
+        )
+
+        /**
+         * Returns the summaries of every day of [jewishYear], starting with *Rosh Hashana*.
+         */
+        fun forYear(
+            jewishYear: Long,
+            inIsrael: Boolean,
+            isUseModernHolidays: Boolean = false,
+            tefilaRules: TefilaRules = TefilaRules(),
+        ): List<JewishDaySummary> = forDays(
+            JewishCalendar(HebrewLocalDate(jewishYear, HebrewMonth.TISHREI, 1), inIsrael, isUseModernHolidays),
+            jewishYear.daysInJewishYear,
+            tefilaRules
+        )
+
+        /**
+         * Returns the summaries of [count] consecutive days, starting with the day [first] is set to, with the settings
+         * of [first]. [first] is not modified.
+         */
+        fun forDays(first: JewishCalendar, count: Int, tefilaRules: TefilaRules = TefilaRules()): List<JewishDaySummary> {
+            require(count >= 0) { "count must not be negative: $count" }
+            val inIsrael = first.inIsrael
+            val isUseModernHolidays = first.isUseModernHolidays
+            fun newCalendar() = JewishCalendar(first.hebrewLocalDate, inIsrael, isUseModernHolidays).also {
+                it.isMukafChoma = first.isMukafChoma
+            }
+            val today = newCalendar()
+            val tomorrow = newCalendar().apply { forward(DateTimeUnit.DAY, 1) }
+            var year = Year(today.hebrewLocalDate.year, inIsrael, isUseModernHolidays)
+            var molad: Instant? = null
+            val summaries = ArrayList<JewishDaySummary>(count)
+            repeat(count) {
+                val hebrewDate = today.hebrewLocalDate
+                if (hebrewDate.year != year.jewishYear) year = Year(hebrewDate.year, inIsrael, isUseModernHolidays)
+                if (molad == null || hebrewDate.dayOfMonth == 1) molad = today.moladAsInstant
+                val date = today.gregorianLocalDate
+                val dayOfYear = date.toEpochDays() - year.roshHashanaEpochDay
+                val daysSinceStartOfJewishYear = dayOfYear + 1
+                val isShabbos = date.dayOfWeek == DayOfWeek.SATURDAY
+                summaries.add(
+                    JewishDaySummary(
+                        date = date,
+                        hebrewDate = hebrewDate,
+                        inIsrael = inIsrael,
+                        yomTovIndex = year.holidayIndex.yomTovIndexAt(dayOfYear),
+                        parshah = if (isShabbos) year.parshaSchedule.parshahOn(date) else JewishCalendar.Parsha.NONE,
+                        specialShabbos = if (isShabbos) year.parshaSchedule.specialShabbosOn(date) else JewishCalendar.Parsha.NONE,
+                        dayOfOmer = today.dayOfOmer,
+                        dayOfChanukah = today.dayOfChanukah,
+                        isRoshChodesh = today.isRoshChodesh,
+                        molad = molad!!,
+                        dafYomiBavli = today.dafYomiBavli,
+                        dafYomiYerushalmi = today.dafYomiYerushalmi,
+                        tekufasTishreiElapsedDays = JewishCalendar.getTekufasTishreiElapsedDays(
+                            year.jewishYear,
+                            year.jewishCalendarElapsedDays,
+                            daysSinceStartOfJewishYear
+                        ),
+                        isTachanunRecitedShacharis = tefilaRules.isTachanunRecitedShacharis(today),
+                        isTachanunRecitedMincha = tefilaRules.isTachanunRecitedMincha(today, tomorrow),
+                        isHallelRecited = tefilaRules.isHallelRecited(today),
+                        isHallelShalemRecited = tefilaRules.isHallelShalemRecited(today),
+                        isAlHanissimRecited = tefilaRules.isAlHanissimRecited(today),
+                        isYaalehVeyavoRecited = tefilaRules.isYaalehVeyavoRecited(today),
+                        isVeseinTalUmatarRecited = tefilaRules.isVeseinTalUmatarRecited(today),
+                        isMashivHaruachRecited = tefilaRules.isMashivHaruachRecited(today),
+                    )
+                )
+                today.forward(DateTimeUnit.DAY, 1)
+                tomorrow.forward(DateTimeUnit.DAY, 1)
+            }
+            return summaries
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package sternbach.software.kosherkotlin.hebrewcalendar
+
+import kotlinx.datetime.DateTimeUnit
+import kotlinx.datetime.LocalDate
+import kotlinx.datetime.plus
+import sternbach.software.kosherkotlin.hebrewcalendar.HebrewLocalDate.Companion.toHebrewDate
+import sternbach.software.kosherkotlin.hebrewcalendar.JewishDate.Companion.daysInJewishYear
+import sternbach.software.kosherkotlin.util.DirectMappedCache
+
+/**
+ * The [yomTovIndex][JewishCalendar.yomTovIndex] of every day of a Jewish year, computed once and stored as one byte per
+ * day. [JewishCalendar.yomTovIndex] (and so [JewishCalendar.isYomTov], [JewishCalendar.isTaanis] and the other holiday
+ * properties) reads from the index of its year, so evaluating many holiday properties of a day, or the same property for
+ * many days, does not re-evaluate the holiday rules each time.
+ *
+ * Indices are created with [of], which caches them by ([jewishYear], [inIsrael], [isUseModernHolidays]). The companion
+ * also has queries over ranges of dates that may span multiple years, such as [holidaysBetween].
+ *
+ * Instances are immutable.
+ */
+class JewishHolidayIndex private constructor(
+    val jewishYear: Long,
+    val inIsrael: Boolean,
+    val isUseModernHolidays: Boolean,
+    /**
+     * The [epoch day][LocalDate.toEpochDays] of *Rosh Hashana* of [jewishYear].
+     */
+    private val firstEpochDay: Int,
+    /**
+     * The [yomTovIndex][JewishCalendar.yomTovIndex] of each day of the year, starting with *Rosh Hashana*.
+     */
+    private val yomTovIndices: ByteArray,
+) {
+    /**
+     * The Gregorian date of *Rosh Hashana* of [jewishYear].
+     */
+    val roshHashana: LocalDate get() = LocalDate.fromEpochDays(firstEpochDay)
+
+    /**
+     * The number of days in [jewishYear].
+     */
+    val size: Int get() = yomTovIndices.size
+
+    /**
+     * Returns whether [date] is in [jewishYear].
+     */
+    operator fun contains(date: LocalDate): Boolean = date.toEpochDays() - firstEpochDay in yomTovIndices.indices
+
+    /**
+     * Returns the Gregorian date of the day of the year at [dayOfYear], where 0 is *Rosh Hashana*.
+     */
+    fun dateAt(dayOfYear: Int): LocalDate = LocalDate.fromEpochDays(firstEpochDay + dayOfYear)
+
+    /**
+     * Returns the [yomTovIndex][JewishCalendar.yomTovIndex] of the day of the year at [dayOfYear], where 0 is
+     * *Rosh Hashana*.
+     */
+    fun yomTovIndexAt(dayOfYear: Int): Int = yomTovIndices[dayOfYear].toInt()
+
+    /**
+     * Returns the [yomTovIndex][JewishCalendar.yomTovIndex] of [date].
+     *
+     * @throws IllegalArgumentException if [date] is not in [jewishYear].
+     */
+    fun yomTovIndexAt(date: LocalDate): Int {
+        val dayOfYear = date.toEpochDays() - firstEpochDay
+        require(dayOfYear in yomTovIndices.indices) { "$date is not in the Jewish year $jewishYear" }
+        return yomTovIndices[dayOfYear].toInt()
+    }
+
+    override fun toString() =
+        "JewishHolidayIndex(jewishYear=$jewishYear, inIsrael=$inIsrael, isUseModernHolidays=$isUseModernHolidays)"
+
+    companion object {
+        /**
+         * The number of years [nextOccurrence] will search. Every holiday occurs at least once in this many years (e.g.
+         * [JewishCalendar.PURIM_KATAN], which only occurs in leap years).
+         */
+        const val MAX_YEARS_TO_SEARCH = 4
+
+        /**
+         * Recently used indices, by year and flags.
+         */
+        private val cache = DirectMappedCache<JewishHolidayIndex>(64)
+
+        /**
+         * Returns the index of [jewishYear].
+         */
+        fun of(jewishYear: Long, inIsrael: Boolean, isUseModernHolidays: Boolean = false): JewishHolidayIndex =
+            cache.getOrPut(jewishYear * 4 + (if (inIsrael) 2 else 0) + (if (isUseModernHolidays) 1 else 0)) {
+                build(jewishYear, inIsrael, isUseModernHolidays)
+            }
+
+        /**
+         * Returns the index of the Jewish year which [date] is in.
+         */
+        fun of(date: LocalDate, inIsrael: Boolean, isUseModernHolidays: Boolean = false): JewishHolidayIndex =
+            of(date.toHebrewDate().year, inIsrael, isUseModernHolidays)
+
+        private fun build(jewishYear: Long, inIsrael: Boolean, isUseModernHolidays: Boolean): JewishHolidayIndex {
+            val calendar = JewishCalendar(HebrewLocalDate(jewishYear, HebrewMonth.TISHREI, 1), inIsrael, isUseModernHolidays)
+            val firstEpochDay = calendar.gregorianLocalDate.toEpochDays()
+            val yomTovIndices = ByteArray(jewishYear.daysInJewishYear)
+            for (dayOfYear in yomTovIndices.indices) {
+                if (dayOfYear > 0) calendar.forward(DateTimeUnit.DAY, 1)
+                yomTovIndices[dayOfYear] = calendar.computedYomTovIndex.toByte()
+            }
+            return JewishHolidayIndex(jewishYear, inIsrael, isUseModernHolidays, firstEpochDay, yomTovIndices)
+        }
+
+        /**
+         * Returns whether [yomTovIndex] is a fast day: *17 of Tammuz*, *Tisha B'Av*, *Yom Kippur*, *Fast of Gedalyah*,
+         * *10 of Teves* or the *Fast of Esther*.
+         *
+         * @see JewishCalendar.isTaanis
+         */
+        fun isTaanis(yomTovIndex: Int): Boolean =
+            yomTovIndex == JewishCalendar.SEVENTEEN_OF_TAMMUZ ||
+                    yomTovIndex == JewishCalendar.TISHA_BEAV ||
+                    yomTovIndex == JewishCalendar.YOM_KIPPUR ||
+                    yomTovIndex == JewishCalendar.FAST_OF_GEDALYAH ||
+                    yomTovIndex == JewishCalendar.TENTH_OF_TEVES ||
+                    yomTovIndex == JewishCalendar.FAST_OF_ESTHER
+
+        /**
+         * Calls [action] with the date and [yomTovIndex][JewishCalendar.yomTovIndex] of each day from [start] through
+         * [endInclusive], stopping early if [action] returns false.
+         */
+        private inline fun forEachDay(
+            start: LocalDate,
+            endInclusive: LocalDate,
+            inIsrael: Boolean,
+            isUseModernHolidays: Boolean,
+            action: (epochDay: Int, yomTovIndex: Int) -> Boolean,
+        ) {
+            val endEpochDay = endInclusive.toEpochDays()
+            var epochDay = start.toEpochDays()
+            if (epochDay > endEpochDay) return
+            var index = of(start, inIsrael, isUseModernHolidays)
+            while (true) {
+                val last = minOf(endEpochDay, index.firstEpochDay + index.size - 1)
+                while (epochDay <= last) {
+                    if (!action(epochDay, index.yomTovIndices[epochDay - index.firstEpochDay].toInt())) return
+                    epochDay++
+                }
+                if (epochDay > endEpochDay) return
+                index = of(index.jewishYear + 1, inIsrael, isUseModernHolidays)
+            }
+        }
+
+        /**
+         * Returns every day from [start] through [endInclusive] which has a [yomTovIndex][JewishCalendar.yomTovIndex],
+         * paired with its index, in chronological order.
+         */
+        fun holidaysBetween(
+            start: LocalDate,
+            endInclusive: LocalDate,
+            inIsrael: Boolean,
+            isUseModernHolidays: Boolean = false,
+        ): List<Pair<LocalDate, Int>> {
+            val holidays = mutableListOf<Pair<LocalDate, Int>>()
+            forEachDay(start, endInclusive, inIsrael, isUseModernHolidays) { epochDay, yomTovIndex ->
+                if (yomTovIndex != JewishCalendar.NO_HOLIDAY) holidays.add(LocalDate.fromEpochDays(epochDay) to yomTovIndex)
+                true
+            }
+            return holidays
+        }
+
+        /**
+         * Returns the first date after [after] whose [yomTovIndex][JewishCalendar.yomTovIndex] is [yomTovIndex], or null
+         * if it does not occur within [MAX_YEARS_TO_SEARCH] years (e.g. a modern holiday when [isUseModernHolidays] is
+         * false).
+         */
+        fun nextOccurrence(
+            yomTovIndex: Int,
+            after: LocalDate,
+            inIsrael: Boolean,
+            isUseModernHolidays: Boolean = false,
+        ): LocalDate? {
+            val index = of(after, inIsrael, isUseModernHolidays)
+            val end = LocalDate.fromEpochDays(index.firstEpochDay + index.size - 1).plus(MAX_YEARS_TO_SEARCH - 1, DateTimeUnit.YEAR)
+            val start = LocalDate.fromEpochDays(after.toEpochDays() + 1)
+            var next: LocalDate? = null
+            forEachDay(start, end, inIsrael, isUseModernHolidays) { epochDay, yomTovIndexOfDay ->
+                if (yomTovIndexOfDay == yomTovIndex) next = LocalDate.fromEpochDays(epochDay)
+                next == null
+            }
+            return next
+        }
+
+        /**
+         * Returns whether any day from [start] through [endInclusive] is a [fast day][isTaanis].
+         */
+        fun isAnyTaanisBetween(
+            start: LocalDate,
+            endInclusive: LocalDate,
+            inIsrael: Boolean,
+            isUseModernHolidays: Boolean = false,
+        ): Boolean {
+            var found = false
+            forEachDay(start, endInclusive, inIsrael, isUseModernHolidays) { _, yomTovIndex ->
+                found = isTaanis(yomTovIndex)
+                !found
+            }
+            return found
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package sternbach.software.kosherkotlin.hebrewcalendar
+
+import kotlinx.datetime.LocalDate
+import sternbach.software.kosherkotlin.hebrewcalendar.JewishDate.Companion.getRoshHashanaEpochDay
+
+/**
+ * A unit learned on one day of a [LearningSchedule]: [number] of [section] (e.g. a *daf* of a *masechta*). [section]
+ * is the index of the section in the [edition][LearningSchedule.Edition] of the cycle.
+ */
+data class LearningUnit(val section: Int, val number: Int)
+
+/**
+ * A fixed daily learning schedule, such as *Daf Yomi*, which is described only by data: the number of units in each
+ * section, the date of the first cycle, the holidays on which nothing is learned, the number of units learned each day,
+ * and the [CycleRule] for when the next cycle starts. Each day which is not skipped is the next [unitsPerDay] units of
+ * the cycle, which continue into the next section if the day's section ends (e.g. the last 2 chapters of one section and
+ * the first chapter of the next, when learning 3 chapters a day). Only the last day of a cycle may have fewer units, so
+ * that every cycle starts with the first unit of its first section.
+ *
+ * The starts of the cycles and the skipped days are precomputed as sorted [epoch days][LocalDate.toEpochDays], and the
+ * units before each section as prefix sums, so finding the unit of a date ([unitOn]) and the dates of a unit
+ * ([datesOf]) are binary searches. The tables are computed on first use, and extended if a later date or cycle is
+ * requested. They are never modified once computed, so a schedule is safe to use from multiple threads.
+ *
+ * @param start the date on which the first cycle started.
+ * @param editions the sections of the cycles, by the first cycle they are used in. The first edition must start with
+ * cycle 1.
+ * @param skippedHolidays the [yomTovIndex][JewishCalendar.yomTovIndex] of every holiday on which nothing is learned (e.g.
+ * [JewishCalendar.YOM_KIPPUR]), as observed outside of Israel without modern holidays.
+ * @param cycleRule when each cycle ends and the next one starts.
+ * @param unitsPerDay the number of units learned on each day which is not skipped.
+ *
+ * @see YomiCalculator.schedule
+ * @see YerushalmiYomiCalculator.schedule
+ * @see RambamYomiCalculator.schedule
+ */
+class LearningSchedule(
+    val start: LocalDate,
+    editions: List<Edition>,
+    skippedHolidays: Set<Int> = emptySet(),
+    val cycleRule: CycleRule = CycleRule.ALL_UNITS,
+    val unitsPerDay: Int = 1,
+) {
+    enum class CycleRule {
+        /**
+         * The next cycle starts on the first day which is not skipped after the last unit of the cycle is learned.
+         */
+        ALL_UNITS,
+
+        /**
+         * A cycle of n days (of [unitsPerDay] units) lasts n days, plus one day for every skipped day in the first n days after its start (not
+         * including the start). Skipped days in the added days are not added, so if there are any, the last units of the
+         * cycle are not learned. This is how the Daf Yomi Yerushalmi cycles have always been calculated by
+         * [YerushalmiYomiCalculator], which only makes a difference in cycles which end a few days after a skipped day.
+         */
+        SKIPPED_DAYS_IN_CYCLE_LENGTH,
+    }
+
+    /**
+     * The sections learned in the cycles starting with [firstCycle], until the [firstCycle] of the next edition. The
+     * units of section n are numbered [firstNumbers]\[n] through [firstNumbers]\[n] + [unitsPerSection]\[n] - 1.
+     */
+    class Edition(
+        val firstCycle: Int,
+        unitsPerSection: IntArray,
+        firstNumbers: IntArray = IntArray(unitsPerSection.size) { 1 },
+    ) {
+        //copied, so that the edition can't be changed through the caller's arrays
+        private val unitsPerSection = unitsPerSection.copyOf()
+        private val firstNumbers = firstNumbers.copyOf()
+
+        init {
+            require(firstCycle >= 1) { "Invalid first cycle: $firstCycle" }
+            require(unitsPerSection.isNotEmpty() && unitsPerSection.all { it > 0 }) { "Every section must have units" }
+            require(firstNumbers.size == unitsPerSection.size) { "Every section must have a first number" }
+        }
+
+        /**
+         * The number of units in the cycle before each section, followed by the number of units in the cycle.
+         */
+        internal val unitsBeforeSection: IntArray =
+            unitsPerSection.runningFold(0) { total, units -> total + units }.toIntArray()
+
+        val sections: Int get() = unitsPerSection.size
+
+        val cycleLength: Int get() = unitsBeforeSection.last()
+
+        /**
+         * Returns the index of [number] of [section] in the cycle, or -1 if the edition does not have it.
+         */
+        internal fun indexOf(section: Int, number: Int): Int =
+            if (section in unitsPerSection.indices && number - firstNumbers[section] in 0 until unitsPerSection[section]) {
+                unitsBeforeSection[section] + number - firstNumbers[section]
+            } else -1
+
+        internal fun unitAt(index: Int): LearningUnit {
+            val section = indexOfFirst(unitsBeforeSection, index, strictlyAfter = true) - 1
+            return LearningUnit(section, firstNumbers[section] + index - unitsBeforeSection[section])
+        }
+    }
+
+    private val editions = editions.sortedBy { it.firstCycle }
+
+    private val skippedHolidays = skippedHolidays.toSet()
+
+    private val startEpochDay = start.toEpochDays()
+
+    /**
+     * The Jewish year which [start] is in, or the one before it.
+     */
+    private val firstJewishYear = start.year + 3760L
+
+    init {
+        require(this.editions.firstOrNull()?.firstCycle == 1) { "The first edition must start with cycle 1" }
+        require(unitsPerDay >= 1) { "Invalid units per day: $unitsPerDay" }
+    }
+
+    /**
+     * The skipped days and cycle starts of every Jewish year from [firstJewishYear] through [lastJewishYear].
+     *
+     * @param skipDays the epoch days which are skipped, in order.
+     * @param cycleStarts the epoch day on which each cycle starts, where index 0 is cycle 1. Every cycle start is known
+     * before the start of the year after [lastJewishYear], so dates before the last start are in a known cycle.
+     */
+    private class Tables(val lastJewishYear: Long, val skipDays: IntArray, val cycleStarts: IntArray)
+
+    private var tables: Tables? = null
+
+    /**
+     * Returns the unit learned on [date], or null if [date] is skipped. If several units are learned a day, this is the
+     * first of them (see [unitsOn]).
+     *
+     * @throws IllegalArgumentException if [date] is before [start]
+     */
+    fun unitOn(date: LocalDate): LearningUnit? = onDay(date, null) { edition, first -> edition.unitAt(first) }
+
+    /**
+     * Returns the units learned on [date] in order, which is empty if [date] is skipped.
+     *
+     * @throws IllegalArgumentException if [date] is before [start]
+     */
+    fun unitsOn(date: LocalDate): List<LearningUnit> = onDay(date, emptyList()) { edition, first ->
+        (first until minOf(first + unitsPerDay, edition.cycleLength)).map { edition.unitAt(it) }
+    }
+
+    /**
+     * Returns [skipped] if [date] is skipped, and otherwise [block] of the edition of its cycle and the index of its
+     * first unit in the cycle.
+     */
+    private inline fun <R> onDay(date: LocalDate, skipped: R, block: (edition: Edition, first: Int) -> R): R {
+        val epochDay = date.toEpochDays()
+        val tables = tablesCovering(date)
+        val skipDays = tables.skipDays
+        val skipDaysBefore = indexOfFirst(skipDays, epochDay, strictlyAfter = false)
+        if (skipDaysBefore < skipDays.size && skipDays[skipDaysBefore] == epochDay) return skipped
+        val cycleIndex = indexOfFirst(tables.cycleStarts, epochDay, strictlyAfter = true) - 1
+        val cycleStart = tables.cycleStarts[cycleIndex]
+        val day = epochDay - cycleStart - (skipDaysBefore - indexOfFirst(skipDays, cycleStart, strictlyAfter = false))
+        return block(editionOf(cycleIndex + 1), day * unitsPerDay)
+    }
+
+    /**
+     * Returns the cycle which [date] is in, where the cycle which started on [start] is 1.
+     *
+     * @throws IllegalArgumentException if [date] is before [start]
+     */
+    fun cycleOf(date: LocalDate): Int =
+        indexOfFirst(tablesCovering(date).cycleStarts, date.toEpochDays(), strictlyAfter = true)
+
+    /**
+     * Returns the date on which [cycle] starts, where the cycle which started on [start] is 1.
+     */
+    fun cycleStart(cycle: Int): LocalDate {
+        require(cycle >= 1) { "Invalid cycle: $cycle" }
+        return LocalDate.fromEpochDays(tablesCovering(cycle).cycleStarts[cycle - 1])
+    }
+
+    /**
+     * Returns the dates on which [number] of [section] is learned in each of [cycles], in order. A cycle whose edition
+     * does not have the unit, or which ends before it is learned (see [CycleRule.SKIPPED_DAYS_IN_CYCLE_LENGTH]), has no
+     * date.
+     *
+     * @throws IllegalArgumentException if no edition has the unit.
+     */
+    fun datesOf(section: Int, number: Int, cycles: IntRange): List<LocalDate> {
+        require(editions.any { it.indexOf(section, number) >= 0 }) { "Invalid unit $number of section $section" }
+        if (cycles.isEmpty()) return emptyList()
+        require(cycles.first >= 1) { "Invalid cycles: $cycles" }
+        //the days of the last cycle are known once the following cycle start is
+        val tables = tablesCovering(cycles.last + 1)
+        val dates = ArrayList<LocalDate>(cycles.last - cycles.first + 1)
+        for (cycle in cycles) {
+            val index = editionOf(cycle).indexOf(section, number)
+            if (index < 0) continue
+            val epochDay = epochDayOfIndex(tables.skipDays, tables.cycleStarts[cycle - 1], index / unitsPerDay)
+            if (epochDay < tables.cycleStarts[cycle]) dates.add(LocalDate.fromEpochDays(epochDay))
+        }
+        return dates
+    }
+
+    private fun editionOf(cycle: Int): Edition = editions.last { it.firstCycle <= cycle }
+
+    private fun tablesCovering(date: LocalDate): Tables {
+        val epochDay = date.toEpochDays()
+        require(epochDay >= startEpochDay) { "$date is before the start of the first cycle on $start" }
+        val current = tables
+        if (current != null && epochDay < current.cycleStarts.last()) return current
+        //a Gregorian year ends in the Jewish year of its Gregorian year + 3761
+        return extendTables(current, maxOf(current?.lastJewishYear ?: 0, date.year + 3761L)) { epochDay < it.cycleStarts.last() }
+    }
+
+    private fun tablesCovering(cycle: Int): Tables {
+        val current = tables
+        if (current != null && cycle <= current.cycleStarts.size) return current
+        return extendTables(current, current?.lastJewishYear ?: firstJewishYear) { cycle <= it.cycleStarts.size }
+    }
+
+    private inline fun extendTables(current: Tables?, lastJewishYear: Long, isCovered: (Tables) -> Boolean): Tables {
+        var extended = computeTables(current, lastJewishYear + YEARS_TO_PRECOMPUTE)
+        while (!isCovered(extended)) extended = computeTables(extended, extended.lastJewishYear + YEARS_TO_PRECOMPUTE)
+        tables = extended
+        return extended
+    }
+
+    /**
+     * Returns the tables through [lastJewishYear], reusing the skipped days of [previous].
+     */
+    private fun computeTables(previous: Tables?, lastJewishYear: Long): Tables {
+        val skipDays = ArrayList<Int>()
+        previous?.skipDays?.let { days -> days.forEach { skipDays.add(it) } }
+        if (skippedHolidays.isNotEmpty()) {
+            for (year in (previous?.lastJewishYear?.plus(1) ?: firstJewishYear)..lastJewishYear) {
+                val index = JewishHolidayIndex.of(year, inIsrael = false)
+                for (dayOfYear in 0 until index.size) {
+                    if (index.yomTovIndexAt(dayOfYear) in skippedHolidays) skipDays.add(index.dateAt(dayOfYear).toEpochDays())
+                }
+            }
+        }
+        val skipDaysArray = skipDays.toIntArray()
+        val endEpochDay = getRoshHashanaEpochDay(lastJewishYear + 1)
+        val cycleStarts = mutableListOf(startEpochDay)
+        while (true) {
+            val cycleStart = cycleStarts.last()
+            //the number of days which are not skipped in the cycle
+            val cycleDays = (editionOf(cycleStarts.size).cycleLength + unitsPerDay - 1) / unitsPerDay
+            val next = when (cycleRule) {
+                CycleRule.ALL_UNITS -> epochDayOfIndex(skipDaysArray, cycleStart, cycleDays)
+                CycleRule.SKIPPED_DAYS_IN_CYCLE_LENGTH -> cycleStart + cycleDays +
+                        indexOfFirst(skipDaysArray, cycleStart + cycleDays, strictlyAfter = false) -
+                        indexOfFirst(skipDaysArray, cycleStart, strictlyAfter = true)
+            }
+            if (next >= endEpochDay) break
+            cycleStarts.add(next)
+        }
+        return Tables(lastJewishYear, skipDaysArray, cycleStarts.toIntArray())
+    }
+
+    override fun toString() = "LearningSchedule(start=$start, editions=${editions.size})"
+
+    private companion object {
+        /**
+         * The number of Jewish years the tables are extended by at a time, so that they are rarely extended more than
+         * once.
+         */
+        const val YEARS_TO_PRECOMPUTE = 20
+
+        /**
+         * Returns the first day on or after [cycleStart] which is not skipped and has [index] days which are not skipped
+         * before it, starting with [cycleStart].
+         */
+        fun epochDayOfIndex(skipDays: IntArray, cycleStart: Int, index: Int): Int {
+            val skipDaysBeforeCycle = indexOfFirst(skipDays, cycleStart, strictlyAfter = false)
+            var epochDay = cycleStart + index
+            while (true) {
+                //every skipped day from the cycle start through epochDay pushes the day back by one
+                val next = cycleStart + index + indexOfFirst(skipDays, epochDay, strictlyAfter = true) - skipDaysBeforeCycle
+                if (next == epochDay) return epochDay
+                epochDay = next
+            }
+        }
+
+        /**
+         * Returns the index of the first element of [array] which is greater than [value], or greater than or equal to it
+         * unless [strictlyAfter], or its size if there is none.
+         */
+        fun indexOfFirst(array: IntArray, value: Int, strictlyAfter: Boolean): Int {
+            var low = 0
+            var high = array.size
+            while (low < high) {
+                val mid = (low + high) ushr 1
+                if (array[mid] < value || strictlyAfter && array[mid] == value) low = mid + 1 else high = mid
+            }
+            return low
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package sternbach.software.kosherkotlin.hebrewcalendar
+
+import kotlinx.datetime.DateTimeUnit
+import kotlinx.datetime.DayOfWeek
+import kotlinx.datetime.LocalDate
+import kotlinx.datetime.isoDayNumber
+import sternbach.software.kosherkotlin.hebrewcalendar.JewishCalendar.Parsha
+import sternbach.software.kosherkotlin.hebrewcalendar.JewishDate.Companion.daysInJewishYear
+import sternbach.software.kosherkotlin.hebrewcalendar.JewishDate.Companion.getJewishCalendarElapsedDays
+import sternbach.software.kosherkotlin.util.DirectMappedCache
+
+/**
+ * The [parsha][JewishCalendar.parshah] and [special parsha][JewishCalendar.specialShabbos] of a *Shabbos* of a
+ * [ParshaSchedule].
+ */
+data class WeeklyParsha(
+    val shabbos: LocalDate,
+    val parshah: Parsha,
+    val specialShabbos: Parsha,
+)
+
+/**
+ * The *parsha* and special *parsha* of every *Shabbos* of a Jewish year, indexed by week: week 0 is the first *Shabbos*
+ * on or after *Rosh Hashana*. The year type and elapsed days which [JewishCalendar.parshah] depends on are computed once
+ * per year, so [JewishCalendar.parshah], [JewishCalendar.specialShabbos] and [JewishCalendar.upcomingParshah] (which
+ * read from the schedule of their year) are array lookups.
+ *
+ * Schedules are created with [of], which caches them by ([jewishYear], [inIsrael]). The companion also has queries
+ * which may span multiple years, such as [upcomingParshah] and [weeklyParshiyos].
+ *
+ * Instances are immutable.
+ */
+class ParshaSchedule private constructor(
+    val jewishYear: Long,
+    val inIsrael: Boolean,
+    /**
+     * The [epoch day][LocalDate.toEpochDays] of *Rosh Hashana* of [jewishYear].
+     */
+    private val roshHashanaEpochDay: Int,
+    /**
+     * The epoch day of *Rosh Hashana* of the following year.
+     */
+    private val nextRoshHashanaEpochDay: Int,
+    /**
+     * The epoch day of the *Shabbos* of week 0.
+     */
+    private val firstShabbosEpochDay: Int,
+    private val parshiyos: Array<Parsha>,
+    private val specialParshiyos: Array<Parsha>,
+    /**
+     * The first week, starting with each week, whose *parsha* is not [Parsha.NONE], or [size] if there is none.
+     */
+    private val weeksOfNextParsha: IntArray,
+) {
+    /**
+     * The number of *Shabbosos* in [jewishYear].
+     */
+    val size: Int get() = parshiyos.size
+
+    /**
+     * Returns whether [date] is in [jewishYear].
+     */
+    operator fun contains(date: LocalDate): Boolean = date.toEpochDays() in roshHashanaEpochDay until nextRoshHashanaEpochDay
+
+    /**
+     * Returns the date of the *Shabbos* of [week].
+     */
+    fun shabbosAt(week: Int): LocalDate {
+        require(week in parshiyos.indices) { "$jewishYear has no week $week" }
+        return LocalDate.fromEpochDays(firstShabbosEpochDay + week * 7)
+    }
+
+    /**
+     * Returns the [parsha][JewishCalendar.parshah] read on the *Shabbos* of [week].
+     */
+    fun parshahAt(week: Int): Parsha = parshiyos[week]
+
+    /**
+     * Returns the [special parsha][JewishCalendar.specialShabbos] of the *Shabbos* of [week].
+     */
+    fun specialShabbosAt(week: Int): Parsha = specialParshiyos[week]
+
+    fun weeklyParshaAt(week: Int): WeeklyParsha = WeeklyParsha(shabbosAt(week), parshiyos[week], specialParshiyos[week])
+
+    /**
+     * Returns the week of the *Shabbos* on or after [date], which may be [size] if that *Shabbos* is in the following
+     * year.
+     *
+     * @throws IllegalArgumentException if [date] is not in [jewishYear].
+     */
+    fun weekOf(date: LocalDate): Int {
+        val epochDay = date.toEpochDays()
+        require(epochDay in roshHashanaEpochDay until nextRoshHashanaEpochDay) { "$date is not in the Jewish year $jewishYear" }
+        return (epochDay - firstShabbosEpochDay + 6).floorDiv(7)
+    }
+
+    /**
+     * Returns the [parsha][JewishCalendar.parshah] of [date], which is [Parsha.NONE] if [date] is not *Shabbos*.
+     *
+     * @throws IllegalArgumentException if [date] is not in [jewishYear].
+     */
+    fun parshahOn(date: LocalDate): Parsha = weekOfShabbos(date)?.let { parshiyos[it] } ?: Parsha.NONE
+
+    /**
+     * Returns the [special parsha][JewishCalendar.specialShabbos] of [date], which is [Parsha.NONE] if [date] is not
+     * *Shabbos*.
+     *
+     * @throws IllegalArgumentException if [date] is not in [jewishYear].
+     */
+    fun specialShabbosOn(date: LocalDate): Parsha = weekOfShabbos(date)?.let { specialParshiyos[it] } ?: Parsha.NONE
+
+    private fun weekOfShabbos(date: LocalDate): Int? {
+        val epochDay = date.toEpochDays()
+        require(epochDay in roshHashanaEpochDay until nextRoshHashanaEpochDay) { "$date is not in the Jewish year $jewishYear" }
+        val daysSinceFirstShabbos = epochDay - firstShabbosEpochDay
+        return if (daysSinceFirstShabbos >= 0 && daysSinceFirstShabbos % 7 == 0) daysSinceFirstShabbos / 7 else null
+    }
+
+    override fun toString() = "ParshaSchedule(jewishYear=$jewishYear, inIsrael=$inIsrael)"
+
+    companion object {
+        /**
+         * Recently used schedules, by year and [inIsrael].
+         */
+        private val cache = DirectMappedCache<ParshaSchedule>(64)
+
+        /**
+         * Returns the schedule of [jewishYear].
+         */
+        fun of(jewishYear: Long, inIsrael: Boolean): ParshaSchedule =
+            cache.getOrPut(jewishYear * 2 + (if (inIsrael) 1 else 0)) { build(jewishYear, inIsrael) }
+
+        /**
+         * Returns the schedule of the Jewish year which [date] is in. Unlike [JewishCalendar], this does not convert
+         * [date] to a Hebrew date: a Gregorian year overlaps only two Jewish years.
+         */
+        fun of(date: LocalDate, inIsrael: Boolean): ParshaSchedule {
+            val schedule = of(date.year + 3761L, inIsrael)
+            return if (date.toEpochDays() < schedule.roshHashanaEpochDay) of(date.year + 3760L, inIsrael) else schedule
+        }
+
+        private fun build(jewishYear: Long, inIsrael: Boolean): ParshaSchedule {
+            val calendar = JewishCalendar(HebrewLocalDate(jewishYear, HebrewMonth.TISHREI, 1), inIsrael)
+            val roshHashanaEpochDay = calendar.gregorianLocalDate.toEpochDays()
+            val daysInYear = jewishYear.daysInJewishYear
+            val jewishCalendarElapsedDays = getJewishCalendarElapsedDays(jewishYear)
+            val parshaYearType = JewishCalendar.getParshaYearType(jewishYear, inIsrael)
+            val daysToShabbos =
+                (DayOfWeek.SATURDAY.isoDayNumber - calendar.gregorianLocalDate.dayOfWeek.isoDayNumber + 7) % 7
+            if (daysToShabbos > 0) calendar.forward(DateTimeUnit.DAY, daysToShabbos)
+            val weeks = (daysInYear - daysToShabbos + 6) / 7
+            val parshiyos = arrayOfNulls<Parsha>(weeks)
+            val specialParshiyos = arrayOfNulls<Parsha>(weeks)
+            for (week in 0 until weeks) {
+                if (week > 0) calendar.forward(DateTimeUnit.DAY, 7)
+                val parshah = JewishCalendar.getParshah(
+                    parshaYearType,
+                    jewishCalendarElapsedDays,
+                    daysToShabbos + week * 7 + 1 //Rosh Hashana is day 1
+                )
+                parshiyos[week] = parshah
+                specialParshiyos[week] = calendar.getSpecialShabbos(parshah)
+            }
+            val weeksOfNextParsha = IntArray(weeks)
+            var weekOfNextParsha = weeks
+            for (week in weeks - 1 downTo 0) {
+                if (parshiyos[week] != Parsha.NONE) weekOfNextParsha = week
+                weeksOfNextParsha[week] = weekOfNextParsha
+            }
+            @Suppress("UNCHECKED_CAST")
+            return ParshaSchedule(
+                jewishYear,
+                inIsrael,
+                roshHashanaEpochDay,
+                roshHashanaEpochDay + daysInYear,
+                roshHashanaEpochDay + daysToShabbos,
+                parshiyos as Array<Parsha>,
+                specialParshiyos as Array<Parsha>,
+                weeksOfNextParsha
+            )
+        }
+
+        /**
+         * Returns the [upcoming parsha][JewishCalendar.upcomingParshah] of [date]: the *parsha* of the first *Shabbos*
+         * after [date] which has one.
+         */
+        fun upcomingParshah(date: LocalDate, inIsrael: Boolean): Parsha = upcomingParshah(of(date, inIsrael), date)
+
+        /**
+         * Returns the upcoming *parsha* of [date], which is in the year of [schedule].
+         */
+        internal fun upcomingParshah(schedule: ParshaSchedule, date: LocalDate): Parsha {
+            //the first Shabbos after date (a week later if date is Shabbos)
+            val week = (date.toEpochDays() - schedule.firstShabbosEpochDay + 7).floorDiv(7)
+            if (week < schedule.size) {
+                val weekOfNextParsha = schedule.weeksOfNextParsha[week]
+                if (weekOfNextParsha < schedule.size) return schedule.parshiyos[weekOfNextParsha]
+            }
+            //every year has a parsha after its first few weeks, so the next year does not need to be searched past
+            val nextYear = of(schedule.jewishYear + 1, schedule.inIsrael)
+            val nextYearWeek = (schedule.firstShabbosEpochDay + week * 7 - nextYear.firstShabbosEpochDay) / 7
+            return nextYear.parshiyos[nextYear.weeksOfNextParsha[nextYearWeek.coerceAtLeast(0)]]
+        }
+
+        /**
+         * Returns the [WeeklyParsha] of every *Shabbos* from [start] through [endInclusive], in order, computing the
+         * schedule of each year as it is reached.
+         */
+        fun weeklyParshiyos(start: LocalDate, endInclusive: LocalDate, inIsrael: Boolean): Sequence<WeeklyParsha> =
+            sequence {
+                val endEpochDay = endInclusive.toEpochDays()
+                if (start.toEpochDays() > endEpochDay) return@sequence
+                var schedule = of(start, inIsrael)
+                var week = schedule.weekOf(start)
+                while (true) {
+                    if (week >= schedule.size) {
+                        schedule = of(schedule.jewishYear + 1, inIsrael)
+                        week = 0
+                    }
+                    if (schedule.firstShabbosEpochDay + week * 7 > endEpochDay) break
+                    yield(schedule.weeklyParshaAt(week))
+                    week++
+                }
+            }
+    }
+}
@@ -0,0 +1,64 @@
+package sternbach.software.kosherkotlin.hebrewcalendar
+
+import kotlinx.datetime.LocalDate
+
+/**
+ * This object calculates the daily [Rambam](https://en.wikipedia.org/wiki/Mishneh_Torah) learned in the three chapters a
+ * day cycle, which finishes the *Mishneh Torah* about once a year.
+ *
+ * The calculations are done by the [LearningSchedule] [schedule], in which every day is 3 units, so a day may end one
+ * *hilchos* (section) and start the next one.
+ */
+object RambamYomiCalculator {
+    /**
+     * The start date of the first cycle of April 29, 1984 / 27 Nisan, 5744.
+     */
+    private val RAMBAM_YOMI_START_DAY = LocalDate(1984, 4, 29)
+
+    /**
+     * The number of units of the introduction and the list of the commandments, which are learned before the first
+     * chapter of *Hilchos Yesodei HaTorah*, so that a cycle is 339 days.
+     */
+    private const val INTRODUCTION_UNITS = 17
+
+    /**
+     * The number of chapters of each of the 83 *hilchos* of the *Mishneh Torah*, in order.
+     */
+    private val CHAPTERS_PER_HILCHOS: IntArray = intArrayOf(
+        10, 7, 7, 12, 10, //Mada
+        4, 15, 10, 3, 11, 3, //Ahavah
+        30, 8, 3, 8, 8, 8, 4, 19, 5, 4, //Zemanim
+        25, 13, 8, 3, 4, //Nashim
+        22, 17, 14, //Kedushah
+        12, 13, 10, 8, //Haflaah
+        10, 10, 15, 14, 11, 12, 13, //Zeraim
+        8, 10, 9, 7, 19, 10, 19, 5, 8, //Avodah
+        10, 3, 8, 15, 5, 4, //Korbanos
+        25, 15, 16, 13, 20, 16, 28, 11, //Taharah
+        14, 9, 18, 8, 13, //Nezikin
+        30, 12, 14, 10, 9, //Kinyan
+        13, 8, 27, 16, 11, //Mishpatim
+        26, 22, 7, 14, 12, //Shoftim
+    )
+
+    /**
+     * The schedule of three chapters a day, whose [units][LearningUnit] are chapters. Section 0 is the introduction, and
+     * section n is the nth *hilchos* of the *Mishneh Torah* (1 is *Hilchos Yesodei HaTorah*, and 83 is *Hilchos
+     * Melachim*). Every day of the year is learned.
+     */
+    val schedule = LearningSchedule(
+        RAMBAM_YOMI_START_DAY,
+        listOf(LearningSchedule.Edition(1, intArrayOf(INTRODUCTION_UNITS) + CHAPTERS_PER_HILCHOS)),
+        unitsPerDay = 3
+    )
+
+    /**
+     * Returns the chapters learned on [date] in the three chapters a day cycle.
+     *
+     * @throws IllegalArgumentException if [date] is prior to April 29, 1984, the start of the first cycle
+     */
+    fun getRambamYomi(date: LocalDate): List<LearningUnit> {
+        require(date >= RAMBAM_YOMI_START_DAY) { "$date is prior to the first Rambam cycle that started on $RAMBAM_YOMI_START_DAY" }
+        return schedule.unitsOn(date)
+    }
+}
@@ -45,6 +45,9 @@ import kotlinx.datetime.DayOfWeek
  * tr.setTachanunRecitedWeekOfPurim(false);
  * System.out.println(hdf.format(jewishCalendar) + ": " + tr.isTachanunRecitedShacharis(jewishCalendar));</pre>
  *
+ * To evaluate the rules for every day of a year, use [TefilaRulesYear]; [toProfile] compiles the settings into an
+ * immutable [TefilaRulesProfile] which identifies them.
+ *
  * @author  Y. Paritcher 2019 - 2021
  * @author  Eliyahu Hershfeld 2019 - 2022
  *
@@ -224,6 +227,11 @@ class TefilaRules {
      */
     var isTachanunRecitedMinchaAllYear: Boolean = true
 
+    /**
+     * Returns an immutable [TefilaRulesProfile] of the current settings.
+     */
+    fun toProfile(): TefilaRulesProfile = TefilaRulesProfile.of(this)
+
     /**
      * Returns if *tachanun* is recited during *shacharis* on the day in question. See the many
      * *minhag* based settings that are available in this class.
@@ -292,7 +300,17 @@ class TefilaRules {
      */
     fun isTachanunRecitedMincha(jewishCalendar: JewishCalendar): Boolean {
         val tomorrow = jewishCalendar.copy(jewishMonth = jewishCalendar.hebrewLocalDate.month, inIsrael = jewishCalendar.inIsrael) //force JewishCalendar.copy, not JewishDate.copy
+        tomorrow.isUseModernHolidays = jewishCalendar.isUseModernHolidays
+        tomorrow.isMukafChoma = jewishCalendar.isMukafChoma
         tomorrow.forward(DateTimeUnit.DAY, 1)
+        return isTachanunRecitedMincha(jewishCalendar, tomorrow)
+    }
+
+    /**
+     * Returns [isTachanunRecitedMincha] of [jewishCalendar], given a calendar set to the next day, for callers which
+     * already have one (e.g. [JewishDaySummary] when summarizing consecutive days).
+     */
+    internal fun isTachanunRecitedMincha(jewishCalendar: JewishCalendar, tomorrow: JewishCalendar): Boolean {
         val yomTovIndex = tomorrow.yomTovIndex
         return !(
                 !isTachanunRecitedMinchaAllYear ||
@@ -420,10 +438,15 @@ class TefilaRules {
      * @see .isMashivHaruachStartDate
      * @see .isMashivHaruachEndDate
      */
-    fun isMashivHaruachRecited(jewishCalendar: JewishCalendar): Boolean = jewishCalendar.isBetween(
-        JewishDate(jewishCalendar.hebrewLocalDate.month.value, HebrewMonth.TISHREI, 22),
-        JewishDate(jewishCalendar.hebrewLocalDate.month.value, HebrewMonth.NISSAN, 15)
-    )
+    fun isMashivHaruachRecited(jewishCalendar: JewishCalendar): Boolean {
+        val day = jewishCalendar.jewishDayOfMonth
+        //after 22 Tishrei and before 15 Nissan of the same Jewish year
+        return when (val month = jewishCalendar.hebrewLocalDate.month) {
+            HebrewMonth.TISHREI -> day > 22
+            HebrewMonth.NISSAN -> day < 15
+            else -> month > HebrewMonth.TISHREI
+        }
+    }
 
     fun JewishCalendar.isBetween(
         startDate: JewishDate,
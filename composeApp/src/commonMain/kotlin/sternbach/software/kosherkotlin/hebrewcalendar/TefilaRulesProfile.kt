@@ -0,0 +1,108 @@
+package sternbach.software.kosherkotlin.hebrewcalendar
+
+/**
+ * An immutable snapshot of the settings of a [TefilaRules], compiled into one bit per setting. Two profiles are equal
+ * if their settings are, and [settings] (which is also the [hashCode]) is stable across versions and processes, so it
+ * can be stored or sent to identify a *minhag* configuration, and used as a cache key (as by [TefilaRulesYear.of]).
+ *
+ * New settings are always given the next unused bit, so existing values of [settings] keep their meaning.
+ *
+ * @see TefilaRules.toProfile
+ */
+class TefilaRulesProfile private constructor(
+    /**
+     * The settings, one bit per setting, where a set bit means the setting is `true`.
+     */
+    val settings: Int,
+) {
+    val isTachanunRecitedEndOfTishrei get() = isSet(END_OF_TISHREI)
+    val isTachanunRecitedWeekAfterShavuos get() = isSet(WEEK_AFTER_SHAVUOS)
+    val isTachanunRecited13SivanOutOfIsrael get() = isSet(SIVAN_13_OUT_OF_ISRAEL)
+    val isTachanunRecitedPesachSheni get() = isSet(PESACH_SHENI)
+    val isTachanunRecited15IyarOutOfIsrael get() = isSet(IYAR_15_OUT_OF_ISRAEL)
+    val isTachanunRecitedMinchaErevLagBaomer get() = isSet(MINCHA_EREV_LAG_BAOMER)
+    val isTachanunRecitedShivasYemeiHamiluim get() = isSet(SHIVAS_YEMEI_HAMILUIM)
+    val isTachanunRecitedWeekOfHod get() = isSet(WEEK_OF_HOD)
+    val isTachanunRecitedWeekOfPurim get() = isSet(WEEK_OF_PURIM)
+    val isTachanunRecitedFridays get() = isSet(FRIDAYS)
+    val isTachanunRecitedSundays get() = isSet(SUNDAYS)
+    val isTachanunRecitedMinchaAllYear get() = isSet(MINCHA_ALL_YEAR)
+
+    private fun isSet(bit: Int) = settings and (1 shl bit) != 0
+
+    /**
+     * Returns a new [TefilaRules] with the settings of this profile.
+     */
+    fun toTefilaRules() = TefilaRules().also {
+        it.isTachanunRecitedEndOfTishrei = isTachanunRecitedEndOfTishrei
+        it.isTachanunRecitedWeekAfterShavuos = isTachanunRecitedWeekAfterShavuos
+        it.isTachanunRecited13SivanOutOfIsrael = isTachanunRecited13SivanOutOfIsrael
+        it.isTachanunRecitedPesachSheni = isTachanunRecitedPesachSheni
+        it.isTachanunRecited15IyarOutOfIsrael = isTachanunRecited15IyarOutOfIsrael
+        it.isTachanunRecitedMinchaErevLagBaomer = isTachanunRecitedMinchaErevLagBaomer
+        it.isTachanunRecitedShivasYemeiHamiluim = isTachanunRecitedShivasYemeiHamiluim
+        it.isTachanunRecitedWeekOfHod = isTachanunRecitedWeekOfHod
+        it.isTachanunRecitedWeekOfPurim = isTachanunRecitedWeekOfPurim
+        it.isTachanunRecitedFridays = isTachanunRecitedFridays
+        it.isTachanunRecitedSundays = isTachanunRecitedSundays
+        it.isTachanunRecitedMinchaAllYear = isTachanunRecitedMinchaAllYear
+    }
+
+    override fun equals(other: Any?) = other is TefilaRulesProfile && other.settings == settings
+
+    override fun hashCode() = settings
+
+    override fun toString() = "TefilaRulesProfile(settings=0x${settings.toString(16)})"
+
+    companion object {
+        //the bit of each setting. Never renumber these: settings values are meant to be stored.
+        private const val END_OF_TISHREI = 0
+        private const val WEEK_AFTER_SHAVUOS = 1
+        private const val SIVAN_13_OUT_OF_ISRAEL = 2
+        private const val PESACH_SHENI = 3
+        private const val IYAR_15_OUT_OF_ISRAEL = 4
+        private const val MINCHA_EREV_LAG_BAOMER = 5
+        private const val SHIVAS_YEMEI_HAMILUIM = 6
+        private const val WEEK_OF_HOD = 7
+        private const val WEEK_OF_PURIM = 8
+        private const val FRIDAYS = 9
+        private const val SUNDAYS = 10
+        private const val MINCHA_ALL_YEAR = 11
+        private const val SETTING_COUNT = 12
+
+        private fun bit(bit: Int, isSet: Boolean) = if (isSet) 1 shl bit else 0
+
+        /**
+         * Returns the profile of the current settings of [tefilaRules].
+         */
+        fun of(tefilaRules: TefilaRules) = TefilaRulesProfile(
+            bit(END_OF_TISHREI, tefilaRules.isTachanunRecitedEndOfTishrei) or
+                bit(WEEK_AFTER_SHAVUOS, tefilaRules.isTachanunRecitedWeekAfterShavuos) or
+                bit(SIVAN_13_OUT_OF_ISRAEL, tefilaRules.isTachanunRecited13SivanOutOfIsrael) or
+                bit(PESACH_SHENI, tefilaRules.isTachanunRecitedPesachSheni) or
+                bit(IYAR_15_OUT_OF_ISRAEL, tefilaRules.isTachanunRecited15IyarOutOfIsrael) or
+                bit(MINCHA_EREV_LAG_BAOMER, tefilaRules.isTachanunRecitedMinchaErevLagBaomer) or
+                bit(SHIVAS_YEMEI_HAMILUIM, tefilaRules.isTachanunRecitedShivasYemeiHamiluim) or
+                bit(WEEK_OF_HOD, tefilaRules.isTachanunRecitedWeekOfHod) or
+                bit(WEEK_OF_PURIM, tefilaRules.isTachanunRecitedWeekOfPurim) or
+                bit(FRIDAYS, tefilaRules.isTachanunRecitedFridays) or
+                bit(SUNDAYS, tefilaRules.isTachanunRecitedSundays) or
+                bit(MINCHA_ALL_YEAR, tefilaRules.isTachanunRecitedMinchaAllYear)
+        )
+
+        /**
+         * Returns the profile of a stored [TefilaRulesProfile.settings] value.
+         *
+         * @throws IllegalArgumentException if [settings] has a bit set which is not a setting.
+         */
+        fun fromSettings(settings: Int): TefilaRulesProfile {
+            require(settings ushr SETTING_COUNT == 0) { "Unknown TefilaRules settings: 0x${settings.toString(16)}" }
+            return TefilaRulesProfile(settings)
+        }
+
+        /**
+         * The profile of a [TefilaRules] with its default settings.
+         */
+        val DEFAULT = of(TefilaRules())
+    }
+}
@@ -0,0 +1,174 @@
+package sternbach.software.kosherkotlin.hebrewcalendar
+
+import kotlinx.datetime.DateTimeUnit
+import kotlinx.datetime.LocalDate
+import sternbach.software.kosherkotlin.hebrewcalendar.JewishDate.Companion.daysInJewishYear
+import sternbach.software.kosherkotlin.util.LruCache
+
+/**
+ * A rule of [TefilaRules] which a [TefilaRulesYear] evaluates for every day of a year, named after the method of
+ * [TefilaRules] it evaluates.
+ */
+enum class TefilaRule(
+    internal val isRecited: TefilaRules.(today: JewishCalendar, tomorrow: JewishCalendar) -> Boolean,
+) {
+    TACHANUN_SHACHARIS({ today, _ -> isTachanunRecitedShacharis(today) }),
+    TACHANUN_MINCHA({ today, tomorrow -> isTachanunRecitedMincha(today, tomorrow) }),
+    VESEIN_TAL_UMATAR_START_DATE({ today, _ -> isVeseinTalUmatarStartDate(today) }),
+    VESEIN_TAL_UMATAR_STARTING_TONIGHT({ today, _ -> isVeseinTalUmatarStartingTonight(today) }),
+    VESEIN_TAL_UMATAR({ today, _ -> isVeseinTalUmatarRecited(today) }),
+    VESEIN_BERACHA({ today, _ -> isVeseinBerachaRecited(today) }),
+    MASHIV_HARUACH_START_DATE({ today, _ -> isMashivHaruachStartDate(today) }),
+    MASHIV_HARUACH_END_DATE({ today, _ -> isMashivHaruachEndDate(today) }),
+    MASHIV_HARUACH({ today, _ -> isMashivHaruachRecited(today) }),
+    MORID_HATAL({ today, _ -> isMoridHatalRecited(today) }),
+    HALLEL({ today, _ -> isHallelRecited(today) }),
+    HALLEL_SHALEM({ today, _ -> isHallelShalemRecited(today) }),
+    AL_HANISSIM({ today, _ -> isAlHanissimRecited(today) }),
+    YAALEH_VEYAVO({ today, _ -> isYaalehVeyavoRecited(today) }),
+}
+
+/**
+ * Every [TefilaRule] of a [TefilaRulesProfile] evaluated for every day of a Jewish year, stored as one bit per
+ * rule per day. The year is evaluated once, by walking a calendar (and one for the following day, for
+ * [TefilaRule.TACHANUN_MINCHA]) through the year, so each later query is a bit lookup. The results are identical to the
+ * [TefilaRules] methods.
+ *
+ * Years are created with [of], which caches the most recently used [CACHE_SIZE] years by ([profile], [jewishYear],
+ * [inIsrael], [isUseModernHolidays], [isMukafChoma]), so users who share *minhagim* share the evaluation of their year.
+ *
+ * Instances are immutable.
+ *
+ * @see of
+ */
+class TefilaRulesYear private constructor(
+    val profile: TefilaRulesProfile,
+    val jewishYear: Long,
+    val inIsrael: Boolean,
+    val isUseModernHolidays: Boolean,
+    val isMukafChoma: Boolean,
+    /**
+     * The [epoch day][LocalDate.toEpochDays] of *Rosh Hashana* of [jewishYear].
+     */
+    private val roshHashanaEpochDay: Int,
+    /**
+     * The number of days in [jewishYear].
+     */
+    val size: Int,
+    /**
+     * The bits of each rule, by [ordinal][TefilaRule.ordinal]. Bit n is day n of the year, where day 0 is *Rosh Hashana*.
+     */
+    private val bits: Array<LongArray>,
+) {
+    /**
+     * Returns whether [date] is in [jewishYear].
+     */
+    operator fun contains(date: LocalDate): Boolean = date.toEpochDays() - roshHashanaEpochDay in 0 until size
+
+    /**
+     * Returns the date of the day of the year at [dayOfYear], where 0 is *Rosh Hashana*.
+     */
+    fun dateAt(dayOfYear: Int): LocalDate = LocalDate.fromEpochDays(roshHashanaEpochDay + dayOfYear)
+
+    /**
+     * Returns whether [rule] applies on the day of the year at [dayOfYear], where 0 is *Rosh Hashana*.
+     */
+    operator fun get(rule: TefilaRule, dayOfYear: Int): Boolean {
+        require(dayOfYear in 0 until size) { "$jewishYear has no day $dayOfYear" }
+        return bits[rule.ordinal][dayOfYear ushr 6] and (1L shl dayOfYear) != 0L
+    }
+
+    /**
+     * Returns whether [rule] applies on [date].
+     *
+     * @throws IllegalArgumentException if [date] is not in [jewishYear].
+     */
+    operator fun get(rule: TefilaRule, date: LocalDate): Boolean {
+        val dayOfYear = date.toEpochDays() - roshHashanaEpochDay
+        require(dayOfYear in 0 until size) { "$date is not in the Jewish year $jewishYear" }
+        return get(rule, dayOfYear)
+    }
+
+    /**
+     * Returns the number of days of the year on which [rule] applies.
+     */
+    fun count(rule: TefilaRule): Int = bits[rule.ordinal].sumOf { it.countOneBits() }
+
+    /**
+     * Returns the days of the year on which [rule] applies, in order.
+     */
+    fun datesOf(rule: TefilaRule): List<LocalDate> = (0 until size).filter { get(rule, it) }.map { dateAt(it) }
+
+    override fun toString() =
+        "TefilaRulesYear(profile=$profile, jewishYear=$jewishYear, inIsrael=$inIsrael, isUseModernHolidays=$isUseModernHolidays, isMukafChoma=$isMukafChoma)"
+
+    companion object {
+        /**
+         * The number of years [of] caches.
+         */
+        const val CACHE_SIZE = 1024
+
+        private data class Key(
+            val profile: TefilaRulesProfile,
+            val jewishYear: Long,
+            val inIsrael: Boolean,
+            val isUseModernHolidays: Boolean,
+            val isMukafChoma: Boolean,
+        )
+
+        private val cache = LruCache<Key, TefilaRulesYear>(CACHE_SIZE)
+
+        /**
+         * Returns every [TefilaRule] of the current settings of [tefilaRules] for every day of [jewishYear]. Changing the
+         * settings of [tefilaRules] later does not affect the returned year.
+         */
+        fun of(
+            tefilaRules: TefilaRules,
+            jewishYear: Long,
+            inIsrael: Boolean,
+            isUseModernHolidays: Boolean = false,
+            isMukafChoma: Boolean = false,
+        ): TefilaRulesYear = of(tefilaRules.toProfile(), jewishYear, inIsrael, isUseModernHolidays, isMukafChoma)
+
+        /**
+         * Returns every [TefilaRule] of [profile] for every day of [jewishYear].
+         */
+        fun of(
+            profile: TefilaRulesProfile,
+            jewishYear: Long,
+            inIsrael: Boolean,
+            isUseModernHolidays: Boolean = false,
+            isMukafChoma: Boolean = false,
+        ): TefilaRulesYear = cache.getOrPut(Key(profile, jewishYear, inIsrael, isUseModernHolidays, isMukafChoma)) {
+            build(profile, jewishYear, inIsrael, isUseModernHolidays, isMukafChoma)
+        }
+
+        private fun build(
+            profile: TefilaRulesProfile,
+            jewishYear: Long,
+            inIsrael: Boolean,
+            isUseModernHolidays: Boolean,
+            isMukafChoma: Boolean,
+        ): TefilaRulesYear {
+            val tefilaRules = profile.toTefilaRules()
+            fun newCalendar() = JewishCalendar(HebrewLocalDate(jewishYear, HebrewMonth.TISHREI, 1), inIsrael, isUseModernHolidays)
+                .also { it.isMukafChoma = isMukafChoma }
+            val today = newCalendar()
+            val tomorrow = newCalendar().apply { forward(DateTimeUnit.DAY, 1) }
+            val roshHashanaEpochDay = today.gregorianLocalDate.toEpochDays()
+            val size = jewishYear.daysInJewishYear
+            val rules = TefilaRule.values()
+            val bits = Array(rules.size) { LongArray((size + 63) ushr 6) }
+            for (dayOfYear in 0 until size) {
+                for (rule in rules) {
+                    if (rule.isRecited(tefilaRules, today, tomorrow)) {
+                        bits[rule.ordinal][dayOfYear ushr 6] = bits[rule.ordinal][dayOfYear ushr 6] or (1L shl dayOfYear)
+                    }
+                }
+                today.forward(DateTimeUnit.DAY, 1)
+                tomorrow.forward(DateTimeUnit.DAY, 1)
+            }
+            return TefilaRulesYear(profile, jewishYear, inIsrael, isUseModernHolidays, isMukafChoma, roshHashanaEpochDay, size, bits)
+        }
+    }
+}
@@ -15,43 +15,28 @@
  */
 package sternbach.software.kosherkotlin.hebrewcalendar
 
-import kotlinx.datetime.Clock
-import kotlinx.datetime.Instant
-import kotlinx.datetime.LocalDateTime
-import kotlinx.datetime.LocalTime
-import kotlinx.datetime.Month
+import kotlinx.datetime.LocalDate
 import kotlinx.datetime.TimeZone
-import kotlinx.datetime.atStartOfDayIn
-import kotlinx.datetime.daysUntil
-import kotlinx.datetime.toInstant
-import kotlin.time.Duration.Companion.days
 
 
 /**
  * This class calculates the [Talmud Yerusalmi](https://en.wikipedia.org/wiki/Jerusalem_Talmud) [Daf Yomi](https://en.wikipedia.org/wiki/Daf_Yomi) page ([Daf]) for the a given date.
  *
+ * The calculations are done by the [LearningSchedule] [schedule], which precomputes the start of every cycle and every
+ * day without a *daf* (Yom Kippur and Tisha B'Av), so the *daf* of a date is found with a few binary searches rather
+ * than by walking from the first cycle.
+ *
  * @author  elihaidv
  * @author  Eliyahu Hershfeld 2017 - 2023
  */
 object YerushalmiYomiCalculator {
+    @Deprecated("The calculation is based on dates, and no longer depends on a time zone.")
     var timeZone = TimeZone.currentSystemDefault()
 
     /**
      * The start date of the first Daf Yomi Yerushalmi cycle of February 2, 1980 / 15 Shevat, 5740.
      */
-    private val DAF_YOMI_START_DAY: Instant =
-        LocalDateTime(
-            1980, Month.FEBRUARY, 2,
-            0, 0, 0, 0
-        )
-            .toInstant(timeZone)
-
-
-    /** The number of milliseconds in a day.  */
-    private const val DAY_MILIS: Int = 1000 * 60 * 60 * 24
-
-    /** The number of pages in the Talmud Yerushalmi. */
-    private const val WHOLE_SHAS_DAFS: Int = 1554
+    private val DAF_YOMI_START_DAY = LocalDate(1980, 2, 2)
 
     /** The number of pages per *masechta* (tractate). */
     private val BLATT_PER_MASECHTA: IntArray = intArrayOf(
@@ -59,6 +44,17 @@ object YerushalmiYomiCalculator {
         19, 85, 72, 47, 40, 47, 54, 48, 44, 37, 34, 44, 9, 57, 37, 19, 13
     )
 
+    /**
+     * The Daf Yomi Yerushalmi schedule, whose [units][LearningUnit] are a [Daf.masechtaNumber] and [Daf.daf]. There
+     * isn't Daf Yomi on Yom Kippur or Tisha B'Av.
+     */
+    val schedule = LearningSchedule(
+        DAF_YOMI_START_DAY,
+        listOf(LearningSchedule.Edition(1, BLATT_PER_MASECHTA)),
+        setOf(JewishCalendar.YOM_KIPPUR, JewishCalendar.TISHA_BEAV),
+        LearningSchedule.CycleRule.SKIPPED_DAYS_IN_CYCLE_LENGTH
+    )
+
     /**
      * Returns the [Daf Yomi](https://en.wikipedia.org/wiki/Daf_Yomi)
      * [Yerusalmi](https://en.wikipedia.org/wiki/Jerusalem_Talmud) page ([Daf]) for a given date.
@@ -73,83 +69,16 @@ object YerushalmiYomiCalculator {
      * @throws IllegalArgumentException
      * if the date is prior to the February 2, 1980, the start of the first Daf Yomi Yerushalmi cycle
      */
-    fun getDafYomiYerushalmi(calendar: JewishCalendar): Daf? {
-        val requested = LocalDateTime(
-            calendar.gregorianLocalDate,
-            LocalTime(1, 0, 0)
-        )
-            .toInstant(timeZone)// + 1.days/*to account for year 0?*/
-        var masechta = 0
-        var dafYomi: Daf? = null
-
-        // There isn't Daf Yomi on Yom Kippur or Tisha B'Av.
-        val yomTovIndex = calendar.yomTovIndex
-        if (yomTovIndex == JewishCalendar.YOM_KIPPUR || yomTovIndex == JewishCalendar.TISHA_BEAV) {
-            return null
-        }
-        require(requested >= DAF_YOMI_START_DAY) { "$requested is prior to organized Daf Yomi Yerushalmi cycles that started on $DAF_YOMI_START_DAY" }
-
-        // Start to calculate current cycle. init the start day
-        var nextCycle = DAF_YOMI_START_DAY
-        var prevCycle = Clock.System.now()
-
-        // Go cycle by cycle, until we get the next cycle
-        while (requested > nextCycle) {
-            prevCycle = nextCycle
-
-            // Adds the number of whole shas dafs. and the number of days that not have daf.
-            nextCycle += WHOLE_SHAS_DAFS.days
-            nextCycle += getNumOfSpecialDays(prevCycle, nextCycle).days
-        }
-
-        // Get the number of days from cycle start until request.
-        val dafNo = prevCycle.daysUntil(requested, timeZone)
-
-        // Get the number of special day to subtract
-        val specialDays = getNumOfSpecialDays(prevCycle, requested)
-        var total = dafNo - specialDays
-
-        // Finally find the daf.
-        for (j in BLATT_PER_MASECHTA.indices) {
-            if (total < BLATT_PER_MASECHTA[j]) {
-                dafYomi = Daf(masechta, total + 1)
-                break
-            }
-            total -= BLATT_PER_MASECHTA[j]
-            masechta++
-        }
-        return dafYomi
-    }
+    fun getDafYomiYerushalmi(calendar: JewishCalendar): Daf? = getDafYomiYerushalmi(calendar.gregorianLocalDate)
 
     /**
-     * Return the number of special days (Yom Kippur and Tisha Beav) That there is no Daf in this days.
-     * From the last given number of days until given date
+     * Returns the Daf Yomi Yerushalmi page ([Daf]) for [date], or null if [date] is Tisha B'Av or Yom Kippur.
      *
-     * @param start start date to calculate
-     * @param end end date to calculate
-     * @return the number of special days
+     * @throws IllegalArgumentException if [date] is prior to the February 2, 1980, the start of the first Daf Yomi
+     * Yerushalmi cycle
      */
-    private fun getNumOfSpecialDays(start: Instant, end: Instant): Int {
-
-        // Find the start and end Jewish years
-        val startYear = JewishCalendar(start, timeZone).hebrewLocalDate.year
-        val endYear = JewishCalendar(end, timeZone).hebrewLocalDate.year
-
-        // Value to return
-        var specialDays = 0
-
-        //Instant of special Dates
-        val yom_kippur = JewishCalendar(5770, 7, 10)
-        val tisha_beav = JewishCalendar(5770, 5, 9)
-
-        // Go over the years and find special dates
-        for (i in startYear..endYear) {
-            yom_kippur.jewishYear = i
-            tisha_beav.jewishYear = i
-            val startToEnd = start..end
-            if (yom_kippur.gregorianLocalDate.atStartOfDayIn(timeZone) in startToEnd) specialDays++
-            if (tisha_beav.gregorianLocalDate.atStartOfDayIn(timeZone) in startToEnd) specialDays++
-        }
-        return specialDays
+    fun getDafYomiYerushalmi(date: LocalDate): Daf? {
+        require(date >= DAF_YOMI_START_DAY) { "$date is prior to organized Daf Yomi Yerushalmi cycles that started on $DAF_YOMI_START_DAY" }
+        return schedule.unitOn(date)?.let { Daf(it.section, it.number) }
     }
-}
\ No newline at end of file
+}
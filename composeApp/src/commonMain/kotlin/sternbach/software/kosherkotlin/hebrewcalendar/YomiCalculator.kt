@@ -15,13 +15,16 @@
  */
 package sternbach.software.kosherkotlin.hebrewcalendar
 
-import sternbach.software.kosherkotlin.util.*
 import kotlinx.datetime.LocalDate
 
 /**
  * This class calculates the Daf Yomi Bavli page (daf) for a given date. To calculate Daf Yomi Yerushalmi
  * use the [YerushalmiYomiCalculator]. The library may cover Mishna Yomi etc. at some point in the future.
  *
+ * The calculations are done by the [LearningSchedule] [schedule], which has an [edition][LearningSchedule.Edition] for
+ * each length of *Maseches Shekalim*, so the *daf* of a date and the dates of a *daf* ([getDafYomiBavliDates]) are binary
+ * searches. The schedule is never modified once computed, so the calculator is safe to use from multiple threads.
+ *
  * @author  Bob Newell (original C code)
  * @author  Eliyahu Hershfeld 2011 - 2020
  */
@@ -31,19 +34,45 @@ object YomiCalculator {
      */
     private val dafYomiStartDay: LocalDate = LocalDate(1923, 9, 11)
 
-    /** The start date of the first Daf Yomi Bavli cycle in the Julian calendar. Used internally for claculations. */
-    private val dafYomiJulianStartDay: Int = DateUtils.getJulianDay(dafYomiStartDay).toInt()
+    /**
+     * The number of daf per masechta. The number of blatt in Shekalim changed on the 8th Daf Yomi cycle
+     * beginning on June 24, 1975 from 13 to 22; this is the number since then.
+     */
+    private val BLATT_PER_MASECHTA: IntArray = intArrayOf(
+        64, 157, 105, 121, 22, 88, 56, 40, 35, 31, 32, 29, 27, 122, 112, 91, 66, 49, 90, 82,
+        119, 119, 176, 113, 24, 49, 76, 14, 120, 110, 142, 61, 34, 34, 28, 22, 4, 9, 5, 73
+    )
+
+    /** The index of Shekalim in [BLATT_PER_MASECHTA]. */
+    private const val SHEKALIM = 4
 
     /**
-     * The date that the pagination for the Daf Yomi *Maseches Shekalim* changed to use the commonly used Vilna
-     * Shas pagination from the no longer commonly available Zhitomir / Slavuta Shas used by Rabbi Meir Shapiro.
+     * The first *daf* learned of each *masechta*. Every *masechta* starts on *daf* 2, except for Kinnim, Tamid and
+     * Midos, which are learned together with Meilah and continue its pagination.
      */
-    private val shekalimChangeDay: LocalDate = LocalDate(1975, 6, 24)
+    private val FIRST_DAF: IntArray = IntArray(BLATT_PER_MASECHTA.size) { 2 }.also {
+        it[36] = 23 // Kinnim
+        it[37] = 26 // Tamid
+        it[38] = 34 // Midos
+    }
 
-    /** The Julian date that the cycle for Shekalim changed.
-     * @see .getDafYomiBavli
+    /**
+     * Returns the edition of the cycles starting with [firstCycle], in which Shekalim has [shekalimBlatt] blatt. A
+     * *masechta* of n blatt is learned in n - 1 days, since it starts on *daf* 2.
      */
-    private val shekalimJulianChangeDay: Int = DateUtils.getJulianDay(shekalimChangeDay).toInt()
+    private fun edition(firstCycle: Int, shekalimBlatt: Int) = LearningSchedule.Edition(
+        firstCycle,
+        IntArray(BLATT_PER_MASECHTA.size) { (if (it == SHEKALIM) shekalimBlatt else BLATT_PER_MASECHTA[it]) - 1 },
+        FIRST_DAF
+    )
+
+    /**
+     * The Daf Yomi Bavli schedule, whose [units][LearningUnit] are a [Daf.masechtaNumber] and [Daf.daf]. Shekalim had
+     * 13 blatt in the first 7 cycles, and 22 since the 8th cycle which started on June 24, 1975, when the pagination
+     * changed to the commonly used Vilna Shas from the no longer commonly available Zhitomir / Slavuta Shas used by Rabbi
+     * Meir Shapiro.
+     */
+    val schedule = LearningSchedule(dafYomiStartDay, listOf(edition(1, 13), edition(8, 22)))
 
     /**
      * Returns the [Daf Yomi](http://en.wikipedia.org/wiki/Daf_yomi) [Bavli](http://en.wikipedia.org/wiki/Talmud) [Daf] for a given date. The first Daf Yomi cycle
@@ -59,65 +88,49 @@ object YomiCalculator {
      * the [Vilna Shas](https://en.wikipedia.org/wiki/Vilna_Edition_Shas) that is in common use today.
      *
      * @param jewishCalendar
-     * The JewishCalendar date for calculation. TODO: this can be changed to use a regular GregorianCalendar since
-     * there is nothing specific to the JewishCalendar in this class.
+     * The JewishCalendar date for calculation.
      * @return the [Daf].
      *
      * @throws IllegalArgumentException
      * if the date is prior to the September 11, 1923 start date of the first Daf Yomi cycle
      */
-    fun getDafYomiBavli(jewishCalendar: JewishCalendar): Daf? {
-        /*
-		 * The number of daf per masechta. Since the number of blatt in Shekalim changed on the 8th Daf Yomi cycle
-		 * beginning on June 24, 1975 from 13 to 22, the actual calculation for blattPerMasechta[4] will later be
-		 * adjusted based on the cycle.
-		 */
-        val blattPerMasechta: IntArray = intArrayOf(
-            64, 157, 105, 121, 22, 88, 56, 40, 35, 31, 32, 29, 27, 122, 112, 91, 66, 49, 90, 82,
-            119, 119, 176, 113, 24, 49, 76, 14, 120, 110, 142, 61, 34, 34, 28, 22, 4, 9, 5, 73
-        )
-        val LocalDate = jewishCalendar.gregorianLocalDate
-        var dafYomi: Daf? = null
-        val julianDay = DateUtils.getJulianDay(LocalDate).toInt()
-        val cycleNo: Int
-        val dafNo: Int
-        require(LocalDate >= (dafYomiStartDay)) {
-            // TODO: should we return a null or throw an IllegalArgumentException?
-            "$LocalDate is prior to organized Daf Yomi Bavli cycles that started on $dafYomiStartDay"
-        }
-        if (LocalDate >= shekalimChangeDay) {
-            cycleNo = 8 + (julianDay - shekalimJulianChangeDay) / 2711
-            dafNo = (julianDay - shekalimJulianChangeDay) % 2711
-        } else {
-            cycleNo = 1 + (julianDay - dafYomiJulianStartDay) / 2702
-            dafNo = (julianDay - dafYomiJulianStartDay) % 2702
-        }
-        var total = 0
-        var masechta = -1
-        var blatt: Int
+    fun getDafYomiBavli(jewishCalendar: JewishCalendar): Daf? = getDafYomiBavli(jewishCalendar.gregorianLocalDate)
 
-        // Fix Shekalim for old cycles.
-        if (cycleNo <= 7) {
-            blattPerMasechta[4] = 13
-        } else {
-            blattPerMasechta[4] = 22 // correct any change that may have been changed from a prior calculation
-        }
-        // Finally, find the daf.
-        for (j in blattPerMasechta.indices) {
-            masechta++
-            total = total + blattPerMasechta[j] - 1
-            if (dafNo < total) {
-                blatt = 1 + blattPerMasechta[j] - (total - dafNo)
-                // Fiddle with the weird ones near the end.
-                when (masechta) {
-                    36 -> blatt += 21
-                    37 -> blatt += 24
-                    38 -> blatt += 32
-                }
-                dafYomi = Daf(masechta, blatt)
-                break
-            }
+    /**
+     * Returns the Daf Yomi Bavli [Daf] for [date].
+     *
+     * @throws IllegalArgumentException if [date] is prior to the September 11, 1923 start date of the first Daf Yomi
+     * cycle
+     * @see getDafYomiBavli
+     */
+    fun getDafYomiBavli(date: LocalDate): Daf {
+        require(date >= dafYomiStartDay) {
+            "$date is prior to organized Daf Yomi Bavli cycles that started on $dafYomiStartDay"
         }
-        return dafYomi
+        return schedule.unitOn(date)!!.let { Daf(it.section, it.number) }
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the number of the Daf Yomi Bavli cycle of [date], where the cycle which started on September 11, 1923 is
+     * 1.
+     *
+     * @throws IllegalArgumentException if [date] is prior to the start of the first cycle
+     */
+    fun getDafYomiBavliCycle(date: LocalDate): Int = schedule.cycleOf(date)
+
+    /**
+     * Returns the date on which [cycle] started, where the cycle which started on September 11, 1923 is 1.
+     */
+    fun getDafYomiBavliCycleStart(cycle: Int): LocalDate = schedule.cycleStart(cycle)
+
+    /**
+     * Returns the dates on which [daf] of [masechta] (in the numbering of [Daf.masechtaNumber]) is learned in each of
+     * [cycles], in order. A cycle in which the *daf* does not exist (*daf* 14 through 22 of Shekalim, before Shekalim
+     * was lengthened in 1975) has no date.
+     *
+     * @throws IllegalArgumentException if [masechta] is not a *masechta* of the Daf Yomi, or [daf] is not a *daf* of
+     * it which is learned in any cycle.
+     */
+    fun getDafYomiBavliDates(masechta: Int, daf: Int, cycles: IntRange): List<LocalDate> =
+        schedule.datesOf(masechta, daf, cycles)
+}
@@ -97,7 +97,7 @@ abstract class AstronomicalCalculator {
      * @see .getEarthRadius
      * @see .setEarthRadius
      */
-    var earthRadius: Double = 6356.9 // in KM
+    var earthRadius: Double = DEFAULT_EARTH_RADIUS // in KM
 
     /**
      * Returns the name of the algorithm.
@@ -176,6 +176,29 @@ abstract class AstronomicalCalculator {
      */
     abstract fun getUTCNoon(date: LocalDate, geoLocation: GeoLocation): Double
 
+    /**
+     * Calculates UTC sunrise as [getUTCSunrise] does, at a [PreparedLocation]. Calculators which use the values
+     * [location] has computed (such as [NOAACalculator]) override this; the default calculates at a [GeoLocation] of
+     * [location].
+     */
+    open fun getUTCSunrise(date: LocalDate, location: PreparedLocation, zenith: Double, adjustForElevation: Boolean): Double =
+        getUTCSunrise(date, location.toGeoLocation(), zenith, adjustForElevation)
+
+    /**
+     * Calculates UTC sunset as [getUTCSunset] does, at a [PreparedLocation].
+     *
+     * @see getUTCSunrise
+     */
+    open fun getUTCSunset(date: LocalDate, location: PreparedLocation, zenith: Double, adjustForElevation: Boolean): Double =
+        getUTCSunset(date, location.toGeoLocation(), zenith, adjustForElevation)
+
+    /**
+     * Calculates UTC solar noon as [getUTCNoon] does, at a [PreparedLocation].
+     *
+     * @see getUTCSunrise
+     */
+    open fun getUTCNoon(date: LocalDate, location: PreparedLocation): Double = getUTCNoon(date, location.toGeoLocation())
+
     /**
      * Method to return the adjustment to the zenith required to account for the elevation. Since a person at a higher
      * elevation can see farther below the horizon, the calculation for sunrise / sunset is calculated below the horizon
@@ -201,13 +224,7 @@ abstract class AstronomicalCalculator {
      * elevation in Meters.
      * @return the adjusted zenith
      */
-    fun getElevationAdjustment(elevation: Double): Double =
-        toDegrees(
-            acos(
-                earthRadius /
-                        (earthRadius + (elevation / 1000))
-            )
-        )
+    fun getElevationAdjustment(elevation: Double): Double = getElevationAdjustment(elevation, earthRadius)
 
     /**
      * Adjusts the zenith of astronomical sunrise and sunset to account for solar refraction, solar radius and
@@ -243,10 +260,39 @@ abstract class AstronomicalCalculator {
         .takeUnless { it == GEOMETRIC_ZENITH } ?: // only adjust if it is exactly sunrise or sunset
     (zenith + (solarRadius + refraction + getElevationAdjustment(elevation)))
 
+    /**
+     * Adjusts the zenith as [adjustZenith] does for the elevation of [location] (or 0 if not [adjustForElevation]),
+     * using the [elevation adjustment][PreparedLocation.elevationAdjustment] [location] has computed unless the
+     * [earthRadius] was changed.
+     */
+    fun adjustZenith(zenith: Double, location: PreparedLocation, adjustForElevation: Boolean): Double {
+        if (zenith != GEOMETRIC_ZENITH) return zenith // only adjust if it is exactly sunrise or sunset
+        val elevationAdjustment =
+            if (!adjustForElevation) 0.0
+            else if (earthRadius == DEFAULT_EARTH_RADIUS) location.elevationAdjustment
+            else getElevationAdjustment(location.elevation)
+        return zenith + (solarRadius + refraction + elevationAdjustment)
+    }
+
 
     abstract fun copy(): AstronomicalCalculator
 
     companion object {
+        /**
+         * The default [earthRadius] in KM.
+         */
+        const val DEFAULT_EARTH_RADIUS = 6356.9
+
+        /**
+         * @see AstronomicalCalculator.getElevationAdjustment
+         */
+        internal fun getElevationAdjustment(elevation: Double, earthRadius: Double): Double =
+            toDegrees(
+                acos(
+                    earthRadius /
+                            (earthRadius + (elevation / 1000))
+                )
+            )
 
         //Taken from java.lang.Math:
 
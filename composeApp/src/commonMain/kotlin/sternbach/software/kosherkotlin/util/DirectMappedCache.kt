@@ -0,0 +1,44 @@
+package sternbach.software.kosherkotlin.util
+
+/**
+ * A cache of at most [size] values, each kept in the slot of its key modulo [size] until a value of another key in the
+ * same slot replaces it. A lookup is an array read without the lock of [LruCache], for values which are looked up far
+ * more often than they are built, such as the tables of a year.
+ *
+ * The slots are read and written without synchronization, which is safe because each slot holds a reference to an
+ * immutable [Entry] of an immutable value: a reference is read or written atomically, and the `val`s of the entry and
+ * the value are final fields on the JVM, so a thread which reads the reference another thread wrote sees them
+ * initialized. A thread which does not see a value written by another builds it again, so a value may be built more
+ * than once, and should be free of side effects.
+ *
+ * The other caches in the library which are read and written without synchronization (a single field or array of
+ * references to immutable values) rely on the same reasoning, and link here rather than repeating it.
+ */
+internal class DirectMappedCache<V : Any>(val size: Int) {
+    init {
+        require(size > 0) { "size must be positive: $size" }
+    }
+
+    private class Entry<V>(val key: Long, val value: V)
+
+    private val slots = arrayOfNulls<Entry<V>>(size)
+
+    private fun slotOf(key: Long): Int = key.mod(size)
+
+    /**
+     * Returns the value of [key], or null if it is not cached.
+     */
+    operator fun get(key: Long): V? = slots[slotOf(key)]?.takeIf { it.key == key }?.value
+
+    /**
+     * Caches [value] for [key], replacing the value in its slot.
+     */
+    operator fun set(key: Long, value: V) {
+        slots[slotOf(key)] = Entry(key, value)
+    }
+
+    /**
+     * Returns the value of [key], building and caching it with [build] if it is not cached.
+     */
+    inline fun getOrPut(key: Long, build: () -> V): V = get(key) ?: build().also { set(key, it) }
+}
@@ -0,0 +1,417 @@
+package sternbach.software.kosherkotlin.util
+
+import kotlinx.datetime.TimeZone
+import sternbach.software.kosherkotlin.util.AstronomicalCalculator.Companion.toRadians
+import sternbach.software.kosherkotlin.util.Geodesics.MEAN_EARTH_RADIUS
+import sternbach.software.kosherkotlin.util.Geodesics.SPHERE_ERROR
+import kotlin.math.asin
+import kotlin.math.cos
+import kotlin.math.min
+import kotlin.math.roundToInt
+import kotlin.math.sin
+import kotlin.math.sqrt
+
+/**
+ * Random access to the bytes of a [Gazetteer] file, which may be in memory or memory-mapped. Values are big-endian.
+ */
+internal interface GazetteerBuffer {
+    val size: Int
+    fun getShort(offset: Int): Short
+    fun getInt(offset: Int): Int
+    fun getFloat(offset: Int): Float = Float.fromBits(getInt(offset))
+    fun getString(offset: Int, length: Int): String
+}
+
+internal class ByteArrayGazetteerBuffer(private val bytes: ByteArray) : GazetteerBuffer {
+    override val size: Int get() = bytes.size
+
+    override fun getShort(offset: Int): Short =
+        ((bytes[offset].toInt() shl 8) or (bytes[offset + 1].toInt() and 0xFF)).toShort()
+
+    override fun getInt(offset: Int): Int =
+        (bytes[offset].toInt() shl 24) or
+                ((bytes[offset + 1].toInt() and 0xFF) shl 16) or
+                ((bytes[offset + 2].toInt() and 0xFF) shl 8) or
+                (bytes[offset + 3].toInt() and 0xFF)
+
+    override fun getString(offset: Int, length: Int): String = bytes.decodeToString(offset, offset + length)
+}
+
+/**
+ * A list of named places, read from a compact binary file, which finds the places nearest to a coordinate, e.g. to
+ * attach a name, time zone and elevation to a [Location] reported by a device.
+ *
+ * The places are stored in the order of a [k-d tree](https://en.wikipedia.org/wiki/K-d_tree) of their position on the
+ * unit sphere, so the file is its own spatial index: nothing is built when it is loaded, and a query only reads the
+ * places along its path down the tree, which takes microseconds even for hundreds of thousands of places. On the JVM
+ * the file can be memory-mapped, so only the pages a query touches are read. Distances on the unit sphere only select
+ * candidates; the places are ranked by their [geodesic distance][GeoLocation.getGeodesicDistance].
+ *
+ * Files are written by [encode]. The format (version 1, big-endian) is:
+ * ```
+ * Int         magic "KZG1"
+ * Int         number of places
+ * Int         number of time zones
+ * per zone:   Short length, UTF-8 id
+ * per place:  Int latitude and Int longitude in millionths of a degree, Float x, y and z on the unit sphere,
+ *             Short elevation in meters, Short zone index, Int offset of the name in the names
+ * names:      per place, Short length, UTF-8 name
+ * ```
+ *
+ * This class is thread-safe.
+ */
+class Gazetteer internal constructor(private val buffer: GazetteerBuffer) {
+    /**
+     * Reads a gazetteer [encoded][encode] in [bytes].
+     *
+     * @throws IllegalArgumentException if [bytes] is not a gazetteer.
+     */
+    constructor(bytes: ByteArray) : this(ByteArrayGazetteerBuffer(bytes))
+
+    /**
+     * The number of places.
+     */
+    val size: Int
+
+    private val timeZoneIds: Array<String>
+    private val timeZones: Array<TimeZone?>
+    private val placesOffset: Int
+    private val namesOffset: Int
+
+    init {
+        require(buffer.size >= HEADER_SIZE && buffer.getInt(0) == MAGIC) { "Not a gazetteer" }
+        size = buffer.getInt(4)
+        var offset = HEADER_SIZE
+        timeZoneIds = Array(buffer.getInt(8)) {
+            require(offset + 2 <= buffer.size) { "Truncated gazetteer" }
+            val length = buffer.getShort(offset).toInt()
+            require(offset + 2 + length <= buffer.size) { "Truncated gazetteer" }
+            buffer.getString(offset + 2, length).also { offset += 2 + length }
+        }
+        timeZones = arrayOfNulls(timeZoneIds.size)
+        placesOffset = offset
+        namesOffset = placesOffset + size * PLACE_SIZE
+        require(size >= 0 && namesOffset <= buffer.size) { "Truncated gazetteer" }
+    }
+
+    /**
+     * A place of a gazetteer.
+     *
+     * @param elevation the elevation in meters.
+     */
+    data class Place(
+        val name: String,
+        val latitude: Double,
+        val longitude: Double,
+        val elevation: Double,
+        val timeZoneId: String,
+    ) {
+        val timeZone: TimeZone get() = TimeZone.of(timeZoneId)
+
+        fun toGeoLocation(): GeoLocation = GeoLocation(name, latitude, longitude, elevation, timeZone)
+    }
+
+    /**
+     * A place found by [nearest], at [distance] meters from the queried coordinate.
+     */
+    data class Match(val geoLocation: GeoLocation, val distance: Double)
+
+    /**
+     * Returns the place at [index].
+     */
+    operator fun get(index: Int): Place {
+        require(index in 0 until size) { "No place at $index of $size" }
+        val offset = placesOffset + index * PLACE_SIZE
+        return Place(
+            nameAt(offset),
+            latitudeAt(offset),
+            longitudeAt(offset),
+            buffer.getShort(offset + 20).toDouble(),
+            timeZoneIds[buffer.getShort(offset + 22).toInt()]
+        )
+    }
+
+    /**
+     * Returns the places nearest to [latitude] and [longitude], at most [count], ordered by their
+     * [geodesic distance][GeoLocation.getGeodesicDistance].
+     */
+    fun nearest(latitude: Double, longitude: Double, count: Int = 1): List<Match> {
+        require(count > 0) { "count must be positive: $count" }
+        val origin = GeoLocation("", latitude, longitude, TimeZone.UTC)
+        val query = Query(unitVector(latitude, longitude))
+        var candidates = min(size, count + maxOf(count, MIN_EXTRA_CANDIDATES))
+        while (true) {
+            query.search(candidates)
+            val matches = (0 until query.found)
+                .map { query.indices[it] }
+                .map { index -> geoLocationAt(index).let { Match(it, origin.getGeodesicDistance(it)) } }
+                .sortedBy { it.distance }
+                .take(count)
+            //the chords only approximate the distances on the ellipsoid, so a candidate which was not selected could still
+            //be nearer than one which was, unless even the farthest candidate is farther than the last match
+            if (candidates == size || matches.size < count ||
+                query.farthestArc() * (1 - SPHERE_ERROR) * MEAN_EARTH_RADIUS >= matches.last().distance
+            ) return matches
+            candidates = min(size, candidates * 2)
+        }
+    }
+
+    /**
+     * Returns the places nearest to [location], at most [count].
+     */
+    fun nearest(location: Location, count: Int = 1): List<Match> = nearest(location.latitude, location.longitude, count)
+
+    /**
+     * Returns a [GeoLocation] at the coordinates of [location] with the name, time zone and elevation of the nearest
+     * place, unless [location] has them, or null if this gazetteer is empty. The elevation is taken from
+     * [elevationProvider] before the nearest place, since it is the elevation at the coordinates of [location].
+     */
+    fun geoLocationOf(location: Location, elevationProvider: ElevationProvider? = null): GeoLocation? {
+        val place = nearest(location).firstOrNull()?.geoLocation ?: return null
+        return GeoLocation(
+            location.locationName ?: place.locationName,
+            location.latitude,
+            location.longitude,
+            location.elevation ?: elevationProvider?.elevation(location.latitude, location.longitude) ?: place.elevation,
+            location.tz ?: place.timeZone
+        )
+    }
+
+    private fun geoLocationAt(index: Int): GeoLocation {
+        val offset = placesOffset + index * PLACE_SIZE
+        return GeoLocation(
+            nameAt(offset),
+            latitudeAt(offset),
+            longitudeAt(offset),
+            buffer.getShort(offset + 20).toDouble(),
+            timeZoneAt(buffer.getShort(offset + 22).toInt())
+        )
+    }
+
+    /**
+     * Returns the time zone at [zone] of [timeZoneIds], resolving it the first time a place in it is read. [timeZones] is
+     * written without synchronization, as in [DirectMappedCache], so a zone may be resolved more than once, into equal
+     * [TimeZone]s.
+     */
+    private fun timeZoneAt(zone: Int): TimeZone = timeZones[zone] ?: TimeZone.of(timeZoneIds[zone]).also { timeZones[zone] = it }
+
+    private fun latitudeAt(offset: Int) = buffer.getInt(offset) / MICRO_DEGREES
+
+    private fun longitudeAt(offset: Int) = buffer.getInt(offset + 4) / MICRO_DEGREES
+
+    private fun nameAt(offset: Int): String {
+        val nameOffset = namesOffset + buffer.getInt(offset + 24)
+        return buffer.getString(nameOffset + 2, buffer.getShort(nameOffset).toInt())
+    }
+
+    private fun coordinateAt(index: Int, axis: Int): Double = buffer.getFloat(placesOffset + index * PLACE_SIZE + 8 + axis * 4).toDouble()
+
+    /**
+     * A search of the nearest places to [target] by their chord on the unit sphere, keeping the nearest in a max-heap.
+     */
+    private inner class Query(private val target: DoubleArray) {
+        var indices = IntArray(0)
+        private var squaredChords = DoubleArray(0)
+        var found = 0
+
+        fun search(count: Int) {
+            indices = IntArray(count)
+            squaredChords = DoubleArray(count)
+            found = 0
+            search(0, size, 0)
+            //sort the heap, so the indices are in order of their chords
+            for (end in found - 1 downTo 1) {
+                swap(0, end)
+                siftDown(0, end)
+            }
+        }
+
+        /**
+         * Returns the angle in radians of the farthest place found.
+         */
+        fun farthestArc(): Double = 2 * asin(min(1.0, sqrt(squaredChords[found - 1]) / 2))
+
+        private fun search(low: Int, high: Int, depth: Int) {
+            if (low >= high) return
+            val middle = (low + high) ushr 1
+            val axis = depth % 3
+            offer(middle)
+            val difference = target[axis] - coordinateAt(middle, axis)
+            if (difference < 0) {
+                search(low, middle, depth + 1)
+                if (found < indices.size || difference * difference < squaredChords[0]) search(middle + 1, high, depth + 1)
+            } else {
+                search(middle + 1, high, depth + 1)
+                if (found < indices.size || difference * difference < squaredChords[0]) search(low, middle, depth + 1)
+            }
+        }
+
+        private fun offer(index: Int) {
+            var squaredChord = 0.0
+            for (axis in 0 until 3) {
+                val difference = target[axis] - coordinateAt(index, axis)
+                squaredChord += difference * difference
+            }
+            if (found < indices.size) {
+                var child = found++
+                indices[child] = index
+                squaredChords[child] = squaredChord
+                while (child > 0) {
+                    val parent = (child - 1) / 2
+                    if (squaredChords[parent] >= squaredChords[child]) break
+                    swap(parent, child)
+                    child = parent
+                }
+            } else if (squaredChord < squaredChords[0]) {
+                indices[0] = index
+                squaredChords[0] = squaredChord
+                siftDown(0, found)
+            }
+        }
+
+        private fun siftDown(start: Int, end: Int) {
+            var parent = start
+            while (true) {
+                val left = 2 * parent + 1
+                if (left >= end) return
+                val right = left + 1
+                val child = if (right < end && squaredChords[right] > squaredChords[left]) right else left
+                if (squaredChords[parent] >= squaredChords[child]) return
+                swap(parent, child)
+                parent = child
+            }
+        }
+
+        private fun swap(i: Int, j: Int) {
+            val index = indices[i]
+            indices[i] = indices[j]
+            indices[j] = index
+            val squaredChord = squaredChords[i]
+            squaredChords[i] = squaredChords[j]
+            squaredChords[j] = squaredChord
+        }
+    }
+
+    companion object {
+        private const val MAGIC = 0x4B5A4731 //"KZG1"
+        private const val HEADER_SIZE = 12
+        private const val PLACE_SIZE = 28
+        private const val MICRO_DEGREES = 1_000_000.0
+
+        /**
+         * The number of candidates selected on the unit sphere besides the number of places requested.
+         */
+        private const val MIN_EXTRA_CANDIDATES = 8
+
+        private fun unitVector(latitude: Double, longitude: Double): DoubleArray {
+            val latitudeRadians = toRadians(latitude)
+            val longitudeRadians = toRadians(longitude)
+            return doubleArrayOf(
+                cos(latitudeRadians) * cos(longitudeRadians),
+                cos(latitudeRadians) * sin(longitudeRadians),
+                sin(latitudeRadians)
+            )
+        }
+
+        /**
+         * Returns the gazetteer file of [places], in the format read by [Gazetteer]. Latitudes and longitudes are stored
+         * to a millionth of a degree and elevations to a meter.
+         *
+         * @throws IllegalArgumentException if a name or time zone id is longer than 32767 bytes, there are more than 32767
+         * time zones, or an elevation is not within ±32767 meters.
+         */
+        fun encode(places: List<Place>): ByteArray {
+            val zones = places.map { it.timeZoneId }.distinct()
+            require(zones.size <= Short.MAX_VALUE) { "More than ${Short.MAX_VALUE} time zones" }
+            val zoneIndices = zones.withIndex().associate { it.value to it.index }
+            val vectors = places.map { unitVector(it.latitude, it.longitude) }
+            val order = IntArray(places.size) { it }
+            sortKdTree(order, vectors, 0, order.size, 0)
+
+            val output = GazetteerWriter()
+            output.writeInt(MAGIC)
+            output.writeInt(places.size)
+            output.writeInt(zones.size)
+            zones.forEach { output.writeString(it) }
+            val names = GazetteerWriter()
+            for (index in order) {
+                val place = places[index]
+                output.writeInt((place.latitude * MICRO_DEGREES).roundToInt())
+                output.writeInt((place.longitude * MICRO_DEGREES).roundToInt())
+                vectors[index].forEach { output.writeInt(it.toFloat().toBits()) }
+                val elevation = place.elevation.roundToInt()
+                require(elevation in -Short.MAX_VALUE..Short.MAX_VALUE) { "Invalid elevation of ${place.name}: ${place.elevation}" }
+                output.writeShort(elevation)
+                output.writeShort(zoneIndices.getValue(place.timeZoneId))
+                output.writeInt(names.size)
+                names.writeString(place.name)
+            }
+            return output.toByteArray() + names.toByteArray()
+        }
+
+        /**
+         * Orders [order] between [low] and [high] as a balanced k-d tree: the middle index is the median on the axis of
+         * [depth], the lower half is before it and the upper half after it, each ordered the same way on the next axis.
+         */
+        private fun sortKdTree(order: IntArray, vectors: List<DoubleArray>, low: Int, high: Int, depth: Int) {
+            if (high - low <= 1) return
+            val middle = (low + high) ushr 1
+            val axis = depth % 3
+            //quickselect the median
+            var left = low
+            var right = high - 1
+            while (left < right) {
+                val pivot = vectors[order[(left + right) ushr 1]][axis]
+                var i = left
+                var j = right
+                while (i <= j) {
+                    while (vectors[order[i]][axis] < pivot) i++
+                    while (vectors[order[j]][axis] > pivot) j--
+                    if (i <= j) {
+                        val temp = order[i]
+                        order[i++] = order[j]
+                        order[j--] = temp
+                    }
+                }
+                if (middle <= j) right = j else if (middle >= i) left = i else break
+            }
+            sortKdTree(order, vectors, low, middle, depth + 1)
+            sortKdTree(order, vectors, middle + 1, high, depth + 1)
+        }
+    }
+}
+
+private class GazetteerWriter {
+    private var bytes = ByteArray(1024)
+    var size = 0
+        private set
+
+    private fun ensureCapacity(extra: Int) {
+        if (size + extra > bytes.size) bytes = bytes.copyOf(maxOf(bytes.size * 2, size + extra))
+    }
+
+    fun writeShort(value: Int) {
+        ensureCapacity(2)
+        bytes[size++] = (value shr 8).toByte()
+        bytes[size++] = value.toByte()
+    }
+
+    fun writeInt(value: Int) {
+        ensureCapacity(4)
+        bytes[size++] = (value shr 24).toByte()
+        bytes[size++] = (value shr 16).toByte()
+        bytes[size++] = (value shr 8).toByte()
+        bytes[size++] = value.toByte()
+    }
+
+    fun writeString(value: String) {
+        val utf8 = value.encodeToByteArray()
+        require(utf8.size <= Short.MAX_VALUE) { "Longer than ${Short.MAX_VALUE} bytes: $value" }
+        writeShort(utf8.size)
+        ensureCapacity(utf8.size)
+        utf8.copyInto(bytes, size)
+        size += utf8.size
+    }
+
+    fun toByteArray(): ByteArray = bytes.copyOf(size)
+}
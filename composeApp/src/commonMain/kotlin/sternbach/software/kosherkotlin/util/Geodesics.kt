@@ -0,0 +1,228 @@
+package sternbach.software.kosherkotlin.util
+
+import sternbach.software.kosherkotlin.util.AstronomicalCalculator.Companion.toDegrees
+import sternbach.software.kosherkotlin.util.AstronomicalCalculator.Companion.toRadians
+import kotlin.math.PI
+import kotlin.math.abs
+import kotlin.math.asin
+import kotlin.math.atan
+import kotlin.math.atan2
+import kotlin.math.cos
+import kotlin.math.min
+import kotlin.math.sin
+import kotlin.math.sqrt
+import kotlin.math.tan
+
+/**
+ * The [geodesic](https://en.wikipedia.org/wiki/Geodesic) between two locations on the WGS-84 ellipsoid.
+ *
+ * @param distance the distance in meters, as [GeoLocation.getGeodesicDistance].
+ * @param initialBearing the bearing at the origin in degrees, as [GeoLocation.getGeodesicInitialBearing].
+ * @param finalBearing the bearing at the destination in degrees, as [GeoLocation.getGeodesicFinalBearing].
+ */
+data class Geodesic(val distance: Double, val initialBearing: Double, val finalBearing: Double)
+
+/**
+ * Solves [Thaddeus Vincenty's](https://en.wikipedia.org/wiki/Thaddeus_Vincenty) inverse formula (see
+ * [GeoLocation.getGeodesicDistance]) once per pair of locations for the distance and both bearings, and for many pairs
+ * given as arrays of coordinates. The results are identical to the methods of [GeoLocation].
+ */
+object Geodesics {
+    /**
+     * The mean radius of the earth in meters.
+     */
+    internal const val MEAN_EARTH_RADIUS = 6_371_008.8
+
+    /**
+     * More than the largest relative difference between a distance on a sphere of the [MEAN_EARTH_RADIUS] and on the
+     * WGS-84 ellipsoid.
+     */
+    internal const val SPHERE_ERROR = 0.01
+
+    // WGS-84 ellipsiod
+    private const val SEMI_MAJOR_AXIS = 6378137.0
+    private const val SEMI_MINOR_AXIS = 6356752.3142
+    private const val FLATTENING = 1 / 298.257223563
+
+    /**
+     * Returns the geodesic from the first location to the second.
+     */
+    fun inverse(latitude1: Double, longitude1: Double, latitude2: Double, longitude2: Double): Geodesic {
+        val result = DoubleArray(3)
+        inverse(reducedLatitude(latitude1), longitude1, latitude2, longitude2, result)
+        return Geodesic(result[0], result[1], result[2])
+    }
+
+    /**
+     * Computes the geodesic from the location at ([latitude], [longitude]) to each location at ([latitudes],
+     * [longitudes]) into the same index of [distances], [initialBearings] and [finalBearings], each of which may be
+     * null if it is not needed. No objects are allocated per location.
+     *
+     * @throws IllegalArgumentException if the arrays are shorter than [latitudes].
+     */
+    fun inverse(
+        latitude: Double,
+        longitude: Double,
+        latitudes: DoubleArray,
+        longitudes: DoubleArray,
+        distances: DoubleArray? = null,
+        initialBearings: DoubleArray? = null,
+        finalBearings: DoubleArray? = null,
+    ) {
+        val size = latitudes.size
+        requireSize(size, longitudes, distances, initialBearings, finalBearings)
+        val reducedLatitude = reducedLatitude(latitude)
+        val result = DoubleArray(3)
+        for (i in 0 until size) {
+            inverse(reducedLatitude, longitude, latitudes[i], longitudes[i], result)
+            if (distances != null) distances[i] = result[0]
+            if (initialBearings != null) initialBearings[i] = result[1]
+            if (finalBearings != null) finalBearings[i] = result[2]
+        }
+    }
+
+    /**
+     * Computes the geodesic from each location at ([fromLatitudes], [fromLongitudes]) to the location at the same index
+     * of ([toLatitudes], [toLongitudes]) into that index of [distances], [initialBearings] and [finalBearings], each of
+     * which may be null if it is not needed. No objects are allocated per pair.
+     *
+     * @throws IllegalArgumentException if the arrays are shorter than [fromLatitudes].
+     */
+    fun inverse(
+        fromLatitudes: DoubleArray,
+        fromLongitudes: DoubleArray,
+        toLatitudes: DoubleArray,
+        toLongitudes: DoubleArray,
+        distances: DoubleArray? = null,
+        initialBearings: DoubleArray? = null,
+        finalBearings: DoubleArray? = null,
+    ) {
+        val size = fromLatitudes.size
+        requireSize(size, fromLongitudes, toLatitudes, toLongitudes, distances, initialBearings, finalBearings)
+        val result = DoubleArray(3)
+        for (i in 0 until size) {
+            inverse(reducedLatitude(fromLatitudes[i]), fromLongitudes[i], toLatitudes[i], toLongitudes[i], result)
+            if (distances != null) distances[i] = result[0]
+            if (initialBearings != null) initialBearings[i] = result[1]
+            if (finalBearings != null) finalBearings[i] = result[2]
+        }
+    }
+
+    /**
+     * Returns the indices of the locations at ([latitudes], [longitudes]) whose [geodesic distance][GeoLocation.getGeodesicDistance]
+     * from the location at ([latitude], [longitude]) is at most [maxDistance] meters, in ascending order.
+     *
+     * Locations are first compared by their latitude alone and then by their distance on a sphere, with a margin of more
+     * than the difference between the sphere and the ellipsoid, so Vincenty's formula is only solved for the locations
+     * near the boundary.
+     *
+     * @throws IllegalArgumentException if [longitudes] is shorter than [latitudes].
+     */
+    fun within(latitude: Double, longitude: Double, latitudes: DoubleArray, longitudes: DoubleArray, maxDistance: Double): IntArray {
+        val size = latitudes.size
+        requireSize(size, longitudes)
+        //the central angles within which locations surely are, and beyond which they surely are not
+        val innerAngle = maxDistance / (MEAN_EARTH_RADIUS * (1 + SPHERE_ERROR))
+        val outerAngle = maxDistance / (MEAN_EARTH_RADIUS * (1 - SPHERE_ERROR))
+        val latitudeRadians = toRadians(latitude)
+        val cosLatitude = cos(latitudeRadians)
+        val reducedLatitude = reducedLatitude(latitude)
+        val result = DoubleArray(3)
+        val indices = IntArray(size)
+        var found = 0
+        for (i in 0 until size) {
+            val otherLatitudeRadians = toRadians(latitudes[i])
+            val latitudeAngle = abs(otherLatitudeRadians - latitudeRadians)
+            if (latitudeAngle > outerAngle) continue
+            //the haversine formula
+            val sinHalfLatitude = sin(latitudeAngle / 2)
+            val sinHalfLongitude = sin(toRadians(longitudes[i] - longitude) / 2)
+            val haversine = sinHalfLatitude * sinHalfLatitude +
+                    cosLatitude * cos(otherLatitudeRadians) * sinHalfLongitude * sinHalfLongitude
+            val angle = 2 * asin(min(1.0, sqrt(haversine)))
+            if (angle > outerAngle) continue
+            if (angle > innerAngle) {
+                inverse(reducedLatitude, longitude, latitudes[i], longitudes[i], result)
+                if (!(result[0] <= maxDistance)) continue
+            }
+            indices[found++] = i
+        }
+        return indices.copyOf(found)
+    }
+
+    private fun requireSize(size: Int, vararg arrays: DoubleArray?) {
+        for (array in arrays) {
+            require(array == null || array.size >= size) { "Expected arrays of at least $size elements" }
+        }
+    }
+
+    /**
+     * Returns the reduced latitude in radians of [latitude], the first step of [inverse].
+     */
+    internal fun reducedLatitude(latitude: Double): Double = atan((1 - FLATTENING) * tan(toRadians(latitude)))
+
+    /**
+     * Solves the inverse formula from the location at [reducedLatitude1] (see [reducedLatitude]) and [longitude1] to the
+     * location at [latitude2] and [longitude2], and stores the distance, initial bearing and final bearing in [result].
+     * This is the formula [GeoLocation.getGeodesicDistance] has always used, so the results are identical.
+     */
+    internal fun inverse(reducedLatitude1: Double, longitude1: Double, latitude2: Double, longitude2: Double, result: DoubleArray) {
+        val L = toRadians(longitude2 - longitude1)
+        val U1 = reducedLatitude1
+        val U2 = reducedLatitude(latitude2)
+        val sinU1 = sin(U1)
+        val cosU1 = cos(U1)
+        val sinU2 = sin(U2)
+        val cosU2 = cos(U2)
+        var lambda = L
+        var lambdaP = 2 * PI
+        var iterLimit = 20.0
+        var sinLambda = 0.0
+        var cosLambda = 0.0
+        var sinSigma = 0.0
+        var cosSigma = 0.0
+        var sigma = 0.0
+        var sinAlpha: Double
+        var cosSqAlpha = 0.0
+        var cos2SigmaM = 0.0
+        var C: Double
+        while (abs(lambda - lambdaP) > 1e-12 && --iterLimit > 0) {
+            sinLambda = sin(lambda)
+            cosLambda = cos(lambda)
+            sinSigma = sqrt(
+                cosU2 * sinLambda * (cosU2 * sinLambda)
+                        + (cosU1 * sinU2 - sinU1 * cosU2 * cosLambda) * (cosU1 * sinU2 - sinU1 * cosU2 * cosLambda)
+            )
+            if (sinSigma == 0.0) { // co-incident points
+                result.fill(0.0)
+                return
+            }
+            cosSigma = sinU1 * sinU2 + cosU1 * cosU2 * cosLambda
+            sigma = atan2(sinSigma, cosSigma)
+            sinAlpha = cosU1 * cosU2 * sinLambda / sinSigma
+            cosSqAlpha = 1 - sinAlpha * sinAlpha
+            cos2SigmaM = cosSigma - 2 * sinU1 * sinU2 / cosSqAlpha
+            if (cos2SigmaM.isNaN()) cos2SigmaM = 0.0 // equatorial line: cosSqAlpha=0 (§6)
+            C = FLATTENING / 16 * cosSqAlpha * (4 + FLATTENING * (4 - 3 * cosSqAlpha))
+            lambdaP = lambda
+            lambda = L + ((1 - C) * FLATTENING * sinAlpha
+                    * (sigma + C * sinSigma * (cos2SigmaM + C * cosSigma * (-1 + 2 * cos2SigmaM * cos2SigmaM))))
+        }
+        if (iterLimit == 0.0) { // formula failed to converge
+            result.fill(Double.NaN)
+            return
+        }
+        val uSq = cosSqAlpha * (SEMI_MAJOR_AXIS * SEMI_MAJOR_AXIS - SEMI_MINOR_AXIS * SEMI_MINOR_AXIS) / (SEMI_MINOR_AXIS * SEMI_MINOR_AXIS)
+        val A = 1 + uSq / 16384 * (4096 + uSq * (-768 + uSq * (320 - 175 * uSq)))
+        val B = uSq / 1024 * (256 + uSq * (-128 + uSq * (74 - 47 * uSq)))
+        val deltaSigma = (B
+                * sinSigma
+                * (cos2SigmaM + B
+                / 4
+                * (cosSigma * (-1 + 2 * cos2SigmaM * cos2SigmaM) - (B / 6 * cos2SigmaM
+                * (-3 + 4 * sinSigma * sinSigma) * (-3 + 4 * cos2SigmaM * cos2SigmaM)))))
+        result[0] = SEMI_MINOR_AXIS * A * (sigma - deltaSigma) // distance
+        result[1] = toDegrees(atan2(cosU2 * sinLambda, cosU1 * sinU2 - sinU1 * cosU2 * cosLambda)) // initial bearing
+        result[2] = toDegrees(atan2(cosU1 * sinLambda, -sinU1 * cosU2 + cosU1 * sinU2 * cosLambda)) // final bearing
+    }
+}
@@ -0,0 +1,156 @@
+package sternbach.software.kosherkotlin.util
+
+import kotlin.math.abs
+import kotlin.math.floor
+import kotlin.math.sqrt
+
+/**
+ * Provides the elevation of the ground at a coordinate, e.g. to fill [GeoLocation.elevation] for a [Location] without
+ * one.
+ */
+fun interface ElevationProvider {
+    /**
+     * Returns the elevation in meters at [latitude] and [longitude], or null if it is not known.
+     */
+    fun elevation(latitude: Double, longitude: Double): Double?
+}
+
+/**
+ * Random access to the big-endian samples of an [HgtTile], which may be in memory or memory-mapped.
+ */
+internal interface HgtSamples {
+    val byteSize: Int
+    operator fun get(index: Int): Short
+}
+
+internal class ByteArrayHgtSamples(private val bytes: ByteArray) : HgtSamples {
+    override val byteSize: Int get() = bytes.size
+
+    override fun get(index: Int): Short =
+        ((bytes[2 * index].toInt() shl 8) or (bytes[2 * index + 1].toInt() and 0xFF)).toShort()
+}
+
+/**
+ * A height tile in the format of the [SRTM](https://www2.jpl.nasa.gov/srtm/) `.hgt` files: a square grid of
+ * big-endian 16-bit elevations in meters covering one degree of latitude and longitude, whose rows run from north to
+ * south and columns from west to east. The edges of adjacent tiles overlap. SRTM tiles have 1201 (3 arc seconds) or
+ * 3601 (1 arc second) samples per side, but any size is read.
+ *
+ * @param latitude the latitude of the southern edge of the tile.
+ * @param longitude the longitude of the western edge of the tile.
+ */
+class HgtTile internal constructor(val latitude: Int, val longitude: Int, private val samples: HgtSamples) {
+    /**
+     * Reads the tile of [latitude] and [longitude] in [bytes].
+     *
+     * @throws IllegalArgumentException if [bytes] is not a square grid of samples.
+     */
+    constructor(latitude: Int, longitude: Int, bytes: ByteArray) : this(latitude, longitude, ByteArrayHgtSamples(bytes))
+
+    /**
+     * The number of samples per side.
+     */
+    val size: Int = sqrt(samples.byteSize / 2.0).toInt()
+
+    init {
+        require(size >= 2 && size * size * 2 == samples.byteSize) { "Not an hgt tile of ${samples.byteSize} bytes" }
+    }
+
+    /**
+     * Returns the sample at [row] (from the north) and [column] (from the west), or null if it is void.
+     */
+    fun sample(row: Int, column: Int): Int? = samples[row * size + column].toInt().takeUnless { it == VOID }
+
+    /**
+     * Returns the elevation at [latitude] and [longitude], [interpolated bilinearly](https://en.wikipedia.org/wiki/Bilinear_interpolation)
+     * between the 4 samples around it, or null if they are all void. Void samples are left out of the interpolation.
+     *
+     * @throws IllegalArgumentException if the coordinate is not in this tile.
+     */
+    fun elevation(latitude: Double, longitude: Double): Double? {
+        val y = (this.latitude + 1 - latitude) * (size - 1)
+        val x = (longitude - this.longitude) * (size - 1)
+        require(y >= 0 && y <= size - 1 && x >= 0 && x <= size - 1) { "($latitude, $longitude) is not in $this" }
+        val row = minOf(y.toInt(), size - 2)
+        val column = minOf(x.toInt(), size - 2)
+        val southWeight = y - row
+        val eastWeight = x - column
+        val index = row * size + column
+        val northWest = samples[index].toInt()
+        val northEast = samples[index + 1].toInt()
+        val southWest = samples[index + size].toInt()
+        val southEast = samples[index + size + 1].toInt()
+        val northWestWeight = (1 - southWeight) * (1 - eastWeight)
+        val northEastWeight = (1 - southWeight) * eastWeight
+        val southWestWeight = southWeight * (1 - eastWeight)
+        val southEastWeight = southWeight * eastWeight
+        if (northWest != VOID && northEast != VOID && southWest != VOID && southEast != VOID) {
+            return northWest * northWestWeight + northEast * northEastWeight + southWest * southWestWeight + southEast * southEastWeight
+        }
+        var sum = 0.0
+        var weights = 0.0
+        if (northWest != VOID) { sum += northWest * northWestWeight; weights += northWestWeight }
+        if (northEast != VOID) { sum += northEast * northEastWeight; weights += northEastWeight }
+        if (southWest != VOID) { sum += southWest * southWestWeight; weights += southWestWeight }
+        if (southEast != VOID) { sum += southEast * southEastWeight; weights += southEastWeight }
+        return if (weights > 0) sum / weights else null
+    }
+
+    override fun toString() = "HgtTile(${nameOf(latitude, longitude)}, size=$size)"
+
+    companion object {
+        /**
+         * The value of a sample without data.
+         */
+        const val VOID = -32768
+
+        /**
+         * Returns the name of the file of the tile whose south-west corner is at [latitude] and [longitude], such as
+         * `N40W075.hgt`.
+         */
+        fun nameOf(latitude: Int, longitude: Int): String = buildString {
+            append(if (latitude < 0) 'S' else 'N')
+            append(abs(latitude).toString().padStart(2, '0'))
+            append(if (longitude < 0) 'W' else 'E')
+            append(abs(longitude).toString().padStart(3, '0'))
+            append(".hgt")
+        }
+    }
+}
+
+/**
+ * An [ElevationProvider] reading [HgtTile]s, which keeps the [maxOpenTiles] most recently used tiles open.
+ *
+ * @param openTile opens the tile whose south-west corner is at the given latitude and longitude, or returns null if
+ * there is none (e.g. over the ocean, where SRTM has no tiles). Tiles which do not exist are remembered like open ones.
+ *
+ * This class is thread-safe.
+ */
+class HgtElevationProvider(
+    val maxOpenTiles: Int = 16,
+    private val openTile: (latitude: Int, longitude: Int) -> HgtTile?,
+) : ElevationProvider {
+    private class Slot(val tile: HgtTile?)
+
+    private val tiles = LruCache<Int, Slot>(maxOpenTiles)
+
+    /**
+     * The most recently used tile, read and written without the lock of [tiles] (see [DirectMappedCache] for why that is
+     * safe) because consecutive lookups are usually in the same tile. That tile may be of other coordinates, which are
+     * checked before it is used; a mismatch only falls back to [tiles].
+     */
+    private var lastTile: HgtTile? = null
+
+    override fun elevation(latitude: Double, longitude: Double): Double? {
+        val tileLatitude = floor(latitude).toInt().coerceAtMost(89)
+        val tileLongitude = floor(longitude).toInt().coerceAtMost(179)
+        val last = lastTile
+        val tile = if (last != null && last.latitude == tileLatitude && last.longitude == tileLongitude) last
+        else tiles.getOrPut((tileLatitude + 90) * 360 + tileLongitude + 180) { Slot(openTile(tileLatitude, tileLongitude)) }
+            .tile ?: return null
+        lastTile = tile
+        return tile.elevation(latitude, longitude)
+    }
+
+    companion object
+}
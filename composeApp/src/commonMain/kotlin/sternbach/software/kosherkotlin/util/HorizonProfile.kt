@@ -0,0 +1,329 @@
+package sternbach.software.kosherkotlin.util
+
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.coroutineScope
+import kotlinx.datetime.Instant
+import sternbach.software.kosherkotlin.util.AstronomicalCalculator.Companion.toDegrees
+import sternbach.software.kosherkotlin.util.AstronomicalCalculator.Companion.toRadians
+import sternbach.software.kosherkotlin.util.Geodesics.MEAN_EARTH_RADIUS
+import kotlin.math.abs
+import kotlin.math.asin
+import kotlin.math.atan
+import kotlin.math.atan2
+import kotlin.math.cos
+import kotlin.math.floor
+import kotlin.math.max
+import kotlin.math.sin
+import kotlin.math.tan
+import kotlin.time.Duration
+import kotlin.time.Duration.Companion.hours
+
+/**
+ * The angle of the horizon above (or below) the astronomical horizon of an observer, by azimuth, for the times of
+ * *netz hachama* and *shkiah* as they are actually seen (visible sunrise and sunset) instead of over a flat (*mishor*)
+ * horizon.
+ *
+ * Profiles are [computed][compute] by marching rays across the terrain of an [ElevationProvider] (such as
+ * [HgtElevationProvider]), taking the curvature of the earth and terrestrial refraction into account. Computing a
+ * profile reads hundreds of thousands of elevations, so profiles should be cached (see [HorizonProfiles]); computing
+ * the visible sunrise or sunset of a day from a profile takes microseconds.
+ *
+ * @param angles the angle in degrees of the horizon at each of [size] azimuths, evenly spaced clockwise from north.
+ */
+class HorizonProfile(angles: FloatArray) {
+    private val angles = angles.copyOf()
+
+    /**
+     * The lowest angle of the horizon, below which the sun is surely hidden.
+     */
+    private val lowestAngle: Double = angles.minOrNull()?.toDouble() ?: 0.0
+
+    init {
+        require(angles.isNotEmpty()) { "A horizon profile needs at least one azimuth" }
+    }
+
+    /**
+     * The number of azimuths.
+     */
+    val size: Int get() = angles.size
+
+    /**
+     * Returns the angle in degrees of the horizon at [azimuth] degrees clockwise from north, interpolated linearly
+     * between the azimuths of the profile.
+     */
+    fun angleAt(azimuth: Double): Double {
+        val position = azimuth / 360 * size
+        val index = floor(position).toInt()
+        val fraction = position - index
+        val lower = angles[index.mod(size)]
+        val upper = angles[(index + 1).mod(size)]
+        return lower + (upper - lower) * fraction
+    }
+
+    /**
+     * Returns the moment the upper limb of the sun first clears this horizon around [seaLevelSunrise], at [latitude] and
+     * [longitude], or null if it does not within 3 hours of [seaLevelSunrise], or is already visible an hour before it.
+     */
+    fun getVisibleSunrise(seaLevelSunrise: Instant, latitude: Double, longitude: Double): Instant? =
+        findVisibility(seaLevelSunrise - SEARCH_BEFORE, seaLevelSunrise + SEARCH_AFTER, latitude, longitude)
+
+    /**
+     * Returns the moment the upper limb of the sun last disappears behind this horizon around [seaLevelSunset], at
+     * [latitude] and [longitude], or null if it is not visible within 3 hours before [seaLevelSunset], or is still visible
+     * an hour after it.
+     */
+    fun getVisibleSunset(seaLevelSunset: Instant, latitude: Double, longitude: Double): Instant? =
+        findVisibility(seaLevelSunset + SEARCH_BEFORE, seaLevelSunset - SEARCH_AFTER, latitude, longitude)
+
+    /**
+     * Steps from [from] towards [to] until the sun is visible, and then bisects the last step. While the sun is below the
+     * lowest angle of this horizon, the steps skip ahead to the soonest it could reach it.
+     */
+    private fun findVisibility(from: Instant, to: Instant, latitude: Double, longitude: Double): Instant? {
+        val path = SunPath(from.toEpochMilliseconds().toDouble(), to.toEpochMilliseconds().toDouble(), latitude, longitude)
+        val direction = if (to > from) 1 else -1
+        var hidden = path.start
+        if (clearance(path, hidden) >= 0) return null
+        var visible: Double
+        while (true) {
+            val skip = max(SEARCH_STEP_MILLIS, (lowestAngle - path.upperLimb) / MAX_ELEVATION_RATE)
+            visible = hidden + direction * skip
+            if ((visible - path.end) * direction > 0) return null
+            if (clearance(path, visible) >= 0) break
+            hidden = visible
+        }
+        while (abs(visible - hidden) > 1) {
+            val middle = (visible + hidden) / 2
+            if (clearance(path, middle) >= 0) visible = middle else hidden = middle
+        }
+        return Instant.fromEpochMilliseconds(visible.toLong())
+    }
+
+    /**
+     * Returns how far in degrees the upper limb of the sun is above this horizon at [epochMillis], negative if it is
+     * hidden.
+     */
+    private fun clearance(path: SunPath, epochMillis: Double): Double {
+        path.position(epochMillis)
+        return path.upperLimb - angleAt(path.azimuth)
+    }
+
+    /**
+     * The position of the sun between [start] and [end], which are at most a few hours apart, so the declination of the
+     * sun and the equation of time are interpolated between their values at [start] and [end].
+     */
+    private class SunPath(val start: Double, val end: Double, private val latitude: Double, private val longitude: Double) {
+        private val startValues = DoubleArray(2).also { NOAACalculator.getSunDeclinationAndEquationOfTime(start, it) }
+        private val endValues = DoubleArray(2).also { NOAACalculator.getSunDeclinationAndEquationOfTime(end, it) }
+        private val elevationAndAzimuth = DoubleArray(2)
+        var azimuth = 0.0
+
+        /**
+         * The apparent elevation of the upper limb of the sun, raised by its semi-diameter and by refraction.
+         */
+        var upperLimb = 0.0
+
+        fun position(epochMillis: Double) {
+            val fraction = (epochMillis - start) / (end - start)
+            NOAACalculator.getSolarElevationAndAzimuth(
+                epochMillis,
+                latitude,
+                longitude,
+                startValues[0] + (endValues[0] - startValues[0]) * fraction,
+                startValues[1] + (endValues[1] - startValues[1]) * fraction,
+                elevationAndAzimuth
+            )
+            val elevation = elevationAndAzimuth[0]
+            azimuth = elevationAndAzimuth[1]
+            upperLimb = elevation + refraction(elevation) + SUN_SEMI_DIAMETER
+        }
+    }
+
+    companion object {
+        /**
+         * The default number of azimuths of a profile, every half a degree.
+         */
+        const val DEFAULT_AZIMUTHS = 720
+
+        /**
+         * The default distance in meters to which terrain is considered.
+         */
+        const val DEFAULT_MAX_DISTANCE = 60_000.0
+
+        /**
+         * The default height in meters of the eyes of an observer above the ground.
+         */
+        const val DEFAULT_EYE_HEIGHT = 1.6
+
+        /**
+         * The coefficient of terrestrial refraction, by which light bent by the atmosphere makes distant terrain appear
+         * higher, as if the radius of the earth were larger.
+         */
+        private const val REFRACTION_COEFFICIENT = 0.13
+
+        private const val EFFECTIVE_EARTH_RADIUS = MEAN_EARTH_RADIUS / (1 - REFRACTION_COEFFICIENT)
+
+        /**
+         * Higher than the highest terrain on earth, beyond which no terrain can raise the horizon any further.
+         */
+        private const val HIGHEST_TERRAIN = 9_000.0
+
+        /**
+         * The distance in meters between the first samples of a ray, about the spacing of 1 arc second tiles.
+         */
+        private const val MIN_STEP = 30.0
+
+        /**
+         * The fraction of the distance by which the samples of a ray are spaced farther away, where the horizon is
+         * less sensitive to them.
+         */
+        private const val STEP_GROWTH = 0.02
+
+        private const val SUN_SEMI_DIAMETER = 16.0 / 60
+
+        private const val DAY_MILLIS = 86_400_000.0
+        private val SEARCH_BEFORE: Duration = 1.hours
+        private val SEARCH_AFTER: Duration = 3.hours
+        private const val SEARCH_STEP_MILLIS = 30_000.0
+
+        /**
+         * More than the degrees per millisecond the sun rises or sets: a full turn a day, which refraction, decreasing as
+         * the sun rises, only slows down.
+         */
+        private const val MAX_ELEVATION_RATE = 361.0 / DAY_MILLIS
+
+        /**
+         * Returns the [atmospheric refraction](https://en.wikipedia.org/wiki/Atmospheric_refraction) in degrees of the
+         * sun at [elevation] degrees, by Sæmundsson's formula: 34 arc minutes at the horizon, less above it.
+         */
+        private fun refraction(elevation: Double): Double {
+            val altitude = max(elevation, -4.0)
+            return 1.02 / tan(toRadians(altitude + 10.3 / (altitude + 5.11))) / 60
+        }
+
+        /**
+         * Computes the profile of the horizon seen from [latitude] and [longitude] with the eyes at [observerElevation]
+         * meters above sea level, from the terrain of [elevationProvider] up to [maxDistance] meters away. The azimuths
+         * are computed in parallel on [Dispatchers.Default], so [elevationProvider] must be thread-safe.
+         */
+        suspend fun compute(
+            latitude: Double,
+            longitude: Double,
+            observerElevation: Double,
+            elevationProvider: ElevationProvider,
+            azimuths: Int = DEFAULT_AZIMUTHS,
+            maxDistance: Double = DEFAULT_MAX_DISTANCE,
+        ): HorizonProfile {
+            require(azimuths > 0) { "azimuths must be positive: $azimuths" }
+            val angles = FloatArray(azimuths)
+            val chunkSize = (azimuths + PARALLELISM - 1) / PARALLELISM
+            coroutineScope {
+                (0 until azimuths step chunkSize).map { start ->
+                    async(Dispatchers.Default) {
+                        for (index in start until minOf(start + chunkSize, azimuths)) {
+                            angles[index] = horizonAngle(
+                                latitude,
+                                longitude,
+                                observerElevation,
+                                elevationProvider,
+                                index * 360.0 / azimuths,
+                                maxDistance
+                            ).toFloat()
+                        }
+                    }
+                }.awaitAll()
+            }
+            return HorizonProfile(angles)
+        }
+
+        /**
+         * The number of parts the azimuths of a profile are split into to be computed in parallel.
+         */
+        private const val PARALLELISM = 16
+
+        /**
+         * Returns the highest angle in degrees at which terrain is seen at [azimuth], by marching along the great circle
+         * at [azimuth] from the observer. Where [elevationProvider] has no elevation (such as over the sea, which has no
+         * tiles) the terrain is at sea level, so a horizon without any known terrain is the dip of the sea horizon.
+         */
+        private fun horizonAngle(
+            latitude: Double,
+            longitude: Double,
+            observerElevation: Double,
+            elevationProvider: ElevationProvider,
+            azimuth: Double,
+            maxDistance: Double,
+        ): Double {
+            val latitudeRadians = toRadians(latitude)
+            val sinLatitude = sin(latitudeRadians)
+            val cosLatitude = cos(latitudeRadians)
+            val sinAzimuth = sin(toRadians(azimuth))
+            val cosAzimuth = cos(toRadians(azimuth))
+            //the slope of the highest line of sight, which starts below the astronomical horizon
+            var highestSlope = Double.NEGATIVE_INFINITY
+            var distance = MIN_STEP
+            while (distance <= maxDistance) {
+                val drop = distance * distance / (2 * EFFECTIVE_EARTH_RADIUS)
+                //no terrain this far can be seen above the highest line of sight
+                if ((HIGHEST_TERRAIN - observerElevation - drop) / distance < highestSlope) break
+                val angularDistance = distance / MEAN_EARTH_RADIUS
+                val sinAngularDistance = sin(angularDistance)
+                val cosAngularDistance = cos(angularDistance)
+                val sinPointLatitude = sinLatitude * cosAngularDistance + cosLatitude * sinAngularDistance * cosAzimuth
+                val pointLatitude = asin(sinPointLatitude)
+                val pointLongitude = toRadians(longitude) + atan2(
+                    sinAzimuth * sinAngularDistance * cosLatitude,
+                    cosAngularDistance - sinLatitude * sinPointLatitude
+                )
+                val elevation = elevationProvider.elevation(toDegrees(pointLatitude), normalizeLongitude(toDegrees(pointLongitude))) ?: 0.0
+                val slope = (elevation - observerElevation - drop) / distance
+                if (slope > highestSlope) highestSlope = slope
+                distance += max(MIN_STEP, distance * STEP_GROWTH)
+            }
+            return if (highestSlope == Double.NEGATIVE_INFINITY) 0.0 else toDegrees(atan(highestSlope))
+        }
+
+        private fun normalizeLongitude(longitude: Double): Double =
+            if (longitude > 180) longitude - 360 else if (longitude < -180) longitude + 360 else longitude
+    }
+}
+
+/**
+ * Computes and caches the [HorizonProfile]s of the [maxSize] most recently used locations, from the terrain of
+ * [elevationProvider].
+ *
+ * The observer is at the elevation of the [GeoLocation] or of the terrain under it, whichever is higher (so an
+ * elevation set for a roof is honored, and an unset elevation of 0 is not), plus [eyeHeight].
+ *
+ * This class is thread-safe.
+ */
+class HorizonProfiles(
+    private val elevationProvider: ElevationProvider,
+    val maxSize: Int = 64,
+    val eyeHeight: Double = HorizonProfile.DEFAULT_EYE_HEIGHT,
+    val azimuths: Int = HorizonProfile.DEFAULT_AZIMUTHS,
+    val maxDistance: Double = HorizonProfile.DEFAULT_MAX_DISTANCE,
+) {
+    private data class Key(val latitude: Double, val longitude: Double, val elevation: Double)
+
+    private val profiles = LruCache<Key, HorizonProfile>(maxSize)
+
+    /**
+     * Returns the profile of the horizon at [location], computing it if it is not cached.
+     */
+    suspend fun of(location: GeoLocation): HorizonProfile {
+        val key = Key(location.latitude, location.longitude, location.elevation)
+        profiles[key]?.let { return it }
+        val ground = elevationProvider.elevation(location.latitude, location.longitude) ?: 0.0
+        return HorizonProfile.compute(
+            location.latitude,
+            location.longitude,
+            max(location.elevation, ground) + eyeHeight,
+            elevationProvider,
+            azimuths,
+            maxDistance
+        ).also { profiles[key] = it }
+    }
+}
@@ -0,0 +1,20 @@
+package sternbach.software.kosherkotlin.util
+
+/**
+ * A mutual-exclusion lock which the thread holding it may acquire again. The Kotlin common standard library does not
+ * have one; on platforms without threads it does nothing.
+ */
+internal expect class ReentrantLock() {
+    fun lock()
+
+    fun unlock()
+}
+
+internal inline fun <T> ReentrantLock.withLock(block: () -> T): T {
+    lock()
+    try {
+        return block()
+    } finally {
+        unlock()
+    }
+}
@@ -0,0 +1,50 @@
+package sternbach.software.kosherkotlin.util
+
+/**
+ * A cache of at most [maxSize] entries which evicts the least recently used entry when it is full.
+ *
+ * This class is thread-safe. Values are computed outside the lock, so two threads missing the same key at the same
+ * time may both compute its value; values should therefore be immutable, and computing them free of side effects.
+ */
+internal class LruCache<K : Any, V : Any>(val maxSize: Int) {
+    init {
+        require(maxSize > 0) { "maxSize must be positive: $maxSize" }
+    }
+
+    private val lock = ReentrantLock()
+
+    /**
+     * The entries, from least to most recently used.
+     */
+    private val entries = LinkedHashMap<K, V>()
+
+    val size: Int get() = lock.withLock { entries.size }
+
+    /**
+     * Returns the value of [key] and marks it as the most recently used, or null if it is not cached.
+     */
+    operator fun get(key: K): V? = lock.withLock {
+        entries.remove(key)?.also { entries[key] = it }
+    }
+
+    /**
+     * Caches [value] as the most recently used entry of [key], evicting the least recently used entry if the cache is
+     * full.
+     */
+    operator fun set(key: K, value: V) {
+        lock.withLock {
+            entries.remove(key)
+            entries[key] = value
+            if (entries.size > maxSize) entries.remove(entries.keys.first())
+        }
+    }
+
+    /**
+     * Returns the value of [key], computing and caching it with [compute] if it is not cached.
+     */
+    inline fun getOrPut(key: K, compute: () -> V): V = get(key) ?: compute().also { set(key, it) }
+
+    fun clear() {
+        lock.withLock { entries.clear() }
+    }
+}
@@ -0,0 +1,63 @@
+package sternbach.software.kosherkotlin.util
+
+/**
+ * A binary min-heap ordered by [comparator], used to schedule time-ordered work (e.g. the next *zman* transition or
+ * reminder to fire). The Kotlin common standard library does not have a priority queue.
+ *
+ * This class is not thread-safe.
+ */
+internal class MinHeap<T>(private val comparator: Comparator<in T>) {
+    private val elements = ArrayList<T>()
+
+    val size: Int get() = elements.size
+
+    fun isEmpty() = elements.isEmpty()
+
+    fun isNotEmpty() = elements.isNotEmpty()
+
+    /**
+     * Returns the smallest element without removing it, or null if the heap is empty.
+     */
+    fun peek(): T? = elements.firstOrNull()
+
+    fun add(element: T) {
+        elements.add(element)
+        var child = elements.lastIndex
+        while (child > 0) {
+            val parent = (child - 1) / 2
+            if (comparator.compare(elements[child], elements[parent]) >= 0) break
+            swap(child, parent)
+            child = parent
+        }
+    }
+
+    /**
+     * Removes and returns the smallest element, or null if the heap is empty.
+     */
+    fun poll(): T? {
+        if (elements.isEmpty()) return null
+        val smallest = elements[0]
+        val last = elements.removeAt(elements.lastIndex)
+        if (elements.isNotEmpty()) {
+            elements[0] = last
+            var parent = 0
+            while (true) {
+                val left = 2 * parent + 1
+                if (left >= elements.size) break
+                val right = left + 1
+                val child =
+                    if (right < elements.size && comparator.compare(elements[right], elements[left]) < 0) right else left
+                if (comparator.compare(elements[parent], elements[child]) <= 0) break
+                swap(parent, child)
+                parent = child
+            }
+        }
+        return smallest
+    }
+
+    private fun swap(i: Int, j: Int) {
+        val temp = elements[i]
+        elements[i] = elements[j]
+        elements[j] = temp
+    }
+}
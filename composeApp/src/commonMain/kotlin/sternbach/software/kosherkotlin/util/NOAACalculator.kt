@@ -43,14 +43,19 @@ class NOAACalculator : AstronomicalCalculator() {
         geoLocation: GeoLocation,
         zenith: Double,
         adjustForElevation: Boolean
+    ): Double = getUTCSunrise(LocalDate, geoLocation.prepared, zenith, adjustForElevation)
+
+    override fun getUTCSunrise(
+        date: LocalDate,
+        location: PreparedLocation,
+        zenith: Double,
+        adjustForElevation: Boolean
     ): Double {
-        val elevation = if (adjustForElevation) geoLocation.elevation else 0.0
-        val adjustedZenith: Double = adjustZenith(zenith, elevation)
+        val adjustedZenith: Double = adjustZenith(zenith, location, adjustForElevation)
         var sunrise: Double = getSunriseUTC(
-            DateUtils.getJulianDay(LocalDate), geoLocation.latitude, -geoLocation.longitude,
+            DateUtils.getJulianDay(date), location, -location.longitude,
             adjustedZenith
         )
-//        println("kelevation: $elevation, adjustedZenith: $adjustedZenith, sunrise: $sunrise")
         sunrise /= 60
 
         // ensure that the time is >= 0 and < 24
@@ -67,11 +72,17 @@ class NOAACalculator : AstronomicalCalculator() {
         geoLocation: GeoLocation,
         zenith: Double,
         adjustForElevation: Boolean
+    ): Double = getUTCSunset(LocalDate, geoLocation.prepared, zenith, adjustForElevation)
+
+    override fun getUTCSunset(
+        date: LocalDate,
+        location: PreparedLocation,
+        zenith: Double,
+        adjustForElevation: Boolean
     ): Double {
-        val elevation: Double = if (adjustForElevation) geoLocation.elevation else 0.0
-        val adjustedZenith: Double = adjustZenith(zenith, elevation)
+        val adjustedZenith: Double = adjustZenith(zenith, location, adjustForElevation)
         var sunset: Double = getSunsetUTC(
-            DateUtils.getJulianDay(LocalDate), geoLocation.latitude, -geoLocation.longitude,
+            DateUtils.getJulianDay(date), location, -location.longitude,
             adjustedZenith
         )
         sunset /= 60
@@ -97,10 +108,12 @@ class NOAACalculator : AstronomicalCalculator() {
      * the longitude for calculating noon since it is the same time anywhere along the longitude line.
      * @return the time in minutes from zero UTC
      */
-    override fun getUTCNoon(date: LocalDate, geoLocation: GeoLocation): Double {
+    override fun getUTCNoon(date: LocalDate, geoLocation: GeoLocation): Double = getUTCNoon(date, geoLocation.prepared)
+
+    override fun getUTCNoon(date: LocalDate, location: PreparedLocation): Double {
         val julianDay: Double = DateUtils.getJulianDay(date)
         val julianCenturies: Double = getJulianCenturiesFromJulianDay(julianDay)
-        var noon: Double = getSolarNoonUTC(julianCenturies, -geoLocation.longitude)
+        var noon: Double = getSolarNoonUTC(julianCenturies, -location.longitude)
 //        println("getUTCNoon($date, ${geoLocation.locationName})")
 //        println("JulianDay: $julianDay julianCenturies: $julianCenturies noon: $noon")
         noon /= 60
@@ -123,6 +136,11 @@ class NOAACalculator : AstronomicalCalculator() {
          */
         private const val JULIAN_DAYS_PER_CENTURY: Double = 36525.0
 
+        /**
+         * The [Julian day](https://en.wikipedia.org/wiki/Julian_day) of the Unix epoch, January 1, 1970 at 00:00 UTC.
+         */
+        private const val JULIAN_DAY_EPOCH: Double = 2440587.5
+
         /**
          * Convert [Julian day](https://en.wikipedia.org/wiki/Julian_day) to centuries since [J2000.0](https://en.wikipedia.org/wiki/Epoch_(astronomy)#J2000).
          *
@@ -307,45 +325,36 @@ class NOAACalculator : AstronomicalCalculator() {
          * Return the [hour angle](https://en.wikipedia.org/wiki/Hour_angle) of the sun in
          * [radians](https://en.wikipedia.org/wiki/Radian) at sunrise for the latitude.
          *
-         * @param lat
-         * the latitude of observer in degrees
+         * @param location
+         * the location of the observer, whose [cosine][PreparedLocation.cosLatitude] and
+         * [tangent][PreparedLocation.tanLatitude] of the latitude are used
          * @param solarDec
          * the declination angle of sun in degrees
-         * @param zenith
-         * the zenith
+         * @param cosZenith
+         * the cosine of the zenith
          * @return hour angle of sunrise in [radians](https://en.wikipedia.org/wiki/Radian)
          */
-        private fun getSunHourAngleAtSunrise(lat: Double, solarDec: Double, zenith: Double): Double {
-            val latRad: Double = toRadians(lat)
+        private fun getSunHourAngleAtSunrise(location: PreparedLocation, solarDec: Double, cosZenith: Double): Double {
             val sdRad: Double = toRadians(solarDec)
             return acos(
-                cos(toRadians(zenith)) / (cos(latRad) * cos(sdRad)) - tan(latRad)
+                cosZenith / (location.cosLatitude * cos(sdRad)) - location.tanLatitude
                         * tan(sdRad)
             ) // in radians
         }
 
         /**
          * Returns the [hour angle](https://en.wikipedia.org/wiki/Hour_angle) of the sun in [radians](https://en.wikipedia.org/wiki/Radian)at sunset for the latitude.
-         * @todo use - [sunHourAngleAtSunrise] implementation to avoid
-         * duplication of code.
          *
-         * @param lat
-         * the latitude of observer in degrees
+         * @param location
+         * the location of the observer
          * @param solarDec
          * the declination angle of sun in degrees
-         * @param zenith
-         * the zenith
+         * @param cosZenith
+         * the cosine of the zenith
          * @return the hour angle of sunset in [radians](https://en.wikipedia.org/wiki/Radian)
          */
-        private fun getSunHourAngleAtSunset(lat: Double, solarDec: Double, zenith: Double): Double {
-            val latRad: Double = toRadians(lat)
-            val sdRad: Double = toRadians(solarDec)
-            val hourAngle: Double = acos(
-                cos(toRadians(zenith)) / (cos(latRad) * cos(sdRad))
-                                        - tan(latRad) * tan(sdRad)
-            )
-            return -hourAngle // in radians
-        }
+        private fun getSunHourAngleAtSunset(location: PreparedLocation, solarDec: Double, cosZenith: Double): Double =
+            -getSunHourAngleAtSunrise(location, solarDec, cosZenith) // in radians
 
         /**
          * Return the [Solar Elevation](https://en.wikipedia.org/wiki/Celestial_coordinate_system) for the
@@ -396,6 +405,67 @@ class NOAACalculator : AstronomicalCalculator() {
             ) + 180
         }
 
+        /**
+         * Stores the declination of the sun in degrees in `result[0]` and the equation of time in minutes of time in
+         * `result[1]` at [epochMillis] (milliseconds since the epoch in UTC), for positions of the sun at any time,
+         * such as those [HorizonProfile] follows along the horizon.
+         */
+        internal fun getSunDeclinationAndEquationOfTime(epochMillis: Double, result: DoubleArray) {
+            val julianCenturies: Double = getJulianCenturiesFromJulianDay(epochMillis / 86_400_000.0 + JULIAN_DAY_EPOCH)
+            result[0] = getSunDeclination(julianCenturies)
+            result[1] = getEquationOfTime(julianCenturies)
+        }
+
+        /**
+         * Stores the elevation of the sun in degrees in `result[0]` and its azimuth in degrees clockwise from north in
+         * `result[1]` at [epochMillis], [latitude] and [longitude], without refraction, for the sun's [declination] in
+         * degrees and [equationOfTime] in minutes at [epochMillis] (see [getSunDeclinationAndEquationOfTime]). Those
+         * change slowly, so a caller following the sun for a few hours may interpolate them.
+         */
+        internal fun getSolarElevationAndAzimuth(
+            epochMillis: Double,
+            latitude: Double,
+            longitude: Double,
+            declination: Double,
+            equationOfTime: Double,
+            result: DoubleArray,
+        ) {
+            val declinationRadians = toRadians(declination)
+            val latitudeRadians = toRadians(latitude)
+            val sinLatitude = sin(latitudeRadians)
+            val cosLatitude = cos(latitudeRadians)
+            val hourAngle = getHourAngle(epochMillis, longitude, equationOfTime)
+            val cosHourAngle = cos(hourAngle)
+            result[0] = toDegrees(asin(sinLatitude * sin(declinationRadians) + cosLatitude * cos(declinationRadians) * cosHourAngle))
+            result[1] = toDegrees(atan2(sin(hourAngle), cosHourAngle * sinLatitude - tan(declinationRadians) * cosLatitude)) + 180
+        }
+
+        /**
+         * Returns the hour angle of the sun in radians at [epochMillis] and [longitude], for the [equationOfTime] in
+         * minutes at [epochMillis].
+         */
+        private fun getHourAngle(epochMillis: Double, longitude: Double, equationOfTime: Double): Double {
+            val minutesOfDay = epochMillis.mod(86_400_000.0) / 60_000
+            return toRadians((minutesOfDay + equationOfTime + 4 * longitude) / 4 - 180)
+        }
+
+        /**
+         * Stores by how many minutes the moment the sun is at its position at [epochMillis] moves per degree of latitude
+         * north of [latitude] in `result[0]`, and the elevation of the sun in degrees at that moment in `result[1]`, at
+         * [longitude]. The rate is the derivative of the hour angle formula
+         * `cos(H) = (cos(z) - sin(lat) sin(dec)) / (cos(lat) cos(dec))` for the zenith z of the sun at that moment,
+         * `dH/dlat = (tan(dec) - tan(lat) cos(H)) / sin(H)`, which grows without bound near solar noon and midnight.
+         */
+        internal fun getLatitudeSensitivity(epochMillis: Double, latitude: Double, longitude: Double, result: DoubleArray) {
+            getSunDeclinationAndEquationOfTime(epochMillis, result)
+            val declination = toRadians(result[0])
+            val latitudeRadians = toRadians(latitude)
+            val hourAngle = getHourAngle(epochMillis, longitude, result[1])
+            val cosHourAngle = cos(hourAngle)
+            result[0] = 4 * (tan(declination) - tan(latitudeRadians) * cosHourAngle) / sin(hourAngle)
+            result[1] = toDegrees(asin(sin(latitudeRadians) * sin(declination) + cos(latitudeRadians) * cos(declination) * cosHourAngle))
+        }
+
         fun getHourAngleLatAndDec(cal: LocalDateTime, lat: Double, lon: Double): Triple<Double, Double, Double> {
             val julianDay: Double = DateUtils.getJulianDay(cal.date)
             val julianCenturies: Double = getJulianCenturiesFromJulianDay(julianDay)
@@ -416,16 +486,17 @@ class NOAACalculator : AstronomicalCalculator() {
          *
          * @param julianDay
          * the Julian day
-         * @param latitude
-         * the latitude of observer in degrees
+         * @param location
+         * the location of the observer
          * @param longitude
          * the longitude of observer in degrees
          * @param zenith
          * the zenith
          * @return the time in minutes from zero UTC
          */
-        private fun getSunriseUTC(julianDay: Double, latitude: Double, longitude: Double, zenith: Double): Double {
+        private fun getSunriseUTC(julianDay: Double, location: PreparedLocation, longitude: Double, zenith: Double): Double {
             val julianCenturies: Double = getJulianCenturiesFromJulianDay(julianDay)
+            val cosZenith: Double = cos(toRadians(zenith))
 
             // Find the time of solar noon at the location, and use that declination. This is better than start of the
             // Julian day
@@ -435,7 +506,7 @@ class NOAACalculator : AstronomicalCalculator() {
             // First pass to approximate sunrise (using solar noon)
             var eqTime: Double = getEquationOfTime(tnoon)
             var solarDec: Double = getSunDeclination(tnoon)
-            var hourAngle: Double = getSunHourAngleAtSunrise(latitude, solarDec, zenith)
+            var hourAngle: Double = getSunHourAngleAtSunrise(location, solarDec, cosZenith)
             var delta: Double = longitude - toDegrees(hourAngle)
             var timeDiff: Double = 4 * delta // in minutes of time
             var timeUTC: Double = 720 + timeDiff - eqTime // in minutes
@@ -447,7 +518,7 @@ class NOAACalculator : AstronomicalCalculator() {
             )
             eqTime = getEquationOfTime(newt)
             solarDec = getSunDeclination(newt)
-            hourAngle = getSunHourAngleAtSunrise(latitude, solarDec, zenith)
+            hourAngle = getSunHourAngleAtSunrise(location, solarDec, cosZenith)
             delta = longitude - toDegrees(hourAngle)
             timeDiff = 4 * delta
             timeUTC = 720 + timeDiff - eqTime // in minutes
@@ -491,16 +562,17 @@ class NOAACalculator : AstronomicalCalculator() {
          *
          * @param julianDay
          * the Julian day
-         * @param latitude
-         * the latitude of observer in degrees
+         * @param location
+         * the location of the observer
          * @param longitude
          * longitude of observer in degrees
          * @param zenith
          * zenith
          * @return the time in minutes from zero Universal Coordinated Time (UTC)
          */
-        private fun getSunsetUTC(julianDay: Double, latitude: Double, longitude: Double, zenith: Double): Double {
+        private fun getSunsetUTC(julianDay: Double, location: PreparedLocation, longitude: Double, zenith: Double): Double {
             val julianCenturies: Double = getJulianCenturiesFromJulianDay(julianDay)
+            val cosZenith: Double = cos(toRadians(zenith))
 
             // Find the time of solar noon at the location, and use that declination. This is better than start of the
             // Julian day
@@ -510,7 +582,7 @@ class NOAACalculator : AstronomicalCalculator() {
             // First calculates sunrise and approx length of day
             var eqTime: Double = getEquationOfTime(tnoon)
             var solarDec: Double = getSunDeclination(tnoon)
-            var hourAngle: Double = getSunHourAngleAtSunset(latitude, solarDec, zenith)
+            var hourAngle: Double = getSunHourAngleAtSunset(location, solarDec, cosZenith)
             var delta: Double = longitude - toDegrees(hourAngle)
             var timeDiff: Double = 4 * delta
             var timeUTC: Double = 720 + timeDiff - eqTime
@@ -522,7 +594,7 @@ class NOAACalculator : AstronomicalCalculator() {
             )
             eqTime = getEquationOfTime(newt)
             solarDec = getSunDeclination(newt)
-            hourAngle = getSunHourAngleAtSunset(latitude, solarDec, zenith)
+            hourAngle = getSunHourAngleAtSunset(location, solarDec, cosZenith)
             delta = longitude - toDegrees(hourAngle)
             timeDiff = 4 * delta
             timeUTC = 720 + timeDiff - eqTime // in minutes
@@ -0,0 +1,96 @@
+package sternbach.software.kosherkotlin.util
+
+import kotlinx.datetime.TimeZone
+import sternbach.software.kosherkotlin.util.AstronomicalCalculator.Companion.DEFAULT_EARTH_RADIUS
+import sternbach.software.kosherkotlin.util.AstronomicalCalculator.Companion.getElevationAdjustment
+import sternbach.software.kosherkotlin.util.AstronomicalCalculator.Companion.toRadians
+import sternbach.software.kosherkotlin.util.GeoLocation.Companion.HOUR_MILLIS
+import sternbach.software.kosherkotlin.util.GeoLocation.Companion.MINUTE_MILLIS
+import sternbach.software.kosherkotlin.util.GeoLocation.Companion.rawOffset
+import kotlin.math.cos
+import kotlin.math.tan
+
+/**
+ * An immutable location with the values which the calculations of every zman derive from a [GeoLocation] computed
+ * once: its [raw offset][rawOffset], [localMeanTimeOffset], [antimeridianAdjustment], the cosine and tangent of its
+ * latitude (which [NOAACalculator] uses for the hour angle of the sun twice per sunrise or sunset) and its
+ * [elevationAdjustment] (an `acos` which [AstronomicalCalculator.adjustZenith] would compute per sunrise or sunset).
+ *
+ * [GeoLocation.prepared] returns the prepared location of a [GeoLocation], which is prepared again after its latitude,
+ * longitude, elevation or time zone change. Every [AstronomicalCalculator] accepts a prepared location.
+ */
+class PreparedLocation(
+    val latitude: Double,
+    val longitude: Double,
+    val elevation: Double,
+    val timeZone: TimeZone,
+    /**
+     * The [name][GeoLocation.locationName] of the location, which only [toGeoLocation] uses. It is not compared by
+     * [isPreparedFrom], so it is the name of a [GeoLocation] when it was prepared.
+     */
+    val locationName: String = "",
+) {
+    constructor(geoLocation: GeoLocation) : this(
+        geoLocation.latitude,
+        geoLocation.longitude,
+        geoLocation.elevation,
+        geoLocation.timeZone,
+        geoLocation.locationName,
+    )
+
+    /**
+     * @see GeoLocation.rawOffset
+     */
+    val rawOffset: Int = timeZone.rawOffset
+
+    /**
+     * @see GeoLocation.localMeanTimeOffset
+     */
+    val localMeanTimeOffset: Long = (longitude * 4 * MINUTE_MILLIS - rawOffset).toLong()
+
+    /**
+     * @see GeoLocation.antimeridianAdjustment
+     */
+    val antimeridianAdjustment: Int = (localMeanTimeOffset / HOUR_MILLIS.toDouble()).let { localHoursOffset ->
+        if (localHoursOffset >= 20) 1 // a location using a timezone across the anti meridian to the east such as Samoa
+        else if (localHoursOffset <= -20) -1 // no current location is known that crosses the antimeridian to the west
+        else 0
+    }
+
+    val latitudeRadians: Double = toRadians(latitude)
+
+    val cosLatitude: Double = cos(latitudeRadians)
+
+    val tanLatitude: Double = tan(latitudeRadians)
+
+    /**
+     * The [elevation adjustment][AstronomicalCalculator.getElevationAdjustment] of [elevation] for the
+     * [default earth radius][DEFAULT_EARTH_RADIUS].
+     */
+    val elevationAdjustment: Double = getElevationAdjustment(elevation, DEFAULT_EARTH_RADIUS)
+
+    /**
+     * The [offsets][ZoneOffsets] of [timeZone], for converting between the instants and local date-times of the
+     * location.
+     */
+    internal val zoneOffsets: ZoneOffsets = ZoneOffsets.of(timeZone)
+
+    /**
+     * Returns whether this is the prepared location of the current values of [geoLocation] which the calculations use,
+     * which are all but its name.
+     */
+    internal fun isPreparedFrom(geoLocation: GeoLocation): Boolean =
+        latitude == geoLocation.latitude &&
+                longitude == geoLocation.longitude &&
+                elevation == geoLocation.elevation &&
+                timeZone === geoLocation.timeZone
+
+    /**
+     * Returns a new [GeoLocation] at this location, for [AstronomicalCalculator]s which only calculate at a
+     * [GeoLocation].
+     */
+    fun toGeoLocation(): GeoLocation = GeoLocation(locationName, latitude, longitude, elevation, timeZone)
+
+    override fun toString() =
+        "PreparedLocation(locationName=$locationName, latitude=$latitude, longitude=$longitude, elevation=$elevation, timeZone=$timeZone)"
+}
@@ -0,0 +1,758 @@
+package sternbach.software.kosherkotlin.util
+
+import kotlinx.datetime.Clock
+import kotlinx.datetime.FixedOffsetTimeZone
+import kotlinx.datetime.LocalDateTime
+import kotlinx.datetime.TimeZone
+import kotlinx.datetime.offsetAt
+import kotlinx.datetime.toInstant
+import kotlinx.datetime.toLocalDateTime
+
+/**
+ * Returns the [raw offset][RawOffsets] in milliseconds of the zone with [id] from the time zone rules of the platform, or
+ * null if the platform has no rules (or no zone with [id]).
+ */
+internal expect fun platformRawOffset(id: String): Int?
+
+/**
+ * Resolves the raw offset of a [TimeZone]: its offset from UTC in milliseconds without daylight saving time, as
+ * [java.util.TimeZone.getRawOffset] returns it. The offset is taken from, in order:
+ *
+ *  * the offset of a [FixedOffsetTimeZone],
+ *  * the time zone rules of the platform ([platformRawOffset]) on the JVM, Android and iOS (JavaScript has none),
+ *  * a table of the raw offsets of the zones of `java.util.TimeZone.getAvailableIDs()`, sorted by id so that it is
+ *  searched without hashing or building a map,
+ *  * the smaller of the offsets of the zone in January and July of this year, for zones the table does not have.
+ *
+ * Resolved offsets are cached by id, so a zone is resolved once.
+ */
+internal object RawOffsets {
+    private const val MINUTE_MILLIS = 60_000
+
+    private const val CACHE_SIZE = 256
+
+    private val cache = LruCache<String, Int>(CACHE_SIZE)
+
+    /**
+     * The ids of the table, sorted.
+     */
+    private val ids: Array<String> = arrayOf(
+        "ACT",
+        "AET",
+        "AGT",
+        "ART",
+        "AST",
+        "Africa/Abidjan",
+        "Africa/Accra",
+        "Africa/Addis_Ababa",
+        "Africa/Algiers",
+        "Africa/Asmara",
+        "Africa/Asmera",
+        "Africa/Bamako",
+        "Africa/Bangui",
+        "Africa/Banjul",
+        "Africa/Bissau",
+        "Africa/Blantyre",
+        "Africa/Brazzaville",
+        "Africa/Bujumbura",
+        "Africa/Cairo",
+        "Africa/Casablanca",
+        "Africa/Ceuta",
+        "Africa/Conakry",
+        "Africa/Dakar",
+        "Africa/Dar_es_Salaam",
+        "Africa/Djibouti",
+        "Africa/Douala",
+        "Africa/El_Aaiun",
+        "Africa/Freetown",
+        "Africa/Gaborone",
+        "Africa/Harare",
+        "Africa/Johannesburg",
+        "Africa/Juba",
+        "Africa/Kampala",
+        "Africa/Khartoum",
+        "Africa/Kigali",
+        "Africa/Kinshasa",
+        "Africa/Lagos",
+        "Africa/Libreville",
+        "Africa/Lome",
+        "Africa/Luanda",
+        "Africa/Lubumbashi",
+        "Africa/Lusaka",
+        "Africa/Malabo",
+        "Africa/Maputo",
+        "Africa/Maseru",
+        "Africa/Mbabane",
+        "Africa/Mogadishu",
+        "Africa/Monrovia",
+        "Africa/Nairobi",
+        "Africa/Ndjamena",
+        "Africa/Niamey",
+        "Africa/Nouakchott",
+        "Africa/Ouagadougou",
+        "Africa/Porto-Novo",
+        "Africa/Sao_Tome",
+        "Africa/Timbuktu",
+        "Africa/Tripoli",
+        "Africa/Tunis",
+        "Africa/Windhoek",
+        "America/Adak",
+        "America/Anchorage",
+        "America/Anguilla",
+        "America/Antigua",
+        "America/Araguaina",
+        "America/Argentina/Buenos_Aires",
+        "America/Argentina/Catamarca",
+        "America/Argentina/ComodRivadavia",
+        "America/Argentina/Cordoba",
+        "America/Argentina/Jujuy",
+        "America/Argentina/La_Rioja",
+        "America/Argentina/Mendoza",
+        "America/Argentina/Rio_Gallegos",
+        "America/Argentina/Salta",
+        "America/Argentina/San_Juan",
+        "America/Argentina/San_Luis",
+        "America/Argentina/Tucuman",
+        "America/Argentina/Ushuaia",
+        "America/Aruba",
+        "America/Asuncion",
+        "America/Atikokan",
+        "America/Atka",
+        "America/Bahia",
+        "America/Bahia_Banderas",
+        "America/Barbados",
+        "America/Belem",
+        "America/Belize",
+        "America/Blanc-Sablon",
+        "America/Boa_Vista",
+        "America/Bogota",
+        "America/Boise",
+        "America/Buenos_Aires",
+        "America/Cambridge_Bay",
+        "America/Campo_Grande",
+        "America/Cancun",
+        "America/Caracas",
+        "America/Catamarca",
+        "America/Cayenne",
+        "America/Cayman",
+        "America/Chicago",
+        "America/Chihuahua",
+        "America/Coral_Harbour",
+        "America/Cordoba",
+        "America/Costa_Rica",
+        "America/Creston",
+        "America/Cuiaba",
+        "America/Curacao",
+        "America/Danmarkshavn",
+        "America/Dawson",
+        "America/Dawson_Creek",
+        "America/Denver",
+        "America/Detroit",
+        "America/Dominica",
+        "America/Edmonton",
+        "America/Eirunepe",
+        "America/El_Salvador",
+        "America/Ensenada",
+        "America/Fort_Nelson",
+        "America/Fort_Wayne",
+        "America/Fortaleza",
+        "America/Glace_Bay",
+        "America/Godthab",
+        "America/Goose_Bay",
+        "America/Grand_Turk",
+        "America/Grenada",
+        "America/Guadeloupe",
+        "America/Guatemala",
+        "America/Guayaquil",
+        "America/Guyana",
+        "America/Halifax",
+        "America/Havana",
+        "America/Hermosillo",
+        "America/Indiana/Indianapolis",
+        "America/Indiana/Knox",
+        "America/Indiana/Marengo",
+        "America/Indiana/Petersburg",
+        "America/Indiana/Tell_City",
+        "America/Indiana/Vevay",
+        "America/Indiana/Vincennes",
+        "America/Indiana/Winamac",
+        "America/Indianapolis",
+        "America/Inuvik",
+        "America/Iqaluit",
+        "America/Jamaica",
+        "America/Jujuy",
+        "America/Juneau",
+        "America/Kentucky/Louisville",
+        "America/Kentucky/Monticello",
+        "America/Knox_IN",
+        "America/Kralendijk",
+        "America/La_Paz",
+        "America/Lima",
+        "America/Los_Angeles",
+        "America/Louisville",
+        "America/Lower_Princes",
+        "America/Maceio",
+        "America/Managua",
+        "America/Manaus",
+        "America/Marigot",
+        "America/Martinique",
+        "America/Matamoros",
+        "America/Mazatlan",
+        "America/Mendoza",
+        "America/Menominee",
+        "America/Merida",
+        "America/Metlakatla",
+        "America/Mexico_City",
+        "America/Miquelon",
+        "America/Moncton",
+        "America/Monterrey",
+        "America/Montevideo",
+        "America/Montreal",
+        "America/Montserrat",
+        "America/Nassau",
+        "America/New_York",
+        "America/Nipigon",
+        "America/Nome",
+        "America/Noronha",
+        "America/North_Dakota/Beulah",
+        "America/North_Dakota/Center",
+        "America/North_Dakota/New_Salem",
+        "America/Nuuk",
+        "America/Ojinaga",
+        "America/Panama",
+        "America/Pangnirtung",
+        "America/Paramaribo",
+        "America/Phoenix",
+        "America/Port-au-Prince",
+        "America/Port_of_Spain",
+        "America/Porto_Acre",
+        "America/Porto_Velho",
+        "America/Puerto_Rico",
+        "America/Punta_Arenas",
+        "America/Rainy_River",
+        "America/Rankin_Inlet",
+        "America/Recife",
+        "America/Regina",
+        "America/Resolute",
+        "America/Rio_Branco",
+        "America/Rosario",
+        "America/Santa_Isabel",
+        "America/Santarem",
+        "America/Santiago",
+        "America/Santo_Domingo",
+        "America/Sao_Paulo",
+        "America/Scoresbysund",
+        "America/Shiprock",
+        "America/Sitka",
+        "America/St_Barthelemy",
+        "America/St_Johns",
+        "America/St_Kitts",
+        "America/St_Lucia",
+        "America/St_Thomas",
+        "America/St_Vincent",
+        "America/Swift_Current",
+        "America/Tegucigalpa",
+        "America/Thule",
+        "America/Thunder_Bay",
+        "America/Tijuana",
+        "America/Toronto",
+        "America/Tortola",
+        "America/Vancouver",
+        "America/Virgin",
+        "America/Whitehorse",
+        "America/Winnipeg",
+        "America/Yakutat",
+        "America/Yellowknife",
+        "Antarctica/Casey",
+        "Antarctica/Davis",
+        "Antarctica/DumontDUrville",
+        "Antarctica/Macquarie",
+        "Antarctica/Mawson",
+        "Antarctica/McMurdo",
+        "Antarctica/Palmer",
+        "Antarctica/Rothera",
+        "Antarctica/South_Pole",
+        "Antarctica/Syowa",
+        "Antarctica/Troll",
+        "Antarctica/Vostok",
+        "Arctic/Longyearbyen",
+        "Asia/Aden",
+        "Asia/Almaty",
+        "Asia/Amman",
+        "Asia/Anadyr",
+        "Asia/Aqtau",
+        "Asia/Aqtobe",
+        "Asia/Ashgabat",
+        "Asia/Ashkhabad",
+        "Asia/Atyrau",
+        "Asia/Baghdad",
+        "Asia/Bahrain",
+        "Asia/Baku",
+        "Asia/Bangkok",
+        "Asia/Barnaul",
+        "Asia/Beirut",
+        "Asia/Bishkek",
+        "Asia/Brunei",
+        "Asia/Calcutta",
+        "Asia/Chita",
+        "Asia/Choibalsan",
+        "Asia/Chongqing",
+        "Asia/Chungking",
+        "Asia/Colombo",
+        "Asia/Dacca",
+        "Asia/Damascus",
+        "Asia/Dhaka",
+        "Asia/Dili",
+        "Asia/Dubai",
+        "Asia/Dushanbe",
+        "Asia/Famagusta",
+        "Asia/Gaza",
+        "Asia/Harbin",
+        "Asia/Hebron",
+        "Asia/Ho_Chi_Minh",
+        "Asia/Hong_Kong",
+        "Asia/Hovd",
+        "Asia/Irkutsk",
+        "Asia/Istanbul",
+        "Asia/Jakarta",
+        "Asia/Jayapura",
+        "Asia/Jerusalem",
+        "Asia/Kabul",
+        "Asia/Kamchatka",
+        "Asia/Karachi",
+        "Asia/Kashgar",
+        "Asia/Kathmandu",
+        "Asia/Katmandu",
+        "Asia/Khandyga",
+        "Asia/Kolkata",
+        "Asia/Krasnoyarsk",
+        "Asia/Kuala_Lumpur",
+        "Asia/Kuching",
+        "Asia/Kuwait",
+        "Asia/Macao",
+        "Asia/Macau",
+        "Asia/Magadan",
+        "Asia/Makassar",
+        "Asia/Manila",
+        "Asia/Muscat",
+        "Asia/Nicosia",
+        "Asia/Novokuznetsk",
+        "Asia/Novosibirsk",
+        "Asia/Omsk",
+        "Asia/Oral",
+        "Asia/Phnom_Penh",
+        "Asia/Pontianak",
+        "Asia/Pyongyang",
+        "Asia/Qatar",
+        "Asia/Qostanay",
+        "Asia/Qyzylorda",
+        "Asia/Rangoon",
+        "Asia/Riyadh",
+        "Asia/Saigon",
+        "Asia/Sakhalin",
+        "Asia/Samarkand",
+        "Asia/Seoul",
+        "Asia/Shanghai",
+        "Asia/Singapore",
+        "Asia/Srednekolymsk",
+        "Asia/Taipei",
+        "Asia/Tashkent",
+        "Asia/Tbilisi",
+        "Asia/Tehran",
+        "Asia/Tel_Aviv",
+        "Asia/Thimbu",
+        "Asia/Thimphu",
+        "Asia/Tokyo",
+        "Asia/Tomsk",
+        "Asia/Ujung_Pandang",
+        "Asia/Ulaanbaatar",
+        "Asia/Ulan_Bator",
+        "Asia/Urumqi",
+        "Asia/Ust-Nera",
+        "Asia/Vientiane",
+        "Asia/Vladivostok",
+        "Asia/Yakutsk",
+        "Asia/Yangon",
+        "Asia/Yekaterinburg",
+        "Asia/Yerevan",
+        "Atlantic/Azores",
+        "Atlantic/Bermuda",
+        "Atlantic/Canary",
+        "Atlantic/Cape_Verde",
+        "Atlantic/Faeroe",
+        "Atlantic/Faroe",
+        "Atlantic/Jan_Mayen",
+        "Atlantic/Madeira",
+        "Atlantic/Reykjavik",
+        "Atlantic/South_Georgia",
+        "Atlantic/St_Helena",
+        "Atlantic/Stanley",
+        "Australia/ACT",
+        "Australia/Adelaide",
+        "Australia/Brisbane",
+        "Australia/Broken_Hill",
+        "Australia/Canberra",
+        "Australia/Currie",
+        "Australia/Darwin",
+        "Australia/Eucla",
+        "Australia/Hobart",
+        "Australia/LHI",
+        "Australia/Lindeman",
+        "Australia/Lord_Howe",
+        "Australia/Melbourne",
+        "Australia/NSW",
+        "Australia/North",
+        "Australia/Perth",
+        "Australia/Queensland",
+        "Australia/South",
+        "Australia/Sydney",
+        "Australia/Tasmania",
+        "Australia/Victoria",
+        "Australia/West",
+        "Australia/Yancowinna",
+        "BET",
+        "BST",
+        "Brazil/Acre",
+        "Brazil/DeNoronha",
+        "Brazil/East",
+        "Brazil/West",
+        "CAT",
+        "CET",
+        "CNT",
+        "CST",
+        "CST6CDT",
+        "CTT",
+        "Canada/Atlantic",
+        "Canada/Central",
+        "Canada/Eastern",
+        "Canada/Mountain",
+        "Canada/Newfoundland",
+        "Canada/Pacific",
+        "Canada/Saskatchewan",
+        "Canada/Yukon",
+        "Chile/Continental",
+        "Chile/EasterIsland",
+        "Cuba",
+        "EAT",
+        "ECT",
+        "EET",
+        "EST",
+        "EST5EDT",
+        "Egypt",
+        "Eire",
+        "Etc/GMT",
+        "Etc/GMT+0",
+        "Etc/GMT+1",
+        "Etc/GMT+10",
+        "Etc/GMT+11",
+        "Etc/GMT+12",
+        "Etc/GMT+2",
+        "Etc/GMT+3",
+        "Etc/GMT+4",
+        "Etc/GMT+5",
+        "Etc/GMT+6",
+        "Etc/GMT+7",
+        "Etc/GMT+8",
+        "Etc/GMT+9",
+        "Etc/GMT-0",
+        "Etc/GMT-1",
+        "Etc/GMT-10",
+        "Etc/GMT-11",
+        "Etc/GMT-12",
+        "Etc/GMT-13",
+        "Etc/GMT-14",
+        "Etc/GMT-2",
+        "Etc/GMT-3",
+        "Etc/GMT-4",
+        "Etc/GMT-5",
+        "Etc/GMT-6",
+        "Etc/GMT-7",
+        "Etc/GMT-8",
+        "Etc/GMT-9",
+        "Etc/GMT0",
+        "Etc/Greenwich",
+        "Etc/UCT",
+        "Etc/UTC",
+        "Etc/Universal",
+        "Etc/Zulu",
+        "Europe/Amsterdam",
+        "Europe/Andorra",
+        "Europe/Astrakhan",
+        "Europe/Athens",
+        "Europe/Belfast",
+        "Europe/Belgrade",
+        "Europe/Berlin",
+        "Europe/Bratislava",
+        "Europe/Brussels",
+        "Europe/Bucharest",
+        "Europe/Budapest",
+        "Europe/Busingen",
+        "Europe/Chisinau",
+        "Europe/Copenhagen",
+        "Europe/Dublin",
+        "Europe/Gibraltar",
+        "Europe/Guernsey",
+        "Europe/Helsinki",
+        "Europe/Isle_of_Man",
+        "Europe/Istanbul",
+        "Europe/Jersey",
+        "Europe/Kaliningrad",
+        "Europe/Kiev",
+        "Europe/Kirov",
+        "Europe/Lisbon",
+        "Europe/Ljubljana",
+        "Europe/London",
+        "Europe/Luxembourg",
+        "Europe/Madrid",
+        "Europe/Malta",
+        "Europe/Mariehamn",
+        "Europe/Minsk",
+        "Europe/Monaco",
+        "Europe/Moscow",
+        "Europe/Nicosia",
+        "Europe/Oslo",
+        "Europe/Paris",
+        "Europe/Podgorica",
+        "Europe/Prague",
+        "Europe/Riga",
+        "Europe/Rome",
+        "Europe/Samara",
+        "Europe/San_Marino",
+        "Europe/Sarajevo",
+        "Europe/Saratov",
+        "Europe/Simferopol",
+        "Europe/Skopje",
+        "Europe/Sofia",
+        "Europe/Stockholm",
+        "Europe/Tallinn",
+        "Europe/Tirane",
+        "Europe/Tiraspol",
+        "Europe/Ulyanovsk",
+        "Europe/Uzhgorod",
+        "Europe/Vaduz",
+        "Europe/Vatican",
+        "Europe/Vienna",
+        "Europe/Vilnius",
+        "Europe/Volgograd",
+        "Europe/Warsaw",
+        "Europe/Zagreb",
+        "Europe/Zaporozhye",
+        "Europe/Zurich",
+        "GB",
+        "GB-Eire",
+        "GMT",
+        "GMT0",
+        "Greenwich",
+        "HST",
+        "Hongkong",
+        "IET",
+        "IST",
+        "Iceland",
+        "Indian/Antananarivo",
+        "Indian/Chagos",
+        "Indian/Christmas",
+        "Indian/Cocos",
+        "Indian/Comoro",
+        "Indian/Kerguelen",
+        "Indian/Mahe",
+        "Indian/Maldives",
+        "Indian/Mauritius",
+        "Indian/Mayotte",
+        "Indian/Reunion",
+        "Iran",
+        "Israel",
+        "JST",
+        "Jamaica",
+        "Japan",
+        "Kwajalein",
+        "Libya",
+        "MET",
+        "MIT",
+        "MST",
+        "MST7MDT",
+        "Mexico/BajaNorte",
+        "Mexico/BajaSur",
+        "Mexico/General",
+        "NET",
+        "NST",
+        "NZ",
+        "NZ-CHAT",
+        "Navajo",
+        "PLT",
+        "PNT",
+        "PRC",
+        "PRT",
+        "PST",
+        "PST8PDT",
+        "Pacific/Apia",
+        "Pacific/Auckland",
+        "Pacific/Bougainville",
+        "Pacific/Chatham",
+        "Pacific/Chuuk",
+        "Pacific/Easter",
+        "Pacific/Efate",
+        "Pacific/Enderbury",
+        "Pacific/Fakaofo",
+        "Pacific/Fiji",
+        "Pacific/Funafuti",
+        "Pacific/Galapagos",
+        "Pacific/Gambier",
+        "Pacific/Guadalcanal",
+        "Pacific/Guam",
+        "Pacific/Honolulu",
+        "Pacific/Johnston",
+        "Pacific/Kiritimati",
+        "Pacific/Kosrae",
+        "Pacific/Kwajalein",
+        "Pacific/Majuro",
+        "Pacific/Marquesas",
+        "Pacific/Midway",
+        "Pacific/Nauru",
+        "Pacific/Niue",
+        "Pacific/Norfolk",
+        "Pacific/Noumea",
+        "Pacific/Pago_Pago",
+        "Pacific/Palau",
+        "Pacific/Pitcairn",
+        "Pacific/Pohnpei",
+        "Pacific/Ponape",
+        "Pacific/Port_Moresby",
+        "Pacific/Rarotonga",
+        "Pacific/Saipan",
+        "Pacific/Samoa",
+        "Pacific/Tahiti",
+        "Pacific/Tarawa",
+        "Pacific/Tongatapu",
+        "Pacific/Truk",
+        "Pacific/Wake",
+        "Pacific/Wallis",
+        "Pacific/Yap",
+        "Poland",
+        "Portugal",
+        "ROK",
+        "SST",
+        "Singapore",
+        "SystemV/AST4",
+        "SystemV/AST4ADT",
+        "SystemV/CST6",
+        "SystemV/CST6CDT",
+        "SystemV/EST5",
+        "SystemV/EST5EDT",
+        "SystemV/HST10",
+        "SystemV/MST7",
+        "SystemV/MST7MDT",
+        "SystemV/PST8",
+        "SystemV/PST8PDT",
+        "SystemV/YST9",
+        "SystemV/YST9YDT",
+        "Turkey",
+        "UCT",
+        "US/Alaska",
+        "US/Aleutian",
+        "US/Arizona",
+        "US/Central",
+        "US/East-Indiana",
+        "US/Eastern",
+        "US/Hawaii",
+        "US/Indiana-Starke",
+        "US/Michigan",
+        "US/Mountain",
+        "US/Pacific",
+        "US/Samoa",
+        "UTC",
+        "Universal",
+        "VST",
+        "W-SU",
+        "WET",
+        "Z",
+        "Zulu",
+    )
+
+    /**
+     * The raw offset in minutes of the zone of each id, by the index of the id in [ids].
+     */
+    private val offsetMinutes: ShortArray = shortArrayOf(
+        /*   0 */ 570, 600, -180, 120, -540, 0, 0, 180, 60, 180, 180, 0, 60, 0, 0, 120,
+        /*  16 */ 60, 120, 120, 0, 60, 0, 0, 180, 180, 60, 0, 0, 120, 120, 120, 120,
+        /*  32 */ 180, 120, 120, 60, 60, 60, 0, 60, 120, 120, 60, 120, 120, 120, 180, 0,
+        /*  48 */ 180, 60, 60, 0, 0, 60, 0, 0, 120, 60, 60, -600, -540, -240, -240, -180,
+        /*  64 */ -180, -180, -180, -180, -180, -180, -180, -180, -180, -180, -180, -180, -180, -240, -240, -300,
+        /*  80 */ -600, -180, -360, -240, -180, -360, -240, -240, -300, -420, -180, -420, -240, -300, -240, -180,
+        /*  96 */ -180, -300, -360, -420, -300, -180, -360, -420, -240, -240, 0, -420, -420, -420, -300, -240,
+        /* 112 */ -420, -300, -360, -480, -420, -300, -180, -240, -180, -240, -300, -240, -240, -360, -300, -240,
+        /* 128 */ -240, -300, -420, -300, -360, -300, -300, -360, -300, -300, -300, -300, -420, -300, -300, -180,
+        /* 144 */ -540, -300, -300, -360, -240, -240, -300, -480, -300, -240, -180, -360, -240, -240, -240, -360,
+        /* 160 */ -420, -180, -360, -360, -540, -360, -180, -240, -360, -180, -300, -240, -300, -300, -300, -540,
+        /* 176 */ -120, -360, -360, -360, -180, -420, -300, -300, -180, -420, -300, -240, -300, -240, -240, -180,
+        /* 192 */ -360, -360, -180, -360, -360, -300, -180, -480, -180, -240, -240, -180, -60, -420, -540, -240,
+        /* 208 */ -210, -240, -240, -240, -240, -360, -360, -240, -300, -480, -300, -240, -480, -240, -420, -360,
+        /* 224 */ -540, -420, 660, 420, 600, 600, 300, 720, -180, -180, 720, 180, 0, 360, 60, 180,
+        /* 240 */ 360, 120, 720, 300, 300, 300, 300, 300, 180, 180, 240, 420, 420, 120, 360, 480,
+        /* 256 */ 330, 540, 480, 480, 480, 330, 360, 120, 360, 540, 240, 300, 120, 120, 480, 120,
+        /* 272 */ 420, 480, 420, 480, 180, 420, 540, 120, 270, 720, 300, 360, 345, 345, 540, 330,
+        /* 288 */ 420, 480, 480, 180, 480, 480, 660, 480, 480, 240, 120, 420, 420, 360, 300, 420,
+        /* 304 */ 420, 540, 180, 360, 300, 390, 180, 420, 660, 300, 540, 480, 480, 660, 480, 300,
+        /* 320 */ 240, 210, 120, 360, 360, 540, 420, 480, 480, 480, 360, 600, 420, 600, 540, 390,
+        /* 336 */ 300, 240, -60, -240, 0, -60, 0, 0, 60, 0, 0, -120, 0, -180, 600, 570,
+        /* 352 */ 600, 570, 600, 600, 570, 525, 600, 630, 600, 630, 600, 600, 570, 480, 600, 570,
+        /* 368 */ 600, 600, 600, 480, 570, -180, 360, -300, -120, -180, -240, 120, 60, -210, -360, -360,
+        /* 384 */ 480, -240, -360, -300, -420, -210, -480, -360, -420, -240, -360, -300, 180, 60, 120, -300,
+        /* 400 */ -300, 120, 0, 0, 0, -60, -600, -660, -720, -120, -180, -240, -300, -360, -420, -480,
+        /* 416 */ -540, 0, 60, 600, 660, 720, 780, 840, 120, 180, 240, 300, 360, 420, 480, 540,
+        /* 432 */ 0, 0, 0, 0, 0, 0, 60, 60, 240, 120, 0, 60, 60, 60, 60, 120,
+        /* 448 */ 60, 60, 120, 60, 0, 60, 0, 120, 0, 180, 0, 120, 120, 180, 0, 60,
+        /* 464 */ 0, 60, 60, 60, 120, 180, 60, 180, 120, 60, 60, 60, 60, 120, 60, 240,
+        /* 480 */ 60, 60, 240, 180, 60, 120, 60, 120, 60, 120, 240, 120, 60, 60, 60, 120,
+        /* 496 */ 180, 60, 60, 120, 60, 0, 0, 0, 0, 0, -600, 480, -300, 330, 0, 180,
+        /* 512 */ 360, 420, 390, 180, 300, 240, 300, 240, 180, 240, 210, 120, 540, -300, 540, 720,
+        /* 528 */ 120, 60, 780, -420, -420, -480, -420, -360, 240, 720, 720, 765, -420, 300, -420, 480,
+        /* 544 */ -240, -480, -480, 780, 720, 660, 765, 600, -360, 660, 780, 780, 720, 720, -360, -540,
+        /* 560 */ 660, 600, -600, -600, 840, 660, 720, 720, -570, -660, 720, -660, 660, 660, -660, 540,
+        /* 576 */ -480, 660, 660, 600, -600, 600, -660, -600, 720, 780, 600, 720, 720, 600, 60, 0,
+        /* 592 */ 540, 660, 480, -240, -240, -360, -360, -300, -300, -600, -420, -420, -480, -480, -540, -540,
+        /* 608 */ 180, 0, -540, -600, -420, -360, -300, -300, -600, -360, -300, -420, -480, -660, 0, 0,
+        /* 624 */ 420, 180, 0, 0, 0,
+    )
+
+    fun of(timeZone: TimeZone): Int {
+        if (timeZone is FixedOffsetTimeZone) return timeZone.offset.totalSeconds * 1000
+        val id = timeZone.id
+        return cache.getOrPut(id) {
+            platformRawOffset(id) ?: tableOffset(id) ?: standardOffset(timeZone)
+        }
+    }
+
+    /**
+     * Returns the raw offset of the zone with [id] in the table, or null if the table does not have it.
+     */
+    fun tableOffset(id: String): Int? {
+        var low = 0
+        var high = ids.size - 1
+        while (low <= high) {
+            val mid = (low + high) ushr 1
+            val comparison = ids[mid].compareTo(id)
+            when {
+                comparison < 0 -> low = mid + 1
+                comparison > 0 -> high = mid - 1
+                else -> return offsetMinutes[mid] * MINUTE_MILLIS
+            }
+        }
+        return null
+    }
+
+    /**
+     * Returns the table as a map of id to raw offset.
+     */
+    fun toMap(): Map<String, Int> = ids.indices.associate { ids[it] to offsetMinutes[it] * MINUTE_MILLIS }
+
+    /**
+     * Approximates the raw offset of [timeZone] by the smaller of its offsets in January and July of this year, one of
+     * which is outside of daylight saving time in either hemisphere.
+     */
+    private fun standardOffset(timeZone: TimeZone): Int {
+        val year = Clock.System.now().toLocalDateTime(TimeZone.UTC).year
+        val january = LocalDateTime(year, 1, 15, 0, 0).toInstant(TimeZone.UTC)
+        val july = LocalDateTime(year, 7, 15, 0, 0).toInstant(TimeZone.UTC)
+        return minOf(timeZone.offsetAt(january).totalSeconds, timeZone.offsetAt(july).totalSeconds) * 1000
+    }
+}
@@ -55,13 +55,14 @@ class SunTimesCalculator : AstronomicalCalculator() {
         geoLocation: GeoLocation,
         zenith: Double,
         adjustForElevation: Boolean
-    ): Double {
-        val doubleTime: Double
-        val elevation: Double = if (adjustForElevation) geoLocation.elevation else 0.0
-        val adjustedZenith: Double = adjustZenith(zenith, elevation)
-        doubleTime = getTimeUTC(LocalDate, geoLocation, adjustedZenith, true)
-        return doubleTime
-    }
+    ): Double = getUTCSunrise(LocalDate, geoLocation.prepared, zenith, adjustForElevation)
+
+    override fun getUTCSunrise(
+        date: LocalDate,
+        location: PreparedLocation,
+        zenith: Double,
+        adjustForElevation: Boolean
+    ): Double = getTimeUTC(date, location, adjustZenith(zenith, location, adjustForElevation), true)
 
     /**
      * @see com.kosherjava.zmanim.util.AstronomicalCalculator.getUTCSunset
@@ -71,13 +72,14 @@ class SunTimesCalculator : AstronomicalCalculator() {
         geoLocation: GeoLocation,
         zenith: Double,
         adjustForElevation: Boolean
-    ): Double {
-        var doubleTime: Double = Double.NaN
-        val elevation: Double = if (adjustForElevation) geoLocation.elevation else 0.0
-        val adjustedZenith: Double = adjustZenith(zenith, elevation)
-        doubleTime = getTimeUTC(LocalDate, geoLocation, adjustedZenith, false)
-        return doubleTime
-    }
+    ): Double = getUTCSunset(LocalDate, geoLocation.prepared, zenith, adjustForElevation)
+
+    override fun getUTCSunset(
+        date: LocalDate,
+        location: PreparedLocation,
+        zenith: Double,
+        adjustForElevation: Boolean
+    ): Double = getTimeUTC(date, location, adjustZenith(zenith, location, adjustForElevation), false)
 
     /**
      * Return the [Universal Coordinated Time](https://en.wikipedia.org/wiki/Universal_Coordinated_Time) (UTC)
@@ -95,9 +97,11 @@ class SunTimesCalculator : AstronomicalCalculator() {
      * The location information used for astronomical calculating sun times.
      * @return the time in minutes from zero UTC
      */
-    override fun getUTCNoon(date: LocalDate, geoLocation: GeoLocation): Double {
-        val sunrise: Double = getUTCSunrise(date, geoLocation, 90.0, true)
-        val sunset: Double = getUTCSunset(date, geoLocation, 90.0, true)
+    override fun getUTCNoon(date: LocalDate, geoLocation: GeoLocation): Double = getUTCNoon(date, geoLocation.prepared)
+
+    override fun getUTCNoon(date: LocalDate, location: PreparedLocation): Double {
+        val sunrise: Double = getUTCSunrise(date, location, 90.0, true)
+        val sunset: Double = getUTCSunset(date, location, 90.0, true)
         return (sunrise + ((sunset - sunrise) / 2))
     }
 
@@ -262,7 +266,7 @@ class SunTimesCalculator : AstronomicalCalculator() {
          * @param LocalDate
          * the LocalDate object to extract the day of year for calculation
          * @param geoLocation
-         * the GeoLocation object that contains the latitude and longitude
+         * the location that contains the latitude and longitude
          * @param zenith
          * Sun's zenith, in degrees
          * @param isSunrise
@@ -273,7 +277,7 @@ class SunTimesCalculator : AstronomicalCalculator() {
          */
         private fun getTimeUTC(
             LocalDate: LocalDate,
-            geoLocation: GeoLocation,
+            geoLocation: PreparedLocation,
             zenith: Double,
             isSunrise: Boolean
         ): Double {
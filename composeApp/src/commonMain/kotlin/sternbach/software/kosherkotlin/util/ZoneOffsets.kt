@@ -0,0 +1,141 @@
+package sternbach.software.kosherkotlin.util
+
+import kotlinx.datetime.DatePeriod
+import kotlinx.datetime.DateTimeUnit
+import kotlinx.datetime.Instant
+import kotlinx.datetime.LocalDate
+import kotlinx.datetime.LocalDateTime
+import kotlinx.datetime.TimeZone
+import kotlinx.datetime.offsetAt
+import kotlinx.datetime.plus
+import kotlinx.datetime.toInstant
+import kotlinx.datetime.toLocalDateTime
+
+/**
+ * Converts between instants and the local date-times of [timeZone] with its offset from UTC cached per day, so that the
+ * rules of the zone are resolved once per day rather than on every conversion, as kotlinx-datetime does (which is
+ * slowest on JS and native, where the rules are searched for each conversion).
+ *
+ * The offset of a UTC day is only cached if it is the same at the start of the day before it, the day itself and the
+ * 2 days after it, so that every conversion within the day is at least a day from a transition of the zone, and cannot
+ * fall in a gap or an overlap of local time. Conversions on other days (about 8 days a year in zones with daylight
+ * saving time) are resolved by kotlinx-datetime, so the results are always those of kotlinx-datetime. Two transitions
+ * within a day of each other which cancel out would not be noticed; no zone has any.
+ *
+ * Days are cached in a [DirectMappedCache] of [SIZE] days, so the offset of a day is read without a lock, and may be
+ * resolved more than once by threads converting at once. Zones are cached by id by [of], which takes the lock of an
+ * [LruCache], so callers converting many times should hold the instance rather than look it up for each conversion.
+ */
+internal class ZoneOffsets private constructor(val timeZone: TimeZone) {
+    private val days = DirectMappedCache<Int>(SIZE)
+
+    /**
+     * Returns the offset in seconds of [instant].
+     */
+    fun offsetSecondsAt(instant: Instant): Int {
+        val offset = offsetOfDay(instant.epochSeconds.floorDiv(DAY_SECONDS))
+        return if (offset != UNKNOWN) offset else timeZone.offsetAt(instant).totalSeconds
+    }
+
+    /**
+     * @see Instant.toLocalDateTime
+     */
+    fun toLocalDateTime(instant: Instant): LocalDateTime {
+        val offset = offsetOfDay(instant.epochSeconds.floorDiv(DAY_SECONDS))
+        if (offset == UNKNOWN) return instant.toLocalDateTime(timeZone)
+        val seconds = instant.epochSeconds + offset
+        val day = seconds.floorDiv(DAY_SECONDS)
+        val secondOfDay = (seconds - day * DAY_SECONDS).toInt()
+        //the civil date of the day since the epoch, in years starting in March, so that February ends the year
+        val shifted = day + 719_468
+        val era = shifted.floorDiv(146_097)
+        val dayOfEra = (shifted - era * 146_097).toInt()
+        val yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365
+        val dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100)
+        val shiftedMonth = (5 * dayOfYear + 2) / 153
+        val month = if (shiftedMonth < 10) shiftedMonth + 3 else shiftedMonth - 9
+        return LocalDateTime(
+            (era * 400 + yearOfEra).toInt() + if (month <= 2) 1 else 0,
+            month,
+            dayOfYear - (153 * shiftedMonth + 2) / 5 + 1,
+            secondOfDay / 3600,
+            secondOfDay / 60 % 60,
+            secondOfDay % 60,
+            instant.nanosecondsOfSecond,
+        )
+    }
+
+    /**
+     * @see LocalDateTime.toInstant
+     */
+    fun toInstant(dateTime: LocalDateTime): Instant {
+        val seconds = epochDayOf(dateTime.year, dateTime.monthNumber, dateTime.dayOfMonth) * DAY_SECONDS +
+                dateTime.hour * 3600 + dateTime.minute * 60 + dateTime.second
+        //the instant is within a day of the local date-time, so in a day with the same offset
+        val offset = offsetOfDay(seconds.floorDiv(DAY_SECONDS))
+        return if (offset == UNKNOWN) dateTime.toInstant(timeZone)
+        else Instant.fromEpochSeconds(seconds - offset, dateTime.nanosecond)
+    }
+
+    /**
+     * Returns [dateTime] moved by [days] in this zone, as `dateTime.toInstant(timeZone).plus(DatePeriod(days = days),
+     * timeZone).toLocalDateTime(timeZone)` does, which is the same local time on the other date if neither is near a
+     * transition.
+     */
+    fun plusDays(dateTime: LocalDateTime, days: Int): LocalDateTime {
+        val date = dateTime.date.plus(days, DateTimeUnit.DAY)
+        return if (offsetOfDay(dateTime.date.toEpochDays().toLong()) != UNKNOWN && offsetOfDay(date.toEpochDays().toLong()) != UNKNOWN)
+            LocalDateTime(date, dateTime.time)
+        else dateTime.toInstant(timeZone).plus(DatePeriod(days = days), timeZone).toLocalDateTime(timeZone)
+    }
+
+    /**
+     * Returns the offset in seconds of the UTC [day] since the epoch, or [UNKNOWN] if it is near a transition.
+     */
+    private fun offsetOfDay(day: Long): Int = days.getOrPut(day) { resolve(day) }
+
+    private fun resolve(day: Long): Int {
+        val start = day * DAY_SECONDS
+        val offset = offsetAt(start - DAY_SECONDS)
+        return if (offsetAt(start) == offset && offsetAt(start + DAY_SECONDS) == offset && offsetAt(start + 2 * DAY_SECONDS) == offset) offset
+        else UNKNOWN
+    }
+
+    /**
+     * Returns the day since the epoch of a civil date, without the [LocalDate] which [LocalDate.toEpochDays] would need.
+     */
+    private fun epochDayOf(year: Int, month: Int, dayOfMonth: Int): Long {
+        //in years starting in March, as in toLocalDateTime
+        val shiftedYear = (if (month <= 2) year - 1 else year).toLong()
+        val era = shiftedYear.floorDiv(400)
+        val yearOfEra = (shiftedYear - era * 400).toInt()
+        val dayOfYear = (153 * (if (month > 2) month - 3 else month + 9) + 2) / 5 + dayOfMonth - 1
+        val dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear
+        return era * 146_097 + dayOfEra - 719_468
+    }
+
+    private fun offsetAt(epochSeconds: Long): Int = timeZone.offsetAt(Instant.fromEpochSeconds(epochSeconds)).totalSeconds
+
+    companion object {
+        /**
+         * The number of days cached per zone.
+         */
+        const val SIZE = 64
+
+        private const val CACHE_SIZE = 64
+
+        private const val DAY_SECONDS = 86_400L
+
+        /**
+         * The offset of a day which is near a transition, which is no offset of any zone.
+         */
+        private const val UNKNOWN = Int.MIN_VALUE
+
+        private val cache = LruCache<String, ZoneOffsets>(CACHE_SIZE)
+
+        /**
+         * Returns the offsets of [timeZone], which are shared by every zone with its id.
+         */
+        fun of(timeZone: TimeZone): ZoneOffsets = cache.getOrPut(timeZone.id) { ZoneOffsets(timeZone) }
+    }
+}
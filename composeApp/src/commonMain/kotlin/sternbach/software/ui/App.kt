@@ -30,12 +30,14 @@ import androidx.compose.ui.text.style.TextAlign
 import androidx.compose.ui.unit.dp
 import sternbach.software.kosherkotlin.ComplexZmanimCalendar
 import sternbach.software.kosherkotlin.ZmanDescriptionFormatter
+import sternbach.software.kosherkotlin.ZmanimTimeline
 import sternbach.software.kosherkotlin.theme.AppTheme
 import sternbach.software.kosherkotlin.theme.LocalThemeIsDark
 
 @Composable
 internal fun App() = AppTheme {
     val calc = remember { ComplexZmanimCalendar() }
+    val zmanim = remember(calc) { ZmanimTimeline.of(calc).run { zmanimWithoutOccurrence + toList() } }
     val fmt = remember { ZmanDescriptionFormatter() }
     Column(modifier = Modifier.fillMaxSize().windowInsetsPadding(WindowInsets.safeDrawing)) {
         Row(
@@ -59,7 +61,7 @@ internal fun App() = AppTheme {
             Modifier.fillMaxWidth(),
             verticalArrangement = Arrangement.spacedBy(16.dp)
         ) {
-            items(calc.allZmanim.sortedBy { it.momentOfOccurrence }) {
+            items(zmanim) {
                 ElevatedCard(Modifier.fillMaxWidth(), elevation = CardDefaults.cardElevation(8.dp)) {
                     Text(text = it.definition.type.friendlyNameHebrew, modifier = Modifier.fillParentMaxWidth(), textAlign = TextAlign.Center)
                     Text(text = fmt.formatShortDescription(it, true), modifier = Modifier.fillParentMaxWidth(), textAlign = TextAlign.Center)
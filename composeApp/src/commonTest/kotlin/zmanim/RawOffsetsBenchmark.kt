@@ -0,0 +1,44 @@
+package zmanim
+
+import kotlinx.datetime.TimeZone
+import sternbach.software.kosherkotlin.util.RawOffsets
+import kotlin.test.Ignore
+import kotlin.test.Test
+import kotlin.time.TimeSource
+
+/**
+ * Measures the startup cost of [RawOffsets] on every target, which matters most on JS (which always uses the table) and
+ * native: the first lookup, which initializes the table, against building the map of ids to offsets that
+ * `GeoLocation` used to build on first use, and then the cost of a lookup in each.
+ *
+ * Its timings depend on the machine, so it is ignored by default; run it manually on each target, on its own so that the
+ * first lookup is the one which initializes [RawOffsets].
+ */
+@Ignore
+class RawOffsetsBenchmark {
+    private val ids = listOf("America/New_York", "Asia/Jerusalem", "Europe/London", "Australia/Lord_Howe", "Etc/GMT+5")
+
+    @Test
+    fun startup() {
+        var mark = TimeSource.Monotonic.markNow()
+        val first = RawOffsets.tableOffset("Asia/Jerusalem")
+        println("first table lookup, initializing the table: ${mark.elapsedNow()} ($first)")
+        mark = TimeSource.Monotonic.markNow()
+        val map = RawOffsets.toMap()
+        println("building the map: ${mark.elapsedNow()} (${map.size})")
+
+        var sink = 0
+        val times = 100_000
+        mark = TimeSource.Monotonic.markNow()
+        repeat(times) { sink += RawOffsets.tableOffset(ids[it % ids.size])!! }
+        println("table lookup: ${mark.elapsedNow() / times} ($sink)")
+        mark = TimeSource.Monotonic.markNow()
+        repeat(times) { sink += map[ids[it % ids.size]]!! }
+        println("map lookup: ${mark.elapsedNow() / times} ($sink)")
+        //the zones are resolved once, and then cached by id
+        val zones = ids.map { TimeZone.of(it) }
+        mark = TimeSource.Monotonic.markNow()
+        repeat(times) { sink += RawOffsets.of(zones[it % zones.size]) }
+        println("cached lookup: ${mark.elapsedNow() / times} ($sink)")
+    }
+}
@@ -0,0 +1,61 @@
+package zmanim
+
+import kotlinx.datetime.Instant
+import kotlinx.datetime.LocalDate
+import kotlinx.datetime.TimeZone
+import kotlinx.datetime.toInstant
+import kotlinx.datetime.toLocalDateTime
+import sternbach.software.kosherkotlin.ComplexZmanimCalendar
+import sternbach.software.kosherkotlin.util.GeoLocation
+import sternbach.software.kosherkotlin.util.ZoneOffsets
+import kotlin.test.Ignore
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.time.Duration.Companion.minutes
+import kotlin.time.TimeSource
+
+/**
+ * Compares conversions with [ZoneOffsets] to kotlinx-datetime on every target, since resolving zone rules is slowest on
+ * JS and native.
+ *
+ * Its timings depend on the machine, so it is ignored by default; run it manually on each target.
+ */
+@Ignore
+class ZoneOffsetsBenchmark {
+    private val timeZone = TimeZone.of("America/New_York")
+
+    /**
+     * Runs [block] [times] times after warming up, and prints how long each took on average.
+     */
+    private inline fun measure(name: String, times: Int, block: () -> Int): Int {
+        var sink = 0
+        repeat(times) { sink += block() }
+        val mark = TimeSource.Monotonic.markNow()
+        repeat(times) { sink += block() }
+        println("$name: ${mark.elapsedNow() / times} ($sink)")
+        return sink
+    }
+
+    @Test
+    fun conversions() {
+        //every 7 minutes for 5 days, away from a transition
+        val instants = List(1000) { Instant.parse("2023-06-10T00:00:00Z") + (it * 7).minutes }
+        val offsets = ZoneOffsets.of(timeZone)
+        val expected = measure("toLocalDateTime", 100) { instants.sumOf { it.toLocalDateTime(timeZone).minute } }
+        val actual = measure("ZoneOffsets.toLocalDateTime", 100) { instants.sumOf { offsets.toLocalDateTime(it).minute } }
+        assertEquals(expected, actual)
+        val dateTimes = instants.map { it.toLocalDateTime(timeZone) }
+        measure("toInstant", 100) { dateTimes.sumOf { it.toInstant(timeZone).nanosecondsOfSecond } }
+        measure("ZoneOffsets.toInstant", 100) { dateTimes.sumOf { offsets.toInstant(it).nanosecondsOfSecond } }
+    }
+
+    @Test
+    fun calendar() {
+        //the molad based zmanim convert local midnights, and every zman is converted to a local time to be shown
+        val geoLocation = GeoLocation("Lakewood", 40.0828, -74.2094, timeZone)
+        val calendars = List(30) { ComplexZmanimCalendar(geoLocation, LocalDate.fromEpochDays(LocalDate(2023, 3, 1).toEpochDays() + it)) }
+        measure("a month of zmanim, formatted", 5) {
+            calendars.sumOf { calendar -> calendar.allZmanim.sumOf { it.formatted(timeZone).length } }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package sternbach.software.kosherkotlin.util
+
+internal actual class ReentrantLock actual constructor() {
+    private val lock = java.util.concurrent.locks.ReentrantLock()
+
+    actual fun lock() = lock.lock()
+
+    actual fun unlock() = lock.unlock()
+}
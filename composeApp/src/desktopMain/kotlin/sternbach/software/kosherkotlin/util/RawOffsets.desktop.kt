@@ -0,0 +1,7 @@
+package sternbach.software.kosherkotlin.util
+
+/**
+ * [java.util.TimeZone.getTimeZone] returns GMT for ids it does not know, so those return null.
+ */
+internal actual fun platformRawOffset(id: String): Int? =
+    java.util.TimeZone.getTimeZone(id).takeIf { it.id == id }?.rawOffset
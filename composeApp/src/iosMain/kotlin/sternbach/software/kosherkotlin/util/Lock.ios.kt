@@ -0,0 +1,11 @@
+package sternbach.software.kosherkotlin.util
+
+import platform.Foundation.NSRecursiveLock
+
+internal actual class ReentrantLock actual constructor() {
+    private val lock = NSRecursiveLock()
+
+    actual fun lock() = lock.lock()
+
+    actual fun unlock() = lock.unlock()
+}
@@ -0,0 +1,13 @@
+package sternbach.software.kosherkotlin.util
+
+import platform.Foundation.NSDate
+import platform.Foundation.NSTimeZone
+import platform.Foundation.daylightSavingTimeOffsetForDate
+import platform.Foundation.secondsFromGMTForDate
+import platform.Foundation.timeZoneWithName
+
+internal actual fun platformRawOffset(id: String): Int? {
+    val zone = NSTimeZone.timeZoneWithName(id) ?: return null
+    val now = NSDate()
+    return ((zone.secondsFromGMTForDate(now) - zone.daylightSavingTimeOffsetForDate(now)) * 1000).toInt()
+}
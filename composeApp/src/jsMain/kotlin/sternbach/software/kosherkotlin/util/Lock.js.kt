@@ -0,0 +1,10 @@
+package sternbach.software.kosherkotlin.util
+
+/**
+ * JavaScript is single-threaded, so there is nothing to lock.
+ */
+internal actual class ReentrantLock actual constructor() {
+    actual fun lock() {}
+
+    actual fun unlock() {}
+}
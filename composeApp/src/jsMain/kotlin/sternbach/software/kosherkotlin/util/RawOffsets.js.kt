@@ -0,0 +1,10 @@
+package sternbach.software.kosherkotlin.util
+
+/**
+ * Always null. JavaScript has no standard offset of a zone: `Intl.DateTimeFormat` only formats the offset at an
+ * instant, which includes daylight saving time, and the rules kotlinx-datetime loads on JS are not public. So
+ * [RawOffsets] looks the id up in its table: a binary search of about 10 string comparisons, once per zone, since the
+ * result is cached. The table's two arrays are built when [RawOffsets] is first used, rather than when the app starts,
+ * and replace the map of the same ids which was built on the first lookup before; that cost has not been measured.
+ */
+internal actual fun platformRawOffset(id: String): Int? = null
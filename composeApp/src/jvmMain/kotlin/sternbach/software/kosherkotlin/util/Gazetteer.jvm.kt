@@ -0,0 +1,33 @@
+package sternbach.software.kosherkotlin.util
+
+import java.io.File
+import java.io.RandomAccessFile
+import java.nio.ByteBuffer
+import java.nio.channels.FileChannel
+
+/**
+ * Reads the gazetteer in [file] by memory-mapping it, so only the pages a query touches are read.
+ *
+ * @throws IllegalArgumentException if [file] is not a gazetteer.
+ */
+fun Gazetteer.Companion.map(file: File): Gazetteer =
+    RandomAccessFile(file, "r").use { input ->
+        Gazetteer(MappedGazetteerBuffer(input.channel.map(FileChannel.MapMode.READ_ONLY, 0, input.length())))
+    }
+
+/**
+ * Uses the absolute methods of [buffer] (big-endian by default), which do not change its position, so it can be read
+ * by several threads.
+ */
+private class MappedGazetteerBuffer(private val buffer: ByteBuffer) : GazetteerBuffer {
+    override val size: Int get() = buffer.limit()
+
+    override fun getShort(offset: Int): Short = buffer.getShort(offset)
+
+    override fun getInt(offset: Int): Int = buffer.getInt(offset)
+
+    override fun getFloat(offset: Int): Float = buffer.getFloat(offset)
+
+    override fun getString(offset: Int, length: Int): String =
+        ByteArray(length).also { for (i in it.indices) it[i] = buffer.get(offset + i) }.decodeToString()
+}
@@ -0,0 +1,38 @@
+package sternbach.software.kosherkotlin.util
+
+import java.io.File
+import java.io.RandomAccessFile
+import java.nio.ByteBuffer
+import java.nio.channels.FileChannel
+
+/**
+ * Reads the tile of [latitude] and [longitude] in [file] by memory-mapping it, so only the pages of the samples which
+ * are looked up are read.
+ *
+ * @throws IllegalArgumentException if [file] is not an hgt tile.
+ */
+fun HgtTile.Companion.map(file: File, latitude: Int, longitude: Int): HgtTile =
+    RandomAccessFile(file, "r").use { input ->
+        HgtTile(latitude, longitude, MappedHgtSamples(input.channel.map(FileChannel.MapMode.READ_ONLY, 0, input.length())))
+    }
+
+/**
+ * Returns a provider of the elevations of the tiles in [directory], named as [HgtTile.nameOf] (e.g. `N40W075.hgt`),
+ * which are memory-mapped when they are first needed.
+ */
+fun HgtElevationProvider.Companion.map(directory: File, maxOpenTiles: Int = 16): HgtElevationProvider =
+    HgtElevationProvider(maxOpenTiles) { latitude, longitude ->
+        File(directory, HgtTile.nameOf(latitude, longitude))
+            .takeIf { it.isFile }
+            ?.let { HgtTile.map(it, latitude, longitude) }
+    }
+
+/**
+ * Uses the absolute methods of [buffer] (big-endian by default), which do not change its position, so it can be read
+ * by several threads.
+ */
+private class MappedHgtSamples(private val buffer: ByteBuffer) : HgtSamples {
+    override val byteSize: Int get() = buffer.limit()
+
+    override fun get(index: Int): Short = buffer.getShort(2 * index)
+}
@@ -0,0 +1,130 @@
+package hebrewcalendar
+
+import kotlinx.datetime.DateTimeUnit
+import org.junit.Assert
+import org.junit.Ignore
+import org.junit.Test
+import sternbach.software.kosherkotlin.hebrewcalendar.HebrewDateFormatter
+import sternbach.software.kosherkotlin.hebrewcalendar.HebrewLocalDate
+import sternbach.software.kosherkotlin.hebrewcalendar.HebrewMonth
+import sternbach.software.kosherkotlin.hebrewcalendar.JewishCalendar
+import java.util.Calendar
+
+class HebrewDateFormatterTest {
+    private val transliteratedDaysOfWeek = listOf("SUNDAY", "MONDAY", "TUESDAY", "WEDNESDAY", "THURSDAY", "FRIDAY")
+
+    @Test
+    fun formatHebrewNumberMatchesJava() {
+        for (settings in 0 until 8) {
+            val kotlin = HebrewDateFormatter().apply {
+                isUseGershGershayim = settings and 4 != 0
+                isUseFinalFormLetters = settings and 2 != 0
+                isUseLongHebrewYears = settings and 1 != 0
+            }
+            val java = com.kosherjava.zmanim.hebrewcalendar.HebrewDateFormatter().apply {
+                setUseGershGershayim(kotlin.isUseGershGershayim)
+                setUseFinalFormLetters(kotlin.isUseFinalFormLetters)
+                setUseLongHebrewYears(kotlin.isUseLongHebrewYears)
+            }
+            //twice, so the second pass reads the cached strings
+            repeat(2) {
+                for (number in 0..9999) {
+                    val expected = java.formatHebrewNumber(number)
+                    Assert.assertEquals("$number, settings=$settings", expected, kotlin.formatHebrewNumber(number))
+                    Assert.assertEquals(expected, kotlin.formatHebrewNumberTo(StringBuilder(), number).toString())
+                }
+            }
+        }
+        Assert.assertEquals("תשפ״ז", HebrewDateFormatter().formatHebrewNumber(5787))
+        Assert.assertThrows(IllegalArgumentException::class.java) { HebrewDateFormatter().formatHebrewNumber(10_000) }
+        Assert.assertThrows(IllegalArgumentException::class.java) { HebrewDateFormatter().formatHebrewNumber(-1) }
+    }
+
+    @Ignore("Benchmark, run manually")
+    @Test
+    fun formatHebrewNumberBenchmark() {
+        val kotlin = HebrewDateFormatter()
+        val java = com.kosherjava.zmanim.hebrewcalendar.HebrewDateFormatter()
+        val builder = StringBuilder()
+        repeat(50) { for (number in 1..9999) kotlin.formatHebrewNumberTo(builder.clear(), number) }
+        var start = System.nanoTime()
+        repeat(200) { for (number in 1..9999) kotlin.formatHebrewNumberTo(builder.clear(), number) }
+        val kotlinNanos = (System.nanoTime() - start) / (200 * 9999)
+        repeat(50) { for (number in 1..9999) java.formatHebrewNumber(number) }
+        start = System.nanoTime()
+        repeat(200) { for (number in 1..9999) java.formatHebrewNumber(number) }
+        val javaNanos = (System.nanoTime() - start) / (200 * 9999)
+        println("formatHebrewNumberTo: $kotlinNanos ns per number; Java HebrewDateFormatter.formatHebrewNumber: $javaNanos ns")
+    }
+
+    @Test
+    fun formatMatchesJava() {
+        for (isHebrewFormat in listOf(false, true)) {
+            val kotlinFormatter = HebrewDateFormatter().also { it.isHebrewFormat = isHebrewFormat }
+            val javaFormatter = com.kosherjava.zmanim.hebrewcalendar.HebrewDateFormatter().also { it.isHebrewFormat = isHebrewFormat }
+            val kotlin = JewishCalendar(HebrewLocalDate(5780, HebrewMonth.TISHREI, 1), false)
+            val java = com.kosherjava.zmanim.hebrewcalendar.JewishCalendar(5780, HebrewMonth.TISHREI.value, 1)
+            val builder = StringBuilder()
+            while (java.jewishYear < 5800) {
+                val message = "${kotlin.hebrewLocalDate}, isHebrewFormat=$isHebrewFormat"
+                fun check(expected: String?, actual: String?, appended: StringBuilder.() -> Unit) {
+                    Assert.assertEquals(message, expected, actual)
+                    builder.clear().appended()
+                    Assert.assertEquals(message, actual.orEmpty(), builder.toString())
+                }
+                check(javaFormatter.format(java), kotlinFormatter.format(kotlin)) { kotlinFormatter.formatTo(this, kotlin) }
+                check(javaFormatter.formatMonth(java), kotlinFormatter.formatMonth(kotlin)) { kotlinFormatter.formatMonthTo(this, kotlin) }
+                check(javaFormatter.formatYomTov(java), kotlinFormatter.formatYomTov(kotlin)) { kotlinFormatter.formatYomTovTo(this, kotlin) }
+                check(javaFormatter.formatRoshChodesh(java), kotlinFormatter.formatRoshChodesh(kotlin)) { kotlinFormatter.formatRoshChodeshTo(this, kotlin) }
+                check(javaFormatter.formatOmer(java), kotlinFormatter.formatOmer(kotlin)) { kotlinFormatter.formatOmerTo(this, kotlin) }
+                check(javaFormatter.formatParsha(java), kotlinFormatter.formatParsha(kotlin)) { kotlinFormatter.formatParshaTo(this, kotlin) }
+                val daf = kotlin.dafYomiBavli!!
+                check(
+                    //some transliterated masechtos are spelled differently than in KosherJava, e.g. Ta'anis
+                    if (isHebrewFormat) javaFormatter.formatDafYomiBavli(java.dafYomiBavli) else "${daf.masechtaTransliterated} ${daf.daf}",
+                    kotlinFormatter.formatDafYomiBavli(daf)
+                ) { kotlinFormatter.formatDafYomiBavliTo(this, daf) }
+                Assert.assertEquals(javaFormatter.formatSpecialParsha(java), kotlinFormatter.formatSpecialParsha(kotlin))
+                for (isLongWeekFormat in listOf(false, true)) {
+                    kotlinFormatter.isLongWeekFormat = isLongWeekFormat
+                    javaFormatter.isLongWeekFormat = isLongWeekFormat
+                    //KosherJava formats transliterated weekdays with SimpleDateFormat, e.g. Monday rather than MONDAY
+                    val expected = if (isHebrewFormat || java.dayOfWeek == 7) javaFormatter.formatDayOfWeek(java)
+                    else transliteratedDaysOfWeek[java.dayOfWeek - 1].let { if (isLongWeekFormat) it else it.take(3) }
+                    check(expected, kotlinFormatter.formatDayOfWeek(kotlin)) { kotlinFormatter.formatDayOfWeekTo(this, kotlin) }
+                }
+                java.forward(Calendar.DATE, 1)
+                kotlin.forward(DateTimeUnit.DAY, 1)
+            }
+        }
+    }
+
+    @Ignore("Benchmark, run manually")
+    @Test
+    fun formatBenchmark() {
+        //every date of a 100 year calendar
+        val calendar = JewishCalendar(HebrewLocalDate(5750, HebrewMonth.TISHREI, 1))
+        val dates = ArrayList<HebrewLocalDate>()
+        while (calendar.hebrewLocalDate.year < 5850) {
+            dates.add(calendar.hebrewLocalDate)
+            calendar.forward(DateTimeUnit.DAY, 1)
+        }
+        val formatter = HebrewDateFormatter().also { it.isHebrewFormat = true }
+        val builder = StringBuilder()
+        repeat(5) { builder.clear(); dates.forEach { formatter.formatTo(builder, it).append('\n') } }
+        var start = System.nanoTime()
+        repeat(10) { builder.clear(); dates.forEach { formatter.formatTo(builder, it).append('\n') } }
+        val formatToNanos = (System.nanoTime() - start) / 10
+        val java = com.kosherjava.zmanim.hebrewcalendar.JewishCalendar(5750, HebrewMonth.TISHREI.value, 1)
+        val javaDates = dates.map { java.clone().also { _ -> java.forward(Calendar.DATE, 1) } as com.kosherjava.zmanim.hebrewcalendar.JewishDate }
+        val javaFormatter = com.kosherjava.zmanim.hebrewcalendar.HebrewDateFormatter().also { it.isHebrewFormat = true }
+        repeat(5) { builder.clear(); javaDates.forEach { builder.append(javaFormatter.format(it)).append('\n') } }
+        start = System.nanoTime()
+        repeat(10) { builder.clear(); javaDates.forEach { builder.append(javaFormatter.format(it)).append('\n') } }
+        val javaNanos = (System.nanoTime() - start) / 10
+        println(
+            "formatting ${dates.size} dates (100 years): formatTo ${formatToNanos / 1_000_000} ms " +
+                    "(${formatToNanos / dates.size} ns per date); Java HebrewDateFormatter.format ${javaNanos / 1_000_000} ms"
+        )
+    }
+}
@@ -0,0 +1,95 @@
+package hebrewcalendar
+
+import kotlinx.datetime.DateTimeUnit
+import kotlinx.datetime.LocalDate
+import org.junit.Assert
+import org.junit.Ignore
+import org.junit.Test
+import sternbach.software.kosherkotlin.hebrewcalendar.HebrewLocalDate
+import sternbach.software.kosherkotlin.hebrewcalendar.HebrewMonth
+import sternbach.software.kosherkotlin.hebrewcalendar.JewishCalendar
+import sternbach.software.kosherkotlin.hebrewcalendar.JewishDaySummary
+import sternbach.software.kosherkotlin.hebrewcalendar.TefilaRules
+
+class JewishDaySummaryTest {
+    private fun summaryFromProperties(calendar: JewishCalendar, tefilaRules: TefilaRules) = JewishDaySummary(
+        date = calendar.gregorianLocalDate,
+        hebrewDate = calendar.hebrewLocalDate,
+        inIsrael = calendar.inIsrael,
+        yomTovIndex = calendar.yomTovIndex,
+        parshah = calendar.parshah,
+        specialShabbos = calendar.specialShabbos,
+        dayOfOmer = calendar.dayOfOmer,
+        dayOfChanukah = calendar.dayOfChanukah,
+        isRoshChodesh = calendar.isRoshChodesh,
+        molad = calendar.moladAsInstant,
+        dafYomiBavli = calendar.dafYomiBavli,
+        dafYomiYerushalmi = calendar.dafYomiYerushalmi,
+        tekufasTishreiElapsedDays = calendar.tekufasTishreiElapsedDays,
+        isTachanunRecitedShacharis = tefilaRules.isTachanunRecitedShacharis(calendar),
+        isTachanunRecitedMincha = tefilaRules.isTachanunRecitedMincha(calendar),
+        isHallelRecited = tefilaRules.isHallelRecited(calendar),
+        isHallelShalemRecited = tefilaRules.isHallelShalemRecited(calendar),
+        isAlHanissimRecited = tefilaRules.isAlHanissimRecited(calendar),
+        isYaalehVeyavoRecited = tefilaRules.isYaalehVeyavoRecited(calendar),
+        isVeseinTalUmatarRecited = tefilaRules.isVeseinTalUmatarRecited(calendar),
+        isMashivHaruachRecited = tefilaRules.isMashivHaruachRecited(calendar),
+    )
+
+    @Test
+    fun matchesProperties() {
+        val tefilaRules = TefilaRules().apply { isTachanunRecitedWeekOfPurim = false }
+        val year = 5784L
+        for (inIsrael in listOf(false, true)) {
+            val summaries = JewishDaySummary.forYear(year, inIsrael, isUseModernHolidays = true, tefilaRules)
+            val calendar = JewishCalendar(HebrewLocalDate(year, HebrewMonth.TISHREI, 1), inIsrael, true)
+            summaries.forEach {
+                Assert.assertEquals(summaryFromProperties(calendar, tefilaRules), it)
+                calendar.forward(DateTimeUnit.DAY, 1)
+            }
+            Assert.assertEquals(year + 1, calendar.hebrewLocalDate.year)
+        }
+    }
+
+    @Test
+    fun monthAndSingleDay() {
+        val adar = JewishDaySummary.forMonth(5784, HebrewMonth.ADAR_II, inIsrael = false)
+        Assert.assertEquals(29, adar.size)
+        Assert.assertEquals(JewishCalendar.PURIM, adar[13].yomTovIndex)
+        Assert.assertTrue(adar[13].isAlHanissimRecited)
+        Assert.assertEquals(JewishCalendar.Parsha.ZACHOR, adar.single { it.specialShabbos == JewishCalendar.Parsha.ZACHOR }.specialShabbos)
+
+        //Shushan Purim in a walled city
+        val jerusalem = JewishCalendar(LocalDate(2024, 3, 25), true).apply { isMukafChoma = true }
+        val summary = JewishDaySummary.of(jerusalem)
+        Assert.assertTrue(summary.isAlHanissimRecited)
+        Assert.assertEquals(summaryFromProperties(jerusalem, TefilaRules()), summary)
+        Assert.assertEquals(LocalDate(2024, 3, 25), jerusalem.gregorianLocalDate)
+    }
+
+    @Ignore("Benchmark, run manually")
+    @Test
+    fun benchmark() {
+        val tefilaRules = TefilaRules()
+        fun fromProperties(month: HebrewMonth): Int {
+            val calendar = JewishCalendar(HebrewLocalDate(5784, month, 1))
+            var count = 0
+            repeat(calendar.daysInJewishMonth) {
+                if (summaryFromProperties(calendar, tefilaRules).isHallelRecited) count++
+                calendar.forward(DateTimeUnit.DAY, 1)
+            }
+            return count
+        }
+        fun fromSummaries(month: HebrewMonth) =
+            JewishDaySummary.forMonth(5784, month, false, tefilaRules = tefilaRules).count { it.isHallelRecited }
+        fromProperties(HebrewMonth.TISHREI)
+        fromSummaries(HebrewMonth.TISHREI)
+        var start = System.nanoTime()
+        fromProperties(HebrewMonth.NISSAN)
+        val propertiesNanos = System.nanoTime() - start
+        start = System.nanoTime()
+        fromSummaries(HebrewMonth.NISSAN)
+        val summariesNanos = System.nanoTime() - start
+        println("A month of days: properties ${propertiesNanos / 1_000_000} ms, summaries ${summariesNanos / 1_000_000} ms")
+    }
+}
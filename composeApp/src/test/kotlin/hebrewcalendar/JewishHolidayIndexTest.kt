@@ -0,0 +1,113 @@
+package hebrewcalendar
+
+import kotlinx.datetime.DateTimeUnit
+import kotlinx.datetime.LocalDate
+import kotlinx.datetime.plus
+import org.junit.Assert
+import org.junit.Ignore
+import org.junit.Test
+import sternbach.software.kosherkotlin.hebrewcalendar.HebrewLocalDate
+import sternbach.software.kosherkotlin.hebrewcalendar.HebrewMonth
+import sternbach.software.kosherkotlin.hebrewcalendar.JewishCalendar
+import sternbach.software.kosherkotlin.hebrewcalendar.JewishHolidayIndex
+import java.util.Calendar
+
+class JewishHolidayIndexTest {
+    private fun javaCalendar(year: Int, inIsrael: Boolean, useModernHolidays: Boolean) =
+        com.kosherjava.zmanim.hebrewcalendar.JewishCalendar(year, HebrewMonth.TISHREI.value, 1, inIsrael).apply {
+            isUseModernHolidays = useModernHolidays
+        }
+
+    @Test
+    fun matchesJavaYomTovIndex() {
+        for (inIsrael in listOf(false, true)) for (useModernHolidays in listOf(false, true)) {
+            val java = javaCalendar(5660, inIsrael, useModernHolidays)
+            for (year in 5660L..5860L) {
+                val index = JewishHolidayIndex.of(year, inIsrael, useModernHolidays)
+                for (dayOfYear in 0 until index.size) {
+                    val date = index.dateAt(dayOfYear)
+                    Assert.assertEquals(java.jewishYear.toLong(), year)
+                    Assert.assertEquals("$date", java.gregorianCalendar.get(Calendar.DAY_OF_MONTH), date.dayOfMonth)
+                    Assert.assertEquals("$date, inIsrael=$inIsrael, modern=$useModernHolidays", java.yomTovIndex, index.yomTovIndexAt(dayOfYear))
+                    java.forward(Calendar.DATE, 1)
+                }
+            }
+        }
+    }
+
+    @Test
+    fun jewishCalendarReadsFromIndex() {
+        var date = LocalDate(2023, 9, 1)
+        repeat(400) {
+            val calendar = JewishCalendar(date, true)
+            Assert.assertEquals(JewishHolidayIndex.of(date, true).yomTovIndexAt(date), calendar.yomTovIndex)
+            date = date.plus(1, DateTimeUnit.DAY)
+        }
+    }
+
+    @Test
+    fun rangeQueries() {
+        //5784: Rosh Hashana was on 2023-09-16, Yom Kippur on 2023-09-25
+        val holidays = JewishHolidayIndex.holidaysBetween(LocalDate(2023, 9, 15), LocalDate(2023, 9, 25), inIsrael = false)
+        Assert.assertEquals(
+            listOf(
+                LocalDate(2023, 9, 15) to JewishCalendar.EREV_ROSH_HASHANA,
+                LocalDate(2023, 9, 16) to JewishCalendar.ROSH_HASHANA,
+                LocalDate(2023, 9, 17) to JewishCalendar.ROSH_HASHANA,
+                LocalDate(2023, 9, 18) to JewishCalendar.FAST_OF_GEDALYAH,
+                LocalDate(2023, 9, 24) to JewishCalendar.EREV_YOM_KIPPUR,
+                LocalDate(2023, 9, 25) to JewishCalendar.YOM_KIPPUR,
+            ),
+            holidays
+        )
+        Assert.assertEquals(
+            LocalDate(2024, 4, 23),
+            JewishHolidayIndex.nextOccurrence(JewishCalendar.PESACH, LocalDate(2023, 9, 15), inIsrael = false)
+        )
+        //5784 was a leap year, 5785 and 5786 are not
+        Assert.assertEquals(
+            HebrewLocalDate(5787, HebrewMonth.ADAR, 14).toLocalDateGregorian(),
+            JewishHolidayIndex.nextOccurrence(JewishCalendar.PURIM_KATAN, LocalDate(2024, 3, 1), inIsrael = false)
+        )
+        Assert.assertNull(JewishHolidayIndex.nextOccurrence(JewishCalendar.YOM_HAATZMAUT, LocalDate(2024, 3, 1), inIsrael = true))
+        Assert.assertNotNull(JewishHolidayIndex.nextOccurrence(JewishCalendar.YOM_HAATZMAUT, LocalDate(2024, 3, 1), true, true))
+        Assert.assertTrue(JewishHolidayIndex.isAnyTaanisBetween(LocalDate(2023, 9, 18), LocalDate(2023, 9, 18), inIsrael = false))
+        Assert.assertFalse(JewishHolidayIndex.isAnyTaanisBetween(LocalDate(2023, 9, 19), LocalDate(2023, 9, 24), inIsrael = false))
+        //spans years: the 10th of Teves of 5785 and 5786
+        Assert.assertEquals(
+            2,
+            JewishHolidayIndex.holidaysBetween(LocalDate(2024, 9, 1), LocalDate(2025, 12, 31), inIsrael = false)
+                .count { it.second == JewishCalendar.TENTH_OF_TEVES }
+        )
+    }
+
+    @Ignore("Benchmark, run manually")
+    @Test
+    fun benchmark() {
+        val dates = generateSequence(LocalDate(2020, 1, 1)) { it.plus(1, DateTimeUnit.DAY) }.take(3650).toList()
+        fun allProperties(): Int {
+            val calendar = JewishCalendar(dates.first())
+            var count = 0
+            for (date in dates) {
+                if (calendar.isYomTov) count++
+                if (calendar.isErevYomTov) count++
+                if (calendar.isCholHamoed) count++
+                if (calendar.isTaanis) count++
+                if (calendar.isAssurBemelacha) count++
+                if (calendar.isChanukah) count++
+                if (calendar.isPurim) count++
+                if (calendar.hasCandleLighting) count++
+                calendar.forward(DateTimeUnit.DAY, 1)
+            }
+            return count
+        }
+        repeat(3) { allProperties() }
+        val start = System.nanoTime()
+        allProperties()
+        val nanos = System.nanoTime() - start
+        val queryStart = System.nanoTime()
+        val holidays = JewishHolidayIndex.holidaysBetween(dates.first(), dates.last(), inIsrael = false)
+        val queryNanos = System.nanoTime() - queryStart
+        println("8 holiday properties: ${nanos / dates.size} ns per day; ${holidays.size} holidays in 10 years in ${queryNanos / 1000} us")
+    }
+}
@@ -0,0 +1,182 @@
+package hebrewcalendar
+
+import kotlinx.datetime.DateTimeUnit
+import kotlinx.datetime.LocalDate
+import kotlinx.datetime.plus
+import org.junit.Assert
+import org.junit.Test
+import sternbach.software.kosherkotlin.hebrewcalendar.JewishCalendar
+import sternbach.software.kosherkotlin.hebrewcalendar.LearningSchedule
+import sternbach.software.kosherkotlin.hebrewcalendar.LearningUnit
+import sternbach.software.kosherkotlin.hebrewcalendar.RambamYomiCalculator
+import sternbach.software.kosherkotlin.hebrewcalendar.YerushalmiYomiCalculator
+
+class LearningScheduleTest {
+    /**
+     * A schedule of 3 sections (of 5, 3 and 4 units) which skips Yom Kippur and both days of Rosh Hashana, and whose
+     * second section gains a unit from the third cycle.
+     */
+    private val schedule = LearningSchedule(
+        LocalDate(2023, 9, 1),
+        listOf(
+            LearningSchedule.Edition(1, intArrayOf(5, 3, 4)),
+            LearningSchedule.Edition(3, intArrayOf(5, 4, 4), intArrayOf(1, 0, 1)),
+        ),
+        setOf(JewishCalendar.ROSH_HASHANA, JewishCalendar.YOM_KIPPUR)
+    )
+
+    @Test
+    fun walksTheCycles() {
+        //Rosh Hashana 5784 was September 16-17, 2023, and Yom Kippur September 25
+        val skipped = setOf(LocalDate(2023, 9, 16), LocalDate(2023, 9, 17), LocalDate(2023, 9, 25))
+        val expected = (List(2) { listOf(5, 3, 4) } + List(3) { listOf(5, 4, 4) }).flatMapIndexed { cycle, sections ->
+            sections.flatMapIndexed { section, units ->
+                val first = if (cycle >= 2 && section == 1) 0 else 1
+                (first until first + units).map { LearningUnit(section, it) to cycle + 1 }
+            }
+        }
+        var date = schedule.start
+        for ((unit, cycle) in expected) {
+            while (date in skipped) {
+                Assert.assertNull(schedule.unitOn(date))
+                date = date.plus(1, DateTimeUnit.DAY)
+            }
+            Assert.assertEquals(date.toString(), unit, schedule.unitOn(date))
+            Assert.assertEquals(date.toString(), cycle, schedule.cycleOf(date))
+            Assert.assertEquals(listOf(date), schedule.datesOf(unit.section, unit.number, cycle..cycle))
+            date = date.plus(1, DateTimeUnit.DAY)
+        }
+        Assert.assertEquals(LocalDate(2023, 9, 13), schedule.cycleStart(2))
+        //cycle 2 runs into Rosh Hashana and Yom Kippur, so it ends 3 days later
+        Assert.assertEquals(LocalDate(2023, 9, 28), schedule.cycleStart(3))
+        Assert.assertEquals(6, schedule.cycleOf(date))
+    }
+
+    @Test
+    fun editions() {
+        //unit 0 of section 1 only exists from the third cycle
+        Assert.assertEquals(
+            listOf(schedule.cycleStart(3).plus(5, DateTimeUnit.DAY), schedule.cycleStart(4).plus(5, DateTimeUnit.DAY)),
+            schedule.datesOf(1, 0, 1..4)
+        )
+        Assert.assertEquals(4, schedule.datesOf(1, 3, 1..4).size)
+        Assert.assertThrows(IllegalArgumentException::class.java) { schedule.datesOf(1, 4, 1..4) }
+        Assert.assertThrows(IllegalArgumentException::class.java) { schedule.datesOf(3, 1, 1..4) }
+        Assert.assertThrows(IllegalArgumentException::class.java) { schedule.unitOn(LocalDate(2023, 8, 31)) }
+        Assert.assertThrows(IllegalArgumentException::class.java) {
+            LearningSchedule(LocalDate(2023, 9, 1), listOf(LearningSchedule.Edition(2, intArrayOf(1))))
+        }
+        //the edition keeps its own copy of the arrays
+        val units = intArrayOf(2, 2)
+        val firstNumbers = intArrayOf(1, 1)
+        val copied = LearningSchedule(LocalDate(2023, 9, 1), listOf(LearningSchedule.Edition(1, units, firstNumbers)))
+        units[0] = 1
+        firstNumbers[1] = 5
+        Assert.assertEquals(LearningUnit(0, 2), copied.unitOn(LocalDate(2023, 9, 2)))
+        Assert.assertEquals(LearningUnit(1, 1), copied.unitOn(LocalDate(2023, 9, 3)))
+    }
+
+    @Test
+    fun unitsPerDay() {
+        //3 units a day of the 12 units of the first edition: the second day ends section 0 and starts section 1, the
+        //last day of a cycle has only the units which are left, and skipped days have none
+        val threeADay = LearningSchedule(
+            LocalDate(2023, 9, 14),
+            listOf(LearningSchedule.Edition(1, intArrayOf(5, 3, 4)), LearningSchedule.Edition(2, intArrayOf(5, 3, 5))),
+            setOf(JewishCalendar.ROSH_HASHANA),
+            unitsPerDay = 3
+        )
+        Assert.assertEquals(
+            listOf(LearningUnit(0, 1), LearningUnit(0, 2), LearningUnit(0, 3)),
+            threeADay.unitsOn(LocalDate(2023, 9, 14))
+        )
+        Assert.assertEquals(
+            listOf(LearningUnit(0, 4), LearningUnit(0, 5), LearningUnit(1, 1)),
+            threeADay.unitsOn(LocalDate(2023, 9, 15))
+        )
+        Assert.assertTrue(threeADay.unitsOn(LocalDate(2023, 9, 16)).isEmpty())
+        Assert.assertNull(threeADay.unitOn(LocalDate(2023, 9, 17)))
+        Assert.assertEquals(LearningUnit(2, 2), threeADay.unitOn(LocalDate(2023, 9, 19)))
+        Assert.assertEquals(LocalDate(2023, 9, 20), threeADay.cycleStart(2))
+        //the second cycle has 13 units, so its last day is only the last unit
+        Assert.assertEquals(listOf(LearningUnit(2, 5)), threeADay.unitsOn(LocalDate(2023, 9, 24)))
+        Assert.assertEquals(LocalDate(2023, 9, 25), threeADay.cycleStart(3))
+        Assert.assertEquals(listOf(LocalDate(2023, 9, 15)), threeADay.datesOf(1, 1, 1..1))
+        Assert.assertEquals(listOf(LocalDate(2023, 9, 18), LocalDate(2023, 9, 22)), threeADay.datesOf(1, 3, 1..2))
+        Assert.assertThrows(IllegalArgumentException::class.java) {
+            LearningSchedule(LocalDate(2023, 9, 1), listOf(LearningSchedule.Edition(1, intArrayOf(1))), unitsPerDay = 0)
+        }
+    }
+
+    @Test
+    fun rambam() {
+        val rambam = RambamYomiCalculator.schedule
+        //the first cycle started on 27 Nisan 5744 with the introduction
+        Assert.assertEquals(
+            List(3) { LearningUnit(0, it + 1) },
+            RambamYomiCalculator.getRambamYomi(LocalDate(1984, 4, 29))
+        )
+        //the sixth day ends the introduction and starts Hilchos Yesodei HaTorah
+        Assert.assertEquals(
+            listOf(LearningUnit(0, 16), LearningUnit(0, 17), LearningUnit(1, 1)),
+            rambam.unitsOn(LocalDate(1984, 5, 4))
+        )
+        //the first Siyum HaRambam was on 11 Nisan 5745, with the last chapters of Hilchos Melachim
+        Assert.assertEquals(
+            listOf(LearningUnit(83, 10), LearningUnit(83, 11), LearningUnit(83, 12)),
+            rambam.unitsOn(LocalDate(1985, 4, 2))
+        )
+        Assert.assertEquals(LocalDate(1985, 4, 3), rambam.cycleStart(2))
+        //every cycle is 339 days, since no day is skipped
+        Assert.assertEquals(LocalDate(2023, 4, 23), rambam.cycleStart(43))
+        Assert.assertEquals(listOf(LocalDate(2023, 4, 28)), rambam.datesOf(1, 1, 43..43))
+        Assert.assertThrows(IllegalArgumentException::class.java) {
+            RambamYomiCalculator.getRambamYomi(LocalDate(1984, 4, 28))
+        }
+    }
+
+    @Test
+    fun yerushalmiReverseLookup() {
+        val yerushalmi = YerushalmiYomiCalculator.schedule
+        for (cycle in 1..30) {
+            val start = yerushalmi.cycleStart(cycle)
+            Assert.assertEquals(LearningUnit(0, 1), yerushalmi.unitOn(start))
+            Assert.assertEquals(listOf(start), yerushalmi.datesOf(0, 1, cycle..cycle))
+        }
+        //far in the future, which extends the tables more than once
+        val dates = yerushalmi.datesOf(38, 12, 1..100)
+        Assert.assertEquals(100, dates.size)
+        dates.forEach { Assert.assertEquals(LearningUnit(38, 12), yerushalmi.unitOn(it)) }
+        Assert.assertEquals(100, yerushalmi.cycleOf(dates.last()))
+    }
+
+    @Test
+    fun cycleRules() {
+        //the Yerushalmi cycle which ends in October 2082 has a skipped day in the days added to its length, so with
+        //the rule YerushalmiYomiCalculator has always used, its last daf (Midos 13) is not learned
+        val yerushalmi = YerushalmiYomiCalculator.schedule
+        val cycle = yerushalmi.cycleOf(LocalDate(2082, 10, 4))
+        Assert.assertEquals(LearningUnit(38, 12), yerushalmi.unitOn(LocalDate(2082, 10, 4)))
+        Assert.assertEquals(LocalDate(2082, 10, 5), yerushalmi.cycleStart(cycle + 1))
+        Assert.assertTrue(yerushalmi.datesOf(38, 13, cycle..cycle).isEmpty())
+
+        val allUnits = LearningSchedule(
+            yerushalmi.start,
+            listOf(
+                LearningSchedule.Edition(
+                    1,
+                    intArrayOf(
+                        68, 37, 34, 44, 31, 59, 26, 33, 28, 20, 13, 92, 65, 71, 22, 22, 42, 26, 26, 33, 34, 22,
+                        19, 85, 72, 47, 40, 47, 54, 48, 44, 37, 34, 44, 9, 57, 37, 19, 13
+                    )
+                )
+            ),
+            setOf(JewishCalendar.YOM_KIPPUR, JewishCalendar.TISHA_BEAV),
+            LearningSchedule.CycleRule.ALL_UNITS
+        )
+        Assert.assertEquals(LearningUnit(38, 13), allUnits.unitOn(LocalDate(2082, 10, 5)))
+        Assert.assertEquals(LocalDate(2082, 10, 6), allUnits.cycleStart(cycle + 1))
+        //the cycles are the same until then
+        for (earlier in 1..cycle) Assert.assertEquals(yerushalmi.cycleStart(earlier), allUnits.cycleStart(earlier))
+    }
+}
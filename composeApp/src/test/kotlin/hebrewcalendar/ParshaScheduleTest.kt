@@ -0,0 +1,76 @@
+package hebrewcalendar
+
+import kotlinx.datetime.DateTimeUnit
+import kotlinx.datetime.LocalDate
+import kotlinx.datetime.plus
+import org.junit.Assert
+import org.junit.Ignore
+import org.junit.Test
+import sternbach.software.kosherkotlin.hebrewcalendar.HebrewLocalDate
+import sternbach.software.kosherkotlin.hebrewcalendar.HebrewMonth
+import sternbach.software.kosherkotlin.hebrewcalendar.JewishCalendar
+import sternbach.software.kosherkotlin.hebrewcalendar.ParshaSchedule
+import sternbach.software.kosherkotlin.hebrewcalendar.WeeklyParsha
+import java.util.Calendar
+
+class ParshaScheduleTest {
+    @Test
+    fun matchesJava() {
+        for (inIsrael in listOf(false, true)) {
+            val java = com.kosherjava.zmanim.hebrewcalendar.JewishCalendar(5660, HebrewMonth.TISHREI.value, 1, inIsrael)
+            val kotlin = JewishCalendar(HebrewLocalDate(5660, HebrewMonth.TISHREI, 1), inIsrael)
+            while (java.jewishYear < 5860) {
+                val message = "${kotlin.hebrewLocalDate}, inIsrael=$inIsrael"
+                Assert.assertEquals(message, java.parshah.name, kotlin.parshah.name)
+                Assert.assertEquals(message, java.specialShabbos.name, kotlin.specialShabbos.name)
+                Assert.assertEquals(message, java.upcomingParshah.name, kotlin.upcomingParshah.name)
+                Assert.assertEquals(message, java.upcomingParshah.name, ParshaSchedule.upcomingParshah(kotlin.gregorianLocalDate, inIsrael).name)
+                java.forward(Calendar.DATE, 1)
+                kotlin.forward(DateTimeUnit.DAY, 1)
+            }
+        }
+    }
+
+    @Test
+    fun weeklyParshiyos() {
+        //from Shabbos Nitzavim 5783 through Shabbos Bereshis 5784
+        val weeks = ParshaSchedule.weeklyParshiyos(LocalDate(2023, 9, 8), LocalDate(2023, 10, 14), inIsrael = false).toList()
+        Assert.assertEquals(
+            listOf(
+                WeeklyParsha(LocalDate(2023, 9, 9), JewishCalendar.Parsha.NITZAVIM_VAYEILECH, JewishCalendar.Parsha.NONE),
+                WeeklyParsha(LocalDate(2023, 9, 16), JewishCalendar.Parsha.NONE, JewishCalendar.Parsha.NONE), //Rosh Hashana
+                WeeklyParsha(LocalDate(2023, 9, 23), JewishCalendar.Parsha.HAAZINU, JewishCalendar.Parsha.SHUVA),
+                WeeklyParsha(LocalDate(2023, 9, 30), JewishCalendar.Parsha.NONE, JewishCalendar.Parsha.NONE), //Sukkos
+                WeeklyParsha(LocalDate(2023, 10, 7), JewishCalendar.Parsha.NONE, JewishCalendar.Parsha.NONE), //Shmini Atzeres
+                WeeklyParsha(LocalDate(2023, 10, 14), JewishCalendar.Parsha.BERESHIS, JewishCalendar.Parsha.NONE),
+            ),
+            weeks
+        )
+        Assert.assertTrue(ParshaSchedule.weeklyParshiyos(LocalDate(2023, 9, 10), LocalDate(2023, 9, 15), false).none())
+
+        val schedule = ParshaSchedule.of(LocalDate(2023, 9, 15), inIsrael = false)
+        Assert.assertEquals(5783L, schedule.jewishYear)
+        Assert.assertEquals(5784L, ParshaSchedule.of(LocalDate(2023, 9, 16), inIsrael = false).jewishYear)
+        Assert.assertEquals(schedule.size, schedule.weekOf(LocalDate(2023, 9, 15)))
+        Assert.assertEquals(LocalDate(2023, 9, 9), schedule.shabbosAt(schedule.size - 1))
+    }
+
+    @Ignore("Benchmark, run manually")
+    @Test
+    fun benchmark() {
+        //the dates a site would be asked about: the next few years, many times over
+        val dates = generateSequence(LocalDate(2024, 1, 1)) { it.plus(1, DateTimeUnit.DAY) }.take(5 * 365).toList()
+        repeat(2) { dates.forEach { ParshaSchedule.upcomingParshah(it, false) } }
+        var start = System.nanoTime()
+        repeat(20) { dates.forEach { ParshaSchedule.upcomingParshah(it, false) } }
+        val scheduleNanos = (System.nanoTime() - start) / (20 * dates.size)
+        val java = com.kosherjava.zmanim.hebrewcalendar.JewishCalendar(5760, HebrewMonth.TISHREI.value, 1)
+        start = System.nanoTime()
+        repeat(10_000) {
+            java.upcomingParshah
+            java.forward(Calendar.DATE, 1)
+        }
+        val javaNanos = (System.nanoTime() - start) / 10_000
+        println("upcomingParshah: $scheduleNanos ns per date; Java JewishCalendar.getUpcomingParshah: $javaNanos ns")
+    }
+}
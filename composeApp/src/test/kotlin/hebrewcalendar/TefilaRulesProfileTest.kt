@@ -0,0 +1,51 @@
+package hebrewcalendar
+
+import org.junit.Assert
+import org.junit.Test
+import sternbach.software.kosherkotlin.hebrewcalendar.TefilaRule
+import sternbach.software.kosherkotlin.hebrewcalendar.TefilaRules
+import sternbach.software.kosherkotlin.hebrewcalendar.TefilaRulesProfile
+import sternbach.software.kosherkotlin.hebrewcalendar.TefilaRulesYear
+
+class TefilaRulesProfileTest {
+    @Test
+    fun roundTrips() {
+        //every combination of the 12 settings
+        for (settings in 0 until (1 shl 12)) {
+            val profile = TefilaRulesProfile.fromSettings(settings)
+            Assert.assertEquals(settings, profile.hashCode())
+            Assert.assertEquals(profile, profile.toTefilaRules().toProfile())
+        }
+        Assert.assertThrows(IllegalArgumentException::class.java) { TefilaRulesProfile.fromSettings(1 shl 12) }
+    }
+
+    @Test
+    fun isStable() {
+        //stored values must keep their meaning
+        Assert.assertEquals(0b1111_1101_0101, TefilaRulesProfile.DEFAULT.settings)
+        val rules = TefilaRules().apply {
+            isTachanunRecitedPesachSheni = true
+            isTachanunRecitedSundays = false
+        }
+        Assert.assertEquals(0b1011_1101_1101, rules.toProfile().settings)
+        Assert.assertTrue(rules.toProfile().isTachanunRecitedPesachSheni)
+        Assert.assertFalse(rules.toProfile().isTachanunRecitedSundays)
+        Assert.assertNotEquals(TefilaRulesProfile.DEFAULT, rules.toProfile())
+    }
+
+    @Test
+    fun yearsAreCachedByProfile() {
+        val rules = TefilaRules().apply { isTachanunRecitedFridays = false }
+        val year = TefilaRulesYear.of(rules, 5784, inIsrael = false)
+        Assert.assertSame(year, TefilaRulesYear.of(TefilaRules().apply { isTachanunRecitedFridays = false }, 5784, false))
+        Assert.assertSame(year, TefilaRulesYear.of(rules.toProfile(), 5784, false))
+        Assert.assertNotSame(year, TefilaRulesYear.of(rules, 5784, inIsrael = true))
+        Assert.assertNotSame(year, TefilaRulesYear.of(TefilaRulesProfile.DEFAULT, 5784, false))
+
+        //changing the settings afterwards does not change the year
+        val tachanunDays = year.count(TefilaRule.TACHANUN_SHACHARIS)
+        rules.isTachanunRecitedFridays = true
+        Assert.assertEquals(tachanunDays, year.count(TefilaRule.TACHANUN_SHACHARIS))
+        Assert.assertTrue(tachanunDays < TefilaRulesYear.of(rules, 5784, false).count(TefilaRule.TACHANUN_SHACHARIS))
+    }
+}
@@ -0,0 +1,139 @@
+package hebrewcalendar
+
+import kotlinx.datetime.DateTimeUnit
+import kotlinx.datetime.LocalDate
+import org.junit.Assert
+import org.junit.Ignore
+import org.junit.Test
+import sternbach.software.kosherkotlin.hebrewcalendar.HebrewLocalDate
+import sternbach.software.kosherkotlin.hebrewcalendar.HebrewMonth
+import sternbach.software.kosherkotlin.hebrewcalendar.JewishCalendar
+import sternbach.software.kosherkotlin.hebrewcalendar.TefilaRule
+import sternbach.software.kosherkotlin.hebrewcalendar.TefilaRules
+import sternbach.software.kosherkotlin.hebrewcalendar.TefilaRulesYear
+
+class TefilaRulesYearTest {
+    private val tefilaRules = TefilaRules()
+
+    private fun TefilaRules.isRecited(rule: TefilaRule, calendar: JewishCalendar): Boolean = when (rule) {
+        TefilaRule.TACHANUN_SHACHARIS -> isTachanunRecitedShacharis(calendar)
+        TefilaRule.TACHANUN_MINCHA -> isTachanunRecitedMincha(calendar)
+        TefilaRule.VESEIN_TAL_UMATAR_START_DATE -> isVeseinTalUmatarStartDate(calendar)
+        TefilaRule.VESEIN_TAL_UMATAR_STARTING_TONIGHT -> isVeseinTalUmatarStartingTonight(calendar)
+        TefilaRule.VESEIN_TAL_UMATAR -> isVeseinTalUmatarRecited(calendar)
+        TefilaRule.VESEIN_BERACHA -> isVeseinBerachaRecited(calendar)
+        TefilaRule.MASHIV_HARUACH_START_DATE -> isMashivHaruachStartDate(calendar)
+        TefilaRule.MASHIV_HARUACH_END_DATE -> isMashivHaruachEndDate(calendar)
+        TefilaRule.MASHIV_HARUACH -> isMashivHaruachRecited(calendar)
+        TefilaRule.MORID_HATAL -> isMoridHatalRecited(calendar)
+        TefilaRule.HALLEL -> isHallelRecited(calendar)
+        TefilaRule.HALLEL_SHALEM -> isHallelShalemRecited(calendar)
+        TefilaRule.AL_HANISSIM -> isAlHanissimRecited(calendar)
+        TefilaRule.YAALEH_VEYAVO -> isYaalehVeyavoRecited(calendar)
+    }
+
+    private fun assertMatchesMethods(
+        tefilaRules: TefilaRules,
+        jewishYear: Long,
+        inIsrael: Boolean,
+        isUseModernHolidays: Boolean,
+        isMukafChoma: Boolean,
+    ) {
+        val year = TefilaRulesYear.of(tefilaRules, jewishYear, inIsrael, isUseModernHolidays, isMukafChoma)
+        val calendar = JewishCalendar(HebrewLocalDate(jewishYear, HebrewMonth.TISHREI, 1), inIsrael, isUseModernHolidays)
+            .apply { this.isMukafChoma = isMukafChoma }
+        for (dayOfYear in 0 until year.size) {
+            val date = calendar.gregorianLocalDate
+            Assert.assertTrue(date in year)
+            Assert.assertEquals(date, year.dateAt(dayOfYear))
+            for (rule in TefilaRule.values()) {
+                Assert.assertEquals("$rule on ${calendar.hebrewLocalDate}, $year", tefilaRules.isRecited(rule, calendar), year[rule, date])
+            }
+            calendar.forward(DateTimeUnit.DAY, 1)
+        }
+        Assert.assertEquals(jewishYear + 1, calendar.hebrewLocalDate.year)
+        Assert.assertFalse(calendar.gregorianLocalDate in year)
+    }
+
+    @Test
+    fun matchesMethods() {
+        val minhagim = listOf(
+            TefilaRules(),
+            TefilaRules().apply {
+                isTachanunRecitedEndOfTishrei = false
+                isTachanunRecitedWeekAfterShavuos = true
+                isTachanunRecited13SivanOutOfIsrael = false
+                isTachanunRecitedPesachSheni = true
+                isTachanunRecited15IyarOutOfIsrael = false
+                isTachanunRecitedMinchaErevLagBaomer = true
+                isTachanunRecitedShivasYemeiHamiluim = false
+                isTachanunRecitedWeekOfHod = false
+                isTachanunRecitedWeekOfPurim = false
+                isTachanunRecitedFridays = false
+                isTachanunRecitedSundays = false
+            },
+            TefilaRules().apply { isTachanunRecitedMinchaAllYear = false },
+        )
+        //a leap and a non-leap year, each starting on a different day of the week
+        for (jewishYear in 5783L..5786L) {
+            for (tefilaRules in minhagim) {
+                for (inIsrael in listOf(false, true)) {
+                    assertMatchesMethods(tefilaRules, jewishYear, inIsrael, isUseModernHolidays = inIsrael, isMukafChoma = false)
+                }
+            }
+        }
+        assertMatchesMethods(TefilaRules(), 5784, inIsrael = true, isUseModernHolidays = true, isMukafChoma = true)
+    }
+
+    @Test
+    fun queries() {
+        val year = TefilaRulesYear.of(TefilaRules(), 5784, inIsrael = false)
+        //Chanukah and Purim
+        Assert.assertEquals(9, year.count(TefilaRule.AL_HANISSIM))
+        Assert.assertEquals(LocalDate(2024, 3, 24), year.datesOf(TefilaRule.AL_HANISSIM).last())
+        Assert.assertTrue(year[TefilaRule.HALLEL_SHALEM, LocalDate(2024, 4, 23)]) //first day of Pesach
+        Assert.assertFalse(year[TefilaRule.TACHANUN_SHACHARIS, 0])
+        Assert.assertThrows(IllegalArgumentException::class.java) { year[TefilaRule.HALLEL, LocalDate(2024, 10, 3)] }
+        Assert.assertThrows(IllegalArgumentException::class.java) { year[TefilaRule.HALLEL, year.size] }
+    }
+
+    /**
+     * Counts the rules recited on every day of 5784 by calling [TefilaRules.isRecited] for each.
+     */
+    private fun countFromMethods(): Int {
+        val calendar = JewishCalendar(HebrewLocalDate(5784, HebrewMonth.TISHREI, 1))
+        var count = 0
+        repeat(calendar.daysInJewishYear) {
+            for (rule in TefilaRule.values()) if (tefilaRules.isRecited(rule, calendar)) count++
+            calendar.forward(DateTimeUnit.DAY, 1)
+        }
+        return count
+    }
+
+    /**
+     * Counts the rules recited on every day of 5784 from its [TefilaRulesYear].
+     */
+    private fun countFromYear(): Int {
+        val year = TefilaRulesYear.of(tefilaRules, 5784, false)
+        var count = 0
+        for (dayOfYear in 0 until year.size) for (rule in TefilaRule.values()) if (year[rule, dayOfYear]) count++
+        return count
+    }
+
+    @Test
+    fun countsMatchMethods() {
+        Assert.assertEquals(countFromMethods(), countFromYear())
+    }
+
+    @Ignore("Benchmark, run manually")
+    @Test
+    fun benchmark() {
+        var start = System.nanoTime()
+        countFromMethods()
+        val methodsNanos = System.nanoTime() - start
+        start = System.nanoTime()
+        countFromYear()
+        val yearNanos = System.nanoTime() - start
+        println("Every rule for a year: methods ${methodsNanos / 1_000_000} ms, TefilaRulesYear ${yearNanos / 1_000_000} ms")
+    }
+}
@@ -1,10 +1,20 @@
 package hebrewcalendar
 
+import kotlinx.datetime.DateTimeUnit
+import kotlinx.datetime.LocalDate
+import kotlinx.datetime.plus
 import org.junit.Assert
+import org.junit.Ignore
 import org.junit.Test
+import sternbach.software.kosherkotlin.hebrewcalendar.Daf
 import sternbach.software.kosherkotlin.hebrewcalendar.HebrewDateFormatter
+import sternbach.software.kosherkotlin.hebrewcalendar.HebrewLocalDate
 import sternbach.software.kosherkotlin.hebrewcalendar.HebrewMonth
 import sternbach.software.kosherkotlin.hebrewcalendar.JewishCalendar
+import sternbach.software.kosherkotlin.hebrewcalendar.JewishDate
+import sternbach.software.kosherkotlin.hebrewcalendar.YerushalmiYomiCalculator
+import java.util.Calendar
+import java.util.GregorianCalendar
 
 class UT_YerushalmiTest {
     @Test
@@ -58,6 +68,50 @@ class UT_YerushalmiTest {
         println(hdf.formatDafYomiYerushalmi(jewishCalendar.dafYomiYerushalmi))
     }
 
+    @Test
+    fun matchesJava() {
+        val java = com.kosherjava.zmanim.hebrewcalendar.JewishCalendar(5740, HebrewMonth.SHEVAT.value, 16)
+        var date = LocalDate(1980, 2, 3)
+        var cycleStarts = 0
+        while (date.year < 2100) {
+            val kotlin = YerushalmiYomiCalculator.getDafYomiYerushalmi(date)
+            Assert.assertEquals(date.toString(), java.dafYomiYerushalmi?.let { Daf(it.masechtaNumber, it.daf) }, kotlin)
+            if (kotlin == Daf(0, 1)) cycleStarts++
+            java.forward(Calendar.DATE, 1)
+            date = date.plus(1, DateTimeUnit.DAY)
+        }
+        Assert.assertEquals(28, cycleStarts)
+        Assert.assertEquals(Daf(0, 1), YerushalmiYomiCalculator.getDafYomiYerushalmi(LocalDate(1980, 2, 2)))
+        Assert.assertThrows(IllegalArgumentException::class.java) { YerushalmiYomiCalculator.getDafYomiYerushalmi(LocalDate(1980, 2, 1)) }
+    }
+
+    @Ignore("Benchmark, run manually")
+    @Test
+    fun benchmark() {
+        val dates = generateSequence(LocalDate(2000, 1, 1)) { it.plus(1, DateTimeUnit.DAY) }.takeWhile { it.year < 2100 }.toList()
+        YerushalmiYomiCalculator.getDafYomiYerushalmi(dates.last())
+        var start = System.nanoTime()
+        dates.forEach { YerushalmiYomiCalculator.getDafYomiYerushalmi(it) }
+        val tableNanos = (System.nanoTime() - start) / dates.size
+        //the Java calculator walks every cycle, so only a sample of the dates is timed
+        val sample = dates.filterIndexed { index, _ -> index % 1000 == 0 }
+            .map { com.kosherjava.zmanim.hebrewcalendar.JewishCalendar(GregorianCalendar(it.year, it.monthNumber - 1, it.dayOfMonth)) }
+        start = System.nanoTime()
+        sample.forEach { it.dafYomiYerushalmi }
+        val javaNanos = (System.nanoTime() - start) / sample.size
+        println("Daf Yomi Yerushalmi for 100 years of dates: $tableNanos ns per date; Java YerushalmiYomiCalculator: $javaNanos ns")
+    }
+
+    @Test
+    fun roshHashanaEpochDay() {
+        for (year in 5700L..5900L) {
+            Assert.assertEquals(
+                JewishCalendar(HebrewLocalDate(year, HebrewMonth.TISHREI, 1)).gregorianLocalDate,
+                LocalDate.fromEpochDays(JewishDate.getRoshHashanaEpochDay(year))
+            )
+        }
+    }
+
     companion object {
         private val hdf = HebrewDateFormatter()
 
@@ -1,5 +1,6 @@
 package hebrewcalendar
 
+import kotlinx.datetime.LocalDate
 import kotlinx.datetime.atStartOfDayIn
 import kotlinx.datetime.toJavaLocalDate
 import kotlinx.datetime.toKotlinLocalDate
@@ -10,7 +11,9 @@ import org.junit.Test
 import sternbach.software.kosherkotlin.ComplexZmanimCalendar
 import sternbach.software.kosherkotlin.hebrewcalendar.HebrewLocalDate
 import sternbach.software.kosherkotlin.hebrewcalendar.HebrewMonth
+import sternbach.software.kosherkotlin.hebrewcalendar.JewishCalendar
 import sternbach.software.kosherkotlin.metadata.ZmanType
+import sternbach.software.kosherkotlin.util.GeoLocation
 import sternbach.software.kosherkotlin.util.GeoLocation.Companion.rawOffset
 import java.util.Calendar
 import java.util.TimeZone
@@ -197,4 +200,17 @@ class UnitTest {
             }
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    fun moladZmanimDoNotMoveTheJewishDate() {
+        //30 Tishrei 5784, whose molad based zmanim look at the molad of Cheshvan
+        val jerusalem = GeoLocation("Jerusalem", 31.778, 35.2354, kotlinx.datetime.TimeZone.of("Asia/Jerusalem"))
+        val calendar = ComplexZmanimCalendar(jerusalem, LocalDate(2023, 10, 15))
+        Assert.assertEquals(30, calendar.jewishCalendar.jewishDayOfMonth)
+        calendar.zmanMolad.momentOfOccurrence
+        calendar.getTchilasZmanKidushLevana3Days(null, null)
+        Assert.assertEquals(30, calendar.jewishCalendar.jewishDayOfMonth)
+        Assert.assertEquals(LocalDate(2023, 10, 15), calendar.jewishCalendar.gregorianLocalDate)
+        Assert.assertEquals(JewishCalendar(LocalDate(2023, 10, 15)).isRoshChodesh, calendar.jewishCalendar.isRoshChodesh)
+    }
+}
@@ -1,11 +1,18 @@
 package hebrewcalendar
 
+import kotlinx.datetime.DateTimeUnit
+import kotlinx.datetime.LocalDate
+import kotlinx.datetime.plus
 import org.junit.Assert
+import org.junit.Ignore
 import org.junit.Test
+import sternbach.software.kosherkotlin.hebrewcalendar.Daf
 import sternbach.software.kosherkotlin.hebrewcalendar.HebrewDateFormatter
 import sternbach.software.kosherkotlin.hebrewcalendar.HebrewMonth
 import sternbach.software.kosherkotlin.hebrewcalendar.JewishCalendar
 import sternbach.software.kosherkotlin.hebrewcalendar.YomiCalculator
+import java.util.Calendar
+import java.util.GregorianCalendar
 
 class YomiCalculatorTest {
     private val calc = YomiCalculator
@@ -36,6 +43,72 @@ class YomiCalculatorTest {
         println(hdf.formatDafYomiBavli(jewishCalendar.dafYomiBavli!!))
     }
 
+    @Test
+    fun matchesJava() {
+        val java = com.kosherjava.zmanim.hebrewcalendar.JewishCalendar(5684, HebrewMonth.TISHREI.value, 1)
+        var date = LocalDate(1923, 9, 11)
+        while (date.year < 2100) {
+            val javaDaf = java.dafYomiBavli
+            Assert.assertEquals(date.toString(), Daf(javaDaf.masechtaNumber, javaDaf.daf), calc.getDafYomiBavli(date))
+            java.forward(Calendar.DATE, 1)
+            date = date.plus(1, DateTimeUnit.DAY)
+        }
+        Assert.assertThrows(IllegalArgumentException::class.java) { calc.getDafYomiBavli(LocalDate(1923, 9, 10)) }
+    }
+
+    @Test
+    fun cycles() {
+        Assert.assertEquals(1, calc.getDafYomiBavliCycle(LocalDate(1923, 9, 11)))
+        Assert.assertEquals(LocalDate(1975, 6, 24), calc.getDafYomiBavliCycleStart(8))
+        Assert.assertEquals(LocalDate(2020, 1, 5), calc.getDafYomiBavliCycleStart(14))
+        Assert.assertEquals(13, calc.getDafYomiBavliCycle(LocalDate(2020, 1, 4)))
+        Assert.assertEquals(14, calc.getDafYomiBavliCycle(LocalDate(2020, 1, 5)))
+        for (cycle in 1..20) {
+            val start = calc.getDafYomiBavliCycleStart(cycle)
+            Assert.assertEquals(cycle, calc.getDafYomiBavliCycle(start))
+            Assert.assertEquals(Daf(0, 2), calc.getDafYomiBavli(start))
+        }
+    }
+
+    @Test
+    fun reverseLookup() {
+        //every daf of cycles 7 (with the short Shekalim) and 14
+        for (cycle in listOf(7, 14)) {
+            var date = calc.getDafYomiBavliCycleStart(cycle)
+            val end = calc.getDafYomiBavliCycleStart(cycle + 1)
+            while (date < end) {
+                val daf = calc.getDafYomiBavli(date)
+                Assert.assertEquals(listOf(date), calc.getDafYomiBavliDates(daf.masechtaNumber, daf.daf, cycle..cycle))
+                date = date.plus(1, DateTimeUnit.DAY)
+            }
+        }
+        //Shekalim 20 was first learned in the 8th cycle
+        val shekalim20 = calc.getDafYomiBavliDates(4, 20, 1..14)
+        Assert.assertEquals(7, shekalim20.size)
+        shekalim20.forEach { Assert.assertEquals(Daf(4, 20), calc.getDafYomiBavli(it)) }
+        Assert.assertEquals(14, calc.getDafYomiBavliDates(36, 23, 1..14).size) //Kinnim
+        Assert.assertTrue(calc.getDafYomiBavliDates(0, 2, 5 until 5).isEmpty())
+        Assert.assertThrows(IllegalArgumentException::class.java) { calc.getDafYomiBavliDates(4, 23, 1..14) }
+        Assert.assertThrows(IllegalArgumentException::class.java) { calc.getDafYomiBavliDates(0, 1, 1..14) }
+        Assert.assertThrows(IllegalArgumentException::class.java) { calc.getDafYomiBavliDates(40, 2, 1..14) }
+    }
+
+    @Ignore("Benchmark, run manually")
+    @Test
+    fun benchmark() {
+        val dates = generateSequence(LocalDate(2000, 1, 1)) { it.plus(1, DateTimeUnit.DAY) }.takeWhile { it.year < 2100 }.toList()
+        val java = dates.map { com.kosherjava.zmanim.hebrewcalendar.JewishCalendar(GregorianCalendar(it.year, it.monthNumber - 1, it.dayOfMonth)) }
+        repeat(3) { dates.forEach { calc.getDafYomiBavli(it) } }
+        var start = System.nanoTime()
+        dates.forEach { calc.getDafYomiBavli(it) }
+        val kotlinNanos = (System.nanoTime() - start) / dates.size
+        repeat(3) { java.forEach { it.dafYomiBavli } }
+        start = System.nanoTime()
+        java.forEach { it.dafYomiBavli }
+        val javaNanos = (System.nanoTime() - start) / java.size
+        println("Daf Yomi Bavli for 100 years of dates: $kotlinNanos ns per date; Java YomiCalculator: $javaNanos ns")
+    }
+
     companion object {
         private val hdf = HebrewDateFormatter()
 
@@ -0,0 +1,103 @@
+package zmanim
+
+import kotlinx.datetime.DateTimeUnit
+import kotlinx.datetime.LocalDate
+import kotlinx.datetime.TimeZone
+import kotlinx.datetime.atStartOfDayIn
+import kotlinx.datetime.plus
+import kotlinx.datetime.toLocalDateTime
+import org.junit.Assert
+import org.junit.Ignore
+import org.junit.Test
+import sternbach.software.kosherkotlin.AssurBemelachaIntervals
+import sternbach.software.kosherkotlin.ComplexZmanimCalendar
+import sternbach.software.kosherkotlin.util.GeoLocation
+import kotlin.time.Duration.Companion.milliseconds
+import kotlin.time.Duration.Companion.minutes
+
+class AssurBemelachaIntervalsTest {
+    private val lakewood = GeoLocation("Lakewood, NJ", 40.0828, -74.2094, 20.0, TimeZone.of("America/New_York"))
+    private val jerusalem = GeoLocation("Jerusalem", 31.778, 35.2354, 800.0, TimeZone.of("Asia/Jerusalem"))
+
+    //5784
+    private val start = LocalDate(2023, 9, 16)
+    private val end = LocalDate(2024, 10, 2)
+
+    private fun assertMatchesIsAssurBemlacha(location: GeoLocation, inIsrael: Boolean) {
+        val intervals = AssurBemelachaIntervals.of(ComplexZmanimCalendar(location), start, end, inIsrael)
+        var date = start
+        while (date <= end) {
+            val calendar = ComplexZmanimCalendar(location, date)
+            val tzais = calendar.tzais.momentOfOccurrence!!
+            val nextDay = date.plus(1, DateTimeUnit.DAY).atStartOfDayIn(location.timeZone)
+            var moment = date.atStartOfDayIn(location.timeZone)
+            while (moment < nextDay) {
+                Assert.assertEquals("$moment", calendar.isAssurBemlacha(moment, tzais, inIsrael), moment in intervals)
+                moment += 30.minutes
+            }
+            date = date.plus(1, DateTimeUnit.DAY)
+        }
+        //the edges of each interval
+        intervals.toList().forEach { interval ->
+            listOf(interval.start, interval.endInclusive).forEach { edge ->
+                val calendar = ComplexZmanimCalendar(location, edge.toLocalDateTime(location.timeZone).date)
+                val tzais = calendar.tzais.momentOfOccurrence!!
+                Assert.assertTrue("$edge", calendar.isAssurBemlacha(edge, tzais, inIsrael))
+                Assert.assertTrue(edge in intervals)
+            }
+            val before = interval.start - 1.milliseconds
+            val after = interval.endInclusive + 1.milliseconds
+            if (before.toLocalDateTime(location.timeZone).date >= start) Assert.assertFalse("$before", before in intervals)
+            if (after.toLocalDateTime(location.timeZone).date <= end) Assert.assertFalse("$after", after in intervals)
+        }
+    }
+
+    @Test
+    fun matchesIsAssurBemlachaOutsideIsrael() = assertMatchesIsAssurBemlacha(lakewood, false)
+
+    @Test
+    fun matchesIsAssurBemlachaInIsrael() = assertMatchesIsAssurBemlacha(jerusalem, true)
+
+    @Test
+    fun consecutiveDaysAreMerged() {
+        val intervals = AssurBemelachaIntervals.of(ComplexZmanimCalendar(lakewood), LocalDate(2023, 9, 28), LocalDate(2023, 10, 2), false)
+        //Sukkos 5784 began on Shabbos: one interval from Friday's sunset to tzais of the second day of Yom Tov
+        Assert.assertEquals(1, intervals.size)
+        Assert.assertEquals(ComplexZmanimCalendar(lakewood, LocalDate(2023, 9, 29)).seaLevelSunset, intervals.startAt(0))
+        Assert.assertEquals(ComplexZmanimCalendar(lakewood, LocalDate(2023, 10, 1)).tzais.momentOfOccurrence, intervals.endAt(0))
+
+        val candleLighting = AssurBemelachaIntervals.of(
+            ComplexZmanimCalendar(lakewood), LocalDate(2023, 9, 28), LocalDate(2023, 10, 2), false,
+            startOf = { it.candleLighting.momentOfOccurrence }
+        )
+        Assert.assertEquals(ComplexZmanimCalendar(lakewood, LocalDate(2023, 9, 29)).candleLighting.momentOfOccurrence, candleLighting.startAt(0))
+        Assert.assertEquals(intervals.endAt(0), candleLighting.endAt(0))
+        Assert.assertEquals(candleLighting[0], candleLighting.currentOrNext(LocalDate(2023, 9, 28).atStartOfDayIn(lakewood.timeZone)))
+        Assert.assertEquals(candleLighting[0], candleLighting.currentOrNext(candleLighting.endAt(0)))
+        Assert.assertNull(candleLighting.currentOrNext(candleLighting.endAt(0) + 1.milliseconds))
+    }
+
+    @Ignore("Benchmark, run manually")
+    @Test
+    fun benchmark() {
+        val calendar = ComplexZmanimCalendar(lakewood)
+        repeat(3) { AssurBemelachaIntervals.of(calendar, start, end, false) } //warmup
+        var startNanos = System.nanoTime()
+        val intervals = AssurBemelachaIntervals.of(calendar, start, end, false)
+        val buildNanos = System.nanoTime() - startNanos
+        val moments = generateSequence(start.atStartOfDayIn(lakewood.timeZone)) { it + 7.minutes }.take(100_000).toList()
+        startNanos = System.nanoTime()
+        var count = 0
+        moments.forEach { if (it in intervals) count++ }
+        val containsNanos = System.nanoTime() - startNanos
+        val day = ComplexZmanimCalendar(lakewood, start)
+        val tzais = day.tzais.momentOfOccurrence!!
+        startNanos = System.nanoTime()
+        moments.take(1_000).forEach { day.isAssurBemlacha(it, tzais, false) }
+        val isAssurBemlachaNanos = (System.nanoTime() - startNanos) / 1_000
+        println(
+            "${intervals.size} intervals in ${buildNanos / 1_000_000} ms, contains ${containsNanos / moments.size} ns " +
+                    "($count of ${moments.size} assur), isAssurBemlacha $isAssurBemlachaNanos ns"
+        )
+    }
+}
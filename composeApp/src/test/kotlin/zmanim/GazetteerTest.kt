@@ -0,0 +1,134 @@
+package zmanim
+
+import kotlinx.datetime.TimeZone
+import org.junit.Assert
+import org.junit.Ignore
+import org.junit.Test
+import sternbach.software.kosherkotlin.util.Gazetteer
+import sternbach.software.kosherkotlin.util.GeoLocation
+import sternbach.software.kosherkotlin.util.Location
+import sternbach.software.kosherkotlin.util.map
+import java.io.File
+import kotlin.random.Random
+
+class GazetteerTest {
+    private val sample = Gazetteer(javaClass.getResourceAsStream("/${SampleGazetteer.FILE}")!!.use { it.readBytes() })
+
+    @Test
+    fun sample() {
+        //the file is encoded from the list
+        val places = SampleGazetteer.parse(javaClass.getResourceAsStream("/${SampleGazetteer.LIST}")!!.bufferedReader().use { it.readLines() })
+        Assert.assertEquals(places.toSet(), (0 until sample.size).map { sample[it] }.toSet())
+        Assert.assertEquals(places.size, sample.size)
+        Assert.assertTrue(sample.size > 50)
+        Assert.assertEquals("Lakewood, NJ", sample.nearest(40.0828, -74.2094).single().geoLocation.locationName)
+        Assert.assertEquals("Jerusalem", sample.nearest(31.778, 35.2354).single().geoLocation.locationName)
+        //across the antimeridian
+        Assert.assertEquals("Apia", sample.nearest(-14.0, 179.9).single().geoLocation.locationName)
+        val nearLakewood = sample.nearest(40.0828, -74.2094, 3)
+        Assert.assertEquals(listOf("Lakewood, NJ", "New York, NY", "Brooklyn, NY").sorted(), nearLakewood.map { it.geoLocation.locationName }.sorted())
+        Assert.assertEquals(nearLakewood.sortedBy { it.distance }, nearLakewood)
+
+        val geoLocation = sample.geoLocationOf(Location(31.79, 35.22, accuracy = 20.0))!!
+        Assert.assertEquals("Jerusalem", geoLocation.locationName)
+        Assert.assertEquals(TimeZone.of("Asia/Jerusalem"), geoLocation.timeZone)
+        Assert.assertEquals(754.0, geoLocation.elevation, 0.0)
+        Assert.assertEquals(31.79, geoLocation.latitude, 0.0)
+        Assert.assertEquals(35.22, geoLocation.longitude, 0.0)
+        Assert.assertEquals(12.0, sample.geoLocationOf(Location(31.79, 35.22, elevation = 12.0))!!.elevation, 0.0)
+    }
+
+    @Test
+    fun matchesLinearSearch() {
+        val random = Random(5784)
+        val places = randomPlaces(random, 10_000)
+        val gazetteer = Gazetteer(Gazetteer.encode(places))
+        Assert.assertEquals(places.size, gazetteer.size)
+        val geoLocations = places.map { it.toGeoLocation() }
+        repeat(100) {
+            val latitude = random.nextDouble(-90.0, 90.0)
+            val longitude = random.nextDouble(-180.0, 180.0)
+            val origin = GeoLocation("", latitude, longitude, TimeZone.UTC)
+            val expected = geoLocations
+                .map { it to origin.getGeodesicDistance(it) }
+                .sortedBy { it.second }
+                .take(5)
+                .map { it.first }
+            Assert.assertEquals("$latitude, $longitude", expected, gazetteer.nearest(latitude, longitude, 5).map { it.geoLocation })
+        }
+    }
+
+    @Test
+    fun roundTrip() {
+        val places = listOf(
+            Gazetteer.Place("Lakewood, NJ", 40.082_1, -74.209_7, 20.0, "America/New_York"),
+            Gazetteer.Place("ירושלים", 31.768_3, 35.213_7, 754.0, "Asia/Jerusalem"),
+        )
+        val gazetteer = Gazetteer(Gazetteer.encode(places))
+        Assert.assertEquals(places.toSet(), (0 until gazetteer.size).map { gazetteer[it] }.toSet())
+        Assert.assertTrue(Gazetteer(Gazetteer.encode(emptyList())).nearest(0.0, 0.0, 3).isEmpty())
+        Assert.assertThrows(IllegalArgumentException::class.java) { Gazetteer(ByteArray(12)) }
+        Assert.assertThrows(IllegalArgumentException::class.java) { Gazetteer(Gazetteer.encode(places).copyOf(40)) }
+        Assert.assertThrows(IllegalArgumentException::class.java) { gazetteer.nearest(0.0, 0.0, 0) }
+        //elevations are stored in 16 bits
+        val highest = Gazetteer.Place("", 0.0, 0.0, 32_767.0, "UTC")
+        Assert.assertEquals(highest, Gazetteer(Gazetteer.encode(listOf(highest)))[0])
+        Assert.assertThrows(IllegalArgumentException::class.java) { Gazetteer.encode(listOf(highest.copy(elevation = 32_768.0))) }
+        Assert.assertThrows(IllegalArgumentException::class.java) { Gazetteer.encode(listOf(highest.copy(elevation = -40_000.0))) }
+    }
+
+    @Test
+    fun mapped() {
+        val bytes = Gazetteer.encode(randomPlaces(Random(1), 1_000))
+        val file = File.createTempFile("gazetteer", ".bin").apply { deleteOnExit() }
+        file.writeBytes(bytes)
+        val mapped = Gazetteer.map(file)
+        val inMemory = Gazetteer(bytes)
+        Assert.assertEquals(inMemory.size, mapped.size)
+        val random = Random(2)
+        repeat(100) {
+            val latitude = random.nextDouble(-90.0, 90.0)
+            val longitude = random.nextDouble(-180.0, 180.0)
+            Assert.assertEquals(inMemory.nearest(latitude, longitude, 3), mapped.nearest(latitude, longitude, 3))
+        }
+    }
+
+    /**
+     * Compares [Gazetteer.nearest] with a linear geodesic search, which takes seconds for the 20 queries it checks, so
+     * it is ignored by default; run it manually.
+     */
+    @Ignore("Benchmark, run manually")
+    @Test
+    fun benchmark() {
+        val random = Random(3)
+        val gazetteer = Gazetteer(Gazetteer.encode(randomPlaces(random, 200_000)))
+        val queries = Array(10_000) { doubleArrayOf(random.nextDouble(-60.0, 70.0), random.nextDouble(-180.0, 180.0)) }
+        repeat(3) { queries.forEach { gazetteer.nearest(it[0], it[1], 5) } } //warm up
+        var start = System.nanoTime()
+        queries.forEach { gazetteer.nearest(it[0], it[1], 5) }
+        val nearestNanos = (System.nanoTime() - start) / queries.size
+        start = System.nanoTime()
+        val linearQueries = 20
+        for (query in queries.take(linearQueries)) {
+            val origin = GeoLocation("", query[0], query[1], TimeZone.UTC)
+            val nearest = (0 until gazetteer.size).minBy { origin.getGeodesicDistance(gazetteer[it].toGeoLocation()) }
+            Assert.assertEquals(gazetteer[nearest].toGeoLocation(), gazetteer.nearest(query[0], query[1]).single().geoLocation)
+        }
+        val linearNanos = (System.nanoTime() - start) / linearQueries
+        println("nearest 5 of ${gazetteer.size} places: ${nearestNanos / 1000} us per query; linear geodesic search: ${linearNanos / 1000} us")
+    }
+
+    private fun randomPlaces(random: Random, size: Int): List<Gazetteer.Place> {
+        val zones = listOf("America/New_York", "Europe/London", "Asia/Jerusalem", "Australia/Sydney", "Pacific/Apia")
+        return List(size) {
+            Gazetteer.Place(
+                "Place $it",
+                //whole millionths of a degree, as stored
+                random.nextInt(-90_000_000, 90_000_001) / 1_000_000.0,
+                random.nextInt(-180_000_000, 180_000_001) / 1_000_000.0,
+                random.nextInt(0, 3000).toDouble(),
+                zones[random.nextInt(zones.size)]
+            )
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package zmanim
+
+import kotlinx.datetime.TimeZone
+import org.junit.Assert
+import org.junit.Ignore
+import org.junit.Test
+import sternbach.software.kosherkotlin.util.Geodesic
+import sternbach.software.kosherkotlin.util.Geodesics
+import sternbach.software.kosherkotlin.util.GeoLocation
+import kotlin.random.Random
+
+class GeodesicsTest {
+    private val jerusalem = GeoLocation("Jerusalem", 31.778, 35.2354, TimeZone.of("Asia/Jerusalem"))
+
+    private fun randomLatitudes(random: Random, size: Int) = DoubleArray(size) { random.nextDouble(-90.0, 90.0) }
+    private fun randomLongitudes(random: Random, size: Int) = DoubleArray(size) { random.nextDouble(-180.0, 180.0) }
+
+    private fun assertSame(message: String, expected: Double, actual: Double) =
+        Assert.assertEquals(message, expected.toRawBits(), actual.toRawBits())
+
+    @Test
+    fun matchesJava() {
+        val random = Random(1)
+        val javaJerusalem = com.kosherjava.zmanim.util.GeoLocation("Jerusalem", 31.778, 35.2354, java.util.TimeZone.getTimeZone("Asia/Jerusalem"))
+        repeat(20_000) {
+            val latitude = random.nextDouble(-90.0, 90.0)
+            val longitude = random.nextDouble(-180.0, 180.0)
+            val location = GeoLocation("", latitude, longitude, TimeZone.UTC)
+            val java = com.kosherjava.zmanim.util.GeoLocation("", latitude, longitude, java.util.TimeZone.getTimeZone("UTC"))
+            val geodesic = location.getGeodesic(jerusalem)
+            val message = "$latitude, $longitude"
+            assertSame(message, java.getGeodesicDistance(javaJerusalem), geodesic.distance)
+            assertSame(message, java.getGeodesicInitialBearing(javaJerusalem), geodesic.initialBearing)
+            assertSame(message, java.getGeodesicFinalBearing(javaJerusalem), geodesic.finalBearing)
+            assertSame(message, location.getGeodesicDistance(jerusalem), geodesic.distance)
+            assertSame(message, location.getGeodesicInitialBearing(jerusalem), geodesic.initialBearing)
+            assertSame(message, location.getGeodesicFinalBearing(jerusalem), geodesic.finalBearing)
+        }
+        Assert.assertEquals(Geodesic(0.0, 0.0, 0.0), jerusalem.getGeodesic(GeoLocation("", 31.778, 35.2354, TimeZone.UTC)))
+        //nearly antipodal points, for which the formula does not converge
+        Assert.assertTrue(Geodesics.inverse(0.0, 0.0, 0.5, 179.7).distance.isNaN())
+    }
+
+    @Test
+    fun batch() {
+        val random = Random(2)
+        val size = 5_000
+        val latitudes = randomLatitudes(random, size)
+        val longitudes = randomLongitudes(random, size)
+        val distances = DoubleArray(size)
+        val initialBearings = DoubleArray(size)
+        val finalBearings = DoubleArray(size)
+        Geodesics.inverse(jerusalem.latitude, jerusalem.longitude, latitudes, longitudes, distances, initialBearings, finalBearings)
+        for (i in 0 until size) {
+            val expected = Geodesics.inverse(jerusalem.latitude, jerusalem.longitude, latitudes[i], longitudes[i])
+            assertSame("$i", expected.distance, distances[i])
+            assertSame("$i", expected.initialBearing, initialBearings[i])
+            assertSame("$i", expected.finalBearing, finalBearings[i])
+        }
+
+        val toLatitudes = randomLatitudes(random, size)
+        val toLongitudes = randomLongitudes(random, size)
+        val bearings = DoubleArray(size)
+        Geodesics.inverse(latitudes, longitudes, toLatitudes, toLongitudes, initialBearings = bearings)
+        for (i in 0 until size) {
+            assertSame("$i", Geodesics.inverse(latitudes[i], longitudes[i], toLatitudes[i], toLongitudes[i]).initialBearing, bearings[i])
+        }
+        Assert.assertThrows(IllegalArgumentException::class.java) {
+            Geodesics.inverse(0.0, 0.0, latitudes, longitudes, distances = DoubleArray(size - 1))
+        }
+        Assert.assertThrows(IllegalArgumentException::class.java) {
+            Geodesics.inverse(latitudes, longitudes, toLatitudes, DoubleArray(1))
+        }
+    }
+
+    @Test
+    fun within() {
+        val random = Random(3)
+        val size = 20_000
+        val latitudes = randomLatitudes(random, size)
+        val longitudes = randomLongitudes(random, size)
+        val distances = DoubleArray(size)
+        Geodesics.inverse(jerusalem.latitude, jerusalem.longitude, latitudes, longitudes, distances)
+        for (maxDistance in listOf(0.0, 10_000.0, 500_000.0, 2_000_000.0, 8_000_000.0)) {
+            Assert.assertArrayEquals(
+                "$maxDistance",
+                (0 until size).filter { distances[it] <= maxDistance }.toIntArray(),
+                Geodesics.within(jerusalem.latitude, jerusalem.longitude, latitudes, longitudes, maxDistance)
+            )
+        }
+        //a location at exactly the distance is within it
+        Assert.assertTrue(0 in Geodesics.within(jerusalem.latitude, jerusalem.longitude, latitudes, longitudes, distances[0]))
+    }
+
+    @Ignore("Benchmark, run manually")
+    @Test
+    fun benchmark() {
+        val random = Random(4)
+        val size = 100_000
+        val latitudes = randomLatitudes(random, size)
+        val longitudes = randomLongitudes(random, size)
+        val locations = List(size) { GeoLocation("", latitudes[it], longitudes[it], TimeZone.UTC) }
+        val distances = DoubleArray(size)
+        val initialBearings = DoubleArray(size)
+        val finalBearings = DoubleArray(size)
+        fun measure(name: String, block: () -> Unit) {
+            repeat(3) { block() } //warm up
+            val start = System.nanoTime()
+            block()
+            println("$name: ${(System.nanoTime() - start) / size} ns per location")
+        }
+        measure("distance and both bearings with 3 calls") {
+            locations.forEachIndexed { i, it ->
+                distances[i] = it.getGeodesicDistance(jerusalem)
+                initialBearings[i] = it.getGeodesicInitialBearing(jerusalem)
+                finalBearings[i] = it.getGeodesicFinalBearing(jerusalem)
+            }
+        }
+        measure("distance and both bearings with getGeodesic") {
+            locations.forEachIndexed { i, it ->
+                val geodesic = it.getGeodesic(jerusalem)
+                distances[i] = geodesic.distance
+                initialBearings[i] = geodesic.initialBearing
+                finalBearings[i] = geodesic.finalBearing
+            }
+        }
+        measure("distance and both bearings with the batch") {
+            Geodesics.inverse(jerusalem.latitude, jerusalem.longitude, latitudes, longitudes, distances, initialBearings, finalBearings)
+        }
+        measure("within 500 km, filtering every distance") {
+            locations.indices.filter { locations[it].getGeodesicDistance(jerusalem) <= 500_000.0 }
+        }
+        measure("within 500 km with the spherical pre-filter") {
+            Geodesics.within(jerusalem.latitude, jerusalem.longitude, latitudes, longitudes, 500_000.0)
+        }
+    }
+}
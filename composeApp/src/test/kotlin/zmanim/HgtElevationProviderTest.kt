@@ -0,0 +1,123 @@
+package zmanim
+
+import kotlinx.datetime.TimeZone
+import org.junit.Assert
+import org.junit.Ignore
+import org.junit.Test
+import sternbach.software.kosherkotlin.util.Gazetteer
+import sternbach.software.kosherkotlin.util.GeoLocation
+import sternbach.software.kosherkotlin.util.HgtElevationProvider
+import sternbach.software.kosherkotlin.util.HgtTile
+import sternbach.software.kosherkotlin.util.Location
+import sternbach.software.kosherkotlin.util.map
+import java.io.File
+import java.nio.ByteBuffer
+import kotlin.random.Random
+
+class HgtElevationProviderTest {
+    /**
+     * Returns a tile of [size] samples per side whose sample at row r and column c is [sample] (r, c).
+     */
+    private fun tileBytes(size: Int, sample: (row: Int, column: Int) -> Int): ByteArray {
+        val buffer = ByteBuffer.allocate(size * size * 2)
+        for (row in 0 until size) for (column in 0 until size) buffer.putShort(sample(row, column).toShort())
+        return buffer.array()
+    }
+
+    @Test
+    fun interpolation() {
+        //5 samples per side, so samples are a quarter of a degree apart
+        val tile = HgtTile(40, -75, tileBytes(5) { row, column -> 100 * row + column })
+        Assert.assertEquals(5, tile.size)
+        //the corners: row 0 is the northern edge, column 0 the western edge
+        Assert.assertEquals(0.0, tile.elevation(41.0, -75.0)!!, 1e-9)
+        Assert.assertEquals(4.0, tile.elevation(41.0, -74.0)!!, 1e-9)
+        Assert.assertEquals(400.0, tile.elevation(40.0, -75.0)!!, 1e-9)
+        Assert.assertEquals(404.0, tile.elevation(40.0, -74.0)!!, 1e-9)
+        //a sample, and between samples
+        Assert.assertEquals(201.0, tile.elevation(40.5, -74.75)!!, 1e-9)
+        Assert.assertEquals(150.5, tile.elevation(40.625, -74.875)!!, 1e-9)
+        Assert.assertEquals(100 * 2.4 + 1.2, tile.elevation(40.4, -74.7)!!, 1e-9)
+        Assert.assertThrows(IllegalArgumentException::class.java) { tile.elevation(39.9, -74.5) }
+        Assert.assertThrows(IllegalArgumentException::class.java) { HgtTile(40, -75, ByteArray(10)) }
+        Assert.assertEquals("N40W075.hgt", HgtTile.nameOf(40, -75))
+        Assert.assertEquals("S01E005.hgt", HgtTile.nameOf(-1, 5))
+    }
+
+    @Test
+    fun voids() {
+        val tile = HgtTile(31, 35, tileBytes(3) { row, column -> if (row == 0 || row == 1 && column >= 1) HgtTile.VOID else 700 })
+        Assert.assertNull(tile.sample(0, 0))
+        Assert.assertEquals(700, tile.sample(1, 0))
+        //only the south-western sample has data
+        Assert.assertEquals(700.0, tile.elevation(31.75, 35.25)!!, 1e-9)
+        //all 4 samples are void
+        Assert.assertNull(tile.elevation(31.75, 35.75))
+    }
+
+    @Test
+    fun provider() {
+        val directory = createTempDir()
+        File(directory, "N40W075.hgt").writeBytes(tileBytes(5) { row, _ -> 100 - row })
+        File(directory, "N40W074.hgt").writeBytes(tileBytes(5) { row, _ -> 200 - row })
+        val provider = HgtElevationProvider.map(directory)
+        Assert.assertEquals(98.0, provider.elevation(40.5, -74.5)!!, 1e-9)
+        Assert.assertEquals(198.0, provider.elevation(40.5, -73.5)!!, 1e-9)
+        Assert.assertNull(provider.elevation(31.778, 35.2354))
+
+        val location = Location(40.5, -74.5, tz = TimeZone.of("America/New_York"))
+        Assert.assertEquals(98.0, GeoLocation(location, provider).elevation, 1e-9)
+        Assert.assertEquals(20.0, GeoLocation(location.copy(elevation = 20.0), provider).elevation, 0.0)
+        Assert.assertEquals(0.0, GeoLocation(Location(31.778, 35.2354, tz = TimeZone.UTC), provider).elevation, 0.0)
+
+        val gazetteer = Gazetteer(Gazetteer.encode(listOf(Gazetteer.Place("Lakewood, NJ", 40.0821, -74.2097, 20.0, "America/New_York"))))
+        Assert.assertEquals(98.0, gazetteer.geoLocationOf(location, provider)!!.elevation, 1e-9)
+        Assert.assertEquals(20.0, gazetteer.geoLocationOf(location)!!.elevation, 0.0)
+        directory.deleteRecursively()
+    }
+
+    @Test
+    fun leastRecentlyUsedTiles() {
+        val opened = mutableListOf<String>()
+        val provider = HgtElevationProvider(maxOpenTiles = 2) { latitude, longitude ->
+            opened.add(HgtTile.nameOf(latitude, longitude))
+            if (latitude == 0) null else HgtTile(latitude, longitude, tileBytes(2) { _, _ -> latitude })
+        }
+        provider.elevation(1.5, 1.5)
+        provider.elevation(2.5, 1.5)
+        provider.elevation(1.5, 1.5)
+        provider.elevation(0.5, 1.5) //no tile, evicts N02E001
+        provider.elevation(0.5, 1.5)
+        provider.elevation(1.5, 1.5)
+        Assert.assertEquals(listOf("N01E001.hgt", "N02E001.hgt", "N00E001.hgt"), opened)
+        Assert.assertEquals(2.0, provider.elevation(2.5, 1.5)!!, 0.0)
+        Assert.assertEquals("N02E001.hgt", opened.last())
+        Assert.assertEquals(4, opened.size)
+    }
+
+    @Ignore("Benchmark, run manually")
+    @Test
+    fun benchmark() {
+        val directory = createTempDir()
+        val random = Random(1)
+        for (latitude in 31..32) {
+            val file = File(directory, HgtTile.nameOf(latitude, 35))
+            file.writeBytes(tileBytes(1201) { _, _ -> random.nextInt(-400, 1200) })
+        }
+        val provider = HgtElevationProvider.map(directory)
+        val latitudes = DoubleArray(100_000) { random.nextDouble(31.0, 33.0) }
+        val longitudes = DoubleArray(latitudes.size) { random.nextDouble(35.0, 36.0) }
+        var sink = 0.0
+        fun measure(name: String, indices: IntArray) {
+            repeat(20) { for (i in indices) sink += provider.elevation(latitudes[i], longitudes[i])!! } //warm up
+            val start = System.nanoTime()
+            repeat(10) { for (i in indices) sink += provider.elevation(latitudes[i], longitudes[i])!! }
+            println("$name: ${(System.nanoTime() - start) / (10 * indices.size)} ns per lookup ($sink)")
+        }
+        measure("lookups alternating between 2 tiles", IntArray(latitudes.size) { it })
+        measure("lookups in the same tile", latitudes.indices.filter { latitudes[it] < 32 }.toIntArray())
+        directory.deleteRecursively()
+    }
+
+    private fun createTempDir(): File = kotlin.io.path.createTempDirectory("hgt").toFile()
+}
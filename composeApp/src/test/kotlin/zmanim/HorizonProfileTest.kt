@@ -0,0 +1,129 @@
+package zmanim
+
+import kotlinx.coroutines.runBlocking
+import kotlinx.datetime.LocalDate
+import kotlinx.datetime.LocalDateTime
+import kotlinx.datetime.LocalTime
+import kotlinx.datetime.TimeZone
+import org.junit.Assert
+import org.junit.Ignore
+import org.junit.Test
+import sternbach.software.kosherkotlin.AstronomicalCalendar
+import sternbach.software.kosherkotlin.util.ElevationProvider
+import sternbach.software.kosherkotlin.util.GeoLocation
+import sternbach.software.kosherkotlin.util.HorizonProfile
+import sternbach.software.kosherkotlin.util.HorizonProfiles
+import kotlin.math.atan
+import kotlin.math.cos
+import kotlin.math.PI
+import kotlin.math.sqrt
+import kotlin.time.Duration.Companion.minutes
+import kotlin.time.Duration.Companion.seconds
+
+class HorizonProfileTest {
+    private val jerusalem = GeoLocation("Jerusalem", 31.778, 35.2354, TimeZone.of("Asia/Jerusalem"))
+
+    /**
+     * Flat terrain at sea level, with a ridge [height] meters high running north to south [distance] meters east of
+     * [jerusalem].
+     */
+    private fun ridge(height: Double, distance: Double) = ElevationProvider { _, longitude ->
+        val metersEast = (longitude - jerusalem.longitude) * PI / 180 * 6_371_008.8 * cos(jerusalem.latitude * PI / 180)
+        if (metersEast > distance - 200 && metersEast < distance + 200) height else 0.0
+    }
+
+    private fun calendar(date: LocalDate) = AstronomicalCalendar(jerusalem).apply {
+        localDateTime = LocalDateTime(date, LocalTime(0, 0))
+    }
+
+    @Test
+    fun profile() = runBlocking<Unit> {
+        val profile = HorizonProfile.compute(jerusalem.latitude, jerusalem.longitude, 1.6, ridge(300.0, 5_000.0), azimuths = 360)
+        Assert.assertEquals(360, profile.size)
+        //the near edge of the ridge, lowered by the curvature of the earth
+        val expected = atan((300.0 - 1.6 - 4_800.0 * 4_800.0 / (2 * 6_371_008.8 / 0.87)) / 4_800.0) * 180 / PI
+        Assert.assertEquals(expected, profile.angleAt(90.0), 0.1)
+        //the flat terrain to the west is just below the astronomical horizon
+        Assert.assertTrue(profile.angleAt(270.0) < 0 && profile.angleAt(270.0) > -0.1)
+        Assert.assertEquals((profile.angleAt(90.0) + profile.angleAt(91.0)) / 2, profile.angleAt(90.5), 1e-9)
+        Assert.assertThrows(IllegalArgumentException::class.java) { HorizonProfile(FloatArray(0)) }
+    }
+
+    @Test
+    fun missingElevationsAreSeaLevel() = runBlocking<Unit> {
+        //an observer 100 meters above the sea, which has no elevations, sees the dip of the sea horizon
+        val sea = HorizonProfile.compute(jerusalem.latitude, jerusalem.longitude, 100.0, ElevationProvider { _, _ -> null }, azimuths = 36)
+        val seaLevel = HorizonProfile.compute(jerusalem.latitude, jerusalem.longitude, 100.0, ElevationProvider { _, _ -> 0.0 }, azimuths = 36)
+        val dip = -atan(sqrt(2 * 100.0 / (6_371_008.8 / 0.87))) * 180 / PI
+        for (azimuth in 0 until 360 step 10) {
+            Assert.assertEquals(seaLevel.angleAt(azimuth.toDouble()), sea.angleAt(azimuth.toDouble()), 0.0)
+            Assert.assertEquals(dip, sea.angleAt(azimuth.toDouble()), 0.01)
+        }
+        //missing samples between the observer and a ridge don't hide it
+        val ridge = ridge(300.0, 5_000.0)
+        val gaps = HorizonProfile.compute(jerusalem.latitude, jerusalem.longitude, 1.6, ElevationProvider { latitude, longitude ->
+            ridge.elevation(latitude, longitude)?.takeIf { it > 0 }
+        }, azimuths = 360)
+        val expected = HorizonProfile.compute(jerusalem.latitude, jerusalem.longitude, 1.6, ridge, azimuths = 360)
+        Assert.assertEquals(expected.angleAt(90.0), gaps.angleAt(90.0), 0.0)
+        Assert.assertEquals(expected.angleAt(270.0), gaps.angleAt(270.0), 0.0)
+    }
+
+    @Test
+    fun visibleSunriseAndSunset() = runBlocking<Unit> {
+        val flat = HorizonProfile(FloatArray(HorizonProfile.DEFAULT_AZIMUTHS))
+        val ridge = HorizonProfile.compute(jerusalem.latitude, jerusalem.longitude, 1.6, ridge(300.0, 5_000.0))
+        var date = LocalDate(2023, 1, 1)
+        repeat(365) {
+            val calendar = calendar(date)
+            val seaLevelSunrise = calendar.seaLevelSunrise!!
+            val seaLevelSunset = calendar.seaLevelSunset!!
+            //over a flat horizon, about the refraction and semi-diameter of sea level sunrise and sunset
+            val flatSunrise = calendar.getVisibleSunrise(flat)!!
+            val flatSunset = calendar.getVisibleSunset(flat)!!
+            Assert.assertEquals("$date", 0.0, (flatSunrise - seaLevelSunrise).inWholeMilliseconds / 1000.0, 30.0)
+            Assert.assertEquals("$date", 0.0, (flatSunset - seaLevelSunset).inWholeMilliseconds / 1000.0, 30.0)
+            //the ridge in the east hides sunrise for a quarter of an hour or so
+            val ridgeSunrise = calendar.getVisibleSunrise(ridge)!!
+            Assert.assertTrue("$date", ridgeSunrise - flatSunrise > 5.minutes)
+            Assert.assertTrue("$date", ridgeSunrise - flatSunrise < 25.minutes)
+            //the terrain in the west dips below the astronomical horizon, delaying sunset by a few seconds
+            val ridgeSunset = calendar.getVisibleSunset(ridge)!!
+            Assert.assertTrue("$date", ridgeSunset >= flatSunset && ridgeSunset - flatSunset < 30.seconds)
+            date = LocalDate.fromEpochDays(date.toEpochDays() + 1)
+        }
+        //a horizon so high the sun does not clear it near sunrise
+        Assert.assertNull(calendar(date).getVisibleSunrise(HorizonProfile(FloatArray(1) { 60f })))
+    }
+
+    @Test
+    fun cache() = runBlocking<Unit> {
+        var lookups = 0
+        val profiles = HorizonProfiles(ElevationProvider { _, _ -> lookups++; 800.0 }, maxSize = 2, azimuths = 36)
+        val profile = profiles.of(jerusalem)
+        val computedLookups = lookups
+        Assert.assertSame(profile, profiles.of(jerusalem))
+        Assert.assertEquals(computedLookups, lookups)
+        //flat terrain under the observer, whose elevation is raised to the ground
+        Assert.assertTrue(profile.angleAt(0.0) < 0)
+        Assert.assertNotSame(profile, profiles.of(GeoLocation("", 31.0, 35.0, TimeZone.UTC)))
+    }
+
+    @Ignore("Benchmark, run manually")
+    @Test
+    fun benchmark() = runBlocking<Unit> {
+        val provider = ridge(300.0, 5_000.0)
+        repeat(2) { HorizonProfile.compute(jerusalem.latitude, jerusalem.longitude, 1.6, provider) } //warm up
+        var start = System.nanoTime()
+        val profile = HorizonProfile.compute(jerusalem.latitude, jerusalem.longitude, 1.6, provider)
+        println("profile of ${profile.size} azimuths: ${(System.nanoTime() - start) / 1_000_000} ms")
+
+        val calendars = (0 until 365).map { calendar(LocalDate.fromEpochDays(LocalDate(2023, 1, 1).toEpochDays() + it)) }
+        val seaLevelSunrises = calendars.map { it.seaLevelSunrise!! }
+        var sink = 0L
+        repeat(20) { seaLevelSunrises.forEach { sink += profile.getVisibleSunrise(it, jerusalem.latitude, jerusalem.longitude)!!.epochSeconds } }
+        start = System.nanoTime()
+        repeat(20) { seaLevelSunrises.forEach { sink += profile.getVisibleSunrise(it, jerusalem.latitude, jerusalem.longitude)!!.epochSeconds } }
+        println("visible sunrise from a profile: ${(System.nanoTime() - start) / (20 * 365 * 1000)} µs per day ($sink)")
+    }
+}
@@ -0,0 +1,176 @@
+package zmanim
+
+import kotlinx.datetime.DateTimeUnit
+import kotlinx.datetime.LocalDate
+import kotlinx.datetime.TimeZone
+import kotlinx.datetime.plus
+import org.junit.Assert
+import org.junit.Ignore
+import org.junit.Test
+import sternbach.software.kosherkotlin.ComplexZmanimCalendar
+import sternbach.software.kosherkotlin.util.AstronomicalCalculator
+import sternbach.software.kosherkotlin.util.GeoLocation
+import sternbach.software.kosherkotlin.util.NOAACalculator
+import sternbach.software.kosherkotlin.util.PreparedLocation
+import sternbach.software.kosherkotlin.util.SunTimesCalculator
+import java.util.GregorianCalendar
+
+private const val GEOMETRIC_ZENITH = 90.0
+
+class PreparedLocationTest {
+    private val lakewood = GeoLocation("Lakewood, NJ", 40.0828, -74.2094, 20.0, TimeZone.of("America/New_York"))
+    private val zeniths = doubleArrayOf(
+        GEOMETRIC_ZENITH,
+        GEOMETRIC_ZENITH + 16.1,
+        GEOMETRIC_ZENITH + 8.5,
+        GEOMETRIC_ZENITH - 3.7,
+    )
+
+    @Test
+    fun matchesGeoLocation() {
+        val locations = listOf(
+            lakewood,
+            GeoLocation("Jerusalem", 31.778, 35.2354, 754.0, TimeZone.of("Asia/Jerusalem")),
+            GeoLocation("Apia", -13.8333, -171.75, 2.0, TimeZone.of("Pacific/Apia")),
+            GeoLocation("Tromsø", 69.6492, 18.9553, 0.0, TimeZone.of("Europe/Oslo")),
+        )
+        for (calculator in listOf(NOAACalculator(), SunTimesCalculator())) {
+            for (location in locations) {
+                val prepared = PreparedLocation(location)
+                val java = com.kosherjava.zmanim.util.GeoLocation(
+                    location.locationName,
+                    location.latitude,
+                    location.longitude,
+                    location.elevation,
+                    java.util.TimeZone.getTimeZone(location.timeZone.id)
+                )
+                val javaCalculator =
+                    if (calculator is NOAACalculator) com.kosherjava.zmanim.util.NOAACalculator()
+                    else com.kosherjava.zmanim.util.SunTimesCalculator()
+                for (day in 0 until 366 step 3) {
+                    val date = LocalDate(2024, 1, 1).plus(day, DateTimeUnit.DAY)
+                    val javaDate = GregorianCalendar(date.year, date.monthNumber - 1, date.dayOfMonth)
+                    val message = "${calculator.calculatorName}, ${location.locationName}, $date"
+                    for (zenith in zeniths) {
+                        for (adjustForElevation in listOf(false, true)) {
+                            val sunrise = calculator.getUTCSunrise(date, prepared, zenith, adjustForElevation)
+                            val sunset = calculator.getUTCSunset(date, prepared, zenith, adjustForElevation)
+                            assertSame(message, calculator.getUTCSunrise(date, location, zenith, adjustForElevation), sunrise)
+                            assertSame(message, calculator.getUTCSunset(date, location, zenith, adjustForElevation), sunset)
+                            assertSame(message, javaCalculator.getUTCSunrise(javaDate, java, zenith, adjustForElevation), sunrise)
+                            assertSame(message, javaCalculator.getUTCSunset(javaDate, java, zenith, adjustForElevation), sunset)
+                        }
+                    }
+                    if (calculator is NOAACalculator) {
+                        assertSame(message, javaCalculator.getUTCNoon(javaDate, java), calculator.getUTCNoon(date, prepared))
+                    }
+                    assertSame(message, calculator.getUTCNoon(date, location), calculator.getUTCNoon(date, prepared))
+                }
+            }
+        }
+    }
+
+    /**
+     * Asserts that both are the same [Double], including [Double.NaN] when the sun does not reach the zenith.
+     */
+    private fun assertSame(message: String, expected: Double, actual: Double) =
+        Assert.assertEquals(message, expected.toRawBits(), actual.toRawBits())
+
+    @Test
+    fun preparedAgainAfterChange() {
+        val location = GeoLocation("Lakewood, NJ", 40.0828, -74.2094, 20.0, TimeZone.of("America/New_York"))
+        val prepared = location.prepared
+        Assert.assertSame(prepared, location.prepared)
+        Assert.assertEquals(40.0828, prepared.latitude, 0.0)
+        Assert.assertEquals(-5 * 3_600_000, prepared.rawOffset)
+
+        location.latitude = 31.778
+        val afterLatitude = location.prepared
+        Assert.assertNotSame(prepared, afterLatitude)
+        Assert.assertEquals(40.0828, prepared.latitude, 0.0) //the previous prepared location is immutable
+        Assert.assertEquals(31.778, afterLatitude.latitude, 0.0)
+        Assert.assertSame(afterLatitude, location.prepared)
+
+        location.elevation = 754.0
+        val afterElevation = location.prepared
+        Assert.assertNotSame(afterLatitude, afterElevation)
+        Assert.assertEquals(AstronomicalCalculator.getElevationAdjustment(754.0, AstronomicalCalculator.DEFAULT_EARTH_RADIUS), afterElevation.elevationAdjustment, 0.0)
+
+        location.timeZone = TimeZone.of("Asia/Jerusalem")
+        location.longitude = 35.2354
+        val afterTimeZone = location.prepared
+        Assert.assertNotSame(afterElevation, afterTimeZone)
+        Assert.assertEquals(2 * 3_600_000, afterTimeZone.rawOffset)
+        Assert.assertEquals(location.localMeanTimeOffset, afterTimeZone.localMeanTimeOffset)
+        Assert.assertEquals(0, afterTimeZone.antimeridianAdjustment)
+
+        Assert.assertEquals(location, afterTimeZone.toGeoLocation())
+
+        //the name is not used by the calculations, so it is not prepared again
+        location.locationName = "Jerusalem"
+        Assert.assertSame(afterTimeZone, location.prepared)
+        Assert.assertEquals("Lakewood, NJ", location.prepared.locationName)
+    }
+
+    @Test
+    fun customEarthRadius() {
+        val prepared = lakewood.prepared
+        val date = LocalDate(2024, 6, 21)
+        val calculator = NOAACalculator().also { it.earthRadius = 6371.0 }
+        val javaCalculator = com.kosherjava.zmanim.util.NOAACalculator().also { it.earthRadius = 6371.0 }
+        val javaLocation = com.kosherjava.zmanim.util.GeoLocation("Lakewood, NJ", 40.0828, -74.2094, 20.0, java.util.TimeZone.getTimeZone("America/New_York"))
+        assertSame(
+            "earth radius 6371",
+            javaCalculator.getUTCSunrise(GregorianCalendar(2024, 5, 21), javaLocation, GEOMETRIC_ZENITH, true),
+            calculator.getUTCSunrise(date, prepared, GEOMETRIC_ZENITH, true)
+        )
+    }
+
+    /**
+     * At a [GeoLocation], each of the two hour angles of a NOAA sunrise computed the cosine of the zenith and the cosine
+     * and tangent of the latitude besides the cosine and tangent of the declination and the `acos` (6 trigonometric
+     * calls), and the elevation adjustment needed another `acos`: 13 per sunrise, not counting the position of the sun.
+     * At a [PreparedLocation] the cosine of the zenith is computed once per sunrise, so it needs 7.
+     *
+     * This compares sunrise at the prepared location with KosherJava's [com.kosherjava.zmanim.util.NOAACalculator], which
+     * computes all 13 at a `GeoLocation`, and with preparing the location for every sunrise, after checking that the
+     * sunrises are the same. The timings vary between machines, so it only prints them, and is ignored by default; run
+     * it manually.
+     */
+    @Ignore("Benchmark, run manually")
+    @Test
+    fun benchmark() {
+        val calculator = NOAACalculator()
+        val zenith = GEOMETRIC_ZENITH
+        val dates = Array(365) { LocalDate(2023, 1, 1).plus(it, DateTimeUnit.DAY) }
+        val javaCalculator = com.kosherjava.zmanim.util.NOAACalculator()
+        val javaLocation = com.kosherjava.zmanim.util.GeoLocation(
+            lakewood.locationName, lakewood.latitude, lakewood.longitude, lakewood.elevation, java.util.TimeZone.getTimeZone(lakewood.timeZone.id)
+        )
+        val javaDates = dates.map { GregorianCalendar(it.year, it.monthNumber - 1, it.dayOfMonth) }
+        //prints the nanoseconds per sunrise, after checking that sunrise is the prepared sunrise of every date
+        fun measure(name: String, sunrise: (Int) -> Double) {
+            dates.indices.forEach {
+                assertSame(name, calculator.getUTCSunrise(dates[it], lakewood.prepared, zenith, true), sunrise(it))
+            }
+            var sink = 0.0
+            repeat(200) { dates.indices.forEach { sink -= sunrise(it) } } //warm up
+            val start = System.nanoTime()
+            repeat(200) { dates.indices.forEach { sink += sunrise(it) } }
+            val nanos = (System.nanoTime() - start) / (200 * dates.size)
+            println("$name: $nanos ns per sunrise ($sink)")
+        }
+        val prepared = lakewood.prepared
+        measure("KosherJava sunrise at a GeoLocation") { javaCalculator.getUTCSunrise(javaDates[it], javaLocation, zenith, true) }
+        measure("sunrise at a new PreparedLocation (preparing the location every time)") {
+            calculator.getUTCSunrise(dates[it], PreparedLocation(lakewood), zenith, true)
+        }
+        measure("sunrise at the prepared location") { calculator.getUTCSunrise(dates[it], prepared, zenith, true) }
+
+        repeat(30) { ComplexZmanimCalendar(lakewood, dates[it]).allZmanim.forEach { zman -> zman.value } } //warm up
+        val start = System.nanoTime()
+        var occurred = 0
+        dates.forEach { date -> occurred += ComplexZmanimCalendar(lakewood, date).allZmanim.count { zman -> zman.value != null } }
+        println("allZmanim for a year: ${(System.nanoTime() - start) / 1_000_000} ms ($occurred zmanim)")
+    }
+}
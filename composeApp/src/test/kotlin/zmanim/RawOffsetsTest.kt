@@ -0,0 +1,73 @@
+package zmanim
+
+import kotlinx.datetime.TimeZone
+import kotlinx.datetime.UtcOffset
+import kotlinx.datetime.asTimeZone
+import org.junit.Assert
+import org.junit.Ignore
+import org.junit.Test
+import sternbach.software.kosherkotlin.util.GeoLocation
+import sternbach.software.kosherkotlin.util.GeoLocation.Companion.rawOffset
+import sternbach.software.kosherkotlin.util.RawOffsets
+
+class RawOffsetsTest {
+    @Test
+    fun matchesJava() {
+        var zones = 0
+        for (id in java.util.TimeZone.getAvailableIDs()) {
+            //kotlinx-datetime does not accept some of the ids of java.util.TimeZone, such as "EST"
+            val timeZone = runCatching { TimeZone.of(id) }.getOrNull() ?: continue
+            Assert.assertEquals(id, java.util.TimeZone.getTimeZone(id).rawOffset, timeZone.rawOffset)
+            zones++
+        }
+        Assert.assertTrue(zones > 500)
+        Assert.assertEquals(5 * 3_600_000 + 30 * 60_000, UtcOffset(hours = 5, minutes = 30).asTimeZone().rawOffset)
+        Assert.assertEquals(0, TimeZone.UTC.rawOffset)
+    }
+
+    @Test
+    fun table() {
+        Assert.assertEquals(-5 * 3_600_000, RawOffsets.tableOffset("America/New_York"))
+        Assert.assertEquals(2 * 3_600_000, RawOffsets.tableOffset("Asia/Jerusalem"))
+        Assert.assertEquals(5 * 3_600_000 + 45 * 60_000, RawOffsets.tableOffset("Asia/Kathmandu"))
+        Assert.assertEquals(0, RawOffsets.tableOffset("Africa/Abidjan"))
+        Assert.assertEquals(7 * 3_600_000, RawOffsets.tableOffset("VST"))
+        Assert.assertNull(RawOffsets.tableOffset("Asia/Atlantis"))
+        Assert.assertNull(RawOffsets.tableOffset(""))
+        @Suppress("DEPRECATION")
+        Assert.assertEquals(629, GeoLocation.mapOfTimeZoneIdToRawOffsetInMillis.size)
+    }
+
+    @Test
+    fun geoLocationResolvesOncePerTimeZone() {
+        val location = GeoLocation("Lakewood, NJ", 40.0828, -74.2094, TimeZone.of("America/New_York"))
+        Assert.assertEquals(-5 * 3_600_000, location.rawOffset)
+        location.timeZone = TimeZone.of("Asia/Jerusalem")
+        Assert.assertEquals(2 * 3_600_000, location.rawOffset)
+        Assert.assertEquals(0, location.antimeridianAdjustment)
+        location.timeZone = TimeZone.of("Pacific/Apia")
+        location.longitude = -171.75
+        val java = com.kosherjava.zmanim.util.GeoLocation("Apia", 13.8333, -171.75, java.util.TimeZone.getTimeZone("Pacific/Apia"))
+        Assert.assertEquals(java.localMeanTimeOffset, location.localMeanTimeOffset)
+        Assert.assertEquals(java.antimeridianAdjustment, location.antimeridianAdjustment)
+    }
+
+    @Ignore("Benchmark, run manually")
+    @Test
+    fun benchmark() {
+        val location = GeoLocation("Lakewood, NJ", 40.0828, -74.2094, TimeZone.of("America/New_York"))
+        @Suppress("DEPRECATION")
+        val map = GeoLocation.mapOfTimeZoneIdToRawOffsetInMillis
+        var sink = 0L
+        repeat(3) {
+            repeat(1_000_000) { sink += location.localMeanTimeOffset + map[location.timeZone.id]!! }
+        }
+        var start = System.nanoTime()
+        repeat(1_000_000) { sink += location.localMeanTimeOffset }
+        val cachedNanos = System.nanoTime() - start
+        start = System.nanoTime()
+        repeat(1_000_000) { sink += map[location.timeZone.id]!! }
+        val mapNanos = System.nanoTime() - start
+        println("localMeanTimeOffset with the cached raw offset: ${cachedNanos / 1_000_000} ns; map lookup: ${mapNanos / 1_000_000} ns ($sink)")
+    }
+}
@@ -0,0 +1,28 @@
+package zmanim
+
+import sternbach.software.kosherkotlin.util.Gazetteer
+import java.io.File
+
+/**
+ * The sample gazetteer of the tests, `sample-gazetteer.bin`, is encoded from the places listed in
+ * `sample-gazetteer.csv`: a header, then the latitude, longitude, elevation, time zone and name of each place, the name
+ * last since it may have commas. After changing the list, run [main] from the module directory (or with the resources
+ * directory as its argument) to encode it again; [GazetteerTest.sample] fails until then.
+ */
+object SampleGazetteer {
+    const val LIST = "sample-gazetteer.csv"
+    const val FILE = "sample-gazetteer.bin"
+
+    fun parse(lines: List<String>): List<Gazetteer.Place> = lines.drop(1).filter { it.isNotBlank() }.map { line ->
+        val (latitude, longitude, elevation, timeZoneId, name) = line.split(',', limit = 5)
+        Gazetteer.Place(name, latitude.toDouble(), longitude.toDouble(), elevation.toDouble(), timeZoneId)
+    }
+
+    @JvmStatic
+    fun main(args: Array<String>) {
+        val directory = File(args.firstOrNull() ?: "src/test/resources")
+        val places = parse(File(directory, LIST).readLines())
+        File(directory, FILE).writeBytes(Gazetteer.encode(places))
+        println("Encoded ${places.size} places to ${File(directory, FILE)}")
+    }
+}
@@ -0,0 +1,68 @@
+package zmanim
+
+import kotlinx.datetime.DateTimeUnit
+import kotlinx.datetime.LocalDate
+import kotlinx.datetime.TimeZone
+import kotlinx.datetime.plus
+import org.junit.Assert
+import org.junit.Ignore
+import org.junit.Test
+import sternbach.software.kosherkotlin.ComplexZmanimCalendar
+import sternbach.software.kosherkotlin.Zman
+import sternbach.software.kosherkotlin.metadata.ZmanAuthority
+import sternbach.software.kosherkotlin.metadata.ZmanDefinition
+import sternbach.software.kosherkotlin.metadata.ZmanType
+import sternbach.software.kosherkotlin.util.GeoLocation
+import kotlin.time.Duration.Companion.minutes
+
+/**
+ * Measures the per-[Zman] overhead of each [Zman.EvaluationMode] compared to the previous implementation, which wrapped
+ * the value in two synchronized `lazy` delegates.
+ *
+ * Its timings depend on the machine, so it is ignored by default; run it manually.
+ * */
+@Ignore("Benchmark, run manually")
+class ZmanEvaluationModeBenchmark {
+    private val definition = ZmanDefinition(ZmanType.CHATZOS_HAYOM, ZmanAuthority.Unanimous)
+    private val lakewood = GeoLocation("Lakewood, NJ", 40.0828, -74.2094, 20.0, TimeZone.of("America/New_York"))
+
+    /** The previous implementation: `value by lazy` and `momentOfOccurrence by lazy { value }`. */
+    private class DoubleSynchronizedLazy(computeValue: () -> Long) {
+        val value: Long by lazy { computeValue() }
+        val momentOfOccurrence: Long by lazy { value }
+    }
+
+    @Test
+    fun perZmanOverhead() {
+        val iterations = 2_000_000
+        fun measure(name: String, block: (Int) -> Long): Long {
+            var sink = 0L
+            for (i in 0 until iterations) sink -= block(i) //warm up
+            val start = System.nanoTime()
+            for (i in 0 until iterations) sink += block(i)
+            val nanosPerZman = (System.nanoTime() - start).toDouble() / iterations
+            println("$name: ${"%.1f".format(nanosPerZman)} ns/zman")
+            return sink
+        }
+        val baseline = measure("2x synchronized lazy (previous)") { i -> DoubleSynchronizedLazy { i.toLong() }.momentOfOccurrence }
+        Zman.EvaluationMode.values().forEach { mode ->
+            val sink = measure(mode.name) { i -> Zman.ValueBased(definition, mode) { i.minutes }.duration.inWholeMinutes }
+            Assert.assertEquals(baseline, sink)
+        }
+    }
+
+    @Test
+    fun allZmanimForAYear() {
+        repeat(30) { ComplexZmanimCalendar(lakewood, LocalDate(2022, 1, 1).plus(it, DateTimeUnit.DAY)).allZmanim.forEach { zman -> zman.value } } //warm up
+        Zman.EvaluationMode.values().forEach { mode ->
+            var occurred = 0
+            val start = System.nanoTime()
+            repeat(365) {
+                val date = LocalDate(2023, 1, 1).plus(it, DateTimeUnit.DAY)
+                val calendar = ComplexZmanimCalendar(lakewood, date, zmanEvaluationMode = mode)
+                occurred += calendar.allZmanim.count { zman -> zman.value != null }
+            }
+            println("${mode.name}: ${(System.nanoTime() - start) / 1_000_000} ms for a year of allZmanim ($occurred zmanim)")
+        }
+    }
+}
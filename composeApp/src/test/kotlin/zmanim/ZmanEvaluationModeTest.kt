@@ -0,0 +1,46 @@
+package zmanim
+
+import kotlinx.datetime.Instant
+import org.junit.Assert
+import org.junit.Test
+import sternbach.software.kosherkotlin.Zman
+import sternbach.software.kosherkotlin.metadata.ZmanAuthority
+import sternbach.software.kosherkotlin.metadata.ZmanDefinition
+import sternbach.software.kosherkotlin.metadata.ZmanType
+import kotlin.time.Duration.Companion.minutes
+
+class ZmanEvaluationModeTest {
+    private val definition = ZmanDefinition(ZmanType.CHATZOS_HAYOM, ZmanAuthority.Unanimous)
+
+    @Test
+    fun evaluation() {
+        var computed = 0
+        val eager = Zman.DateBased(definition, Zman.EvaluationMode.EAGER) { computed++; Instant.fromEpochSeconds(0) }
+        Assert.assertEquals(1, computed)
+        for (mode in listOf(Zman.EvaluationMode.LAZY_UNSYNCHRONIZED, Zman.EvaluationMode.LAZY_PUBLICATION)) {
+            computed = 0
+            val lazy = Zman.DateBased(definition, mode) { computed++; Instant.fromEpochSeconds(0) }
+            Assert.assertEquals(0, computed)
+            Assert.assertEquals(eager.momentOfOccurrence, lazy.momentOfOccurrence)
+            Assert.assertEquals(eager.momentOfOccurrence, lazy.momentOfOccurrence)
+            Assert.assertEquals(mode.name, 1, computed)
+        }
+    }
+
+    @Test
+    fun equalityIgnoresEvaluationMode() {
+        val computeInstant = { Instant.fromEpochSeconds(0) }
+        val computeDuration = { 72.minutes }
+        for (mode in Zman.EvaluationMode.values()) {
+            val dateBased = Zman.DateBased(definition, mode, computeInstant)
+            Assert.assertEquals(Zman.DateBased(definition, computeInstant = computeInstant), dateBased)
+            Assert.assertEquals(Zman.DateBased(definition, computeInstant = computeInstant).hashCode(), dateBased.hashCode())
+            val valueBased = Zman.ValueBased(definition, mode, computeDuration)
+            Assert.assertEquals(Zman.ValueBased(definition, computeDuration = computeDuration), valueBased)
+            Assert.assertEquals(Zman.ValueBased(definition, computeDuration = computeDuration).hashCode(), valueBased.hashCode())
+            //the mode is not a component, so destructuring is as it was
+            val (destructured) = dateBased
+            Assert.assertEquals(definition, destructured)
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package zmanim
+
+import kotlinx.datetime.Clock
+import kotlinx.datetime.DateTimeUnit
+import kotlinx.datetime.Instant
+import kotlinx.datetime.LocalDate
+import kotlinx.datetime.TimeZone
+import kotlinx.datetime.plus
+import kotlinx.datetime.toInstant
+import kotlinx.datetime.LocalDateTime
+import org.junit.Assert
+import org.junit.Ignore
+import org.junit.Test
+import sternbach.software.kosherkotlin.ComplexZmanimCalendar
+import sternbach.software.kosherkotlin.ZmanReminder
+import sternbach.software.kosherkotlin.ZmanReminderProfile
+import sternbach.software.kosherkotlin.ZmanReminderScheduler
+import sternbach.software.kosherkotlin.hebrewcalendar.JewishCalendar
+import sternbach.software.kosherkotlin.metadata.ZmanType
+import sternbach.software.kosherkotlin.util.GeoLocation
+import kotlin.math.abs
+import kotlin.random.Random
+import kotlin.time.Duration.Companion.days
+import kotlin.time.Duration.Companion.minutes
+
+class ZmanReminderSchedulerTest {
+    private class FakeClock(var now: Instant) : Clock {
+        override fun now() = now
+    }
+
+    private class Region(val timeZone: TimeZone, val latitude: Double, val longitude: Double, val inIsrael: Boolean = false)
+
+    private val regions = listOf(
+        Region(TimeZone.of("America/New_York"), 40.0, -74.5),
+        Region(TimeZone.of("America/Los_Angeles"), 34.0, -118.5),
+        Region(TimeZone.of("Europe/London"), 51.5, -0.5),
+        Region(TimeZone.of("Asia/Jerusalem"), 31.5, 35.0, inIsrael = true),
+    )
+
+    private val template = ComplexZmanimCalendar()
+    private val reminders = listOf(
+        ZmanReminder(template.sofZmanShmaGRA.definition, 10.minutes),
+        ZmanReminder(template.sofZmanShmaMGA.definition, 15.minutes),
+        ZmanReminder(template.candleLighting.definition, 30.minutes),
+        ZmanReminder(template.tzais.definition, (-5).minutes),
+    )
+    private val profiles = listOf(
+        ZmanReminderProfile(reminders.take(1)),
+        ZmanReminderProfile(reminders),
+        ZmanReminderProfile(
+            listOf(reminders[1], ZmanReminder(ComplexZmanimCalendar(candleLightingOffset = 40.0).candleLighting.definition, 30.minutes), reminders[3]),
+            candleLightingOffset = 40.0,
+            inIsrael = true
+        ),
+    )
+
+    //Thursday afternoon through Shabbos morning, UTC
+    private val start = LocalDateTime(2023, 6, 15, 12, 0).toInstant(TimeZone.UTC)
+    private val end = LocalDateTime(2023, 6, 17, 12, 0).toInstant(TimeZone.UTC)
+
+    private class User(val id: Int, val locationIndex: Int, val location: GeoLocation, val profile: ZmanReminderProfile)
+
+    /**
+     * [count] users at [locationCount] locations. Each location is the center of its own cell of the scheduler's
+     * rounding, and each user is within a meter of it, so the users of a location and a profile make up exactly one group.
+     */
+    private fun syntheticUsers(count: Int, locationCount: Int): List<User> {
+        val random = Random(5783)
+        val precision = ZmanReminderScheduler.DEFAULT_LOCATION_PRECISION
+        val locations = List(locationCount) {
+            val region = regions[it % regions.size]
+            //a grid of 25 columns, 8 cells apart, within a degree of the region
+            val cell = it / regions.size
+            Triple(region, region.latitude + (cell / 25 - 10) * 8 * precision, region.longitude + (cell % 25 - 12) * 8 * precision)
+        }
+        return List(count) { id ->
+            val locationIndex = random.nextInt(locationCount)
+            val (region, latitude, longitude) = locations[locationIndex]
+            val location = GeoLocation(
+                "user $id",
+                latitude + random.nextDouble(-0.00001, 0.00001),
+                longitude + random.nextDouble(-0.00001, 0.00001),
+                random.nextDouble(0.0, 500.0),
+                region.timeZone
+            )
+            val profile = if (region.inIsrael) profiles[2] else profiles[random.nextInt(2)]
+            User(id, locationIndex, location, profile)
+        }
+    }
+
+    /**
+     * Advances [clock] a minute at a time to [end], and returns the reminders each subscriber received.
+     */
+    private fun pollEveryMinute(scheduler: ZmanReminderScheduler<Int>, clock: FakeClock): Map<Int, List<Pair<ZmanReminder, Instant>>> {
+        val received = HashMap<Int, MutableList<Pair<ZmanReminder, Instant>>>()
+        while (clock.now < end) {
+            clock.now += 1.minutes
+            scheduler.pollDue().forEach { due ->
+                Assert.assertTrue(due.triggerAt <= clock.now && clock.now - due.triggerAt < 1.minutes)
+                Assert.assertEquals(due.momentOfOccurrence - due.reminder.before, due.triggerAt)
+                due.subscribers.forEach { received.getOrPut(it) { mutableListOf() }.add(due.reminder to due.triggerAt) }
+            }
+        }
+        return received
+    }
+
+    /**
+     * The moments each of [user]'s reminders should trigger at within [start]..[end], computed directly.
+     */
+    private fun expectedTriggers(user: User): List<Pair<ZmanReminder, Instant>> {
+        var date = LocalDate(2023, 6, 14)
+        val result = mutableListOf<Pair<ZmanReminder, Instant>>()
+        while (date <= LocalDate(2023, 6, 18)) {
+            val calendar = ComplexZmanimCalendar(user.location, date, candleLightingOffset = user.profile.candleLightingOffset)
+            val hasCandleLighting = JewishCalendar(date, user.profile.inIsrael).hasCandleLighting
+            user.profile.reminders.forEach { reminder ->
+                if (reminder.zman.type == ZmanType.CANDLE_LIGHTING && !hasCandleLighting) return@forEach
+                val zman = calendar.allZmanim.first { it.definition == reminder.zman }
+                val at = zman.momentOfOccurrence!! - reminder.before
+                if (at in start..end) result.add(reminder to at)
+            }
+            date = date.plus(1, DateTimeUnit.DAY)
+        }
+        return result.sortedBy { it.second }
+    }
+
+    @Test
+    fun remindersMatchDirectCalculation() {
+        val users = syntheticUsers(2_000, 100)
+        val clock = FakeClock(start)
+        val scheduler = ZmanReminderScheduler<Int>(clock)
+        users.forEach { scheduler.subscribe(it.id, it.location, it.profile) }
+        Assert.assertEquals(users.map { it.locationIndex to it.profile }.distinct().size, scheduler.groupCount)
+        val received = pollEveryMinute(scheduler, clock)
+
+        //a rounded location moves zmanim by seconds at most
+        users.take(200).forEach { user ->
+            val expected = expectedTriggers(user)
+            val actual = received[user.id].orEmpty()
+            Assert.assertEquals("${user.location}", expected.map { it.first }, actual.map { it.first })
+            expected.zip(actual).forEach { (expected, actual) ->
+                Assert.assertTrue("$expected vs $actual", abs((expected.second - actual.second).inWholeSeconds) <= 30)
+            }
+        }
+    }
+
+    @Ignore("Benchmark, run manually")
+    @Test
+    fun benchmark() {
+        val users = syntheticUsers(100_000, 2_000)
+        val clock = FakeClock(start)
+        val runtime = Runtime.getRuntime()
+        System.gc()
+        val memoryBefore = runtime.totalMemory() - runtime.freeMemory()
+        val subscribeStart = System.nanoTime()
+        val scheduler = ZmanReminderScheduler<Int>(clock)
+        users.forEach { scheduler.subscribe(it.id, it.location, it.profile) }
+        val subscribeNanos = System.nanoTime() - subscribeStart
+        System.gc()
+        val memoryAfter = runtime.totalMemory() - runtime.freeMemory()
+        val pollStart = System.nanoTime()
+        val delivered = pollEveryMinute(scheduler, clock).values.sumOf { it.size }
+        val pollNanos = System.nanoTime() - pollStart
+        println(
+            "100k users: ${scheduler.groupCount} groups, subscribe ${subscribeNanos / 1_000_000} ms, " +
+                    "${(memoryAfter - memoryBefore) / 1024} KiB retained, $delivered reminders polled in ${pollNanos / 1_000_000} ms"
+        )
+    }
+
+    @Test
+    fun unsubscribedUsersAreNotReminded() {
+        val clock = FakeClock(start)
+        val scheduler = ZmanReminderScheduler<String>(clock)
+        val lakewood = GeoLocation("Lakewood, NJ", 40.0828, -74.2094, 20.0, TimeZone.of("America/New_York"))
+        scheduler.subscribe("a", lakewood, profiles[1])
+        scheduler.subscribe("b", lakewood, profiles[1])
+        Assert.assertEquals(1, scheduler.groupCount)
+        Assert.assertTrue(scheduler.unsubscribe("a"))
+        Assert.assertFalse(scheduler.unsubscribe("a"))
+        val due = scheduler.pollDue(end)
+        Assert.assertTrue(due.isNotEmpty())
+        Assert.assertTrue(due.all { it.subscribers == listOf("b") })
+        Assert.assertEquals(due.sortedBy { it.triggerAt }.map { it.triggerAt }, due.map { it.triggerAt })
+        scheduler.unsubscribe("b")
+        Assert.assertEquals(0, scheduler.groupCount)
+        Assert.assertTrue(scheduler.pollDue(end + 3.days).isEmpty())
+        Assert.assertNull(scheduler.nextTriggerAt)
+    }
+
+    @Test(expected = IllegalArgumentException::class)
+    fun reminderOfAnotherCandleLightingOffsetIsRejected() {
+        ZmanReminderScheduler<Int>().subscribe(0, GeoLocation(), profiles[1].copy(candleLightingOffset = 40.0))
+    }
+
+    @Test(expected = IllegalArgumentException::class)
+    fun reminderOfUnknownZmanIsRejected() {
+        val definition = template.sofZmanShmaGRA.definition.copy(type = ZmanType.CHATZOS_HALAYLAH)
+        ZmanReminderScheduler<Int>().subscribe(0, GeoLocation(), ZmanReminderProfile(listOf(ZmanReminder(definition, 1.minutes))))
+    }
+}
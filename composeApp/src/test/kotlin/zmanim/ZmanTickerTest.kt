@@ -0,0 +1,113 @@
+package zmanim
+
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.take
+import kotlinx.coroutines.flow.toList
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.test.TestScope
+import kotlinx.coroutines.test.runTest
+import kotlinx.datetime.Clock
+import kotlinx.datetime.Instant
+import kotlinx.datetime.LocalDate
+import kotlinx.datetime.LocalDateTime
+import kotlinx.datetime.TimeZone
+import kotlinx.datetime.toInstant
+import kotlinx.datetime.toLocalDateTime
+import org.junit.Assert
+import org.junit.Test
+import sternbach.software.kosherkotlin.ComplexZmanimCalendar
+import sternbach.software.kosherkotlin.ZmanEvent
+import sternbach.software.kosherkotlin.ZmanTicker
+import sternbach.software.kosherkotlin.util.GeoLocation
+import kotlin.time.Duration.Companion.milliseconds
+import kotlin.time.Duration.Companion.minutes
+import kotlin.time.Duration.Companion.seconds
+
+@OptIn(ExperimentalCoroutinesApi::class)
+class ZmanTickerTest {
+    private val lakewood = GeoLocation("Lakewood, NJ", 40.0828, -74.2094, 20.0, TimeZone.of("America/New_York"))
+    private val jerusalem = GeoLocation("Jerusalem", 31.778, 35.2354, 800.0, TimeZone.of("Asia/Jerusalem"))
+    private val start = LocalDateTime(2023, 6, 15, 11, 0).toInstant(lakewood.timeZone)
+
+    /** A clock that follows the virtual time of the test scheduler, starting at [start]. */
+    private fun TestScope.virtualClock() = object : Clock {
+        override fun now(): Instant = start + testScheduler.currentTime.milliseconds
+    }
+
+    private fun ticker(clock: Clock) = ZmanTicker(clock, upcomingLead = 10.minutes, passedAfter = 1.minutes) {
+        listOf(it.sofZmanShmaGRA, it.chatzos, it.tzais)
+    }
+
+    @Test
+    fun eventsAreEmittedWhenDue() = runTest {
+        val clock = virtualClock()
+        val emitted = mutableListOf<Pair<Instant, ZmanEvent>>()
+        ticker(clock).events(listOf(lakewood)).take(12).collect { emitted.add(clock.now() to it) }
+        //sof zman shma has passed, so the first events are for chatzos; 4 zmanim later is tomorrow's chatzos
+        val chatzos = ComplexZmanimCalendar(lakewood, LocalDate(2023, 6, 15)).chatzos.momentOfOccurrence
+        Assert.assertEquals(chatzos, emitted.first().second.momentOfOccurrence)
+        Assert.assertEquals(List(4) { listOf(ZmanEvent.Type.UPCOMING, ZmanEvent.Type.NOW, ZmanEvent.Type.PASSED) }.flatten(), emitted.map { it.second.type })
+        emitted.forEach { (now, event) ->
+            val due = when (event.type) {
+                ZmanEvent.Type.UPCOMING -> event.momentOfOccurrence - 10.minutes
+                ZmanEvent.Type.NOW -> event.momentOfOccurrence
+                ZmanEvent.Type.PASSED -> event.momentOfOccurrence + 1.minutes
+            }
+            Assert.assertTrue("$event emitted at $now", now >= due && now - due < 1.seconds)
+        }
+        Assert.assertEquals(LocalDate(2023, 6, 16), emitted.last().second.momentOfOccurrence.toLocalDateTime(lakewood.timeZone).date)
+    }
+
+    @Test
+    fun currentStateIsEmittedImmediately() = runTest {
+        val clock = virtualClock()
+        val chatzos = ComplexZmanimCalendar(lakewood, LocalDate(2023, 6, 15)).chatzos.momentOfOccurrence!!
+        val ticker = ZmanTicker(object : Clock {
+            //start 30 seconds after chatzos
+            override fun now() = clock.now() + (chatzos - start) + 30.seconds
+        }, upcomingLead = 10.minutes, passedAfter = 1.minutes) { listOf(it.chatzos) }
+        val events = ticker.events(listOf(lakewood)).take(2).toList()
+        Assert.assertEquals(listOf(ZmanEvent.Type.NOW, ZmanEvent.Type.PASSED), events.map { it.type })
+        Assert.assertEquals(chatzos, events.first().momentOfOccurrence)
+    }
+
+    @Test
+    fun eventsFollowLocationChanges() = runTest {
+        val clock = virtualClock()
+        val locations = MutableStateFlow(listOf(lakewood))
+        val emitted = mutableListOf<ZmanEvent>()
+        val job = launch {
+            ticker(clock).events(locations).collect {
+                emitted.add(it)
+                if (it.type == ZmanEvent.Type.PASSED && it.location == lakewood) locations.value = listOf(jerusalem)
+            }
+        }
+        testScheduler.advanceTimeBy(3 * 24 * 60 * 60 * 1000L)
+        job.cancel()
+        val firstPassed = emitted.indexOfFirst { it.type == ZmanEvent.Type.PASSED }
+        Assert.assertTrue(emitted.take(firstPassed + 1).all { it.location == lakewood })
+        Assert.assertTrue(emitted.size > firstPassed + 1)
+        Assert.assertTrue(emitted.drop(firstPassed + 1).all { it.location == jerusalem })
+    }
+
+    @Test
+    fun onlyChangedLocationsAreRestarted() = runTest {
+        val clock = virtualClock()
+        val locations = MutableStateFlow(listOf(lakewood))
+        val emitted = mutableListOf<ZmanEvent>()
+        val job = launch {
+            ticker(clock).events(locations).collect {
+                emitted.add(it)
+                //between the upcoming and now events of chatzos in Lakewood, add Jerusalem
+                if (it.type == ZmanEvent.Type.UPCOMING && it.location == lakewood) locations.value = listOf(lakewood, jerusalem)
+            }
+        }
+        testScheduler.advanceTimeBy(2 * 24 * 60 * 60 * 1000L)
+        job.cancel()
+        Assert.assertTrue(emitted.any { it.location == jerusalem })
+        //a restarted Lakewood would emit the current state of chatzos again
+        val lakewoodEvents = emitted.filter { it.location == lakewood }.map { it.momentOfOccurrence to it.type }
+        Assert.assertEquals(lakewoodEvents.distinct(), lakewoodEvents)
+    }
+}
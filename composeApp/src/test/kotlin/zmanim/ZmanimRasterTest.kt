@@ -0,0 +1,90 @@
+package zmanim
+
+import kotlinx.coroutines.runBlocking
+import kotlinx.datetime.FixedOffsetTimeZone
+import kotlinx.datetime.LocalDate
+import kotlinx.datetime.TimeZone
+import kotlinx.datetime.UtcOffset
+import kotlinx.datetime.offsetAt
+import org.junit.Assert
+import org.junit.Ignore
+import org.junit.Test
+import sternbach.software.kosherkotlin.ComplexZmanimCalendar
+import sternbach.software.kosherkotlin.ZmanimRaster
+import sternbach.software.kosherkotlin.util.GeoLocation
+import kotlin.math.abs
+import kotlin.math.roundToInt
+
+class ZmanimRasterTest {
+    /**
+     * A time zone per 15 degrees of longitude, so that the map has a time zone boundary every 15 degrees.
+     */
+    private fun solarTimeZone(longitude: Double): TimeZone =
+        FixedOffsetTimeZone(UtcOffset(hours = (longitude / 15).roundToInt()))
+
+    private val raster = ZmanimRaster({ _, longitude -> solarTimeZone(longitude) }) { it.candleLighting }
+
+    /**
+     * Returns the exact value of the pixel at [x], [y] of a raster.
+     */
+    private fun exact(date: LocalDate, north: Double, west: Double, south: Double, east: Double, width: Int, height: Int, x: Int, y: Int): Int {
+        val latitude = north - (y + 0.5) * (north - south) / height
+        val longitude = west + (x + 0.5) * (east - west) / width
+        val timeZone = solarTimeZone(longitude)
+        val moment = ComplexZmanimCalendar(GeoLocation("", latitude, longitude, timeZone), date).candleLighting.momentOfOccurrence
+            ?: return ZmanimRaster.NO_VALUE
+        val minutes = (moment.toEpochMilliseconds() - date.toEpochDays() * 86_400_000L) / 60_000.0
+        return minutes.roundToInt() + timeZone.offsetAt(moment).totalSeconds / 60
+    }
+
+    private fun assertExact(date: LocalDate, north: Double, west: Double, south: Double, east: Double, width: Int, height: Int) = runBlocking<Unit> {
+        val pixels = raster.render(date, north, west, south, east, width, height)
+        Assert.assertEquals(width * height, pixels.size)
+        for (y in 0 until height) for (x in 0 until width) {
+            val expected = exact(date, north, west, south, east, width, height, x, y)
+            val actual = pixels[y * width + x]
+            val message = "$date ($x, $y): $expected, $actual"
+            if (expected == ZmanimRaster.NO_VALUE) Assert.assertEquals(message, expected, actual)
+            else Assert.assertTrue(message, abs(expected - actual) <= 1)
+        }
+    }
+
+    @Test
+    fun matchesCalendar() {
+        //Europe and the Middle East, across 4 time zones
+        assertExact(LocalDate(2023, 12, 22), 60.0, -10.0, 25.0, 45.0, 150, 100)
+        //up to the midnight sun, where there is no candle lighting
+        assertExact(LocalDate(2023, 6, 23), 75.0, 0.0, 50.0, 30.0, 90, 110)
+        //a map narrower than a cell, and a single pixel
+        assertExact(LocalDate(2023, 3, 24), 41.0, -75.0, 40.0, -74.0, 3, 40)
+        assertExact(LocalDate(2023, 3, 24), 41.0, -75.0, 40.0, -74.0, 1, 1)
+    }
+
+    @Test
+    fun invalidArguments() = runBlocking<Unit> {
+        Assert.assertThrows(IllegalArgumentException::class.java) { ZmanimRaster({ _, longitude -> solarTimeZone(longitude) }, cellSize = 0) { it.candleLighting } }
+        Assert.assertThrows(IllegalArgumentException::class.java) {
+            runBlocking { raster.render(LocalDate(2023, 1, 1), 10.0, 0.0, 20.0, 10.0, 10, 10) }
+        }
+        Assert.assertThrows(IllegalArgumentException::class.java) {
+            runBlocking { raster.render(LocalDate(2023, 1, 1), 10.0, 0.0, 0.0, 10.0, 0, 10) }
+        }
+    }
+
+    @Ignore("Benchmark, run manually")
+    @Test
+    fun benchmark() = runBlocking<Unit> {
+        val date = LocalDate(2023, 6, 23)
+        //North America at about 20 pixels a degree
+        val width = 1024
+        val height = 512
+        repeat(3) { raster.render(date, 60.0, -130.0, 25.0, -60.0, width, height) } //warm up
+        var start = System.nanoTime()
+        raster.render(date, 60.0, -130.0, 25.0, -60.0, width, height)
+        val rendered = System.nanoTime() - start
+        start = System.nanoTime()
+        for (x in 0 until width step 16) exact(date, 60.0, -130.0, 25.0, -60.0, width, height, x, height / 2)
+        val perPixel = (System.nanoTime() - start) / (width / 16)
+        println("${width}x$height raster: ${rendered / 1_000_000} ms, a calendar per pixel: ~${perPixel * width * height / 1_000_000} ms")
+    }
+}
@@ -0,0 +1,122 @@
+package zmanim
+
+import kotlinx.datetime.DateTimeUnit
+import kotlinx.datetime.Instant
+import kotlinx.datetime.LocalDate
+import kotlinx.datetime.TimeZone
+import kotlinx.datetime.plus
+import org.junit.Assert
+import org.junit.Test
+import sternbach.software.kosherkotlin.ComplexZmanimCalendar
+import sternbach.software.kosherkotlin.Zman
+import sternbach.software.kosherkotlin.ZmanimTimeline
+import sternbach.software.kosherkotlin.metadata.ZmanAuthority
+import sternbach.software.kosherkotlin.metadata.ZmanDefinition
+import sternbach.software.kosherkotlin.metadata.ZmanType
+import sternbach.software.kosherkotlin.util.GeoLocation
+import kotlin.time.Duration.Companion.hours
+import kotlin.time.Duration.Companion.minutes
+
+class ZmanimTimelineTest {
+    private val lakewood = GeoLocation("Lakewood, NJ", 40.0828, -74.2094, 20.0, TimeZone.of("America/New_York"))
+    private val date = LocalDate(2023, 6, 15)
+    private val calendar = ComplexZmanimCalendar(lakewood, date)
+    private val timeline = ZmanimTimeline.of(calendar) { listOf(it.alos72, it.sofZmanShmaGRA, it.chatzos, it.plagHamincha, it.tzais72) }
+
+    /** The moments of the same zmanim as [timeline] for the days [days] relative to [date], computed the slow way. */
+    private fun expectedMoments(days: IntRange) = days.flatMap {
+        val calendar = ComplexZmanimCalendar(lakewood, date.plus(it, DateTimeUnit.DAY))
+        listOf(calendar.alos72, calendar.sofZmanShmaGRA, calendar.chatzos, calendar.plagHamincha, calendar.tzais72)
+            .mapNotNull { zman -> zman.momentOfOccurrence }
+    }.sorted()
+
+    @Test
+    fun timelineIsSorted() {
+        val moments = timeline.toList().map { it.momentOfOccurrence!! }
+        Assert.assertEquals(expectedMoments(0..0), moments)
+        Assert.assertEquals(moments.map { it.toEpochMilliseconds() }, List(timeline.size) { timeline.epochMillisecondsAt(it) })
+    }
+
+    @Test
+    fun nextAndPreviousMatchLinearSearch() {
+        val expected = expectedMoments(-1..1)
+        var instant = calendar.alos72.momentOfOccurrence!! - 1.hours
+        val end = instant + 36.hours
+        while (instant < end) {
+            Assert.assertEquals(expected.firstOrNull { it > instant }, timeline.next(instant)?.momentOfOccurrence)
+            Assert.assertEquals(expected.lastOrNull { it < instant }, timeline.previous(instant)?.momentOfOccurrence)
+            instant += 7.minutes
+        }
+    }
+
+    @Test
+    fun nextRollsOverToNextDay() {
+        val afterTzais = timeline.toList().last().momentOfOccurrence!!
+        val next = timeline.next(afterTzais)!!
+        Assert.assertEquals(timeline.nextDay[0], next)
+        Assert.assertEquals(date.plus(1, DateTimeUnit.DAY), timeline.nextDay.date)
+    }
+
+    @Test
+    fun betweenSpansDays() {
+        val start = calendar.chatzos.momentOfOccurrence!!
+        val end = start + 48.hours
+        val expected = expectedMoments(-1..3).filter { it >= start && it < end }
+        Assert.assertEquals(expected, timeline.between(start, end).map { it.momentOfOccurrence })
+        Assert.assertEquals(emptyList<Instant>(), timeline.between(end, start))
+    }
+
+    @Test
+    fun nextAndPreviousAcrossMidnight() {
+        //each day has an early zman at 00:10 UTC, and a late one at 00:30 UTC of the next day
+        fun at(instant: Instant) = Zman.DateBased(ZmanDefinition(ZmanType.CHATZOS_HALAYLAH, ZmanAuthority.Unanimous)) { instant }
+        val straddling = ZmanimTimeline(date) {
+            val midnight = Instant.fromEpochSeconds(it.toEpochDays() * 86_400L)
+            listOf(at(midnight + 10.minutes), at(midnight + 24.hours + 30.minutes))
+        }
+        val nextMidnight = Instant.fromEpochSeconds((date.toEpochDays() + 1) * 86_400L)
+        //the next day's early zman comes before this day's late one
+        Assert.assertEquals(nextMidnight + 10.minutes, straddling.next(nextMidnight)?.momentOfOccurrence)
+        Assert.assertEquals(nextMidnight + 10.minutes, straddling.previous(nextMidnight + 20.minutes)?.momentOfOccurrence)
+        //and the previous day's late zman comes after this day's early one
+        val midnight = nextMidnight - 24.hours
+        Assert.assertEquals(midnight + 30.minutes, straddling.next(midnight + 20.minutes)?.momentOfOccurrence)
+        Assert.assertEquals(midnight + 30.minutes, straddling.previous(midnight + 40.minutes)?.momentOfOccurrence)
+    }
+
+    @Test
+    fun neighborsAreOnlyBuiltNearMidnight() {
+        var days = 0
+        var walker = ZmanimTimeline(date) { days++; calendar.copy(it).let { day -> listOf(day.alos72, day.chatzos, day.tzais72) } }
+        repeat(10) {
+            //during the day, next and previous are found in the day itself
+            val chatzos = walker[1].momentOfOccurrence!!
+            Assert.assertEquals(walker[1], walker.next(chatzos - 1.hours))
+            Assert.assertEquals(walker[1], walker.previous(chatzos + 1.hours))
+            walker = walker.nextDay
+        }
+        Assert.assertEquals(11, days)
+    }
+
+    @Test
+    fun straddlingDaysInTheFarNorth() {
+        //in Reykjavik in June, the late zmanim of a day occur after the early zmanim of the next
+        val reykjavik = GeoLocation("Reykjavik", 64.1466, -21.9426, TimeZone.of("Atlantic/Reykjavik"))
+        val june = LocalDate(2023, 6, 20)
+        fun select(calendar: ComplexZmanimCalendar) =
+            listOf(calendar.alos90, calendar.alos72, calendar.chatzos, calendar.tzais72, calendar.solarMidnight, calendar.tzais90)
+        val straddling = ZmanimTimeline.of(ComplexZmanimCalendar(reykjavik, june), ::select)
+        val byDay = (-1..3).map { day -> select(ComplexZmanimCalendar(reykjavik, june.plus(day, DateTimeUnit.DAY))).map { it.momentOfOccurrence!! }.sorted() }
+        Assert.assertNotEquals(byDay.flatten(), byDay.flatten().sorted())
+        val expected = byDay.flatten().sorted()
+        val start = straddling.toList().first().momentOfOccurrence!!
+        val end = start + 48.hours
+        Assert.assertEquals(expected.filter { it >= start && it < end }, straddling.between(start, end).map { it.momentOfOccurrence })
+        var instant = start - 3.hours
+        while (instant < end) {
+            Assert.assertEquals("$instant", expected.firstOrNull { it > instant }, straddling.next(instant)?.momentOfOccurrence)
+            Assert.assertEquals("$instant", expected.lastOrNull { it < instant }, straddling.previous(instant)?.momentOfOccurrence)
+            instant += 4.minutes
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package zmanim
+
+import kotlinx.datetime.Instant
+import kotlinx.datetime.LocalDate
+import kotlinx.datetime.TimeZone
+import org.junit.Assert
+import org.junit.Ignore
+import org.junit.Test
+import sternbach.software.kosherkotlin.ComplexZmanimCalendar
+import sternbach.software.kosherkotlin.ZmanimCalendar
+import sternbach.software.kosherkotlin.ZmanimTrack
+import sternbach.software.kosherkotlin.util.GeoLocation
+import sternbach.software.kosherkotlin.util.Location
+import kotlin.math.abs
+import kotlin.time.Duration
+import kotlin.time.Duration.Companion.hours
+import kotlin.time.Duration.Companion.minutes
+import kotlin.time.Duration.Companion.seconds
+
+class ZmanimTrackTest {
+    private val jerusalem = Location(31.778, 35.2354, tz = TimeZone.of("Asia/Jerusalem"))
+
+    /**
+     * A track which stays at [location] from [from] for [duration].
+     */
+    private fun stationary(location: Location, from: Instant, duration: Duration) = ZmanimTrack(
+        listOf(
+            location.copy(timestamp = from.toEpochMilliseconds()),
+            location.copy(timestamp = (from + duration).toEpochMilliseconds()),
+        )
+    )
+
+    /**
+     * A track from [from] to [to] at [speed] km/h, with a sample every [interval].
+     */
+    private fun flight(from: Location, to: Location, departure: Instant, speed: Double, interval: Duration, elevation: Double? = null): ZmanimTrack {
+        val geodesic = GeoLocation(from).getGeodesic(GeoLocation(to))
+        val duration = (geodesic.distance / 1000 / speed).hours
+        val count = (duration / interval).toInt() + 1
+        return ZmanimTrack(List(count + 1) {
+            val fraction = it.toDouble() / count
+            Location(
+                from.latitude + (to.latitude - from.latitude) * fraction,
+                from.longitude + (to.longitude - from.longitude) * fraction,
+                elevation = elevation,
+                timestamp = (departure + duration * fraction).toEpochMilliseconds(),
+            )
+        })
+    }
+
+    private fun assertClose(message: String, expected: Instant?, actual: Instant?, tolerance: Duration) {
+        Assert.assertNotNull(message, expected)
+        Assert.assertNotNull(message, actual)
+        Assert.assertTrue("$message: $expected, $actual", abs((actual!! - expected!!).inWholeMilliseconds) <= tolerance.inWholeMilliseconds)
+    }
+
+    @Test
+    fun stationaryMatchesCalendar() {
+        for (place in listOf(jerusalem, Location(40.0828, -74.2094, tz = TimeZone.of("America/New_York")), Location(-33.8688, 151.2093, tz = TimeZone.of("Australia/Sydney")))) {
+            var date = LocalDate(2023, 1, 1)
+            repeat(24) {
+                val calendar = ComplexZmanimCalendar(GeoLocation(place), date)
+                //from the start of the day in the time zone of the place
+                val track = stationary(place, calendar.seaLevelSunrise!! - 4.hours, 1.hours * 24)
+                val message = "$place $date"
+                assertClose(message, calendar.seaLevelSunrise, track.getSunrise(), 10.seconds)
+                assertClose(message, calendar.seaLevelSunset, track.getSunset(), 10.seconds)
+                assertClose(message, calendar.getSunsetOffsetByDegrees(ZmanimCalendar.ZENITH_8_POINT_5), track.getSunsetOffsetByDegrees(ZmanimCalendar.ZENITH_8_POINT_5), 10.seconds)
+                assertClose(message, calendar.getSunriseOffsetByDegrees(ZmanimCalendar.ZENITH_16_POINT_1), track.getSunriseOffsetByDegrees(ZmanimCalendar.ZENITH_16_POINT_1), 10.seconds)
+                date = LocalDate.fromEpochDays(date.toEpochDays() + 15)
+            }
+        }
+    }
+
+    @Test
+    fun flight() {
+        val newYork = Location(40.6413, -73.7781)
+        val losAngeles = Location(33.9416, -118.4085)
+        //an evening flight west, chasing the sunset
+        val departure = Instant.parse("2023-06-21T23:00:00Z")
+        val track = flight(newYork, losAngeles, departure, speed = 800.0, interval = 1.minutes)
+        val sunset = track.getSunset()!!
+        //the sun sets where the plane is then
+        val location = track.locationAt(sunset)
+        val calendar = ComplexZmanimCalendar(GeoLocation(location.copy(tz = TimeZone.UTC)), LocalDate(2023, 6, 22))
+        val atLocation = listOf(calendar.seaLevelSunset, ComplexZmanimCalendar(GeoLocation(location.copy(tz = TimeZone.UTC)), LocalDate(2023, 6, 21)).seaLevelSunset)
+            .minBy { abs((it!! - sunset).inWholeMilliseconds) }
+        assertClose("$location", atLocation, sunset, 10.seconds)
+        //later than at the airport, since the plane flies towards the sun
+        val atNewYork = stationary(newYork, departure, 6.hours).getSunset()!!
+        Assert.assertTrue("$atNewYork $sunset", sunset - atNewYork > 30.minutes)
+        val there = ZmanimTrack(listOf(location.copy(timestamp = (sunset - 1.hours).toEpochMilliseconds()), location.copy(timestamp = (sunset + 1.hours).toEpochMilliseconds())))
+        assertClose("$location", sunset, there.getSunset(), 1.seconds)
+
+        //at cruising altitude the horizon dips, so the sun sets later, but tzais is not adjusted for elevation
+        val cruising = flight(newYork, losAngeles, departure, speed = 800.0, interval = 1.minutes, elevation = 11_000.0)
+        Assert.assertTrue(cruising.getSunset()!! - sunset > 5.minutes)
+        Assert.assertEquals(track.getSunsetOffsetByDegrees(ZmanimCalendar.ZENITH_8_POINT_5), cruising.getSunsetOffsetByDegrees(ZmanimCalendar.ZENITH_8_POINT_5))
+        Assert.assertNull(track.getSunrise())
+    }
+
+    @Test
+    fun roadTrip() {
+        //a week driving east across the United States, sampled every 10 seconds
+        val start = Instant.parse("2023-03-01T12:00:00Z")
+        val track = flight(Location(34.05, -118.24), Location(40.71, -74.0), start, speed = 23.0, interval = 10.seconds)
+        val sunsets = track.findAll(90.0, rising = false)
+        Assert.assertEquals(7, sunsets.size)
+        sunsets.zipWithNext { a, b -> Assert.assertTrue("$a $b", b - a in 23.hours..25.hours) }
+        Assert.assertEquals(sunsets.first(), track.getSunset())
+        //leaving before sunrise and arriving in the morning
+        val sunrises = track.findAll(90.0, rising = true)
+        Assert.assertEquals(8, sunrises.size)
+        sunsets.forEachIndexed { i, sunset -> Assert.assertTrue(sunset in sunrises[i]..sunrises[i + 1]) }
+    }
+
+    @Test
+    fun invalidSamples() {
+        val sample = jerusalem.copy(timestamp = 0)
+        Assert.assertThrows(IllegalArgumentException::class.java) { ZmanimTrack(listOf(sample)) }
+        Assert.assertThrows(IllegalArgumentException::class.java) { ZmanimTrack(listOf(sample, sample)) }
+        Assert.assertThrows(IllegalArgumentException::class.java) { ZmanimTrack(listOf(sample, jerusalem)) }
+        Assert.assertThrows(IllegalArgumentException::class.java) {
+            ZmanimTrack(listOf(sample, sample.copy(timestamp = 1))).locationAt(Instant.fromEpochMilliseconds(2))
+        }
+    }
+
+    @Ignore("Benchmark, run manually")
+    @Test
+    fun benchmark() {
+        val start = Instant.parse("2023-03-01T12:00:00Z")
+        val track = flight(Location(34.05, -118.24), Location(40.71, -74.0), start, speed = 23.0, interval = 10.seconds)
+        var sink = 0
+        fun measure(name: String, block: () -> Int) {
+            repeat(20) { sink += block() } //warm up
+            val begin = System.nanoTime()
+            repeat(20) { sink += block() }
+            println("$name: ${(System.nanoTime() - begin) / 20_000} µs ($sink)")
+        }
+        measure("every sunset of a week sampled every 10 seconds") { track.findAll(90.0, rising = false).size }
+        measure("first tzais 8.5° of the week") { track.getSunsetOffsetByDegrees(ZmanimCalendar.ZENITH_8_POINT_5)!!.nanosecondsOfSecond }
+        val flight = flight(Location(40.6413, -73.7781), Location(33.9416, -118.4085), Instant.parse("2023-06-21T23:00:00Z"), speed = 800.0, interval = 1.minutes)
+        measure("sunset of a flight sampled every minute") { flight.getSunset()!!.nanosecondsOfSecond }
+    }
+}
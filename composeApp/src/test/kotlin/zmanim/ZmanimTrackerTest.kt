@@ -0,0 +1,176 @@
+package zmanim
+
+import kotlinx.coroutines.flow.flowOf
+import kotlinx.coroutines.flow.toList
+import kotlinx.coroutines.runBlocking
+import kotlinx.datetime.Clock
+import kotlinx.datetime.Instant
+import kotlinx.datetime.LocalDate
+import kotlinx.datetime.TimeZone
+import kotlinx.datetime.atStartOfDayIn
+import org.junit.Assert
+import org.junit.Ignore
+import org.junit.Test
+import sternbach.software.kosherkotlin.ComplexZmanimCalendar
+import sternbach.software.kosherkotlin.ZmanSensitivity
+import sternbach.software.kosherkotlin.ZmanimTracker
+import sternbach.software.kosherkotlin.util.GeoLocation
+import sternbach.software.kosherkotlin.util.Location
+import kotlin.math.abs
+import kotlin.time.Duration.Companion.hours
+import kotlin.time.Duration.Companion.seconds
+
+class ZmanimTrackerTest {
+    private val jerusalem = Location(31.778, 35.2354, tz = TimeZone.of("Asia/Jerusalem"))
+
+    private class FixedClock(var now: Instant) : Clock {
+        override fun now() = now
+    }
+
+    /**
+     * Returns the largest number of minutes any *zman* of [date] moves from [from] to [to].
+     */
+    private fun actualShift(from: Location, to: Location, date: LocalDate): Double {
+        val before = ComplexZmanimCalendar(GeoLocation(from), date).allZmanim
+        val after = ComplexZmanimCalendar(GeoLocation(to), date).allZmanim
+        return before.indices.maxOf { i ->
+            val moment = before[i].momentOfOccurrence
+            val moved = after[i].momentOfOccurrence
+            if (moment == null || moved == null) 0.0 else abs((moved - moment).inWholeMilliseconds / 60_000.0)
+        }
+    }
+
+    @Test
+    fun sensitivity() {
+        val places = listOf(
+            jerusalem,
+            Location(40.0828, -74.2094, tz = TimeZone.of("America/New_York")),
+            Location(51.5074, -0.1278, tz = TimeZone.of("Europe/London")),
+            Location(-33.8688, 151.2093, tz = TimeZone.of("Australia/Sydney")),
+        )
+        val dates = listOf(LocalDate(2023, 3, 20), LocalDate(2023, 6, 21), LocalDate(2023, 12, 21))
+        for (place in places) for (date in dates) {
+            val calendar = ComplexZmanimCalendar(GeoLocation(place), date)
+            val sensitivity = ZmanSensitivity.of(calendar, calendar.allZmanim)
+            for ((latitudeDelta, longitudeDelta) in listOf(0.02 to 0.0, 0.0 to 0.02, -0.015 to 0.01)) {
+                val moved = place.copy(latitude = place.latitude + latitudeDelta, longitude = place.longitude + longitudeDelta)
+                val actual = actualShift(place, moved, date)
+                val estimated = sensitivity.maxShift(latitudeDelta, longitudeDelta)
+                //never much less than the actual shift, and not so much more that updates are wasted, save near midnight
+                val message = "$place $date $latitudeDelta $longitudeDelta: $actual, $estimated"
+                val midnightShift = ZmanSensitivity.MAX_DEPRESSION_RATE * abs(latitudeDelta) + 4 * abs(longitudeDelta)
+                Assert.assertTrue(message, estimated >= actual * 0.95 - 1.0 / 60)
+                Assert.assertTrue(message, estimated <= maxOf(actual * 2.5, midnightShift) + 1.0 / 60)
+            }
+        }
+    }
+
+    @Test
+    fun polar() = runBlocking<Unit> {
+        //the midnight sun and the polar night, without a sunrise or sunset
+        val tromso = Location(69.6492, 18.9553, tz = TimeZone.of("Europe/Oslo"))
+        for (date in listOf(LocalDate(2023, 6, 21), LocalDate(2023, 12, 21))) {
+            val calendar = ComplexZmanimCalendar(GeoLocation(tromso), date)
+            Assert.assertNull(calendar.seaLevelSunrise)
+            val sensitivity = ZmanSensitivity.of(calendar, calendar.allZmanim)
+            for ((latitudeDelta, longitudeDelta) in listOf(0.02 to 0.0, 0.0 to 0.02, -0.015 to 0.01)) {
+                val moved = tromso.copy(latitude = tromso.latitude + latitudeDelta, longitude = tromso.longitude + longitudeDelta)
+                val actual = actualShift(tromso, moved, date)
+                val estimated = sensitivity.maxShift(latitudeDelta, longitudeDelta)
+                Assert.assertTrue("$date $latitudeDelta $longitudeDelta: $actual, $estimated", estimated >= actual * 0.95 - 1.0 / 60)
+            }
+
+            //a few meters of jitter does not recompute the zmanim
+            val clock = FixedClock(date.atStartOfDayIn(TimeZone.UTC) + 12.hours)
+            val walk = List(10) { tromso.copy(latitude = tromso.latitude + it * 0.00002, longitude = tromso.longitude - it * 0.00002) }
+            val snapshots = ZmanimTracker(threshold = 10.seconds, clock = clock).snapshots(flowOf(*walk.toTypedArray())).toList()
+            Assert.assertEquals(listOf(tromso), snapshots.map { it.location })
+        }
+    }
+
+    @Test
+    fun missingZmanim() = runBlocking<Unit> {
+        //in London around the summer solstice the sun is about 15° below the horizon at midnight, so it does not reach
+        //alos 16.1°, which it does about a degree farther south
+        val london = Location(51.5074, -0.1278, tz = TimeZone.of("Europe/London"))
+        val date = LocalDate(2023, 6, 21)
+        val select = { calendar: ComplexZmanimCalendar -> listOf(calendar.alos16Point1Degrees, calendar.chatzos) }
+        val calendar = ComplexZmanimCalendar(GeoLocation(london), date)
+        Assert.assertNull(calendar.alos16Point1Degrees.momentOfOccurrence)
+        val sensitivity = ZmanSensitivity.of(calendar, select(calendar))
+        Assert.assertFalse(sensitivity.mayOccur(0.5))
+        Assert.assertTrue(sensitivity.mayOccur(-1.2))
+        val south = london.copy(latitude = london.latitude - 1.2)
+        Assert.assertNotNull(ComplexZmanimCalendar(GeoLocation(south), date).alos16Point1Degrees.momentOfOccurrence)
+        //without the missing zman, only chatzos is followed, which occurs everywhere
+        Assert.assertFalse(ZmanSensitivity.of(calendar, listOf(calendar.chatzos)).mayOccur(-1.2))
+
+        val clock = FixedClock(date.atStartOfDayIn(TimeZone.UTC) + 12.hours)
+        val tracker = ZmanimTracker(threshold = 1.hours, clock = clock, select = select)
+        val locations = listOf(london, london.copy(latitude = london.latitude - 0.5), south)
+        Assert.assertEquals(listOf(london, south), tracker.snapshots(flowOf(*locations.toTypedArray())).toList().map { it.location })
+    }
+
+    @Test
+    fun snapshots() = runBlocking<Unit> {
+        val clock = FixedClock(Instant.parse("2023-06-21T06:00:00Z"))
+        val tracker = ZmanimTracker(threshold = 10.seconds, clock = clock)
+        val locations = listOf(
+            jerusalem,
+            //a few meters of jitter
+            jerusalem.copy(latitude = jerusalem.latitude + 0.00005, accuracy = 5.0),
+            jerusalem.copy(longitude = jerusalem.longitude - 0.00005, accuracy = 5.0),
+            //5 km east moves every zman by about 13 seconds
+            jerusalem.copy(longitude = jerusalem.longitude + 0.053),
+            //and back a few meters
+            jerusalem.copy(longitude = jerusalem.longitude + 0.0529),
+            //the same coordinates in another time zone
+            jerusalem.copy(longitude = jerusalem.longitude + 0.0529, tz = TimeZone.UTC),
+        )
+        val snapshots = tracker.snapshots(flowOf(*locations.toTypedArray())).toList()
+        Assert.assertEquals(listOf(locations[0], locations[3], locations[5]), snapshots.map { it.location })
+        Assert.assertEquals(LocalDate(2023, 6, 21), snapshots[0].date)
+        Assert.assertEquals(snapshots[0].calendar.allZmanim.size, snapshots[0].zmanim.size)
+
+        //the next day recomputes even without moving
+        val days = flowOf(jerusalem, jerusalem).let { flow ->
+            var first = true
+            kotlinx.coroutines.flow.flow {
+                flow.collect {
+                    if (!first) clock.now = Instant.parse("2023-06-22T06:00:00Z")
+                    first = false
+                    emit(it)
+                }
+            }
+        }
+        Assert.assertEquals(
+            listOf(LocalDate(2023, 6, 21), LocalDate(2023, 6, 22)),
+            tracker.snapshots(days).toList().map { it.date }
+        )
+        Assert.assertThrows(IllegalArgumentException::class.java) { ZmanimTracker(threshold = (-1).seconds) }
+    }
+
+    @Ignore("Benchmark, run manually")
+    @Test
+    fun benchmark() = runBlocking<Unit> {
+        val clock = FixedClock(Instant.parse("2023-06-21T06:00:00Z"))
+        val random = kotlin.random.Random(1)
+        //a walk of 10,000 updates a meter or so apart
+        var latitude = jerusalem.latitude
+        var longitude = jerusalem.longitude
+        val walk = List(10_000) {
+            latitude += random.nextDouble(-0.00001, 0.00002)
+            longitude += random.nextDouble(-0.00001, 0.00002)
+            jerusalem.copy(latitude = latitude, longitude = longitude)
+        }
+        val tracker = ZmanimTracker(threshold = 30.seconds, clock = clock)
+        repeat(2) { tracker.snapshots(flowOf(*walk.toTypedArray())).toList() } //warm up
+        var start = System.nanoTime()
+        val snapshots = tracker.snapshots(flowOf(*walk.toTypedArray())).toList()
+        val tracked = System.nanoTime() - start
+        start = System.nanoTime()
+        walk.forEach { ComplexZmanimCalendar(GeoLocation(it), LocalDate(2023, 6, 21)).allZmanim.forEach { it.momentOfOccurrence } }
+        val recomputed = System.nanoTime() - start
+        println("${walk.size} updates: ${snapshots.size} snapshots in ${tracked / 1_000_000} ms, recomputing every update: ${recomputed / 1_000_000} ms")
+    }
+}
@@ -0,0 +1,109 @@
+package zmanim
+
+import kotlinx.datetime.DatePeriod
+import kotlinx.datetime.Instant
+import kotlinx.datetime.LocalDate
+import kotlinx.datetime.LocalDateTime
+import kotlinx.datetime.LocalTime
+import kotlinx.datetime.TimeZone
+import kotlinx.datetime.offsetAt
+import kotlinx.datetime.plus
+import kotlinx.datetime.toInstant
+import kotlinx.datetime.toLocalDateTime
+import org.junit.Assert
+import org.junit.Test
+import sternbach.software.kosherkotlin.ComplexZmanimCalendar
+import sternbach.software.kosherkotlin.util.GeoLocation
+import sternbach.software.kosherkotlin.util.ZoneOffsets
+import kotlin.time.Duration.Companion.minutes
+
+class ZoneOffsetsTest {
+    private val zones = listOf(
+        "UTC",
+        "Asia/Jerusalem",
+        "America/New_York",
+        "Europe/London",
+        //a 30 minute transition
+        "Australia/Lord_Howe",
+        //a 45 minute offset
+        "Asia/Kathmandu",
+        "America/St_Johns",
+        //skipped December 30, 2011
+        "Pacific/Apia",
+        "Pacific/Kiritimati",
+    ).map { TimeZone.of(it) }
+
+    @Test
+    fun matchesZoneRules() {
+        for (timeZone in zones) {
+            val offsets = ZoneOffsets.of(timeZone)
+            Assert.assertSame(offsets, ZoneOffsets.of(TimeZone.of(timeZone.id)))
+            //every 7 minutes (and a few milliseconds) through 2 years, twice to read the cached days
+            repeat(2) {
+                var instant = Instant.parse("2011-01-01T00:00:00Z")
+                while (instant < Instant.parse("2013-01-01T00:00:00Z")) {
+                    val message = "$timeZone $instant"
+                    Assert.assertEquals(message, timeZone.offsetAt(instant).totalSeconds, offsets.offsetSecondsAt(instant))
+                    val local = instant.toLocalDateTime(timeZone)
+                    Assert.assertEquals(message, local, offsets.toLocalDateTime(instant))
+                    Assert.assertEquals(message, local.toInstant(timeZone), offsets.toInstant(local))
+                    instant += 7.minutes.plus(kotlin.time.Duration.parse("3ms"))
+                }
+            }
+        }
+    }
+
+    @Test
+    fun dates() {
+        //centuries and leap days on either side of the epoch, at a fixed offset
+        val offsets = ZoneOffsets.of(TimeZone.of("Asia/Kolkata"))
+        var instant = Instant.parse("1600-01-01T12:34:56.789Z")
+        while (instant < Instant.parse("2400-12-31T00:00:00Z")) {
+            val local = instant.toLocalDateTime(offsets.timeZone)
+            Assert.assertEquals("$instant", local, offsets.toLocalDateTime(instant))
+            Assert.assertEquals("$instant", instant, offsets.toInstant(local))
+            instant += kotlin.time.Duration.parse("5d 1h 7m")
+        }
+    }
+
+    @Test
+    fun gapsAndOverlaps() {
+        for (timeZone in zones) {
+            val offsets = ZoneOffsets.of(timeZone)
+            var date = LocalDate(2011, 1, 1)
+            while (date < LocalDate(2013, 1, 1)) {
+                //every 15 minutes of local time, including those which occur twice or not at all
+                for (quarter in 0 until 96) {
+                    val local = LocalDateTime(date, LocalTime(quarter / 4, quarter % 4 * 15, 30, 500_000))
+                    val message = "$timeZone $local"
+                    Assert.assertEquals(message, local.toInstant(timeZone), offsets.toInstant(local))
+                    Assert.assertEquals(
+                        message,
+                        local.toInstant(timeZone).plus(DatePeriod(days = 1), timeZone).toLocalDateTime(timeZone),
+                        offsets.plusDays(local, 1)
+                    )
+                    Assert.assertEquals(
+                        message,
+                        local.toInstant(timeZone).plus(DatePeriod(days = -1), timeZone).toLocalDateTime(timeZone),
+                        offsets.plusDays(local, -1)
+                    )
+                }
+                date = date.plus(DatePeriod(days = 1))
+            }
+        }
+    }
+
+    @Test
+    fun calendar() {
+        //the molad based zmanim are limited to the date between its midnights, converted with the offsets
+        val jerusalem = GeoLocation("Jerusalem", 31.778, 35.2354, TimeZone.of("Asia/Jerusalem"))
+        val dates = (1..31).map { LocalDate(2023, 10, it) }.filter {
+            ComplexZmanimCalendar(jerusalem, it).sofZmanKidushLevana15Days.momentOfOccurrence != null
+        }
+        Assert.assertEquals(1, dates.size)
+        //Samoa, across the antimeridian, whose date is adjusted with the offsets
+        val apia = ComplexZmanimCalendar(GeoLocation("Apia", -13.8333, -171.7667, TimeZone.of("Pacific/Apia")), LocalDate(2023, 6, 21))
+        val sunrise = apia.sunrise!!.toLocalDateTime(apia.geoLocation.timeZone)
+        Assert.assertEquals(LocalDate(2023, 6, 21), sunrise.date)
+    }
+}